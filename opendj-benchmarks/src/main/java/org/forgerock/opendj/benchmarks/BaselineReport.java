@@ -0,0 +1,220 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the results of a benchmark run with those of a baseline run and
+ * reports the regressions.
+ * <p>
+ * Both runs must have been written in the JMH CSV format, for example:
+ *
+ * <pre>
+ * java -jar opendj-benchmarks/target/benchmarks.jar -rf csv -rff baseline.csv
+ * ... apply the change to measure and rebuild ...
+ * java -jar opendj-benchmarks/target/benchmarks.jar -rf csv -rff current.csv
+ * java -cp opendj-benchmarks/target/benchmarks.jar org.forgerock.opendj.benchmarks.BaselineReport \
+ *      baseline.csv current.csv [threshold-percent]
+ * </pre>
+ *
+ * A benchmark regresses when its score is worse than the baseline score by
+ * more than the threshold (5% by default) and by more than the sum of the
+ * errors of both scores. The process exits with status 1 if a regression was
+ * found.
+ */
+public final class BaselineReport
+{
+  private static final double DEFAULT_THRESHOLD_PERCENT = 5;
+
+  /** The result of one benchmark, for one combination of parameters. */
+  private static final class Score
+  {
+    private final String mode;
+    private final double score;
+    private final double error;
+    private final String unit;
+
+    private Score(String mode, double score, double error, String unit)
+    {
+      this.mode = mode;
+      this.score = score;
+      this.error = Double.isNaN(error) ? 0 : error;
+      this.unit = unit;
+    }
+
+    /** Throughput is the only mode where higher scores are better. */
+    private boolean isHigherBetter()
+    {
+      return "thrpt".equals(mode);
+    }
+  }
+
+  private BaselineReport()
+  {
+    // Utility class.
+  }
+
+  /**
+   * Prints the comparison of two benchmark runs.
+   *
+   * @param args
+   *          the baseline CSV file, the current CSV file and optionally the
+   *          regression threshold in percent
+   * @throws IOException
+   *           if one of the files cannot be read
+   */
+  public static void main(String[] args) throws IOException
+  {
+    if (args.length != 2 && args.length != 3)
+    {
+      System.err.println("Usage: BaselineReport baseline.csv current.csv [threshold-percent]");
+      System.exit(2);
+    }
+    final double threshold = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+    final Map<String, Score> baseline = readScores(args[0]);
+    final Map<String, Score> current = readScores(args[1]);
+    final int nbRegressions = report(baseline, current, threshold, System.out);
+    System.exit(nbRegressions > 0 ? 1 : 0);
+  }
+
+  /**
+   * Prints one line per benchmark found in the current run and returns the
+   * number of regressions.
+   */
+  static int report(Map<String, Score> baseline, Map<String, Score> current, double thresholdPercent,
+      PrintStream out)
+  {
+    int nbRegressions = 0;
+    out.printf("%-100s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+    for (Map.Entry<String, Score> entry : current.entrySet())
+    {
+      final String name = entry.getKey();
+      final Score now = entry.getValue();
+      final Score before = baseline.get(name);
+      if (before == null || !before.unit.equals(now.unit))
+      {
+        out.printf("%-100s %14s %14.3f %9s  %s%n", name, "-", now.score, "", now.unit);
+        continue;
+      }
+      final double changePercent = (now.score - before.score) * 100 / before.score;
+      final double worsening = now.isHigherBetter() ? before.score - now.score : now.score - before.score;
+      final boolean regression = worsening > before.error + now.error
+          && worsening * 100 / before.score > thresholdPercent;
+      if (regression)
+      {
+        nbRegressions++;
+      }
+      out.printf("%-100s %14.3f %14.3f %+8.1f%%  %s%s%n",
+          name, before.score, now.score, changePercent, now.unit, regression ? "  REGRESSION" : "");
+    }
+    out.printf("%d regression(s) above %.1f%%%n", nbRegressions, thresholdPercent);
+    return nbRegressions;
+  }
+
+  /** Reads a JMH CSV result file, indexing the scores by benchmark name and parameters. */
+  static Map<String, Score> readScores(String file) throws IOException
+  {
+    final Map<String, Score> scores = new LinkedHashMap<>();
+    try (BufferedReader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8))
+    {
+      final List<String> header = parseCSVLine(reader.readLine());
+      String line;
+      while ((line = reader.readLine()) != null)
+      {
+        if (line.isEmpty())
+        {
+          continue;
+        }
+        final List<String> fields = parseCSVLine(line);
+        final StringBuilder name = new StringBuilder(fields.get(0));
+        for (int i = 7; i < fields.size() && i < header.size(); i++)
+        {
+          name.append(i == 7 ? " [" : ", ")
+              .append(header.get(i).replace("Param: ", "")).append('=').append(fields.get(i));
+        }
+        if (fields.size() > 7)
+        {
+          name.append(']');
+        }
+        scores.put(name.toString(), new Score(fields.get(1), parseDouble(fields.get(4)),
+            parseDouble(fields.get(5)), fields.get(6)));
+      }
+    }
+    return scores;
+  }
+
+  private static double parseDouble(String value)
+  {
+    return value.isEmpty() ? Double.NaN : Double.parseDouble(value);
+  }
+
+  /** Splits a CSV line whose fields may be quoted, quotes being escaped by doubling them. */
+  static List<String> parseCSVLine(String line)
+  {
+    final List<String> fields = new ArrayList<>();
+    if (line == null)
+    {
+      return fields;
+    }
+    final StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++)
+    {
+      final char c = line.charAt(i);
+      if (quoted)
+      {
+        if (c != '"')
+        {
+          field.append(c);
+        }
+        else if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+        {
+          field.append('"');
+          i++;
+        }
+        else
+        {
+          quoted = false;
+        }
+      }
+      else if (c == '"')
+      {
+        quoted = true;
+      }
+      else if (c == ',')
+      {
+        fields.add(field.toString());
+        field.setLength(0);
+      }
+      else
+      {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+}
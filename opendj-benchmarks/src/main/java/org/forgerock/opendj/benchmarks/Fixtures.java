@@ -0,0 +1,94 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.forgerock.opendj.ldap.Entry;
+import org.forgerock.opendj.ldif.EntryGenerator;
+import org.forgerock.opendj.ldif.LDIFEntryWriter;
+
+/**
+ * Generates the fixture data shared by the benchmarks from the
+ * {@code benchmark.template} MakeLDIF template.
+ * <p>
+ * The random seed is fixed so that every run, and therefore a baseline run and
+ * the run compared to it, measures exactly the same data.
+ */
+public final class Fixtures
+{
+  private static final String TEMPLATE = "benchmark.template";
+  private static final int RANDOM_SEED = 42;
+
+  private Fixtures()
+  {
+    // Utility class.
+  }
+
+  /**
+   * Generates the entries described by the benchmark template.
+   *
+   * @param nbUsers
+   *          the number of people entries to generate
+   * @param nbGroups
+   *          the number of group entries to generate
+   * @return the generated entries, starting with the branch entries
+   * @throws IOException
+   *           if the template cannot be read
+   */
+  public static List<Entry> generateEntries(int nbUsers, int nbGroups) throws IOException
+  {
+    final List<Entry> entries = new ArrayList<>(nbUsers + nbGroups + 3);
+    try (InputStream template = Fixtures.class.getResourceAsStream(TEMPLATE);
+        EntryGenerator generator = new EntryGenerator(template))
+    {
+      generator.setRandomSeed(RANDOM_SEED)
+               .setConstant("numusers", nbUsers)
+               .setConstant("numgroups", nbGroups);
+      while (generator.hasNext())
+      {
+        entries.add(generator.readEntry());
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * Returns the LDIF representation of the provided entries.
+   *
+   * @param entries
+   *          the entries to write
+   * @return the LDIF representation of the provided entries
+   * @throws IOException
+   *           if the entries cannot be written
+   */
+  public static byte[] toLDIF(List<Entry> entries) throws IOException
+  {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (LDIFEntryWriter writer = new LDIFEntryWriter(out))
+    {
+      for (Entry entry : entries)
+      {
+        writer.writeEntry(entry);
+      }
+    }
+    return out.toByteArray();
+  }
+}
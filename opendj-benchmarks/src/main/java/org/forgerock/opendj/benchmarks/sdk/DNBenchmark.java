@@ -0,0 +1,85 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.benchmarks.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.forgerock.opendj.benchmarks.Fixtures;
+import org.forgerock.opendj.ldap.DN;
+import org.forgerock.opendj.ldap.Entry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link DN#valueOf(String)} on the DNs of the fixture entries and on
+ * the member DNs of the fixture groups, as done when decoding requests and
+ * entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DNBenchmark
+{
+  private static final int NB_DNS = 1000;
+
+  private final List<String> dns = new ArrayList<>(NB_DNS);
+
+  @Setup
+  public void setup() throws Exception
+  {
+    for (Entry entry : Fixtures.generateEntries(NB_DNS / 2, NB_DNS / 10))
+    {
+      dns.add(entry.getName().toString());
+      dns.addAll(entry.parseAttribute("uniqueMember").asSetOfString());
+    }
+    dns.subList(NB_DNS, dns.size()).clear();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_DNS)
+  public void valueOf(Blackhole blackhole)
+  {
+    for (String dn : dns)
+    {
+      blackhole.consume(DN.valueOf(dn));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_DNS)
+  public void valueOfAndNormalize(Blackhole blackhole)
+  {
+    for (String dn : dns)
+    {
+      blackhole.consume(DN.valueOf(dn).toNormalizedByteString());
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.benchmarks.sdk;
+
+import java.util.concurrent.TimeUnit;
+
+import org.forgerock.opendj.ldap.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures {@link Filter#valueOf(String)} on filters typical of client applications. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark
+{
+  @Param({
+    "(uid=user.500)",
+    "(objectClass=*)",
+    "(cn=*Smith*)",
+    "(&(objectClass=inetOrgPerson)(|(mail=user.5*@example.com)(telephoneNumber=+1 555*)))",
+    "(&(objectClass=groupOfUniqueNames)(uniqueMember=uid=user.42,ou=People,dc=example,dc=com))",
+    "(&(employeeNumber>=100)(employeeNumber<=200)(!(description=*\\2a*))(cn:caseExactMatch:=Aaron Smith))"
+  })
+  private String filter;
+
+  @Benchmark
+  public Filter valueOf()
+  {
+    return Filter.valueOf(filter);
+  }
+}
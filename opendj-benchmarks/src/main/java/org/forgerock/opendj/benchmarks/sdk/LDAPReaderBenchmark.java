@@ -0,0 +1,116 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.benchmarks.sdk;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.forgerock.opendj.benchmarks.Fixtures;
+import org.forgerock.opendj.io.ASN1;
+import org.forgerock.opendj.io.ASN1Reader;
+import org.forgerock.opendj.io.ASN1Writer;
+import org.forgerock.opendj.io.AbstractLDAPMessageHandler;
+import org.forgerock.opendj.io.LDAP;
+import org.forgerock.opendj.io.LDAPReader;
+import org.forgerock.opendj.io.LDAPWriter;
+import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.ByteStringBuilder;
+import org.forgerock.opendj.ldap.DecodeOptions;
+import org.forgerock.opendj.ldap.Entry;
+import org.forgerock.opendj.ldap.responses.Responses;
+import org.forgerock.opendj.ldap.responses.SearchResultEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the ASN.1 decoding of LDAP messages with {@link LDAPReader}, as done
+ * by a client reading search results, and their encoding with
+ * {@link LDAPWriter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LDAPReaderBenchmark
+{
+  private static final int NB_USERS = 900;
+  private static final int NB_GROUPS = 97;
+  /** The number of entries generated, including the 3 branch entries. */
+  private static final int NB_ENTRIES = NB_USERS + NB_GROUPS + 3;
+
+  private final DecodeOptions decodeOptions = new DecodeOptions();
+  private List<Entry> entries;
+  private ByteString encodedMessages;
+
+  @Setup
+  public void setup() throws Exception
+  {
+    entries = Fixtures.generateEntries(NB_USERS, NB_GROUPS);
+    encodedMessages = encode(new ByteStringBuilder()).toByteString();
+  }
+
+  private ByteStringBuilder encode(ByteStringBuilder builder) throws IOException
+  {
+    final ASN1Writer asn1Writer = ASN1.getWriter(builder);
+    final LDAPWriter<ASN1Writer> writer = LDAP.getWriter(asn1Writer, 3);
+    int messageID = 1;
+    for (Entry entry : entries)
+    {
+      writer.writeSearchResultEntry(messageID++, Responses.newSearchResultEntry(entry));
+    }
+    asn1Writer.flush();
+    return builder;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_ENTRIES)
+  public void readSearchResultEntries(final Blackhole blackhole) throws IOException
+  {
+    final LDAPReader<ASN1Reader> reader = LDAP.getReader(ASN1.getReader(encodedMessages), decodeOptions);
+    final AbstractLDAPMessageHandler handler = new AbstractLDAPMessageHandler()
+    {
+      @Override
+      public void searchResultEntry(int messageID, SearchResultEntry entry)
+      {
+        blackhole.consume(entry);
+      }
+    };
+    while (reader.hasMessageAvailable())
+    {
+      reader.readMessage(handler);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_ENTRIES)
+  public ByteStringBuilder writeSearchResultEntries() throws IOException
+  {
+    return encode(new ByteStringBuilder(encodedMessages.length()));
+  }
+}
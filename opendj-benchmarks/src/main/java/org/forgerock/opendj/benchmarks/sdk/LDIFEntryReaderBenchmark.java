@@ -0,0 +1,71 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.benchmarks.sdk;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.forgerock.opendj.benchmarks.Fixtures;
+import org.forgerock.opendj.ldif.LDIFEntryReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Measures the parsing of LDIF content with {@link LDIFEntryReader}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LDIFEntryReaderBenchmark
+{
+  private static final int NB_USERS = 900;
+  private static final int NB_GROUPS = 97;
+  /** The number of entries generated, including the 3 branch entries. */
+  private static final int NB_ENTRIES = NB_USERS + NB_GROUPS + 3;
+
+  private byte[] ldif;
+
+  @Setup
+  public void setup() throws Exception
+  {
+    ldif = Fixtures.toLDIF(Fixtures.generateEntries(NB_USERS, NB_GROUPS));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_ENTRIES)
+  public void readEntries(Blackhole blackhole) throws IOException
+  {
+    try (LDIFEntryReader reader = new LDIFEntryReader(new ByteArrayInputStream(ldif)))
+    {
+      while (reader.hasNext())
+      {
+        blackhole.consume(reader.readEntry());
+      }
+    }
+  }
+}
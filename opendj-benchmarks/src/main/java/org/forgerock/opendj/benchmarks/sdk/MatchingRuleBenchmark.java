@@ -0,0 +1,126 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.benchmarks.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.forgerock.opendj.benchmarks.Fixtures;
+import org.forgerock.opendj.ldap.Attribute;
+import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.DecodeException;
+import org.forgerock.opendj.ldap.Entry;
+import org.forgerock.opendj.ldap.schema.AttributeType;
+import org.forgerock.opendj.ldap.schema.MatchingRule;
+import org.forgerock.opendj.ldap.schema.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the normalization of attribute values by the equality, ordering and
+ * substring matching rules of the default schema, as done when indexing
+ * entries and matching filters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchingRuleBenchmark
+{
+  private static final int NB_VALUES = 1000;
+
+  /** Attributes having different syntaxes and matching rules. */
+  @Param({ "cn", "mail", "telephoneNumber", "postalAddress", "employeeNumber", "uniqueMember" })
+  private String attribute;
+
+  private final List<ByteString> values = new ArrayList<>(NB_VALUES);
+  private MatchingRule equalityMatchingRule;
+  private MatchingRule orderingMatchingRule;
+  private MatchingRule substringMatchingRule;
+
+  @Setup
+  public void setup() throws Exception
+  {
+    final Schema schema = Schema.getDefaultSchema();
+    final AttributeType type = schema.getAttributeType(attribute);
+    equalityMatchingRule = type.getEqualityMatchingRule();
+    orderingMatchingRule = type.getOrderingMatchingRule();
+    substringMatchingRule = type.getSubstringMatchingRule();
+
+    for (Entry entry : Fixtures.generateEntries(NB_VALUES, NB_VALUES / 5))
+    {
+      final Attribute attr = entry.getAttribute(attribute);
+      if (attr != null)
+      {
+        values.addAll(attr);
+      }
+    }
+    // Cycle through the values found when the attribute is sparse.
+    for (int i = 0; values.size() < NB_VALUES; i++)
+    {
+      values.add(values.get(i));
+    }
+    values.subList(NB_VALUES, values.size()).clear();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_VALUES)
+  public void equality(Blackhole blackhole) throws DecodeException
+  {
+    normalize(equalityMatchingRule, blackhole);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_VALUES)
+  public void ordering(Blackhole blackhole) throws DecodeException
+  {
+    normalize(orderingMatchingRule, blackhole);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_VALUES)
+  public void substring(Blackhole blackhole) throws DecodeException
+  {
+    normalize(substringMatchingRule, blackhole);
+  }
+
+  private void normalize(MatchingRule matchingRule, Blackhole blackhole) throws DecodeException
+  {
+    if (matchingRule == null)
+    {
+      // The syntax has no such matching rule: only the loop is measured.
+      return;
+    }
+    for (ByteString value : values)
+    {
+      blackhole.consume(matchingRule.normalizeAttributeValue(value));
+    }
+  }
+}
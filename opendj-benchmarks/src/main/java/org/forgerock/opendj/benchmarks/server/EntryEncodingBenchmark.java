@@ -0,0 +1,113 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.benchmarks.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.forgerock.opendj.adapter.server3x.Converters;
+import org.forgerock.opendj.benchmarks.Fixtures;
+import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.ByteStringBuilder;
+import org.opends.server.api.CompressedSchema;
+import org.opends.server.core.DirectoryServer;
+import org.opends.server.types.DirectoryException;
+import org.opends.server.types.Entry;
+import org.opends.server.types.EntryEncodeConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link Entry#encode(ByteStringBuilder, EntryEncodeConfig)} and
+ * {@link Entry#decode(org.forgerock.opendj.ldap.ByteSequenceReader, CompressedSchema)},
+ * as done by the backends when writing and reading entries, with and without
+ * compressing the attribute descriptions and object classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntryEncodingBenchmark
+{
+  private static final int NB_USERS = 900;
+  private static final int NB_GROUPS = 97;
+  /** The number of entries generated, including the 3 branch entries. */
+  private static final int NB_ENTRIES = NB_USERS + NB_GROUPS + 3;
+
+  @Param({ "true", "false" })
+  private boolean compressed;
+
+  private CompressedSchema compressedSchema;
+  private EntryEncodeConfig encodeConfig;
+  private final List<Entry> entries = new ArrayList<>(NB_ENTRIES);
+  private final List<ByteString> encodedEntries = new ArrayList<>(NB_ENTRIES);
+
+  @Setup
+  public void setup() throws Exception
+  {
+    DirectoryServer.bootstrapClient();
+    compressedSchema = new CompressedSchema(DirectoryServer.getInstance().getServerContext());
+    encodeConfig = new EntryEncodeConfig(false, compressed, compressed, compressedSchema);
+    for (org.forgerock.opendj.ldap.Entry entry : Fixtures.generateEntries(NB_USERS, NB_GROUPS))
+    {
+      entries.add(Converters.to(entry));
+    }
+    final ByteStringBuilder buffer = new ByteStringBuilder();
+    for (Entry entry : entries)
+    {
+      buffer.clear();
+      entry.encode(buffer, encodeConfig);
+      encodedEntries.add(buffer.toByteString());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_ENTRIES)
+  public void encode(Blackhole blackhole) throws DirectoryException
+  {
+    final ByteStringBuilder buffer = new ByteStringBuilder();
+    for (Entry entry : entries)
+    {
+      buffer.clear();
+      entry.encode(buffer, encodeConfig);
+      blackhole.consume(buffer.length());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_ENTRIES)
+  public void decode(Blackhole blackhole) throws DirectoryException
+  {
+    for (ByteString encodedEntry : encodedEntries)
+    {
+      blackhole.consume(Entry.decode(encodedEntry.asReader(), compressedSchema));
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.benchmarks.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.DN;
+import org.opends.server.core.DirectoryServer;
+import org.opends.server.types.Attributes;
+import org.opends.server.types.DirectoryException;
+import org.opends.server.types.Entry;
+import org.opends.server.types.SearchFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link SearchFilter#matchesEntry(Entry)} as done by an unindexed
+ * search: one filter, created for the search operation, is matched against
+ * every candidate entry.
+ * <p>
+ * {@code cachedEntries} matches entries which are reused between searches, as
+ * they are when served by the entry cache, so that their normalized values are
+ * memoized. {@code decodedEntries} matches entries created for the search, as
+ * they are when read from a backend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchFilterBenchmark
+{
+  private static final int NB_ENTRIES = 1000;
+
+  @Param({
+    "(sn=user500)",
+    "(cn=*ser 5*)",
+    "(employeeNumber>=900)",
+    "(&(objectClass=person)(|(givenName=first1)(sn=user9*))(!(description=*)))",
+    "(|(mail=*@example.org)(telephoneNumber=+1 555*)(cn~=user))"
+  })
+  private String filter;
+
+  private final List<Entry> entries = new ArrayList<>(NB_ENTRIES);
+
+  @Setup
+  public void setup() throws Exception
+  {
+    DirectoryServer.bootstrapClient();
+    for (int i = 0; i < NB_ENTRIES; i++)
+    {
+      entries.add(newEntry(i));
+    }
+  }
+
+  private static Entry newEntry(int i)
+  {
+    final Entry entry = new Entry(DN.valueOf("uid=user" + i + ",ou=people,dc=example,dc=com"), null, null, null);
+    addAttribute(entry, "objectClass", "top", "person", "organizationalPerson", "inetOrgPerson");
+    addAttribute(entry, "uid", "user" + i);
+    addAttribute(entry, "cn", "First" + i + " User " + i);
+    addAttribute(entry, "sn", "User" + i);
+    addAttribute(entry, "givenName", "First" + i);
+    addAttribute(entry, "mail", "user" + i + "@example.com");
+    addAttribute(entry, "telephoneNumber", "+1 555 " + (1000000 + i));
+    addAttribute(entry, "employeeNumber", Integer.toString(i));
+    return entry;
+  }
+
+  private static void addAttribute(Entry entry, String name, String... values)
+  {
+    entry.addAttribute(Attributes.create(name, values), new ArrayList<ByteString>());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_ENTRIES)
+  public int cachedEntries() throws DirectoryException
+  {
+    final SearchFilter searchFilter = SearchFilter.createFilterFromString(filter);
+    int matches = 0;
+    for (Entry entry : entries)
+    {
+      if (searchFilter.matchesEntry(entry))
+      {
+        matches++;
+      }
+    }
+    return matches;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_ENTRIES)
+  public int decodedEntries() throws DirectoryException
+  {
+    final SearchFilter searchFilter = SearchFilter.createFilterFromString(filter);
+    int matches = 0;
+    for (int i = 0; i < NB_ENTRIES; i++)
+    {
+      if (searchFilter.matchesEntry(newEntry(i)))
+      {
+        matches++;
+      }
+    }
+    return matches;
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.grizzly;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.forgerock.opendj.benchmarks.Fixtures;
+import org.forgerock.opendj.io.AbstractLDAPMessageHandler;
+import org.forgerock.opendj.io.LDAP;
+import org.forgerock.opendj.io.LDAPReader;
+import org.forgerock.opendj.io.LDAPWriter;
+import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.DecodeOptions;
+import org.forgerock.opendj.ldap.Entry;
+import org.forgerock.opendj.ldap.LinkedHashMapEntry;
+import org.forgerock.opendj.ldap.responses.Responses;
+import org.forgerock.opendj.ldap.responses.SearchResultEntry;
+import org.glassfish.grizzly.Buffer;
+import org.glassfish.grizzly.memory.MemoryManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the encoding of search result entries into Grizzly buffers, as done
+ * by {@link GrizzlyLDAPListener} when streaming search results, and their
+ * decoding as done by the client and server filters.
+ * <p>
+ * Each entry carries a binary attribute of {@code valueSize} bytes. Run with
+ * "-prof gc" in order to compare the allocation rate per entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchResultEncodingBenchmark
+{
+  private static final int NB_USERS = 900;
+  private static final int NB_GROUPS = 97;
+  /** The number of entries generated, including the 3 branch entries. */
+  private static final int NB_ENTRIES = NB_USERS + NB_GROUPS + 3;
+
+  /** The size of the binary value added to each entry. */
+  @Param({ "0", "4096", "65536" })
+  private int valueSize;
+
+  private final MemoryManager<?> memoryManager = MemoryManager.DEFAULT_MEMORY_MANAGER;
+  private final DecodeOptions decodeOptions = new DecodeOptions();
+  private List<SearchResultEntry> entries;
+  private List<byte[]> encodedEntries;
+
+  @Setup
+  public void setup() throws Exception
+  {
+    final Random random = new Random(42);
+    entries = new ArrayList<>(NB_ENTRIES);
+    encodedEntries = new ArrayList<>(NB_ENTRIES);
+    for (Entry entry : Fixtures.generateEntries(NB_USERS, NB_GROUPS))
+    {
+      final Entry copy = new LinkedHashMapEntry(entry);
+      if (valueSize > 0)
+      {
+        final byte[] value = new byte[valueSize];
+        random.nextBytes(value);
+        copy.addAttribute("jpegPhoto", ByteString.wrap(value));
+      }
+      final SearchResultEntry searchResultEntry = Responses.newSearchResultEntry(copy);
+      entries.add(searchResultEntry);
+
+      final Buffer buffer = encode(searchResultEntry);
+      final byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      buffer.tryDispose();
+      encodedEntries.add(bytes);
+    }
+  }
+
+  private Buffer encode(final SearchResultEntry entry) throws IOException
+  {
+    final LDAPWriter<ASN1BufferWriter> writer = GrizzlyUtils.getWriter(memoryManager, 3);
+    try
+    {
+      writer.writeSearchResultEntry(1, entry);
+      return writer.getASN1Writer().getBuffer();
+    }
+    finally
+    {
+      GrizzlyUtils.recycleWriter(writer);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_ENTRIES)
+  public void writeSearchResultEntries(final Blackhole blackhole) throws IOException
+  {
+    for (SearchResultEntry entry : entries)
+    {
+      final Buffer buffer = encode(entry);
+      blackhole.consume(buffer.remaining());
+      buffer.tryDispose();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_ENTRIES)
+  public void readSearchResultEntries(final Blackhole blackhole) throws IOException
+  {
+    final AbstractLDAPMessageHandler handler = new AbstractLDAPMessageHandler()
+    {
+      @Override
+      public void searchResultEntry(int messageID, SearchResultEntry entry)
+      {
+        blackhole.consume(entry);
+      }
+    };
+    for (byte[] encodedEntry : encodedEntries)
+    {
+      final Buffer buffer = memoryManager.allocate(encodedEntry.length);
+      buffer.put(encodedEntry);
+      buffer.flip();
+      final LDAPReader<ASN1BufferReader> reader =
+          LDAP.getReader(GrizzlyUtils.createMessageReader(0, buffer, memoryManager), decodeOptions);
+      buffer.tryDispose();
+      reader.readMessage(handler);
+    }
+  }
+}
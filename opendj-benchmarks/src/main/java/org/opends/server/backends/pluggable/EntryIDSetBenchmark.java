@@ -0,0 +1,114 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.backends.pluggable;
+
+import static org.opends.server.backends.pluggable.EntryIDSet.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.forgerock.opendj.ldap.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link EntryIDSet} operations performed when evaluating indexed
+ * filters: union of the sets of an OR filter, intersection of the sets of an
+ * AND filter, and the codec used to read and write the index records.
+ * <p>
+ * This benchmark lives in the package of {@link EntryIDSet}, which is not
+ * public. The sets are modified in place by {@code addAll} and
+ * {@code retainAll}, so those benchmarks include copying the first set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntryIDSetBenchmark
+{
+  /** The number of IDs in the first set, the second set having half as many. */
+  @Param({ "100", "10000", "1000000" })
+  private int size;
+
+  private long[] ids1;
+  private EntryIDSet set1;
+  private EntryIDSet set2;
+  private ByteString encodedSet1;
+
+  @Setup
+  public void setup()
+  {
+    // Overlapping sets, as those of the index keys of two attributes of the same entries
+    ids1 = new long[size];
+    final long[] ids2 = new long[size / 2];
+    for (int i = 0; i < ids1.length; i++)
+    {
+      ids1[i] = 2L * i;
+    }
+    for (int i = 0; i < ids2.length; i++)
+    {
+      ids2[i] = 3L * i;
+    }
+    set1 = newDefinedSet(ids1);
+    set2 = newDefinedSet(ids2);
+    encodedSet1 = CODEC_V2.encode(set1);
+  }
+
+  @Benchmark
+  public EntryIDSet union()
+  {
+    return newSetFromUnion(Arrays.asList(set1, set2));
+  }
+
+  @Benchmark
+  public EntryIDSet addAll()
+  {
+    final EntryIDSet set = newDefinedSet(ids1.clone());
+    set.addAll(set2);
+    return set;
+  }
+
+  @Benchmark
+  public EntryIDSet retainAll()
+  {
+    final EntryIDSet set = newDefinedSet(ids1.clone());
+    set.retainAll(set2);
+    return set;
+  }
+
+  @Benchmark
+  public ByteString encode()
+  {
+    return CODEC_V2.encode(set1);
+  }
+
+  @Benchmark
+  public EntryIDSet decode()
+  {
+    return CODEC_V2.decode(ByteString.empty(), encodedSet1);
+  }
+}
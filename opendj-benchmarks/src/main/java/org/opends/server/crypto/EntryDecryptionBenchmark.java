@@ -0,0 +1,194 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.crypto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+import org.forgerock.opendj.adapter.server3x.Converters;
+import org.forgerock.opendj.benchmarks.Fixtures;
+import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.ByteStringBuilder;
+import org.forgerock.opendj.server.config.server.CryptoManagerCfg;
+import org.opends.server.core.DirectoryServer;
+import org.opends.server.types.CryptoManagerException;
+import org.opends.server.types.EntryEncodeConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the decryption of encrypted entries by the {@link CryptoManagerImpl},
+ * as done by an encrypted backend for every entry returned by a search, either
+ * into a new byte array or appended to a reused byte string builder with a
+ * per-thread cipher. The baseline reads each entry through a cipher input
+ * stream, with a new cipher per entry, as the backends did before.
+ * <p>
+ * This benchmark lives in the package of {@link CryptoManagerImpl} because,
+ * without a server instance, its cipher key cannot be published to ADS and is
+ * imported directly instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class EntryDecryptionBenchmark
+{
+  private static final int NB_USERS = 900;
+  private static final int NB_GROUPS = 97;
+  /** The number of entries generated, including the 3 branch entries. */
+  private static final int NB_ENTRIES = NB_USERS + NB_GROUPS + 3;
+  private static final String TRANSFORMATION = "AES/CBC/PKCS5Padding";
+
+  @Param({ "128", "256" })
+  private int keyLength;
+
+  private CryptoManagerImpl cryptoManager;
+  /** The entries encrypted by the crypto manager, as stored by an encrypted backend. */
+  private final List<ByteString> encryptedEntries = new ArrayList<>(NB_ENTRIES);
+
+  @Setup
+  public void setup() throws Exception
+  {
+    DirectoryServer.bootstrapClient();
+    cryptoManager = new CryptoManagerImpl(DirectoryServer.getInstance().getServerContext(), newConfig());
+
+    final KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+    keyGenerator.init(keyLength);
+    final SecretKey key = keyGenerator.generateKey();
+    final Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+    cipher.init(Cipher.ENCRYPT_MODE, key);
+    cryptoManager.importCipherKey(UUID.randomUUID().toString(), TRANSFORMATION, key, keyLength,
+        cipher.getIV().length * Byte.SIZE);
+
+    final EntryEncodeConfig encodeConfig = new EntryEncodeConfig();
+    final ByteStringBuilder buffer = new ByteStringBuilder();
+    for (org.forgerock.opendj.ldap.Entry entry : Fixtures.generateEntries(NB_USERS, NB_GROUPS))
+    {
+      buffer.clear();
+      Converters.to(entry).encode(buffer, encodeConfig);
+      final ByteStringBuilder encryptedEntry = new ByteStringBuilder();
+      cryptoManager.encrypt(TRANSFORMATION, keyLength, buffer, encryptedEntry);
+      encryptedEntries.add(encryptedEntry.toByteString());
+    }
+  }
+
+  /** Returns the default crypto manager configuration, with the key length of this benchmark. */
+  private CryptoManagerCfg newConfig()
+  {
+    return (CryptoManagerCfg) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[] { CryptoManagerCfg.class }, new InvocationHandler()
+        {
+          @Override
+          public Object invoke(Object proxy, Method method, Object[] args)
+          {
+            switch (method.getName())
+            {
+            case "getDigestAlgorithm":
+              return "SHA-256";
+            case "getMacAlgorithm":
+              return "HmacSHA256";
+            case "getMacKeyLength":
+              return 128;
+            case "getCipherTransformation":
+              return TRANSFORMATION;
+            case "getCipherKeyLength":
+              return keyLength;
+            case "getKeyWrappingTransformation":
+              return "RSA/ECB/OAEPWITHSHA-1ANDMGF1PADDING";
+            case "isSSLEncryption":
+              return false;
+            case "getSSLCertNickname":
+            case "getSSLProtocol":
+            case "getSSLCipherSuite":
+              return new TreeSet<String>();
+            default:
+              // Change listeners are never notified
+              return null;
+            }
+          }
+        });
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_ENTRIES)
+  public void decryptThroughCipherInputStream(Blackhole blackhole) throws CryptoManagerException, IOException
+  {
+    final ByteStringBuilder clearText = new ByteStringBuilder();
+    for (ByteString encryptedEntry : encryptedEntries)
+    {
+      clearText.clear();
+      try (InputStream is = cryptoManager.getCipherInputStream(encryptedEntry.asReader().asInputStream()))
+      {
+        while (clearText.appendBytes(is, encryptedEntry.length()) != -1)
+        {
+          // Read up to the end of the entry
+        }
+      }
+      blackhole.consume(clearText.length());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_ENTRIES)
+  public void decryptToByteArray(Blackhole blackhole) throws GeneralSecurityException, CryptoManagerException
+  {
+    for (ByteString encryptedEntry : encryptedEntries)
+    {
+      blackhole.consume(cryptoManager.decrypt(encryptedEntry.toByteArray()));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NB_ENTRIES)
+  public void decryptToByteStringBuilder(Blackhole blackhole) throws GeneralSecurityException, CryptoManagerException
+  {
+    final ByteStringBuilder clearText = new ByteStringBuilder();
+    for (ByteString encryptedEntry : encryptedEntries)
+    {
+      clearText.clear();
+      cryptoManager.decrypt(encryptedEntry, clearText);
+      blackhole.consume(clearText.length());
+    }
+  }
+}
@@ -672,6 +672,18 @@ public final class ByteString implements ByteSequence {
         return builder;
     }
 
+    /**
+     * Returns a read-only {@code ByteBuffer} view of this byte string. The
+     * content of this byte string is not copied: since byte strings are
+     * immutable, the returned buffer can be handed, for instance, to a network
+     * layer which writes it without copying it first.
+     *
+     * @return A read-only {@code ByteBuffer} view of this byte string.
+     */
+    public ByteBuffer asReadOnlyByteBuffer() {
+        return ByteBuffer.wrap(buffer, offset, length).asReadOnlyBuffer();
+    }
+
     @Override
     public boolean copyTo(CharBuffer charBuffer, CharsetDecoder decoder) {
         return copyTo(ByteBuffer.wrap(buffer, offset, length), charBuffer, decoder);
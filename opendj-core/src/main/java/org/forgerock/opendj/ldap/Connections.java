@@ -251,6 +251,93 @@ public final class Connections {
         return new CachedConnectionPool(factory, poolSize, poolSize, 0L, null, null);
     }
 
+    /**
+     * Creates a new connection pool which shares up to {@code poolSize}
+     * connections created using the provided connection factory between all
+     * the connections obtained from the pool. Up to {@code poolSize} additional
+     * connections may be used for bind and StartTLS requests.
+     * <p>
+     * This method is equivalent to calling
+     * {@link #newMultiplexedConnectionPool(ConnectionFactory, int, int, int)}
+     * with an exclusive pool size equal to {@code poolSize}.
+     *
+     * @param factory
+     *            The connection factory to use for creating new connections.
+     * @param poolSize
+     *            The maximum number of shared connections.
+     * @param maxRequestsPerConnection
+     *            The maximum number of outstanding requests on each shared
+     *            connection.
+     * @return The new connection pool.
+     * @throws IllegalArgumentException
+     *             If {@code poolSize} or {@code maxRequestsPerConnection} is
+     *             not positive.
+     * @throws NullPointerException
+     *             If {@code factory} was {@code null}.
+     */
+    public static ConnectionPool newMultiplexedConnectionPool(final ConnectionFactory factory,
+            final int poolSize, final int maxRequestsPerConnection) {
+        return newMultiplexedConnectionPool(factory, poolSize, maxRequestsPerConnection, poolSize);
+    }
+
+    /**
+     * Creates a new connection pool which shares up to {@code poolSize}
+     * connections created using the provided connection factory between all
+     * the connections obtained from the pool.
+     * <p>
+     * Connections obtained from the connection pool do not hold an underlying
+     * connection: each request is sent on the shared connection having the
+     * fewest outstanding requests. A new shared connection is created when all
+     * of them have {@code maxRequestsPerConnection} outstanding requests, and
+     * once there are {@code poolSize} shared connections, requests are queued
+     * until an outstanding request completes. Obtaining a connection from the
+     * pool is therefore cheap, and many more concurrent clients can be served
+     * than there are connections to the server.
+     * <p>
+     * Bind and StartTLS requests change the state of the connection they are
+     * sent on. The first such request sent using a connection obtained from
+     * the pool checks out an exclusive connection from a separate pool of up to
+     * {@code exclusivePoolSize} connections: this request and all subsequent
+     * requests sent using the pooled connection are sent on the exclusive
+     * connection, which is released when the pooled connection is closed.
+     * Attempts to use more than {@code exclusivePoolSize} exclusive connections
+     * at once will block until one is released. Note that the shared
+     * connections are never bound, so the requests sent on them are performed
+     * using the identity with which the factory authenticates connections.
+     * <p>
+     * Once obtained, it is the responsibility of the calling application to
+     * handle subsequent connection failures, these being signaled via a
+     * {@link ConnectionException}. Shared connections which fail are removed
+     * from the pool and replaced on demand.
+     *
+     * @param factory
+     *            The connection factory to use for creating new connections.
+     * @param poolSize
+     *            The maximum number of shared connections.
+     * @param maxRequestsPerConnection
+     *            The maximum number of outstanding requests on each shared
+     *            connection.
+     * @param exclusivePoolSize
+     *            The maximum number of exclusive connections used for bind
+     *            and StartTLS requests.
+     * @return The new connection pool.
+     * @throws IllegalArgumentException
+     *             If {@code poolSize}, {@code maxRequestsPerConnection} or
+     *             {@code exclusivePoolSize} is not positive.
+     * @throws NullPointerException
+     *             If {@code factory} was {@code null}.
+     */
+    public static ConnectionPool newMultiplexedConnectionPool(final ConnectionFactory factory,
+            final int poolSize, final int maxRequestsPerConnection, final int exclusivePoolSize) {
+        Reject.ifNull(factory);
+        Reject.ifFalse(poolSize > 0, "poolSize must be positive");
+        Reject.ifFalse(maxRequestsPerConnection > 0, "maxRequestsPerConnection must be positive");
+        Reject.ifFalse(exclusivePoolSize > 0, "exclusivePoolSize must be positive");
+        final ConnectionPool exclusivePool =
+                new CachedConnectionPool(factory, 0, exclusivePoolSize, 60L, TimeUnit.SECONDS, null);
+        return new MultiplexedConnectionPool(factory, poolSize, maxRequestsPerConnection, exclusivePool);
+    }
+
     /**
      * Creates a new internal client connection which will route requests to the
      * provided {@code RequestHandler}.
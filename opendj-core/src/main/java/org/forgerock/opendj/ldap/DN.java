@@ -65,6 +65,7 @@ public final class DN implements Iterable<RDN>, Comparable<DN> {
      * This is the size of the per-thread per-schema DN cache. We should
      * be conservative here in case there are many threads. We will only
      * cache parent DNs, so there's no need for it to be big.
+     * Parent DNs are also cached in the {@link DNCache} shared by all the threads when it is enabled.
      */
     private static final int DN_CACHE_SIZE = 32;
 
@@ -285,6 +286,12 @@ public final class DN implements Iterable<RDN>, Comparable<DN> {
             reader.mark();
             final String parentString = reader.read(reader.remaining());
             parent = cache.get(parentString);
+            if (parent == null) {
+                parent = DNCache.get(parentString, schema);
+                if (parent != null) {
+                    cache.put(parentString, parent);
+                }
+            }
             if (parent != null) {
                 break;
             }
@@ -305,7 +312,9 @@ public final class DN implements Iterable<RDN>, Comparable<DN> {
                 Pair<Integer, RDN> parentRDN = iter.next();
                 parent = new DN(schema, parent, parentRDN.getSecond());
                 if (parentsLeft-- < DN_CACHE_SIZE) {
-                    cache.put(reader.getString().substring(parentRDN.getFirst()), parent);
+                    final String parentString = reader.getString().substring(parentRDN.getFirst());
+                    parent = DNCache.put(parentString, schema, parent);
+                    cache.put(parentString, parent);
                 }
             }
         }
@@ -0,0 +1,180 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.ldap;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.forgerock.opendj.ldap.schema.Schema;
+import org.forgerock.util.Reject;
+
+/**
+ * A bounded cache of parent DNs shared by all the threads, which is used when
+ * decoding DNs in order to avoid parsing and normalizing the same suffixes
+ * again and again, and to share a single instance of each parent DN between
+ * the DNs which are retained in memory.
+ * <p>
+ * The cache complements the small per-thread cache used by
+ * {@link DN#valueOf(String, Schema)}. It is disabled by default and may be
+ * enabled using the {@code org.forgerock.opendj.dnCacheSize} property or
+ * {@link #setCapacity(int)}.
+ * <p>
+ * DNs are keyed by their exact string representation, so that a cached DN
+ * always keeps the spelling of the string it was decoded from: equivalent DNs
+ * written differently are cached separately. The table is direct mapped: a new
+ * DN simply replaces the DN stored in its slot, so the cache never blocks and
+ * never grows beyond its capacity.
+ */
+public final class DNCache {
+    /** The name of the property which may be used for specifying the capacity of the cache. */
+    public static final String CAPACITY_PROPERTY = "org.forgerock.opendj.dnCacheSize";
+
+    private static final class Slot {
+        private final String key;
+        private final Schema schema;
+        private final DN dn;
+
+        private Slot(final String key, final Schema schema, final DN dn) {
+            this.key = key;
+            this.schema = schema;
+            this.dn = dn;
+        }
+
+        private boolean matches(final String key, final Schema schema) {
+            return this.schema == schema && this.key.equals(key);
+        }
+    }
+
+    private static final class Tables {
+        private final int mask;
+        private final AtomicReferenceArray<Slot> slots;
+
+        private Tables(final int capacity) {
+            mask = capacity - 1;
+            slots = new AtomicReferenceArray<>(capacity);
+        }
+
+        private int indexOf(final String key) {
+            final int h = key.hashCode();
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+
+    private static volatile Tables tables = newTables(CommonLDAPOptions.getIntProperty(CAPACITY_PROPERTY, 0));
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder SHARED = new LongAdder();
+
+    private DNCache() {
+        // Prevent instantiation.
+    }
+
+    private static Tables newTables(final int capacity) {
+        if (capacity <= 0) {
+            return null;
+        }
+        return new Tables(Integer.highestOneBit(Math.min(capacity, 1 << 30) * 2 - 1));
+    }
+
+    /**
+     * Sets the maximum number of DNs held by the cache, discarding its
+     * content. The capacity is rounded up to the next power of two.
+     *
+     * @param capacity
+     *            The maximum number of DNs held by the cache, or {@code 0} to
+     *            disable the cache.
+     * @throws IllegalArgumentException
+     *             If {@code capacity} is negative.
+     */
+    public static void setCapacity(final int capacity) {
+        Reject.ifTrue(capacity < 0, "capacity must be positive or zero");
+        tables = newTables(capacity);
+    }
+
+    /**
+     * Returns the maximum number of DNs held by the cache.
+     *
+     * @return The maximum number of DNs held by the cache, or {@code 0} if the
+     *         cache is disabled.
+     */
+    public static int getCapacity() {
+        final Tables t = tables;
+        return t != null ? t.mask + 1 : 0;
+    }
+
+    /**
+     * Returns the number of DN lookups which found the DN in the cache.
+     *
+     * @return The number of DN lookups which found the DN in the cache.
+     */
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * Returns the number of DN lookups which did not find the DN in the cache.
+     *
+     * @return The number of DN lookups which did not find the DN in the cache.
+     */
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Returns the number of newly decoded DNs which were replaced by the same
+     * DN cached meanwhile by another thread.
+     *
+     * @return The number of newly decoded DNs which were replaced by the same
+     *         DN cached meanwhile by another thread.
+     */
+    public static long getSharedCount() {
+        return SHARED.sum();
+    }
+
+    /** Returns the cached DN having the provided string representation, or {@code null}. */
+    static DN get(final String dn, final Schema schema) {
+        final Tables t = tables;
+        if (t == null) {
+            return null;
+        }
+        final Slot slot = t.slots.get(t.indexOf(dn));
+        if (slot != null && slot.matches(dn, schema)) {
+            HITS.increment();
+            return slot.dn;
+        }
+        MISSES.increment();
+        return null;
+    }
+
+    /**
+     * Caches a newly decoded parent DN, returning the DN decoded from the same
+     * string and cached meanwhile by another thread if any.
+     */
+    static DN put(final String dnString, final Schema schema, final DN dn) {
+        final Tables t = tables;
+        if (t == null) {
+            return dn;
+        }
+        final int index = t.indexOf(dnString);
+        final Slot slot = t.slots.get(index);
+        if (slot != null && slot.matches(dnString, schema)) {
+            SHARED.increment();
+            return slot.dn;
+        }
+        t.slots.set(index, new Slot(dnString, schema, dn));
+        return dn;
+    }
+}
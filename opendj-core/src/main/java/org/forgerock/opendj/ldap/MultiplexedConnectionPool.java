@@ -0,0 +1,836 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.ldap;
+
+import static org.forgerock.opendj.ldap.LdapException.*;
+import static org.forgerock.opendj.ldap.spi.LdapPromises.*;
+import static org.forgerock.util.promise.Promises.*;
+
+import static com.forgerock.opendj.ldap.CoreMessages.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.forgerock.i18n.LocalizableMessage;
+import org.forgerock.i18n.slf4j.LocalizedLogger;
+import org.forgerock.opendj.ldap.requests.AbandonRequest;
+import org.forgerock.opendj.ldap.requests.AddRequest;
+import org.forgerock.opendj.ldap.requests.BindRequest;
+import org.forgerock.opendj.ldap.requests.CancelExtendedRequest;
+import org.forgerock.opendj.ldap.requests.CompareRequest;
+import org.forgerock.opendj.ldap.requests.DeleteRequest;
+import org.forgerock.opendj.ldap.requests.ExtendedRequest;
+import org.forgerock.opendj.ldap.requests.ModifyDNRequest;
+import org.forgerock.opendj.ldap.requests.ModifyRequest;
+import org.forgerock.opendj.ldap.requests.Requests;
+import org.forgerock.opendj.ldap.requests.SearchRequest;
+import org.forgerock.opendj.ldap.requests.StartTLSExtendedRequest;
+import org.forgerock.opendj.ldap.requests.UnbindRequest;
+import org.forgerock.opendj.ldap.responses.BindResult;
+import org.forgerock.opendj.ldap.responses.CompareResult;
+import org.forgerock.opendj.ldap.responses.ExtendedResult;
+import org.forgerock.opendj.ldap.responses.Responses;
+import org.forgerock.opendj.ldap.responses.Result;
+import org.forgerock.opendj.ldap.spi.LdapPromiseImpl;
+import org.forgerock.util.AsyncFunction;
+import org.forgerock.util.Function;
+import org.forgerock.util.Reject;
+import org.forgerock.util.promise.ExceptionHandler;
+import org.forgerock.util.promise.Promise;
+import org.forgerock.util.promise.PromiseImpl;
+import org.forgerock.util.promise.ResultHandler;
+
+/**
+ * A connection pool implementation which shares each of its underlying
+ * connections between concurrent callers.
+ * <p>
+ * Connections obtained from this pool are lightweight handles: each request is
+ * routed to the underlying connection having the fewest outstanding requests,
+ * and new underlying connections are opened on demand while all the existing
+ * ones have reached the maximum number of outstanding requests. Once the
+ * maximum number of underlying connections has been reached, requests are
+ * queued until a slot becomes available.
+ * <p>
+ * Bind requests and StartTLS extended requests change the state of the
+ * connection they are sent on, so they can never be sent on a shared
+ * connection. The first such request performed on a handle checks out an
+ * exclusive connection from a separate sub-pool: that request and all the
+ * subsequent requests performed on the handle use this exclusive connection,
+ * which is released back to the sub-pool when the handle is closed.
+ * <p>
+ * Abandon and cancel requests refer to the request ID allocated by the handle,
+ * and are forwarded with the message ID of the target request on the shared
+ * connection it was sent on. Closing a handle abandons its requests still in
+ * progress on the shared connections.
+ */
+final class MultiplexedConnectionPool implements ConnectionPool {
+    private static final LocalizedLogger logger = LocalizedLogger.getLoggerForThisClass();
+
+    /** An operation which can be performed on any connection. */
+    private interface Operation<R> {
+        LdapPromise<R> execute(Connection connection);
+    }
+
+    /** An underlying connection shared between handles. */
+    private final class SharedConnection implements ConnectionEventListener {
+        private final Connection connection;
+        private final AtomicInteger outstandingRequests = new AtomicInteger();
+        /** The handles which have sent requests on this connection, and are notified of its events. */
+        private final Set<MultiplexedConnection> boundHandles = ConcurrentHashMap.newKeySet();
+
+        private SharedConnection(final Connection connection) {
+            this.connection = connection;
+        }
+
+        private boolean tryAcquire() {
+            for (;;) {
+                final int current = outstandingRequests.get();
+                if (current >= maxRequestsPerConnection) {
+                    return false;
+                }
+                if (outstandingRequests.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void release() {
+            outstandingRequests.decrementAndGet();
+            processPendingRequests();
+        }
+
+        @Override
+        public void handleConnectionClosed() {
+            // Only the pool closes shared connections.
+        }
+
+        @Override
+        public void handleConnectionError(final boolean isDisconnectNotification, final LdapException error) {
+            removeSharedConnection(this);
+            for (final MultiplexedConnection handle : boundHandles) {
+                handle.notifyConnectionError(isDisconnectNotification, error);
+            }
+        }
+
+        @Override
+        public void handleUnsolicitedNotification(final ExtendedResult notification) {
+            for (final MultiplexedConnection handle : boundHandles) {
+                handle.notifyUnsolicitedNotification(notification);
+            }
+        }
+    }
+
+    /** A connection handle whose requests are spread over the shared connections. */
+    private final class MultiplexedConnection extends AbstractAsynchronousConnection implements
+            ConnectionEventListener {
+        /**
+         * A request of this handle sent, or waiting to be sent, on a shared
+         * connection. Message IDs are allocated by each shared connection, so
+         * the request is identified by a request ID allocated by this handle,
+         * and is mapped to the shared connection and message ID it was sent
+         * with.
+         */
+        private final class SharedRequest<R> extends LdapPromiseImpl<R> {
+            /** Guarded by this. */
+            private SharedConnection sharedConnection;
+            /** The promise of the request sent on the shared connection, guarded by this. */
+            private LdapPromise<R> sentPromise;
+            /** Guarded by this. */
+            private boolean isAbandoned;
+
+            private SharedRequest(final int requestID) {
+                super(new PromiseImpl<R, LdapException>() {
+                    @Override
+                    protected LdapException tryCancel(final boolean mayInterruptIfRunning) {
+                        final SharedRequest<?> request = outstandingRequests.get(requestID);
+                        return request != null ? request.cancelSentRequest(mayInterruptIfRunning) : null;
+                    }
+                }, requestID);
+            }
+
+            private void send(final SharedConnection shared, final Operation<R> operation) {
+                LdapPromise<R> sent = null;
+                try {
+                    synchronized (this) {
+                        if (!isAbandoned) {
+                            sent = operation.execute(shared.connection);
+                            sharedConnection = shared;
+                            sentPromise = sent;
+                        }
+                    }
+                } finally {
+                    if (sent == null) {
+                        shared.release();
+                    }
+                }
+                if (sent != null) {
+                    shared.boundHandles.add(MultiplexedConnection.this);
+                    sent.thenOnResultOrException(new Runnable() {
+                        @Override
+                        public void run() {
+                            shared.release();
+                        }
+                    }).thenOnResult(this).thenOnException(this);
+                }
+            }
+
+            private LdapPromise<Void> abandon(final AbandonRequest request) {
+                final SharedConnection shared = getSharedConnectionOrAbandon();
+                if (shared == null) {
+                    handleException(newLdapException(ResultCode.CLIENT_SIDE_USER_CANCELLED));
+                    return newSuccessfulLdapPromise((Void) null);
+                }
+                return shared.connection.abandonAsync(
+                        Requests.copyOfAbandonRequest(request).setRequestID(getSentMessageID()));
+            }
+
+            private LdapPromise<ExtendedResult> cancel(final CancelExtendedRequest request,
+                    final IntermediateResponseHandler intermediateResponseHandler) {
+                final SharedConnection shared = getSharedConnectionOrAbandon();
+                if (shared == null) {
+                    handleException(newLdapException(ResultCode.CLIENT_SIDE_USER_CANCELLED));
+                    final ExtendedResult result = Responses.newGenericExtendedResult(ResultCode.SUCCESS);
+                    return newSuccessfulLdapPromise(result);
+                }
+                return shared.connection.extendedRequestAsync(
+                        Requests.copyOfCancelExtendedRequest(request).setRequestID(getSentMessageID()),
+                        intermediateResponseHandler);
+            }
+
+            /**
+             * Returns the shared connection this request was sent on, or
+             * {@code null} if it was not sent yet, in which case it will never be.
+             */
+            private synchronized SharedConnection getSharedConnectionOrAbandon() {
+                if (sentPromise == null) {
+                    isAbandoned = true;
+                }
+                return sharedConnection;
+            }
+
+            /** Returns the message ID of this request on the shared connection it was sent on. */
+            private synchronized int getSentMessageID() {
+                return sentPromise.getRequestID();
+            }
+
+            private LdapException cancelSentRequest(final boolean mayInterruptIfRunning) {
+                final LdapPromise<R> sent;
+                synchronized (this) {
+                    isAbandoned = true;
+                    sent = sentPromise;
+                }
+                if (sent != null) {
+                    // Abandons the request on the shared connection it was sent on.
+                    sent.cancel(mayInterruptIfRunning);
+                }
+                return newLdapException(ResultCode.CLIENT_SIDE_USER_CANCELLED);
+            }
+        }
+
+        private final List<ConnectionEventListener> listeners = new CopyOnWriteArrayList<>();
+        private final AtomicInteger nextRequestID = new AtomicInteger();
+        /** The requests sent on the shared connections and not completed yet, keyed by their request ID. */
+        private final ConcurrentMap<Integer, SharedRequest<?>> outstandingRequests = new ConcurrentHashMap<>();
+        private volatile boolean isClosed;
+        /** The exclusive connection used once a bind or StartTLS request has been performed. */
+        private Promise<Connection, LdapException> exclusiveConnection;
+
+        @Override
+        public LdapPromise<Void> abandonAsync(final AbandonRequest request) {
+            checkState();
+            final Promise<Connection, LdapException> exclusive = getExclusiveConnection();
+            if (exclusive != null) {
+                return executeExclusive(exclusive, new Operation<Void>() {
+                    @Override
+                    public LdapPromise<Void> execute(final Connection connection) {
+                        return connection.abandonAsync(request);
+                    }
+                });
+            }
+            final SharedRequest<?> abandoned = outstandingRequests.get(request.getRequestID());
+            if (abandoned == null) {
+                // The request has already completed: there is nothing to abandon.
+                return newSuccessfulLdapPromise((Void) null);
+            }
+            return abandoned.abandon(request);
+        }
+
+        @Override
+        public LdapPromise<Result> addAsync(final AddRequest request,
+                final IntermediateResponseHandler intermediateResponseHandler) {
+            return execute(new Operation<Result>() {
+                @Override
+                public LdapPromise<Result> execute(final Connection connection) {
+                    return connection.addAsync(request, intermediateResponseHandler);
+                }
+            });
+        }
+
+        @Override
+        public void addConnectionEventListener(final ConnectionEventListener listener) {
+            Reject.ifNull(listener);
+            checkState();
+            listeners.add(listener);
+        }
+
+        @Override
+        public LdapPromise<BindResult> bindAsync(final BindRequest request,
+                final IntermediateResponseHandler intermediateResponseHandler) {
+            checkState();
+            return executeExclusive(checkOutExclusiveConnection(), new Operation<BindResult>() {
+                @Override
+                public LdapPromise<BindResult> execute(final Connection connection) {
+                    return connection.bindAsync(request, intermediateResponseHandler);
+                }
+            });
+        }
+
+        @Override
+        public void close(final UnbindRequest request, final String reason) {
+            final Promise<Connection, LdapException> exclusive;
+            synchronized (this) {
+                if (isClosed) {
+                    return;
+                }
+                isClosed = true;
+                exclusive = exclusiveConnection;
+            }
+            handles.remove(this);
+            // The shared connections stay open: abandon the requests of this handle still in progress.
+            for (final SharedRequest<?> outstanding : outstandingRequests.values()) {
+                outstanding.abandon(Requests.newAbandonRequest(outstanding.getRequestID()));
+            }
+            for (final SharedConnection shared : sharedConnections) {
+                shared.boundHandles.remove(this);
+            }
+            if (exclusive != null) {
+                // Release the exclusive connection to the sub-pool, whatever the unbind request.
+                exclusive.thenOnResult(new ResultHandler<Connection>() {
+                    @Override
+                    public void handleResult(final Connection connection) {
+                        connection.removeConnectionEventListener(MultiplexedConnection.this);
+                        connection.close();
+                    }
+                });
+            }
+            for (final ConnectionEventListener listener : listeners) {
+                listener.handleConnectionClosed();
+            }
+            listeners.clear();
+        }
+
+        @Override
+        public LdapPromise<CompareResult> compareAsync(final CompareRequest request,
+                final IntermediateResponseHandler intermediateResponseHandler) {
+            return execute(new Operation<CompareResult>() {
+                @Override
+                public LdapPromise<CompareResult> execute(final Connection connection) {
+                    return connection.compareAsync(request, intermediateResponseHandler);
+                }
+            });
+        }
+
+        @Override
+        public LdapPromise<Result> deleteAsync(final DeleteRequest request,
+                final IntermediateResponseHandler intermediateResponseHandler) {
+            return execute(new Operation<Result>() {
+                @Override
+                public LdapPromise<Result> execute(final Connection connection) {
+                    return connection.deleteAsync(request, intermediateResponseHandler);
+                }
+            });
+        }
+
+        @Override
+        public <R extends ExtendedResult> LdapPromise<R> extendedRequestAsync(final ExtendedRequest<R> request,
+                final IntermediateResponseHandler intermediateResponseHandler) {
+            final Operation<R> operation = new Operation<R>() {
+                @Override
+                public LdapPromise<R> execute(final Connection connection) {
+                    return connection.extendedRequestAsync(request, intermediateResponseHandler);
+                }
+            };
+            if (StartTLSExtendedRequest.OID.equals(request.getOID())) {
+                checkState();
+                return executeExclusive(checkOutExclusiveConnection(), operation);
+            } else if (request instanceof CancelExtendedRequest && getExclusiveConnection() == null) {
+                checkState();
+                // The cancelled request must be identified by its message ID on its shared connection.
+                final SharedRequest<?> cancelled =
+                        outstandingRequests.get(((CancelExtendedRequest) request).getRequestID());
+                if (cancelled == null) {
+                    return newFailedLdapPromise(newLdapException(ResultCode.NO_SUCH_OPERATION));
+                }
+                @SuppressWarnings("unchecked")
+                final LdapPromise<R> promise =
+                        (LdapPromise<R>) cancelled.cancel((CancelExtendedRequest) request, intermediateResponseHandler);
+                return promise;
+            }
+            return execute(operation);
+        }
+
+        @Override
+        public boolean isClosed() {
+            return isClosed;
+        }
+
+        @Override
+        public boolean isValid() {
+            if (isClosed || MultiplexedConnectionPool.this.isClosed) {
+                return false;
+            }
+            final Promise<Connection, LdapException> exclusive = getExclusiveConnection();
+            if (exclusive == null || !exclusive.isDone()) {
+                return true;
+            }
+            try {
+                return exclusive.getOrThrowUninterruptibly().isValid();
+            } catch (final LdapException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public LdapPromise<Result> modifyAsync(final ModifyRequest request,
+                final IntermediateResponseHandler intermediateResponseHandler) {
+            return execute(new Operation<Result>() {
+                @Override
+                public LdapPromise<Result> execute(final Connection connection) {
+                    return connection.modifyAsync(request, intermediateResponseHandler);
+                }
+            });
+        }
+
+        @Override
+        public LdapPromise<Result> modifyDNAsync(final ModifyDNRequest request,
+                final IntermediateResponseHandler intermediateResponseHandler) {
+            return execute(new Operation<Result>() {
+                @Override
+                public LdapPromise<Result> execute(final Connection connection) {
+                    return connection.modifyDNAsync(request, intermediateResponseHandler);
+                }
+            });
+        }
+
+        @Override
+        public void removeConnectionEventListener(final ConnectionEventListener listener) {
+            Reject.ifNull(listener);
+            listeners.remove(listener);
+        }
+
+        @Override
+        public LdapPromise<Result> searchAsync(final SearchRequest request,
+                final IntermediateResponseHandler intermediateResponseHandler,
+                final SearchResultHandler entryHandler) {
+            return execute(new Operation<Result>() {
+                @Override
+                public LdapPromise<Result> execute(final Connection connection) {
+                    return connection.searchAsync(request, intermediateResponseHandler, entryHandler);
+                }
+            });
+        }
+
+        @Override
+        public String toString() {
+            final Promise<Connection, LdapException> exclusive = getExclusiveConnection();
+            return "MultiplexedConnection(" + (exclusive != null ? "exclusive" : "shared")
+                    + ", outstandingRequests=" + outstandingRequests.size() + ", closed=" + isClosed + ")";
+        }
+
+        @Override
+        public void handleConnectionClosed() {
+            // The exclusive connection is only closed by this handle.
+        }
+
+        @Override
+        public void handleConnectionError(final boolean isDisconnectNotification, final LdapException error) {
+            notifyConnectionError(isDisconnectNotification, error);
+        }
+
+        @Override
+        public void handleUnsolicitedNotification(final ExtendedResult notification) {
+            notifyUnsolicitedNotification(notification);
+        }
+
+        private void notifyConnectionError(final boolean isDisconnectNotification, final LdapException error) {
+            for (final ConnectionEventListener listener : listeners) {
+                listener.handleConnectionError(isDisconnectNotification, error);
+            }
+        }
+
+        private void notifyUnsolicitedNotification(final ExtendedResult notification) {
+            for (final ConnectionEventListener listener : listeners) {
+                listener.handleUnsolicitedNotification(notification);
+            }
+        }
+
+        private void checkState() {
+            if (isClosed) {
+                throw new IllegalStateException();
+            }
+        }
+
+        private synchronized Promise<Connection, LdapException> getExclusiveConnection() {
+            return exclusiveConnection;
+        }
+
+        private synchronized Promise<Connection, LdapException> checkOutExclusiveConnection() {
+            if (exclusiveConnection == null) {
+                exclusiveConnection = exclusivePool.getConnectionAsync().thenOnResult(
+                        new ResultHandler<Connection>() {
+                            @Override
+                            public void handleResult(final Connection connection) {
+                                connection.addConnectionEventListener(MultiplexedConnection.this);
+                            }
+                        });
+            }
+            return exclusiveConnection;
+        }
+
+        private <R> LdapPromise<R> execute(final Operation<R> operation) {
+            checkState();
+            final Promise<Connection, LdapException> exclusive = getExclusiveConnection();
+            if (exclusive != null) {
+                return executeExclusive(exclusive, operation);
+            }
+
+            final int requestID = nextRequestID.incrementAndGet();
+            final SharedRequest<R> request = new SharedRequest<>(requestID);
+            outstandingRequests.put(requestID, request);
+            request.thenOnResultOrException(new Runnable() {
+                @Override
+                public void run() {
+                    outstandingRequests.remove(requestID);
+                }
+            });
+
+            final SharedConnection shared = acquireSharedConnection();
+            if (shared != null) {
+                request.send(shared, operation);
+                return request;
+            }
+            // All the shared connections are busy: wait for a slot.
+            waitForSharedConnection().thenOnResult(new ResultHandler<SharedConnection>() {
+                @Override
+                public void handleResult(final SharedConnection shared) {
+                    try {
+                        request.send(shared, operation);
+                    } catch (final RuntimeException e) {
+                        request.handleException(newLdapException(ResultCode.CLIENT_SIDE_LOCAL_ERROR, e));
+                    }
+                }
+            }).thenOnException(request);
+            return request;
+        }
+
+        private <R> LdapPromise<R> executeExclusive(final Promise<Connection, LdapException> exclusive,
+                final Operation<R> operation) {
+            if (exclusive.isDone()) {
+                try {
+                    return operation.execute(exclusive.getOrThrowUninterruptibly());
+                } catch (final LdapException e) {
+                    return newFailedLdapPromise(e);
+                }
+            }
+            return asPromise(exclusive).thenAsync(new AsyncFunction<Connection, R, LdapException>() {
+                @Override
+                public Promise<R, LdapException> apply(final Connection connection) {
+                    return operation.execute(connection);
+                }
+            });
+        }
+    }
+
+    private final ConnectionFactory factory;
+    private final int maxConnections;
+    private final int maxRequestsPerConnection;
+    private final ConnectionPool exclusivePool;
+
+    private final Object stateLock = new Object();
+    private final List<SharedConnection> sharedConnections = new CopyOnWriteArrayList<>();
+    /** Guarded by stateLock. */
+    private int pendingConnectionAttempts;
+    /** Guarded by stateLock. */
+    private boolean isClosed;
+
+    /** Requests waiting for a slot on one of the shared connections. */
+    private final Queue<PromiseImpl<SharedConnection, LdapException>> pendingRequests =
+            new ConcurrentLinkedQueue<>();
+    private final Set<MultiplexedConnection> handles =
+            ConcurrentHashMap.newKeySet();
+
+    MultiplexedConnectionPool(final ConnectionFactory factory, final int maxConnections,
+            final int maxRequestsPerConnection, final ConnectionPool exclusivePool) {
+        Reject.ifNull(factory, exclusivePool);
+        Reject.ifFalse(maxConnections > 0, "maxConnections must be positive");
+        Reject.ifFalse(maxRequestsPerConnection > 0, "maxRequestsPerConnection must be positive");
+        this.factory = factory;
+        this.maxConnections = maxConnections;
+        this.maxRequestsPerConnection = maxRequestsPerConnection;
+        this.exclusivePool = exclusivePool;
+    }
+
+    @Override
+    public void close() {
+        final List<SharedConnection> connections;
+        synchronized (stateLock) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            connections = new ArrayList<>(sharedConnections);
+            sharedConnections.clear();
+        }
+
+        logger.debug(LocalizableMessage.raw("Connection pool is closing: sharedConnections=%d, pendingRequests=%d",
+                connections.size(), pendingRequests.size()));
+
+        failPendingRequests();
+        for (final SharedConnection shared : connections) {
+            shared.connection.removeConnectionEventListener(shared);
+            shared.connection.close();
+        }
+        // The sub-pool closes the factory it shares with this pool.
+        exclusivePool.close();
+    }
+
+    @Override
+    public Connection getConnection() throws LdapException {
+        try {
+            return getConnectionAsync().getOrThrow();
+        } catch (final InterruptedException e) {
+            throw newLdapException(ResultCode.CLIENT_SIDE_USER_CANCELLED, e);
+        }
+    }
+
+    @Override
+    public Promise<Connection, LdapException> getConnectionAsync() {
+        final boolean mustConnect;
+        synchronized (stateLock) {
+            if (isClosed) {
+                throw new IllegalStateException("MultiplexedConnectionPool is already closed");
+            }
+            mustConnect = sharedConnections.isEmpty() && pendingConnectionAttempts == 0;
+            if (mustConnect) {
+                pendingConnectionAttempts++;
+            }
+        }
+        if (!mustConnect) {
+            return newResultPromise(newHandle());
+        }
+        // Report connection failures to the caller rather than to its first request.
+        final PromiseImpl<Connection, LdapException> promise = PromiseImpl.create();
+        openSharedConnection().thenOnResult(new ResultHandler<SharedConnection>() {
+            @Override
+            public void handleResult(final SharedConnection shared) {
+                processPendingRequests();
+                promise.handleResult(newHandle());
+            }
+        }).thenOnException(new ExceptionHandler<LdapException>() {
+            @Override
+            public void handleException(final LdapException e) {
+                promise.handleException(e);
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    public String toString() {
+        int outstanding = 0;
+        for (final SharedConnection shared : sharedConnections) {
+            outstanding += shared.outstandingRequests.get();
+        }
+        return String.format("MultiplexedConnectionPool(size=%d, maxSize=%d, outstandingRequests=%d, "
+                + "maxRequestsPerConnection=%d, pendingRequests=%d, handles=%d, exclusivePool=%s, factory=%s)",
+                sharedConnections.size(), maxConnections, outstanding, maxRequestsPerConnection,
+                pendingRequests.size(), handles.size(), exclusivePool, String.valueOf(factory));
+    }
+
+    private MultiplexedConnection newHandle() {
+        final MultiplexedConnection handle = new MultiplexedConnection();
+        handles.add(handle);
+        return handle;
+    }
+
+    /**
+     * Returns the least loaded shared connection after reserving a slot on it,
+     * or {@code null} if all of them are busy.
+     */
+    private SharedConnection tryAcquireLeastLoaded() {
+        for (;;) {
+            SharedConnection leastLoaded = null;
+            int min = maxRequestsPerConnection;
+            for (final SharedConnection shared : sharedConnections) {
+                final int outstanding = shared.outstandingRequests.get();
+                if (outstanding < min) {
+                    min = outstanding;
+                    leastLoaded = shared;
+                }
+            }
+            if (leastLoaded == null) {
+                return null;
+            } else if (leastLoaded.tryAcquire()) {
+                return leastLoaded;
+            }
+            // Lost a race for the last slot: look again.
+        }
+    }
+
+    private SharedConnection acquireSharedConnection() {
+        final SharedConnection shared = tryAcquireLeastLoaded();
+        if (shared == null && reserveConnectionAttempt()) {
+            openSharedConnectionForPendingRequests();
+        }
+        return shared;
+    }
+
+    private boolean reserveConnectionAttempt() {
+        synchronized (stateLock) {
+            if (isClosed || sharedConnections.size() + pendingConnectionAttempts >= maxConnections) {
+                return false;
+            }
+            pendingConnectionAttempts++;
+            return true;
+        }
+    }
+
+    /** The caller must have reserved a connection attempt. */
+    private void openSharedConnectionForPendingRequests() {
+        openSharedConnection().thenOnResult(new ResultHandler<SharedConnection>() {
+            @Override
+            public void handleResult(final SharedConnection shared) {
+                processPendingRequests();
+            }
+        });
+    }
+
+    private Promise<SharedConnection, LdapException> waitForSharedConnection() {
+        final PromiseImpl<SharedConnection, LdapException> promise = PromiseImpl.create();
+        pendingRequests.add(promise);
+        final boolean mustConnect;
+        synchronized (stateLock) {
+            if (isClosed) {
+                failPendingRequests();
+                return promise;
+            }
+            // The last connection attempt may have failed before the request was queued.
+            mustConnect = sharedConnections.isEmpty() && pendingConnectionAttempts == 0;
+            if (mustConnect) {
+                pendingConnectionAttempts++;
+            }
+        }
+        if (mustConnect) {
+            openSharedConnectionForPendingRequests();
+        }
+        // A slot may have been released before the request was queued.
+        processPendingRequests();
+        return promise;
+    }
+
+    /** The caller must have reserved a connection attempt. */
+    private Promise<SharedConnection, LdapException> openSharedConnection() {
+        return factory.getConnectionAsync().then(
+                new Function<Connection, SharedConnection, LdapException>() {
+                    @Override
+                    public SharedConnection apply(final Connection connection) throws LdapException {
+                        final SharedConnection shared = new SharedConnection(connection);
+                        synchronized (stateLock) {
+                            pendingConnectionAttempts--;
+                            if (!isClosed) {
+                                sharedConnections.add(shared);
+                                connection.addConnectionEventListener(shared);
+                                logger.debug(LocalizableMessage.raw(
+                                        "Opened shared connection: sharedConnections=%d, maxSize=%d",
+                                        sharedConnections.size(), maxConnections));
+                                return shared;
+                            }
+                        }
+                        connection.close();
+                        throw newLdapException(ResultCode.CLIENT_SIDE_USER_CANCELLED,
+                                ERR_CONNECTION_POOL_CLOSING.get(MultiplexedConnectionPool.this.toString())
+                                        .toString());
+                    }
+                }, new Function<LdapException, SharedConnection, LdapException>() {
+                    @Override
+                    public SharedConnection apply(final LdapException e) throws LdapException {
+                        final boolean noConnection;
+                        synchronized (stateLock) {
+                            pendingConnectionAttempts--;
+                            noConnection = sharedConnections.isEmpty() && pendingConnectionAttempts == 0;
+                        }
+                        logger.debug(LocalizableMessage.raw("Shared connection attempt failed", e));
+                        if (noConnection) {
+                            // No connection will ever release a slot for the queued requests.
+                            failPendingRequests(e);
+                        }
+                        throw e;
+                    }
+                });
+    }
+
+    private void removeSharedConnection(final SharedConnection shared) {
+        synchronized (stateLock) {
+            if (!sharedConnections.remove(shared)) {
+                return;
+            }
+        }
+        shared.connection.removeConnectionEventListener(shared);
+        shared.connection.close();
+        logger.debug(LocalizableMessage.raw("Removed invalid shared connection: sharedConnections=%d, maxSize=%d",
+                sharedConnections.size(), maxConnections));
+
+        if (!pendingRequests.isEmpty() && reserveConnectionAttempt()) {
+            openSharedConnectionForPendingRequests();
+        }
+    }
+
+    /** Hands over the available slots to the queued requests. */
+    private void processPendingRequests() {
+        while (!pendingRequests.isEmpty()) {
+            final SharedConnection shared = tryAcquireLeastLoaded();
+            if (shared == null) {
+                return;
+            }
+            final PromiseImpl<SharedConnection, LdapException> pending = pendingRequests.poll();
+            if (pending == null) {
+                // Another thread served the queued request: give the slot back.
+                shared.outstandingRequests.decrementAndGet();
+                return;
+            }
+            pending.handleResult(shared);
+        }
+    }
+
+    private void failPendingRequests() {
+        failPendingRequests(newLdapException(ResultCode.CLIENT_SIDE_USER_CANCELLED,
+                ERR_CONNECTION_POOL_CLOSING.get(toString()).toString()));
+    }
+
+    private void failPendingRequests(final LdapException e) {
+        PromiseImpl<SharedConnection, LdapException> pending;
+        while ((pending = pendingRequests.poll()) != null) {
+            pending.handleException(e);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import org.forgerock.i18n.LocalizableMessage;
 import org.forgerock.opendj.ldap.DecodeException;
 import org.forgerock.opendj.ldap.Entry;
 import org.forgerock.opendj.ldap.schema.Schema;
+import org.forgerock.opendj.ldif.TemplateFile.TemplateEntry;
 
 import org.forgerock.util.Reject;
 
@@ -108,6 +109,15 @@ public final class EntryGenerator implements EntryReader {
     /** Dictionary of constants to use in the template file. */
     private Map<String, String> constants = new HashMap<>();
 
+    /** Number of threads generating entries. */
+    private int numberOfThreads = 1;
+
+    /** Generates entries when more than one thread is used. */
+    private ParallelTransformer<TemplateEntry, Entry> parallelGenerator;
+
+    /** Next entry returned by the parallel generator. */
+    private Entry nextEntry;
+
     /**
      * Creates a generator using default values.
      * <p>
@@ -229,6 +239,42 @@ public final class EntryGenerator implements EntryReader {
         return this;
     }
 
+    /**
+     * Sets the number of threads which should be used for generating entries.
+     * <p>
+     * The thread reading entries walks the templates and draws, in entry
+     * order, the data of each entry which depends on the previous entries:
+     * the seed of its random number generator, its first and last names, and
+     * the values of its sequential tags. The tags of the entries are then
+     * evaluated in batches by a pool of worker threads, except for the
+     * entries having subordinate entries, whose DN is needed right away, and
+     * for the entries whose sequential tags share a line with a conditional
+     * tag, since a counter only advances for the lines included in the
+     * entries.
+     * <p>
+     * The entries are returned in the same order whatever the number of
+     * threads. With more than one thread, each entry draws its random values
+     * from its own random number generator: the entries generated for a given
+     * seed are the same whatever the number of threads, but they differ from
+     * the entries generated for this seed by a single thread, which remain
+     * those of the previous versions.
+     * <p>
+     * The default is {@code 1}. This method must be called before the first
+     * entry is read.
+     *
+     * @param numberOfThreads
+     *            The number of threads which should be used for generating
+     *            entries.
+     * @return A reference to this {@code EntryGenerator}.
+     * @throws IllegalArgumentException
+     *             If {@code numberOfThreads} is less than one.
+     */
+    public EntryGenerator setParallelism(final int numberOfThreads) {
+        Reject.ifTrue(numberOfThreads < 1, "The number of threads must be positive");
+        this.numberOfThreads = numberOfThreads;
+        return this;
+    }
+
     /**
      * Checks if there are some warning(s) after parsing the template file.
      * <p>
@@ -256,6 +302,9 @@ public final class EntryGenerator implements EntryReader {
     @Override
     public void close() {
         isClosed = true;
+        if (parallelGenerator != null) {
+            parallelGenerator.close();
+        }
     }
 
     @Override
@@ -264,6 +313,15 @@ public final class EntryGenerator implements EntryReader {
             return false;
         }
         ensureGeneratorIsInitialized();
+        if (numberOfThreads > 1) {
+            if (parallelGenerator == null) {
+                parallelGenerator = newParallelGenerator();
+            }
+            if (nextEntry == null) {
+                nextEntry = parallelGenerator.next();
+            }
+            return nextEntry != null;
+        }
         return templateFile.hasNext();
     }
 
@@ -271,6 +329,10 @@ public final class EntryGenerator implements EntryReader {
     public Entry readEntry() throws IOException {
         if (!hasNext()) {
             throw new NoSuchElementException();
+        } else if (numberOfThreads > 1) {
+            final Entry entry = nextEntry;
+            nextEntry = null;
+            return entry;
         } else {
             return templateFile.nextEntry();
         }
@@ -295,6 +357,7 @@ public final class EntryGenerator implements EntryReader {
             schema = Schema.getDefaultSchema();
         }
         templateFile = new TemplateFile(schema, constants, resourcePath, random, generateBranches);
+        templateFile.setParallelGeneration(numberOfThreads > 1);
         try {
             if (templatePath != null) {
                 templateFile.parse(templatePath, warnings);
@@ -313,4 +376,18 @@ public final class EntryGenerator implements EntryReader {
         }
     }
 
+    private ParallelTransformer<TemplateEntry, Entry> newParallelGenerator() {
+        return new ParallelTransformer<TemplateEntry, Entry>(numberOfThreads, "OpenDJ Entry Generator %d", true) {
+            @Override
+            TemplateEntry read() {
+                return templateFile.hasNext() ? templateFile.nextTemplateEntry() : null;
+            }
+
+            @Override
+            Entry transform(final TemplateEntry entry) {
+                return entry.toEntry();
+            }
+        };
+    }
+
 }
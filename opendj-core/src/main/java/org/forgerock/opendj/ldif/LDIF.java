@@ -18,6 +18,7 @@ package org.forgerock.opendj.ldif;
 import static com.forgerock.opendj.ldap.CoreMessages.*;
 import static org.forgerock.opendj.ldap.LdapException.newLdapException;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.ArrayList;
@@ -82,7 +83,7 @@ public final class LDIF {
     /**
      * Comparator ordering the DN ASC.
      */
-    private static final Comparator<byte[][]> DN_ORDER2 = new Comparator<byte[][]>() {
+    static final Comparator<byte[][]> DN_ORDER2 = new Comparator<byte[][]>() {
         @Override
         public int compare(byte[][] b1, byte[][] b2) {
             return DN_ORDER.compare(b1[0], b2[0]);
@@ -92,7 +93,7 @@ public final class LDIF {
     /**
      * Comparator ordering the DN ASC.
      */
-    private static final Comparator<byte[]> DN_ORDER = new Comparator<byte[]>() {
+    static final Comparator<byte[]> DN_ORDER = new Comparator<byte[]>() {
         @Override
         public int compare(byte[] b1, byte[] b2) {
             final ByteString bs = ByteString.valueOfBytes(b1);
@@ -236,6 +237,111 @@ public final class LDIF {
         };
     }
 
+    /**
+     * Compares the content of {@code source} to the content of {@code target}
+     * and returns the differences in a change record reader, without reading
+     * all the entries into memory. Closing the returned reader will cause
+     * {@code source} and {@code target} to be closed as well.
+     * <p>
+     * Both readers must return their entries sorted by DN, parents before
+     * their children, as returned by a {@link SortedEntryReader}. The source
+     * and target entries are compared in a single pass, and the change records
+     * are returned in an order in which they can be safely applied: add and
+     * modify records are returned first, parents before their children, then
+     * delete records are returned, children before their parents. The DNs of
+     * the deleted entries are written to a temporary file when there are too
+     * many of them to be kept in memory.
+     *
+     * @param source
+     *            The entry reader containing the sorted source entries to be
+     *            compared.
+     * @param target
+     *            The entry reader containing the sorted target entries to be
+     *            compared.
+     * @param tempDirectory
+     *            The directory in which temporary files may be written.
+     * @return A change record reader containing the differences.
+     * @throws IOException
+     *             If an unexpected IO error occurred.
+     * @see SortedEntryReader
+     */
+    public static ChangeRecordReader diffSorted(final EntryReader source, final EntryReader target,
+            final File tempDirectory) throws IOException {
+        final ReverseDNSpool deletedDNs = new ReverseDNSpool(tempDirectory);
+
+        return new ChangeRecordReader() {
+            private Entry sourceEntry = nextEntry(source);
+            private Entry targetEntry = nextEntry(target);
+            private ChangeRecord nextChangeRecord;
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    deletedDNs.close();
+                } finally {
+                    try {
+                        source.close();
+                    } finally {
+                        target.close();
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() throws IOException {
+                while (nextChangeRecord == null) {
+                    if (sourceEntry == null && targetEntry == null) {
+                        // Delete records: children before their parents.
+                        if (!deletedDNs.hasNext()) {
+                            return false;
+                        }
+                        nextChangeRecord = Requests.newDeleteRequest(deletedDNs.next());
+                        break;
+                    }
+
+                    final int cmp;
+                    if (sourceEntry == null) {
+                        cmp = 1;
+                    } else if (targetEntry == null) {
+                        cmp = -1;
+                    } else {
+                        cmp = sourceEntry.getName().compareTo(targetEntry.getName());
+                    }
+
+                    if (cmp == 0) {
+                        // Modify record: entry in both source and target.
+                        nextChangeRecord = Requests.newModifyRequest(sourceEntry, targetEntry);
+                        sourceEntry = nextEntry(source);
+                        targetEntry = nextEntry(target);
+                    } else if (cmp < 0) {
+                        // Delete record: entry in source but not in target.
+                        deletedDNs.add(sourceEntry.getName().toString());
+                        sourceEntry = nextEntry(source);
+                    } else {
+                        // Add record: entry in target but not in source.
+                        nextChangeRecord = Requests.newAddRequest(targetEntry);
+                        targetEntry = nextEntry(target);
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public ChangeRecord readChangeRecord() throws IOException {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final ChangeRecord changeRecord = nextChangeRecord;
+                nextChangeRecord = null;
+                return changeRecord;
+            }
+
+            private Entry nextEntry(final EntryReader reader) throws IOException {
+                return reader.hasNext() ? reader.readEntry() : null;
+            }
+        };
+    }
+
     /**
      * Builds an entry from the provided lines of LDIF.
      * <p>
@@ -855,7 +961,7 @@ public final class LDIF {
         return entries;
     }
 
-    private static Entry decodeEntry(final byte[] asn1EntryFormat) {
+    static Entry decodeEntry(final byte[] asn1EntryFormat) {
         try {
             return LDAP.readEntry(ASN1.getReader(asn1EntryFormat), new DecodeOptions());
         } catch (IOException ex) {
@@ -867,7 +973,7 @@ public final class LDIF {
         return dn.toNormalizedByteString().toByteArray();
     }
 
-    private static byte[][] encodeEntry(final Entry entry) {
+    static byte[][] encodeEntry(final Entry entry) {
         final byte[][] bEntry = new byte[2][];
         // Store normalized DN
         bEntry[0] = toNormalizedByteArray(entry.getName());
@@ -92,7 +92,25 @@ public final class LDIFEntryReader extends AbstractLDIFReader implements EntryRe
         }
     }
 
+    /** The outcome of decoding an LDIF record. */
+    private static final class ParsedRecord {
+        private final LDIFRecord record;
+        /** The decoded entry, or {@code null} if the record must be skipped. */
+        private Entry entry;
+        private LocalizableMessage malformedMessage;
+        private LocalizableMessage skippedMessage;
+        private List<LocalizableMessage> schemaErrors;
+        private boolean schemaValidationFailure;
+
+        private ParsedRecord(final LDIFRecord record) {
+            this.record = record;
+        }
+    }
+
     private Entry nextEntry;
+    private int numberOfThreads = 1;
+    private boolean preserveOrder = true;
+    private ParallelTransformer<LDIFRecord, ParsedRecord> parallelParser;
 
     /**
      * Creates a new LDIF entry reader whose source is the provided input
@@ -148,6 +166,9 @@ public final class LDIFEntryReader extends AbstractLDIFReader implements EntryRe
 
     @Override
     public void close() throws IOException {
+        if (parallelParser != null) {
+            parallelParser.close();
+        }
         close0();
     }
 
@@ -298,6 +319,48 @@ public final class LDIFEntryReader extends AbstractLDIFReader implements EntryRe
         return this;
     }
 
+    /**
+     * Specifies the number of threads which should be used for decoding LDIF
+     * entry records. When more than one thread is used, records are split from
+     * the input by the thread reading entries, and are decoded in batches by a
+     * pool of worker threads. The rejected record listener is always invoked by
+     * the thread reading entries.
+     * <p>
+     * Records are decoded by the thread reading entries by default. This
+     * method must be called before the first entry is read.
+     *
+     * @param numberOfThreads
+     *            The number of threads which should be used for decoding LDIF
+     *            entry records.
+     * @return A reference to this {@code LDIFEntryReader}.
+     * @throws IllegalArgumentException
+     *             If {@code numberOfThreads} is less than one.
+     */
+    public LDIFEntryReader setParallelism(final int numberOfThreads) {
+        Reject.ifTrue(numberOfThreads < 1, "The number of threads must be positive");
+        this.numberOfThreads = numberOfThreads;
+        return this;
+    }
+
+    /**
+     * Specifies whether entries decoded by several threads should be returned
+     * in the order in which they appear in the LDIF. When order is not
+     * preserved, entries are returned batch by batch as soon as each batch is
+     * decoded.
+     * <p>
+     * Order is preserved by default. This setting has no effect unless
+     * {@link #setParallelism(int)} is used with more than one thread.
+     *
+     * @param preserveOrder
+     *            {@code true} if entries should be returned in the order in
+     *            which they appear in the LDIF.
+     * @return A reference to this {@code LDIFEntryReader}.
+     */
+    public LDIFEntryReader setPreserveOrder(final boolean preserveOrder) {
+        this.preserveOrder = preserveOrder;
+        return this;
+    }
+
     /**
      * Sets the rejected record listener which should be notified whenever an
      * LDIF record is skipped, malformed, or fails schema validation.
@@ -351,70 +414,121 @@ public final class LDIFEntryReader extends AbstractLDIFReader implements EntryRe
 
     private Entry getNextEntry() throws DecodeException, IOException {
         while (nextEntry == null) {
-            // Read the set of lines that make up the next entry.
-            final LDIFRecord record = readLDIFRecord();
-            if (record == null) {
+            final ParsedRecord parsedRecord = numberOfThreads > 1 ? parallelParser().next() : parseNextRecord();
+            if (parsedRecord == null) {
                 nextEntry = EOF;
                 break;
             }
+            nextEntry = handleParsedRecord(parsedRecord);
+        }
 
-            try {
-                /* Read the DN of the entry and see if it is one that should be included in the import. */
-                final DN entryDN = readLDIFRecordDN(record);
-                if (entryDN == null) {
-                    // Skip version record.
-                    continue;
-                }
+        return nextEntry;
+    }
 
-                // Skip if branch containing the entry DN is excluded.
-                if (isBranchExcluded(entryDN)) {
-                    final LocalizableMessage message =
-                            ERR_LDIF_ENTRY_EXCLUDED_BY_DN
-                                    .get(record.lineNumber, entryDN.toString());
-                    handleSkippedRecord(record, message);
-                    continue;
+    private ParallelTransformer<LDIFRecord, ParsedRecord> parallelParser() {
+        if (parallelParser == null) {
+            parallelParser = new ParallelTransformer<LDIFRecord, ParsedRecord>(
+                    numberOfThreads, "OpenDJ LDIF Entry Reader %d", preserveOrder) {
+                @Override
+                LDIFRecord read() throws IOException {
+                    return readLDIFRecord();
                 }
 
-                // Use an Entry for the AttributeSequence.
-                final Entry entry = new LinkedHashMapEntry(entryDN);
-                boolean schemaValidationFailure = false;
-                final List<LocalizableMessage> schemaErrors = new LinkedList<>();
-                while (record.iterator.hasNext()) {
-                    final String ldifLine = record.iterator.next();
-                    if (!readLDIFRecordAttributeValue(record, ldifLine, entry, schemaErrors)) {
-                        schemaValidationFailure = true;
-                    }
+                @Override
+                ParsedRecord transform(final LDIFRecord record) {
+                    return parseRecord(record);
                 }
+            };
+        }
+        return parallelParser;
+    }
 
-                // Skip if the entry is excluded by any filters.
-                if (isEntryExcluded(entry)) {
-                    final LocalizableMessage message =
-                            ERR_LDIF_ENTRY_EXCLUDED_BY_FILTER.get(record.lineNumber, entryDN
-                                    .toString());
-                    handleSkippedRecord(record, message);
-                    continue;
-                }
+    private ParsedRecord parseNextRecord() throws IOException {
+        // Read the set of lines that make up the next entry.
+        final LDIFRecord record = readLDIFRecord();
+        return record != null ? parseRecord(record) : null;
+    }
 
-                if (!schema.validateEntry(entry, schemaValidationPolicy, schemaErrors)) {
-                    schemaValidationFailure = true;
-                }
+    /**
+     * Decodes a record without invoking the rejected record listener, so that
+     * records can be decoded concurrently.
+     */
+    private ParsedRecord parseRecord(final LDIFRecord record) {
+        final ParsedRecord parsedRecord = new ParsedRecord(record);
+        try {
+            /* Read the DN of the entry and see if it is one that should be included in the import. */
+            final DN entryDN = readLDIFRecordDN(record);
+            if (entryDN == null) {
+                // Skip version record.
+                return parsedRecord;
+            }
 
-                if (schemaValidationFailure) {
-                    handleSchemaValidationFailure(record, schemaErrors);
-                    continue;
-                }
+            // Skip if branch containing the entry DN is excluded.
+            if (isBranchExcluded(entryDN)) {
+                parsedRecord.skippedMessage =
+                        ERR_LDIF_ENTRY_EXCLUDED_BY_DN.get(record.lineNumber, entryDN.toString());
+                return parsedRecord;
+            }
 
-                if (!schemaErrors.isEmpty()) {
-                    handleSchemaValidationWarning(record, schemaErrors);
+            // Use an Entry for the AttributeSequence.
+            final Entry entry = new LinkedHashMapEntry(entryDN);
+            final List<LocalizableMessage> schemaErrors = new LinkedList<>();
+            while (record.iterator.hasNext()) {
+                final String ldifLine = record.iterator.next();
+                if (!readLDIFRecordAttributeValue(record, ldifLine, entry, schemaErrors)) {
+                    parsedRecord.schemaValidationFailure = true;
                 }
+            }
+
+            // Skip if the entry is excluded by any filters.
+            if (isEntryExcluded(entry)) {
+                parsedRecord.skippedMessage =
+                        ERR_LDIF_ENTRY_EXCLUDED_BY_FILTER.get(record.lineNumber, entryDN.toString());
+                return parsedRecord;
+            }
 
-                nextEntry = entry;
-            } catch (final DecodeException e) {
-                handleMalformedRecord(record, e.getMessageObject());
-                continue;
+            if (!schema.validateEntry(entry, schemaValidationPolicy, schemaErrors)) {
+                parsedRecord.schemaValidationFailure = true;
             }
+            parsedRecord.schemaErrors = schemaErrors;
+            parsedRecord.entry = entry;
+        } catch (final DecodeException e) {
+            parsedRecord.malformedMessage = e.getMessageObject();
+        }
+        return parsedRecord;
+    }
+
+    /**
+     * Notifies the rejected record listener of the problems found while
+     * decoding the record and returns the decoded entry, or {@code null} if the
+     * record must be skipped.
+     */
+    private Entry handleParsedRecord(final ParsedRecord parsedRecord) throws DecodeException {
+        final LDIFRecord record = parsedRecord.record;
+        if (parsedRecord.malformedMessage != null) {
+            handleMalformedRecord(record, parsedRecord.malformedMessage);
+            return null;
         }
 
-        return nextEntry;
+        try {
+            if (parsedRecord.skippedMessage != null) {
+                handleSkippedRecord(record, parsedRecord.skippedMessage);
+                return null;
+            }
+
+            if (parsedRecord.schemaValidationFailure) {
+                handleSchemaValidationFailure(record, parsedRecord.schemaErrors);
+                return null;
+            }
+
+            if (parsedRecord.schemaErrors != null && !parsedRecord.schemaErrors.isEmpty()) {
+                handleSchemaValidationWarning(record, parsedRecord.schemaErrors);
+            }
+
+            return parsedRecord.entry;
+        } catch (final DecodeException e) {
+            handleMalformedRecord(record, e.getMessageObject());
+            return null;
+        }
     }
 }
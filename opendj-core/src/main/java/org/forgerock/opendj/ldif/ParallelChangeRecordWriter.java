@@ -0,0 +1,582 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+
+package org.forgerock.opendj.ldif;
+
+import static com.forgerock.opendj.util.StaticUtils.DEFAULT_SCHEDULER;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.forgerock.opendj.ldap.Connection;
+import org.forgerock.opendj.ldap.DN;
+import org.forgerock.opendj.ldap.LdapException;
+import org.forgerock.opendj.ldap.LdapPromise;
+import org.forgerock.opendj.ldap.ResultCode;
+import org.forgerock.opendj.ldap.requests.AddRequest;
+import org.forgerock.opendj.ldap.requests.DeleteRequest;
+import org.forgerock.opendj.ldap.requests.ModifyDNRequest;
+import org.forgerock.opendj.ldap.requests.ModifyRequest;
+import org.forgerock.opendj.ldap.responses.Result;
+import org.forgerock.util.Reject;
+import org.forgerock.util.promise.ExceptionHandler;
+import org.forgerock.util.promise.ResultHandler;
+
+import com.forgerock.opendj.util.ReferenceCountedObject;
+
+/**
+ * A {@code ParallelChangeRecordWriter} writes change records by sending the
+ * appropriate update requests (Add, Delete, Modify, or ModifyDN) to a set of
+ * connections, keeping up to a configurable number of requests outstanding in
+ * order to hide the network round trips when applying a large number of
+ * changes.
+ * <p>
+ * Change records are sent in the order in which they are written, but a
+ * change record is only sent once all the outstanding change records
+ * targeting the same entry, one of its superiors or one of its subordinates
+ * have completed: an entry is always added before its children, and a
+ * sequence of changes to the same entry is applied in order. For a ModifyDN
+ * request, both the old and the new DNs are taken into account.
+ * <p>
+ * Update requests failing with a {@link ResultCode#BUSY busy} or
+ * {@link ResultCode#UNAVAILABLE unavailable} result code are retried with an
+ * exponential backoff. The outcome of each change record is reported to the
+ * {@link ResultListener} if any, and the change records which could not be
+ * applied are written to the reject writer if any.
+ * <p>
+ * Unless {@link #setContinueOnError(boolean)} is used, the first error is
+ * propagated to the caller by the next write, or by the next flush once the
+ * outstanding requests have completed.
+ * <p>
+ * <b>Note:</b> comments are not supported by parallel change record writers.
+ * Attempts to write comments will be ignored.
+ */
+public final class ParallelChangeRecordWriter implements ChangeRecordWriter {
+    /**
+     * A listener notified of the outcome of the change records. The listener
+     * methods are never invoked concurrently.
+     */
+    public interface ResultListener {
+        /**
+         * Invoked when a change record has been successfully applied.
+         *
+         * @param change
+         *            The change record.
+         * @param result
+         *            The result of the update request.
+         */
+        void handleResult(ChangeRecord change, Result result);
+
+        /**
+         * Invoked when a change record could not be applied.
+         *
+         * @param change
+         *            The change record.
+         * @param error
+         *            The error returned by the last attempt.
+         */
+        void handleError(ChangeRecord change, LdapException error);
+    }
+
+    /** Sends the update request corresponding to a change record. */
+    private static final ChangeRecordVisitor<LdapPromise<Result>, Connection> SENDER =
+            new ChangeRecordVisitor<LdapPromise<Result>, Connection>() {
+                @Override
+                public LdapPromise<Result> visitChangeRecord(final Connection connection, final AddRequest change) {
+                    return connection.addAsync(change);
+                }
+
+                @Override
+                public LdapPromise<Result> visitChangeRecord(final Connection connection,
+                        final DeleteRequest change) {
+                    return connection.deleteAsync(change);
+                }
+
+                @Override
+                public LdapPromise<Result> visitChangeRecord(final Connection connection,
+                        final ModifyDNRequest change) {
+                    return connection.modifyDNAsync(change);
+                }
+
+                @Override
+                public LdapPromise<Result> visitChangeRecord(final Connection connection,
+                        final ModifyRequest change) {
+                    return connection.modifyAsync(change);
+                }
+            };
+
+    /** A change record being applied. */
+    private final class PendingChange implements ResultHandler<Result>, ExceptionHandler<LdapException>, Runnable {
+        private final ChangeRecord change;
+        private final List<DN> names;
+        private int attempts;
+
+        private PendingChange(final ChangeRecord change, final List<DN> names) {
+            this.change = change;
+            this.names = names;
+        }
+
+        /** Sends, or sends again, the update request. */
+        @Override
+        public void run() {
+            attempts++;
+            try {
+                change.accept(SENDER, nextConnection()).thenOnResult(this).thenOnException(this);
+            } catch (final RuntimeException e) {
+                handleException(LdapException.newLdapException(ResultCode.CLIENT_SIDE_LOCAL_ERROR, e));
+            }
+        }
+
+        @Override
+        public void handleResult(final Result result) {
+            completed(this, result, null);
+        }
+
+        @Override
+        public void handleException(final LdapException error) {
+            final ResultCode resultCode = error.getResult().getResultCode();
+            if (attempts <= maxRetries && (resultCode == ResultCode.BUSY || resultCode == ResultCode.UNAVAILABLE)) {
+                final long delayMs = retryDelayMs << Math.min(attempts - 1, 16);
+                scheduler.get().schedule(this, delayMs, TimeUnit.MILLISECONDS);
+            } else {
+                completed(this, null, error);
+            }
+        }
+    }
+
+    private final List<Connection> connections;
+    private final ReferenceCountedObject<ScheduledExecutorService>.Reference scheduler;
+    private int maxOutstandingRequests = 100;
+    private int maxRetries = 5;
+    private long retryDelayMs = 100;
+    private boolean continueOnError;
+    private ResultListener resultListener;
+    private ChangeRecordWriter rejectWriter;
+
+    /** Guards all the fields below, and signals the completion of requests. */
+    private final Object lock = new Object();
+    /** The number of outstanding change records targeting each DN. */
+    private final Map<DN, Integer> outstandingNames = new HashMap<>();
+    /** The number of outstanding change records targeting the subordinates of each DN. */
+    private final Map<DN, Integer> outstandingSubordinates = new HashMap<>();
+    private int outstandingRequests;
+    private int nextConnectionIndex;
+    private IOException error;
+    private boolean isClosed;
+
+    /** Serializes the notifications of the outcome of the change records. */
+    private final Object listenerLock = new Object();
+
+    /**
+     * Creates a new parallel change record writer whose destination is the
+     * provided connections.
+     *
+     * @param connections
+     *            The connections to use, which must be bound when required.
+     * @throws IllegalArgumentException
+     *             If {@code connections} is empty.
+     * @throws NullPointerException
+     *             If {@code connections} was {@code null}.
+     */
+    public ParallelChangeRecordWriter(final List<? extends Connection> connections) {
+        Reject.ifNull(connections);
+        Reject.ifTrue(connections.isEmpty(), "at least one connection is required");
+        this.connections = new ArrayList<>(connections);
+        this.scheduler = DEFAULT_SCHEDULER.acquire();
+    }
+
+    /**
+     * Sets the maximum number of update requests which may be outstanding at
+     * the same time over all the connections. The default is 100.
+     *
+     * @param maxOutstandingRequests
+     *            The maximum number of outstanding update requests.
+     * @return A reference to this parallel change record writer.
+     */
+    public ParallelChangeRecordWriter setMaxOutstandingRequests(final int maxOutstandingRequests) {
+        Reject.ifTrue(maxOutstandingRequests < 1, "maxOutstandingRequests must be positive");
+        this.maxOutstandingRequests = maxOutstandingRequests;
+        return this;
+    }
+
+    /**
+     * Sets the retry policy for the update requests failing with a busy or
+     * unavailable result code. The delay is doubled after each attempt. The
+     * default is 5 retries starting with a 100 milliseconds delay.
+     *
+     * @param maxRetries
+     *            The maximum number of times a request is retried, {@code 0}
+     *            to disable retries.
+     * @param initialDelay
+     *            The delay before the first retry.
+     * @param unit
+     *            The unit of {@code initialDelay}.
+     * @return A reference to this parallel change record writer.
+     */
+    public ParallelChangeRecordWriter setRetryPolicy(final int maxRetries, final long initialDelay,
+            final TimeUnit unit) {
+        Reject.ifTrue(maxRetries < 0, "maxRetries must be positive or zero");
+        Reject.ifTrue(initialDelay < 0, "initialDelay must be positive or zero");
+        this.maxRetries = maxRetries;
+        this.retryDelayMs = unit.toMillis(initialDelay);
+        return this;
+    }
+
+    /**
+     * Specifies whether change records should still be applied after a change
+     * record could not be applied. By default, the first error is propagated
+     * to the caller.
+     *
+     * @param continueOnError
+     *            {@code true} if errors should not be propagated to the caller.
+     * @return A reference to this parallel change record writer.
+     */
+    public ParallelChangeRecordWriter setContinueOnError(final boolean continueOnError) {
+        this.continueOnError = continueOnError;
+        return this;
+    }
+
+    /**
+     * Sets the listener notified of the outcome of each change record.
+     *
+     * @param listener
+     *            The listener, or {@code null} if none.
+     * @return A reference to this parallel change record writer.
+     */
+    public ParallelChangeRecordWriter setResultListener(final ResultListener listener) {
+        this.resultListener = listener;
+        return this;
+    }
+
+    /**
+     * Sets the writer to which the change records which could not be applied
+     * are written, preceded by a comment describing the error. The reject
+     * writer is flushed but not closed by this writer.
+     *
+     * @param rejectWriter
+     *            The reject writer, or {@code null} if none.
+     * @return A reference to this parallel change record writer.
+     */
+    public ParallelChangeRecordWriter setRejectWriter(final ChangeRecordWriter rejectWriter) {
+        this.rejectWriter = rejectWriter;
+        return this;
+    }
+
+    /**
+     * Waits for the outstanding update requests, then closes this parallel
+     * change record writer, including the underlying connections. Closing a
+     * previously closed change record writer has no effect.
+     *
+     * @throws IOException
+     *             If the outstanding requests could not be waited for, or if
+     *             the reject writer could not be flushed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+        }
+        try {
+            awaitOutstandingRequests();
+            if (rejectWriter != null) {
+                rejectWriter.flush();
+            }
+        } finally {
+            for (final Connection connection : connections) {
+                connection.close();
+            }
+            scheduler.release();
+        }
+    }
+
+    /**
+     * Waits for the outstanding update requests to complete and flushes the
+     * reject writer.
+     *
+     * @throws IOException
+     *             If a change record could not be applied and errors are
+     *             propagated to the caller, or if the reject writer could not
+     *             be flushed.
+     */
+    @Override
+    public void flush() throws IOException {
+        awaitOutstandingRequests();
+        if (rejectWriter != null) {
+            rejectWriter.flush();
+        }
+        throwErrorIfNeeded();
+    }
+
+    /**
+     * Sends the provided Add request, blocking while the maximum number of
+     * outstanding requests is reached or while a related change record is
+     * being applied.
+     *
+     * @param change
+     *            The {@code AddRequest} to be written.
+     * @return A reference to this parallel change record writer.
+     * @throws IOException
+     *             If a previous change record could not be applied and errors
+     *             are propagated to the caller, or if the calling thread was
+     *             interrupted.
+     * @throws NullPointerException
+     *             If {@code change} was {@code null}.
+     */
+    @Override
+    public ParallelChangeRecordWriter writeChangeRecord(final AddRequest change) throws IOException {
+        Reject.ifNull(change);
+        return write(change, Collections.singletonList(change.getName()));
+    }
+
+    /**
+     * Sends the provided change record, blocking while the maximum number of
+     * outstanding requests is reached or while a related change record is
+     * being applied.
+     *
+     * @param change
+     *            The change record to be written.
+     * @return A reference to this parallel change record writer.
+     * @throws IOException
+     *             If a previous change record could not be applied and errors
+     *             are propagated to the caller, or if the calling thread was
+     *             interrupted.
+     * @throws NullPointerException
+     *             If {@code change} was {@code null}.
+     */
+    @Override
+    public ParallelChangeRecordWriter writeChangeRecord(final ChangeRecord change) throws IOException {
+        Reject.ifNull(change);
+        final IOException e = change.accept(ChangeRecordVisitorWriter.getInstance(), this);
+        if (e != null) {
+            throw e;
+        }
+        return this;
+    }
+
+    /**
+     * Sends the provided Delete request, blocking while the maximum number of
+     * outstanding requests is reached or while a related change record is
+     * being applied.
+     *
+     * @param change
+     *            The {@code DeleteRequest} to be written.
+     * @return A reference to this parallel change record writer.
+     * @throws IOException
+     *             If a previous change record could not be applied and errors
+     *             are propagated to the caller, or if the calling thread was
+     *             interrupted.
+     * @throws NullPointerException
+     *             If {@code change} was {@code null}.
+     */
+    @Override
+    public ParallelChangeRecordWriter writeChangeRecord(final DeleteRequest change) throws IOException {
+        Reject.ifNull(change);
+        return write(change, Collections.singletonList(change.getName()));
+    }
+
+    /**
+     * Sends the provided ModifyDN request, blocking while the maximum number
+     * of outstanding requests is reached or while a related change record is
+     * being applied.
+     *
+     * @param change
+     *            The {@code ModifyDNRequest} to be written.
+     * @return A reference to this parallel change record writer.
+     * @throws IOException
+     *             If a previous change record could not be applied and errors
+     *             are propagated to the caller, or if the calling thread was
+     *             interrupted.
+     * @throws NullPointerException
+     *             If {@code change} was {@code null}.
+     */
+    @Override
+    public ParallelChangeRecordWriter writeChangeRecord(final ModifyDNRequest change) throws IOException {
+        Reject.ifNull(change);
+        final DN name = change.getName();
+        final DN newSuperior = change.getNewSuperior() != null ? change.getNewSuperior() : name.parent();
+        final List<DN> names = new ArrayList<>(2);
+        names.add(name);
+        if (newSuperior != null) {
+            names.add(newSuperior.child(change.getNewRDN()));
+        }
+        return write(change, names);
+    }
+
+    /**
+     * Sends the provided Modify request, blocking while the maximum number of
+     * outstanding requests is reached or while a related change record is
+     * being applied.
+     *
+     * @param change
+     *            The {@code ModifyRequest} to be written.
+     * @return A reference to this parallel change record writer.
+     * @throws IOException
+     *             If a previous change record could not be applied and errors
+     *             are propagated to the caller, or if the calling thread was
+     *             interrupted.
+     * @throws NullPointerException
+     *             If {@code change} was {@code null}.
+     */
+    @Override
+    public ParallelChangeRecordWriter writeChangeRecord(final ModifyRequest change) throws IOException {
+        Reject.ifNull(change);
+        return write(change, Collections.singletonList(change.getName()));
+    }
+
+    /**
+     * Parallel change record writers do not support comments, so the provided
+     * comment will be ignored.
+     *
+     * @param comment
+     *            The {@code CharSequence} to be written as a comment.
+     * @return A reference to this parallel change record writer.
+     * @throws NullPointerException
+     *             If {@code comment} was {@code null}.
+     */
+    @Override
+    public ParallelChangeRecordWriter writeComment(final CharSequence comment) {
+        Reject.ifNull(comment);
+        return this;
+    }
+
+    private ParallelChangeRecordWriter write(final ChangeRecord change, final List<DN> names) throws IOException {
+        synchronized (lock) {
+            try {
+                while (error == null || continueOnError) {
+                    if (outstandingRequests < maxOutstandingRequests && !isRelatedToOutstandingChange(names)) {
+                        break;
+                    }
+                    lock.wait();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            }
+            throwErrorIfNeeded();
+            for (final DN name : names) {
+                increment(outstandingNames, name);
+                for (DN superior = name.parent(); superior != null; superior = superior.parent()) {
+                    increment(outstandingSubordinates, superior);
+                }
+            }
+            outstandingRequests++;
+        }
+        new PendingChange(change, names).run();
+        return this;
+    }
+
+    private boolean isRelatedToOutstandingChange(final List<DN> names) {
+        for (final DN name : names) {
+            if (outstandingNames.containsKey(name) || outstandingSubordinates.containsKey(name)) {
+                return true;
+            }
+            for (DN superior = name.parent(); superior != null; superior = superior.parent()) {
+                if (outstandingNames.containsKey(superior)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Connection nextConnection() {
+        synchronized (lock) {
+            final Connection connection = connections.get(nextConnectionIndex);
+            nextConnectionIndex = (nextConnectionIndex + 1) % connections.size();
+            return connection;
+        }
+    }
+
+    private void completed(final PendingChange pendingChange, final Result result, final LdapException ldapError) {
+        IOException rejectError = null;
+        synchronized (listenerLock) {
+            if (resultListener != null) {
+                if (ldapError == null) {
+                    resultListener.handleResult(pendingChange.change, result);
+                } else {
+                    resultListener.handleError(pendingChange.change, ldapError);
+                }
+            }
+            if (ldapError != null && rejectWriter != null) {
+                try {
+                    rejectWriter.writeComment(ldapError.getMessage());
+                    rejectWriter.writeChangeRecord(pendingChange.change);
+                } catch (final IOException e) {
+                    rejectError = e;
+                }
+            }
+        }
+
+        synchronized (lock) {
+            for (final DN name : pendingChange.names) {
+                decrement(outstandingNames, name);
+                for (DN superior = name.parent(); superior != null; superior = superior.parent()) {
+                    decrement(outstandingSubordinates, superior);
+                }
+            }
+            outstandingRequests--;
+            if (error == null) {
+                error = rejectError != null ? rejectError : ldapError;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    private void awaitOutstandingRequests() throws InterruptedIOException {
+        synchronized (lock) {
+            try {
+                while (outstandingRequests > 0) {
+                    lock.wait();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            }
+        }
+    }
+
+    private void throwErrorIfNeeded() throws IOException {
+        synchronized (lock) {
+            if (error != null && (!continueOnError || !(error instanceof LdapException))) {
+                throw error;
+            }
+        }
+    }
+
+    private static void increment(final Map<DN, Integer> counts, final DN name) {
+        final Integer count = counts.get(name);
+        counts.put(name, count != null ? count + 1 : 1);
+    }
+
+    private static void decrement(final Map<DN, Integer> counts, final DN name) {
+        final int count = counts.get(name);
+        if (count > 1) {
+            counts.put(name, count - 1);
+        } else {
+            counts.remove(name);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+
+package org.forgerock.opendj.ldif;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.forgerock.util.Utils;
+
+/**
+ * Transforms the items read sequentially from a source using a pool of worker
+ * threads. Items are read by the calling thread and handed to the workers in
+ * batches. The transformed items are returned either in the order in which
+ * they were read, or batch by batch as soon as each batch is transformed.
+ * <p>
+ * This class is not thread safe: it must only be used by the thread consuming
+ * the transformed items.
+ *
+ * @param <I>
+ *            The type of the items read from the source.
+ * @param <O>
+ *            The type of the transformed items.
+ */
+abstract class ParallelTransformer<I, O> implements Closeable {
+    /** The number of items transformed by a single task. */
+    private static final int BATCH_SIZE = 128;
+
+    private final int numberOfThreads;
+    private final String threadName;
+    private final boolean preserveOrder;
+
+    private ExecutorService executor;
+    private CompletionService<List<O>> completionService;
+    /** The batches being transformed, in the order in which they were read. */
+    private final Deque<Future<List<O>>> pendingBatches = new ArrayDeque<>();
+    private Iterator<O> currentBatch;
+    private boolean sourceExhausted;
+
+    /**
+     * Creates a new parallel transformer.
+     *
+     * @param numberOfThreads
+     *            The number of worker threads.
+     * @param threadName
+     *            The name of the worker threads, which may contain a "%d"
+     *            format specifier.
+     * @param preserveOrder
+     *            {@code true} if the transformed items must be returned in the
+     *            order in which the items were read.
+     */
+    ParallelTransformer(final int numberOfThreads, final String threadName, final boolean preserveOrder) {
+        this.numberOfThreads = numberOfThreads;
+        this.threadName = threadName;
+        this.preserveOrder = preserveOrder;
+    }
+
+    /**
+     * Reads the next item from the source. This method is invoked by the
+     * thread consuming the transformed items.
+     *
+     * @return The next item, or {@code null} if the source is exhausted.
+     * @throws IOException
+     *             If the next item could not be read.
+     */
+    abstract I read() throws IOException;
+
+    /**
+     * Transforms an item. This method is invoked concurrently by the worker
+     * threads.
+     *
+     * @param item
+     *            The item to transform.
+     * @return The transformed item.
+     */
+    abstract O transform(I item);
+
+    /**
+     * Returns the next transformed item.
+     *
+     * @return The next transformed item, or {@code null} if all the items have
+     *         been returned.
+     * @throws IOException
+     *             If an item could not be read or if the thread was
+     *             interrupted while waiting for the workers.
+     */
+    final O next() throws IOException {
+        while (currentBatch == null || !currentBatch.hasNext()) {
+            submitBatches();
+            if (pendingBatches.isEmpty()) {
+                return null;
+            }
+            currentBatch = nextBatch().iterator();
+        }
+        return currentBatch.next();
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        pendingBatches.clear();
+        currentBatch = null;
+        sourceExhausted = true;
+    }
+
+    /** Keeps up to two batches per worker thread in flight. */
+    private void submitBatches() throws IOException {
+        while (!sourceExhausted && pendingBatches.size() < 2 * numberOfThreads) {
+            final List<I> items = new ArrayList<>(BATCH_SIZE);
+            I item;
+            while (items.size() < BATCH_SIZE && (item = read()) != null) {
+                items.add(item);
+            }
+            sourceExhausted = items.size() < BATCH_SIZE;
+            if (!items.isEmpty()) {
+                pendingBatches.add(submit(items));
+            }
+        }
+    }
+
+    private Future<List<O>> submit(final List<I> items) {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(numberOfThreads, Utils.newThreadFactory(null, threadName, true));
+            if (!preserveOrder) {
+                completionService = new ExecutorCompletionService<>(executor);
+            }
+        }
+        final Callable<List<O>> task = new Callable<List<O>>() {
+            @Override
+            public List<O> call() {
+                final List<O> results = new ArrayList<>(items.size());
+                for (final I item : items) {
+                    results.add(transform(item));
+                }
+                return results;
+            }
+        };
+        return preserveOrder ? executor.submit(task) : completionService.submit(task);
+    }
+
+    private List<O> nextBatch() throws IOException {
+        try {
+            final Future<List<O>> batch;
+            if (preserveOrder) {
+                batch = pendingBatches.removeFirst();
+            } else {
+                batch = completionService.take();
+                pendingBatches.remove(batch);
+            }
+            return batch.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
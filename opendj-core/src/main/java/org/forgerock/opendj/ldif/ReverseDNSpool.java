@@ -0,0 +1,153 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+
+package org.forgerock.opendj.ldif;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores DNs and returns them in the reverse order from which they were added.
+ * Only a bounded number of DNs is kept in memory: the others are written in
+ * blocks to a temporary file, which is read backwards block by block.
+ * <p>
+ * This class is not thread safe.
+ */
+final class ReverseDNSpool implements Closeable {
+    /** The maximum number of DNs kept in memory. */
+    private static final int BLOCK_SIZE = 4096;
+
+    private final File tempDirectory;
+    private List<String> block = new ArrayList<>();
+    /** The position of the DN to return next in the current block. */
+    private int position = -1;
+    private File file;
+    private RandomAccessFile spool;
+    private final List<long[]> spilledBlocks = new ArrayList<>();
+    private boolean isReading;
+
+    /**
+     * Creates a new empty spool.
+     *
+     * @param tempDirectory
+     *            The directory in which the temporary file should be created.
+     */
+    ReverseDNSpool(final File tempDirectory) {
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Adds a DN to this spool.
+     *
+     * @param dn
+     *            The string representation of the DN.
+     * @throws IOException
+     *             If the DN could not be written to the temporary file.
+     */
+    void add(final String dn) throws IOException {
+        if (isReading) {
+            throw new IllegalStateException();
+        }
+        block.add(dn);
+        if (block.size() == BLOCK_SIZE) {
+            spill();
+        }
+    }
+
+    /**
+     * Returns {@code true} if there are DNs which have not been returned yet.
+     * No more DNs can be added once this method has been called.
+     *
+     * @return {@code true} if there are DNs which have not been returned yet.
+     * @throws IOException
+     *             If a block could not be read from the temporary file.
+     */
+    boolean hasNext() throws IOException {
+        if (!isReading) {
+            isReading = true;
+            position = block.size() - 1;
+        }
+        while (position < 0 && !spilledBlocks.isEmpty()) {
+            readBlock(spilledBlocks.remove(spilledBlocks.size() - 1));
+        }
+        return position >= 0;
+    }
+
+    /**
+     * Returns the last DN added to this spool and not returned yet.
+     *
+     * @return The last DN added to this spool and not returned yet.
+     * @throws IOException
+     *             If a block could not be read from the temporary file.
+     */
+    String next() throws IOException {
+        if (!hasNext()) {
+            throw new IllegalStateException();
+        }
+        return block.get(position--);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (spool != null) {
+            spool.close();
+            spool = null;
+            file.delete();
+        }
+    }
+
+    private void spill() throws IOException {
+        if (spool == null) {
+            file = File.createTempFile("ldif-diff", ".dns", tempDirectory);
+            spool = new RandomAccessFile(file, "rw");
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        for (final String dn : block) {
+            // Not writeUTF(), which is limited to 65535 bytes
+            final byte[] dnBytes = dn.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(dnBytes.length);
+            out.write(dnBytes);
+        }
+        out.flush();
+        spilledBlocks.add(new long[] { spool.getFilePointer(), bytes.size(), block.size() });
+        spool.write(bytes.toByteArray());
+        block.clear();
+    }
+
+    private void readBlock(final long[] spilledBlock) throws IOException {
+        final byte[] bytes = new byte[(int) spilledBlock[1]];
+        spool.seek(spilledBlock[0]);
+        spool.readFully(bytes);
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        block = new ArrayList<>((int) spilledBlock[2]);
+        for (int i = 0; i < spilledBlock[2]; i++) {
+            final byte[] dnBytes = new byte[in.readInt()];
+            in.readFully(dnBytes);
+            block.add(new String(dnBytes, StandardCharsets.UTF_8));
+        }
+        position = block.size() - 1;
+    }
+}
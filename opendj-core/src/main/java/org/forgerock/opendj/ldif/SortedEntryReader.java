@@ -0,0 +1,334 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+
+package org.forgerock.opendj.ldif;
+
+import static org.forgerock.opendj.ldif.LDIF.*;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.forgerock.opendj.ldap.Entry;
+import org.forgerock.util.Reject;
+import org.forgerock.util.Utils;
+
+/**
+ * An entry reader which returns the entries of another entry reader sorted by
+ * DN, parents before their children. Sorting uses a bounded amount of memory:
+ * entries are sorted in runs which are written to temporary files when they
+ * do not all fit in memory, and the runs are then merged while entries are
+ * read.
+ * <p>
+ * Sample usage:
+ *
+ * <pre>
+ * EntryReader sorted = new SortedEntryReader(new LDIFEntryReader(in))
+ *         .setTempDirectory(tmp).setMaxMemorySize(256 * 1024 * 1024).setParallelism(4);
+ * </pre>
+ *
+ * The entries are sorted when {@link #hasNext()} or {@link #readEntry()} is
+ * first called. The temporary files are deleted when this reader is closed.
+ */
+public final class SortedEntryReader implements EntryReader {
+    /** The default amount of memory used for sorting entries. */
+    private static final long DEFAULT_MAX_MEMORY_SIZE = 64 * 1024 * 1024;
+    /** The approximate memory used by an entry in a run, in addition to its encoded DN and content. */
+    private static final int ENTRY_OVERHEAD = 64;
+    /** The size of the buffers used for reading and writing runs. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** The value written at the end of a run. */
+    private static final int END_OF_RUN = -1;
+
+    /** A run being merged, positioned on its smallest entry not yet returned. */
+    private static final class RunCursor implements Closeable {
+        private final DataInputStream in;
+        private byte[][] current;
+
+        private RunCursor(final File file) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+        }
+
+        /** Moves to the next entry of the run, returning {@code false} at the end of the run. */
+        private boolean next() throws IOException {
+            final int dnLength = in.readInt();
+            if (dnLength == END_OF_RUN) {
+                current = null;
+                return false;
+            }
+            final byte[] dn = new byte[dnLength];
+            in.readFully(dn);
+            final byte[] entry = new byte[in.readInt()];
+            in.readFully(entry);
+            current = new byte[][] { dn, entry };
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final Comparator<RunCursor> CURSOR_ORDER = new Comparator<RunCursor>() {
+        @Override
+        public int compare(final RunCursor c1, final RunCursor c2) {
+            return DN_ORDER2.compare(c1.current, c2.current);
+        }
+    };
+
+    private final EntryReader reader;
+    private File tempDirectory = new File(System.getProperty("java.io.tmpdir"));
+    private long maxMemorySize = DEFAULT_MAX_MEMORY_SIZE;
+    private int numberOfThreads = 1;
+
+    private boolean isSorted;
+    private final List<File> runFiles = new ArrayList<>();
+    private final List<RunCursor> runCursors = new ArrayList<>();
+    /** The runs being merged, or {@code null} if all the entries fitted in memory. */
+    private PriorityQueue<RunCursor> mergedRuns;
+    /** The sorted entries, when they all fitted in memory. */
+    private Iterator<byte[][]> memoryRun;
+    private ExecutorService executor;
+
+    /**
+     * Creates a new sorted entry reader which will return the entries read
+     * from the provided entry reader. Closing this reader will close the
+     * provided reader as well.
+     *
+     * @param reader
+     *            The entry reader containing the entries to be sorted.
+     * @throws NullPointerException
+     *             If {@code reader} was {@code null}.
+     */
+    public SortedEntryReader(final EntryReader reader) {
+        Reject.ifNull(reader);
+        this.reader = reader;
+    }
+
+    /**
+     * Specifies the directory in which the sorted runs should be written.
+     * <p>
+     * The default temporary-file directory is used by default.
+     *
+     * @param tempDirectory
+     *            The directory in which the sorted runs should be written.
+     * @return A reference to this {@code SortedEntryReader}.
+     */
+    public SortedEntryReader setTempDirectory(final File tempDirectory) {
+        Reject.ifNull(tempDirectory);
+        this.tempDirectory = tempDirectory;
+        return this;
+    }
+
+    /**
+     * Specifies the approximate amount of memory, in bytes, which may be used
+     * for holding entries while they are sorted. This memory is shared by the
+     * runs being filled and the runs being sorted.
+     * <p>
+     * The default is 64 megabytes.
+     *
+     * @param maxMemorySize
+     *            The approximate amount of memory which may be used for
+     *            sorting entries.
+     * @return A reference to this {@code SortedEntryReader}.
+     * @throws IllegalArgumentException
+     *             If {@code maxMemorySize} is not positive.
+     */
+    public SortedEntryReader setMaxMemorySize(final long maxMemorySize) {
+        Reject.ifTrue(maxMemorySize <= 0, "The maximum memory size must be positive");
+        this.maxMemorySize = maxMemorySize;
+        return this;
+    }
+
+    /**
+     * Specifies the number of threads which should be used for sorting and
+     * writing runs while the next runs are being read.
+     * <p>
+     * Runs are sorted by the thread reading entries by default.
+     *
+     * @param numberOfThreads
+     *            The number of threads which should be used for sorting runs.
+     * @return A reference to this {@code SortedEntryReader}.
+     * @throws IllegalArgumentException
+     *             If {@code numberOfThreads} is less than one.
+     */
+    public SortedEntryReader setParallelism(final int numberOfThreads) {
+        Reject.ifTrue(numberOfThreads < 1, "The number of threads must be positive");
+        this.numberOfThreads = numberOfThreads;
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        try {
+            Utils.closeSilently(runCursors);
+            for (final File runFile : runFiles) {
+                runFile.delete();
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        if (!isSorted) {
+            isSorted = true;
+            sort();
+        }
+        return memoryRun != null ? memoryRun.hasNext() : !mergedRuns.isEmpty();
+    }
+
+    @Override
+    public Entry readEntry() throws IOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (memoryRun != null) {
+            return decodeEntry(memoryRun.next()[1]);
+        }
+        final RunCursor cursor = mergedRuns.remove();
+        final Entry entry = decodeEntry(cursor.current[1]);
+        if (cursor.next()) {
+            mergedRuns.add(cursor);
+        }
+        return entry;
+    }
+
+    private void sort() throws IOException {
+        // With several threads, runs are sorted while the next one is being filled
+        final long maxRunSize = numberOfThreads == 1 ? maxMemorySize : maxMemorySize / (numberOfThreads + 1);
+        final Deque<Future<Void>> pendingRuns = new ArrayDeque<>();
+        List<byte[][]> run = new ArrayList<>();
+        long runSize = 0;
+        while (reader.hasNext()) {
+            final byte[][] entry = encodeEntry(reader.readEntry());
+            run.add(entry);
+            runSize += entry[0].length + entry[1].length + ENTRY_OVERHEAD;
+            if (runSize >= maxRunSize) {
+                writeRun(run, pendingRuns);
+                run = new ArrayList<>();
+                runSize = 0;
+            }
+        }
+
+        if (runFiles.isEmpty()) {
+            Collections.sort(run, DN_ORDER2);
+            memoryRun = run.iterator();
+            return;
+        }
+        if (!run.isEmpty()) {
+            writeRun(run, pendingRuns);
+        }
+        while (!pendingRuns.isEmpty()) {
+            await(pendingRuns.removeFirst());
+        }
+
+        mergedRuns = new PriorityQueue<>(runFiles.size(), CURSOR_ORDER);
+        for (final File runFile : runFiles) {
+            final RunCursor cursor = new RunCursor(runFile);
+            runCursors.add(cursor);
+            if (cursor.next()) {
+                mergedRuns.add(cursor);
+            }
+        }
+    }
+
+    private void writeRun(final List<byte[][]> run, final Deque<Future<Void>> pendingRuns) throws IOException {
+        final File runFile = File.createTempFile("ldif-sort", ".run", tempDirectory);
+        runFiles.add(runFile);
+        final Callable<Void> task = new Callable<Void>() {
+            @Override
+            public Void call() throws IOException {
+                Collections.sort(run, DN_ORDER2);
+                try (DataOutputStream out =
+                        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(runFile), BUFFER_SIZE))) {
+                    for (final byte[][] entry : run) {
+                        out.writeInt(entry[0].length);
+                        out.write(entry[0]);
+                        out.writeInt(entry[1].length);
+                        out.write(entry[1]);
+                    }
+                    out.writeInt(END_OF_RUN);
+                }
+                return null;
+            }
+        };
+
+        if (numberOfThreads == 1) {
+            try {
+                task.call();
+            } catch (final IOException e) {
+                throw e;
+            } catch (final Exception e) {
+                throw new IOException(e);
+            }
+            return;
+        }
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(
+                    numberOfThreads, Utils.newThreadFactory(null, "OpenDJ LDIF Sorter %d", true));
+        }
+        if (pendingRuns.size() >= numberOfThreads) {
+            await(pendingRuns.removeFirst());
+        }
+        pendingRuns.add(executor.submit(task));
+    }
+
+    private static void await(final Future<Void> pendingRun) throws IOException {
+        try {
+            pendingRun.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -143,6 +143,9 @@ final class TemplateFile {
     /** Indicates whether branch entries should be generated. */
     private boolean generateBranches;
 
+    /** Indicates whether the tags of the entries may be evaluated by several threads. */
+    private boolean parallelGeneration;
+
     /**
      * The resource path to use for filesystem elements that cannot be found
      * anywhere else.
@@ -238,6 +241,25 @@ final class TemplateFile {
         return random;
     }
 
+    /**
+     * Sets whether the tags of the entries may be evaluated by several threads.
+     * <p>
+     * By default, the entries are generated one at a time, drawing from the
+     * random number generator of this template file, so that a given seed
+     * always produces the same entries. When generating in parallel, each
+     * entry has its own random number generator, seeded from the one of this
+     * template file: the entries produced for a given seed do not depend on
+     * the number of threads, but differ from the entries generated one at a
+     * time.
+     *
+     * @param parallelGeneration
+     *            {@code true} if the tags of the entries may be evaluated by
+     *            several threads.
+     */
+    void setParallelGeneration(final boolean parallelGeneration) {
+        this.parallelGeneration = parallelGeneration;
+    }
+
     private void retrieveFirstAndLastNames() throws IOException {
         try (BufferedReader first = getReader(FIRST_NAME_FILE)) {
             if (first == null) {
@@ -1298,10 +1320,25 @@ final class TemplateFile {
      *             If this reader does not contain any more entries.
      */
     Entry nextEntry() {
+        return nextTemplateEntry().toEntry();
+    }
+
+    /**
+     * Returns the next generated entry, before its conversion to an
+     * {@code Entry}. The tags of the returned entry may not have been
+     * evaluated yet, but evaluating them and converting the entry does not
+     * depend on the state of this template file: it may be done by another
+     * thread.
+     *
+     * @return The next entry.
+     * @throws NoSuchElementException
+     *             If this reader does not contain any more entries.
+     */
+    TemplateEntry nextTemplateEntry() {
         if (!hasNext()) {
             throw new NoSuchElementException();
         }
-        final Entry entry = nextEntry.toEntry();
+        final TemplateEntry entry = nextEntry;
         nextEntry = null;
         return entry;
     }
@@ -1311,6 +1348,9 @@ final class TemplateFile {
      * branch may or may not have subordinate entries.
      */
     static final class Branch {
+        /** The template file in which this branch appears. */
+        private final TemplateFile templateFile;
+
         /** The DN for this branch entry. */
         private final DN branchDN;
 
@@ -1379,6 +1419,7 @@ final class TemplateFile {
         Branch(final TemplateFile templateFile, final DN branchDN, final Schema schema,
                 final List<String> subordinateTemplateNames, final List<Integer> numEntriesPerTemplate,
                 final List<TemplateLine> extraLines) throws DecodeException {
+            this.templateFile = templateFile;
             this.branchDN = branchDN;
             this.subordinateTemplateNames = subordinateTemplateNames;
             this.numEntriesPerTemplate = numEntriesPerTemplate;
@@ -1497,9 +1538,8 @@ final class TemplateFile {
             final TemplateEntry entry = new TemplateEntry(this);
             final List<TemplateLine> lines = new ArrayList<>(rdnLines);
             lines.addAll(extraLines);
-            for (final TemplateLine line : lines) {
-                line.generateLine(entry);
-            }
+            entry.initialize(templateFile, lines);
+            entry.generate();
             for (int i = 0; i < subordinateTemplates.size(); i++) {
                 subordinateTemplates.get(i).reset(entry.getDN(), numEntriesPerTemplate.get(i));
             }
@@ -1736,11 +1776,13 @@ final class TemplateFile {
         private TemplateEntry buildTemplateEntry() {
             templateFile.nextFirstAndLastNames();
             final TemplateEntry templateEntry = new TemplateEntry(this, parentDN);
-            for (final TemplateLine line : templateLines) {
-                line.generateLine(templateEntry);
-            }
-            for (int i = 0; i < subTemplates.size(); i++) {
-                subTemplates.get(i).reset(templateEntry.getDN(), numEntriesPerTemplate.get(i));
+            templateEntry.initialize(templateFile, templateLines);
+            if (!subTemplates.isEmpty()) {
+                // The DN of this entry is needed now, as the parent DN of its subordinate entries
+                templateEntry.generate();
+                for (int i = 0; i < subTemplates.size(); i++) {
+                    subTemplates.get(i).reset(templateEntry.getDN(), numEntriesPerTemplate.get(i));
+                }
             }
             return templateEntry;
         }
@@ -1833,6 +1875,24 @@ final class TemplateFile {
          */
         private final Template template;
 
+        /**
+         * The lines to evaluate to generate this entry, or {@code null} once
+         * they have been evaluated.
+         */
+        private List<TemplateLine> lines;
+
+        /** The random number generator used to evaluate the tags of this entry. */
+        private Random random;
+
+        /** The first name of this entry. */
+        private String firstName;
+
+        /** The last name of this entry. */
+        private String lastName;
+
+        /** The values of the ordered tags of this entry, drawn in entry order. */
+        private Map<TemplateTag, String> orderedValues;
+
         /**
          * Creates a new template entry that will be associated with the
          * provided branch.
@@ -1860,6 +1920,85 @@ final class TemplateFile {
             this.parentDN = parentDN;
         }
 
+        /**
+         * Draws the data of this entry which depends on the entries created
+         * before it. This method must be called in entry order.
+         * <p>
+         * Unless the template file generates entries in parallel, the lines
+         * are evaluated right away with the random number generator of the
+         * template file. Otherwise, the seed of the random number generator of
+         * this entry, its first and last names, and the values of its ordered
+         * tags are drawn, and the lines may then be evaluated by any thread.
+         * The lines are evaluated right away if an ordered tag shares its
+         * line with a tag which may fail, since the value of the ordered tag
+         * must not be consumed when the line is not included in the entry.
+         *
+         * @param templateFile
+         *            The template file generating this entry.
+         * @param lines
+         *            The lines to evaluate to generate this entry.
+         */
+        void initialize(final TemplateFile templateFile, final List<TemplateLine> lines) {
+            this.lines = lines;
+            firstName = templateFile.getFirstName();
+            lastName = templateFile.getLastName();
+            if (!templateFile.parallelGeneration) {
+                random = templateFile.getRandom();
+                generate();
+                return;
+            }
+            random = new Random(templateFile.getRandom().nextLong());
+            for (final TemplateLine line : lines) {
+                if (line.hasOrderedTagWhichMayBeSkipped()) {
+                    generate();
+                    return;
+                }
+            }
+            for (final TemplateLine line : lines) {
+                for (final TemplateTag tag : line.getTags()) {
+                    if (tag.isOrdered()) {
+                        if (orderedValues == null) {
+                            orderedValues = new HashMap<>();
+                        }
+                        orderedValues.put(tag, tag.nextOrderedValue());
+                    }
+                }
+            }
+        }
+
+        /** Evaluates the lines of this entry, unless they have already been evaluated. */
+        void generate() {
+            if (lines != null) {
+                for (final TemplateLine line : lines) {
+                    line.generateLine(this);
+                }
+                lines = null;
+                random = null;
+                orderedValues = null;
+            }
+        }
+
+        Random getRandom() {
+            return random;
+        }
+
+        String getFirstName() {
+            return firstName;
+        }
+
+        String getLastName() {
+            return lastName;
+        }
+
+        /**
+         * Returns the value of the provided ordered tag for this entry, drawn
+         * in advance when this entry may be generated by any thread.
+         */
+        String getOrderedValue(final TemplateTag tag) {
+            final String value = orderedValues != null ? orderedValues.get(tag) : null;
+            return value != null ? value : tag.nextOrderedValue();
+        }
+
         DN getParentDN() {
             return parentDN;
         }
@@ -1927,11 +2066,13 @@ final class TemplateFile {
         }
 
         /**
-         * Returns an entry built from this template entry.
+         * Returns an entry built from this template entry, evaluating its
+         * lines first if needed.
          *
          * @return an entry
          */
         Entry toEntry() {
+            generate();
             final Entry entry = new LinkedHashMapEntry(getDN());
 
             for (Map.Entry<AttributeType, List<TemplateValue>> mapEntry : attributes.entrySet()) {
@@ -2019,6 +2160,24 @@ final class TemplateFile {
             return attributeType;
         }
 
+        List<TemplateTag> getTags() {
+            return tags;
+        }
+
+        /**
+         * Indicates whether this line contains an ordered tag together with a
+         * tag which may fail, so that the ordered tag is not always evaluated.
+         */
+        boolean hasOrderedTagWhichMayBeSkipped() {
+            boolean hasOrderedTag = false;
+            boolean hasTagWhichMayFail = false;
+            for (final TemplateTag tag : tags) {
+                hasOrderedTag |= tag.isOrdered();
+                hasTagWhichMayFail |= tag.mayFail();
+            }
+            return hasOrderedTag && hasTagWhichMayFail;
+        }
+
         /**
          * Generates the content for this template line and places it in the
          * provided template entry.
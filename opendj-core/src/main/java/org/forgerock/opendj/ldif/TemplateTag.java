@@ -113,6 +113,41 @@ abstract class TemplateTag {
         // No implementation required by default.
     }
 
+    /**
+     * Indicates whether the values generated by this tag depend on the values
+     * generated for the previous entries, like a counter. When entries are
+     * generated by several threads, the value of such a tag is drawn when the
+     * entry is created, in entry order, so that the entry may then be
+     * generated by any thread.
+     *
+     * @return {@code true} if the values of this tag must be drawn in entry
+     *         order.
+     */
+    boolean isOrdered() {
+        return false;
+    }
+
+    /**
+     * Returns the next value of this tag, if it is ordered.
+     *
+     * @return The next value of this tag, or {@code null} if this tag is not
+     *         ordered.
+     * @see #isOrdered()
+     */
+    String nextOrderedValue() {
+        return null;
+    }
+
+    /**
+     * Indicates whether this tag may fail to generate a value, in which case
+     * the line containing it is not included in the entry.
+     *
+     * @return {@code true} if this tag may fail to generate a value.
+     */
+    boolean mayFail() {
+        return false;
+    }
+
     /**
      * Check for an attribute type in a branch or in a template.
      *
@@ -343,9 +378,6 @@ abstract class TemplateTag {
         /** The index used for sequential access. */
         private int nextIndex;
 
-        /** The random number generator for this tag. */
-        private Random random;
-
         /** The lines read from the file. */
         private String[] fileLines;
 
@@ -373,8 +405,6 @@ abstract class TemplateTag {
 
         private void initialize(TemplateFile templateFile, String[] arguments, int lineNumber)
                 throws DecodeException {
-            random = templateFile.getRandom();
-
             // There must be at least one argument, and possibly two.
             if (arguments.length < 1 || arguments.length > 2) {
                 LocalizableMessage message = ERR_ENTRY_GENERATOR_TAG_INVALID_ARGUMENT_RANGE_COUNT.get(getName(),
@@ -414,15 +444,26 @@ abstract class TemplateTag {
             }
         }
 
+        @Override
+        boolean isOrdered() {
+            return isSequential;
+        }
+
+        @Override
+        String nextOrderedValue() {
+            final String value = fileLines[nextIndex++];
+            if (nextIndex >= fileLines.length) {
+                nextIndex = 0;
+            }
+            return value;
+        }
+
         @Override
         TagResult generateValue(TemplateEntry templateEntry, TemplateValue templateValue) {
             if (isSequential) {
-                templateValue.append(fileLines[nextIndex++]);
-                if (nextIndex >= fileLines.length) {
-                    nextIndex = 0;
-                }
+                templateValue.append(templateEntry.getOrderedValue(this));
             } else {
-                templateValue.append(fileLines[random.nextInt(fileLines.length)]);
+                templateValue.append(fileLines[templateEntry.getRandom().nextInt(fileLines.length)]);
             }
 
             return TagResult.SUCCESS;
@@ -440,7 +481,7 @@ abstract class TemplateTag {
 
         @Override
         TagResult generateValue(TemplateEntry templateEntry, TemplateValue templateValue) {
-            templateValue.append(templateFile.getFirstName());
+            templateValue.append(templateEntry.getFirstName());
             return TagResult.SUCCESS;
         }
     }
@@ -504,6 +545,11 @@ abstract class TemplateTag {
             return true;
         }
 
+        @Override
+        final boolean mayFail() {
+            return true;
+        }
+
         @Override
         final void initializeForBranch(Schema schema, TemplateFile templateFile, Branch branch, String[] arguments,
                 int lineNumber, List<LocalizableMessage> warnings) throws DecodeException {
@@ -606,7 +652,7 @@ abstract class TemplateTag {
 
         @Override
         TagResult generateValue(TemplateEntry templateEntry, TemplateValue templateValue) {
-            templateValue.append(templateFile.getLastName());
+            templateValue.append(templateEntry.getLastName());
             return TagResult.SUCCESS;
         }
     }
@@ -631,9 +677,6 @@ abstract class TemplateTag {
         /** The set of values in the list. */
         private String[] valueStrings;
 
-        /** The random number generator for this tag. */
-        private Random random;
-
         @Override
         String getName() {
             return "List";
@@ -664,7 +707,6 @@ abstract class TemplateTag {
             valueStrings = new String[arguments.length];
             valueWeights = new int[arguments.length];
             cumulativeWeight = 0;
-            random = templateFile.getRandom();
 
             for (int i = 0; i < arguments.length; i++) {
                 String value = arguments[i];
@@ -686,7 +728,7 @@ abstract class TemplateTag {
 
         @Override
         TagResult generateValue(TemplateEntry templateEntry, TemplateValue templateValue) {
-            int selectedWeight = random.nextInt(cumulativeWeight) + 1;
+            int selectedWeight = templateEntry.getRandom().nextInt(cumulativeWeight) + 1;
             for (int i = 0; i < valueWeights.length; i++) {
                 if (selectedWeight <= valueWeights[i]) {
                     templateValue.append(valueStrings[i]);
@@ -702,9 +744,6 @@ abstract class TemplateTag {
      * value.
      */
     static abstract class NameTag extends TemplateTag {
-        /** The template file with which this tag is associated. */
-        TemplateFile templateFile;
-
         @Override
         final boolean allowedInBranch() {
             return false;
@@ -713,8 +752,6 @@ abstract class TemplateTag {
         @Override
         final void initializeForTemplate(Schema schema, TemplateFile templateFile, Template template,
                 String[] arguments, int lineNumber, List<LocalizableMessage> warnings) throws DecodeException {
-            this.templateFile = templateFile;
-
             if (arguments.length != 0) {
                 LocalizableMessage message = ERR_ENTRY_GENERATOR_TAG_INVALID_ARGUMENT_COUNT.get(getName(), lineNumber,
                         0, arguments.length);
@@ -776,9 +813,6 @@ abstract class TemplateTag {
          */
         private int percentage;
 
-        /** The random number generator for this tag. */
-        private Random random;
-
         @Override
         String getName() {
             return "Presence";
@@ -789,6 +823,11 @@ abstract class TemplateTag {
             return true;
         }
 
+        @Override
+        boolean mayFail() {
+            return true;
+        }
+
         @Override
         void initializeForBranch(Schema schema, TemplateFile templateFile, Branch branch, String[] arguments,
                 int lineNumber, List<LocalizableMessage> warnings) throws DecodeException {
@@ -803,8 +842,6 @@ abstract class TemplateTag {
 
         private void initialize(TemplateFile templateFile, String[] arguments, int lineNumber)
                 throws DecodeException {
-            random = templateFile.getRandom();
-
             if (arguments.length != 1) {
                 LocalizableMessage message = ERR_ENTRY_GENERATOR_TAG_INVALID_ARGUMENT_COUNT.get(getName(), lineNumber,
                         1, arguments.length);
@@ -832,7 +869,7 @@ abstract class TemplateTag {
 
         @Override
         TagResult generateValue(TemplateEntry templateEntry, TemplateValue templateValue) {
-            int intValue = random.nextInt(100);
+            int intValue = templateEntry.getRandom().nextInt(100);
             return intValue < percentage ? TagResult.SUCCESS : TagResult.FAILURE;
         }
     }
@@ -948,9 +985,6 @@ abstract class TemplateTag {
          */
         private long valueRange = 1L;
 
-        /** The random number generator for this tag. */
-        private Random random;
-
         @Override
         String getName() {
             return "Random";
@@ -975,8 +1009,6 @@ abstract class TemplateTag {
 
         private void initialize(TemplateFile templateFile, String[] arguments, int lineNumber,
                 List<LocalizableMessage> warnings) throws DecodeException {
-            random = templateFile.getRandom();
-
             // There must be at least one argument, to specify the type of
             // random value to generate.
             if (arguments == null || arguments.length == 0) {
@@ -1188,6 +1220,7 @@ abstract class TemplateTag {
 
         @Override
         TagResult generateValue(TemplateEntry templateEntry, TemplateValue templateValue) {
+            final Random random = templateEntry.getRandom();
             switch (randomType) {
             case CHARS_FIXED:
                 for (int i = 0; i < minLength; i++) {
@@ -1205,7 +1238,10 @@ abstract class TemplateTag {
             case NUMERIC:
                 long randomValue = (random.nextLong() & 0x7FFFFFFFFFFFFFFFL) % valueRange + minValue;
                 if (decimalFormat != null) {
-                    templateValue.append(decimalFormat.format(randomValue));
+                    // Entries may be generated concurrently
+                    synchronized (decimalFormat) {
+                        templateValue.append(decimalFormat.format(randomValue));
+                    }
                 } else {
                     templateValue.append(randomValue);
                 }
@@ -1362,9 +1398,19 @@ abstract class TemplateTag {
             }
         }
 
+        @Override
+        boolean isOrdered() {
+            return true;
+        }
+
+        @Override
+        String nextOrderedValue() {
+            return String.valueOf(nextValue++);
+        }
+
         @Override
         TagResult generateValue(TemplateEntry templateEntry, TemplateValue templateValue) {
-            templateValue.append(nextValue++);
+            templateValue.append(templateEntry.getOrderedValue(this));
             return TagResult.SUCCESS;
         }
     }
@@ -0,0 +1,123 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.ldap;
+
+import static org.fest.assertions.Assertions.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests the DN cache shared by all the threads. */
+@SuppressWarnings("javadoc")
+public class DNCacheTestCase extends SdkTestCase {
+    private int capacity;
+
+    @BeforeMethod
+    public void enableCache() {
+        capacity = DNCache.getCapacity();
+        DNCache.setCapacity(100);
+    }
+
+    @AfterMethod
+    public void restoreCache() {
+        DNCache.setCapacity(capacity);
+    }
+
+    @Test
+    public void testCapacityIsRoundedUpToPowerOfTwo() {
+        assertThat(DNCache.getCapacity()).isEqualTo(128);
+        DNCache.setCapacity(0);
+        assertThat(DNCache.getCapacity()).isEqualTo(0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativeCapacityIsRejected() {
+        DNCache.setCapacity(-1);
+    }
+
+    /** The per-thread cache cannot help here: the parent must come from the shared cache. */
+    @Test
+    public void testParentDNIsSharedBetweenThreads() throws Exception {
+        final DN dn1 = DN.valueOf("uid=user.1,ou=shared-between-threads,dc=example,dc=com");
+        final long hits = DNCache.getHitCount();
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final DN dn2 = executor.submit(new Callable<DN>() {
+                @Override
+                public DN call() {
+                    return DN.valueOf("uid=user.2,ou=shared-between-threads,dc=example,dc=com");
+                }
+            }).get();
+            assertThat(dn2.parent()).isSameAs(dn1.parent());
+            assertThat(DNCache.getHitCount()).isGreaterThan(hits);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testEquivalentDNsKeepTheirSpelling() throws Exception {
+        final DN dn1 = DN.valueOf("uid=user.1,ou=Equivalent,dc=example,dc=com");
+        final DN dn2 = DN.valueOf("uid=user.2,OU=equivalent, DC=Example,dc=com");
+
+        assertThat(dn2.parent()).isEqualTo(dn1.parent());
+        assertThat(dn2.parent()).isNotSameAs(dn1.parent());
+        assertThat(dn2.toString()).isEqualTo("uid=user.2,OU=equivalent,DC=Example,dc=com");
+
+        // the spelling does not depend on the DNs decoded before by other threads
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final DN dn3 = executor.submit(new Callable<DN>() {
+                @Override
+                public DN call() {
+                    return DN.valueOf("OU=Equivalent,DC=EXAMPLE,DC=COM");
+                }
+            }).get();
+            assertThat(dn3.toString()).isEqualTo("OU=Equivalent,DC=EXAMPLE,DC=COM");
+            assertThat(dn3.parent().toString()).isEqualTo("DC=EXAMPLE,DC=COM");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testDisabledCacheDoesNotShareParentDNs() throws Exception {
+        DNCache.setCapacity(0);
+        final long lookups = DNCache.getHitCount() + DNCache.getMissCount();
+        final DN dn1 = DN.valueOf("uid=user.1,ou=disabled,dc=example,dc=com");
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final DN dn2 = executor.submit(new Callable<DN>() {
+                @Override
+                public DN call() {
+                    return DN.valueOf("uid=user.2,ou=disabled,dc=example,dc=com");
+                }
+            }).get();
+            assertThat(dn2.parent()).isEqualTo(dn1.parent());
+            assertThat(dn2.parent()).isNotSameAs(dn1.parent());
+            assertThat(DNCache.getHitCount() + DNCache.getMissCount()).isEqualTo(lookups);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
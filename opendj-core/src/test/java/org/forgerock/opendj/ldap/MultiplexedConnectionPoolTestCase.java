@@ -0,0 +1,296 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.ldap;
+
+import static org.fest.assertions.Assertions.*;
+import static org.forgerock.opendj.ldap.Connections.*;
+import static org.forgerock.opendj.ldap.LdapException.*;
+import static org.forgerock.opendj.ldap.TestCaseUtils.*;
+import static org.forgerock.opendj.ldap.spi.LdapPromises.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.forgerock.opendj.ldap.requests.AbandonRequest;
+import org.forgerock.opendj.ldap.requests.BindRequest;
+import org.forgerock.opendj.ldap.requests.CancelExtendedRequest;
+import org.forgerock.opendj.ldap.requests.DeleteRequest;
+import org.forgerock.opendj.ldap.requests.Requests;
+import org.forgerock.opendj.ldap.responses.ExtendedResult;
+import org.forgerock.opendj.ldap.responses.Responses;
+import org.forgerock.opendj.ldap.responses.Result;
+import org.forgerock.opendj.ldap.spi.LdapPromiseImpl;
+import org.forgerock.util.promise.PromiseImpl;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.Test;
+
+/** Tests the multiplexed connection pool implementation. */
+@SuppressWarnings("javadoc")
+public class MultiplexedConnectionPoolTestCase extends SdkTestCase {
+    private final DeleteRequest delete = Requests.newDeleteRequest("cn=test");
+
+    /**
+     * Requests should be spread over the shared connections, which should be
+     * created on demand, and queued once all of them are busy.
+     */
+    @Test
+    public void testRequestsAreSpreadOverSharedConnections() throws Exception {
+        final PromiseImpl<Result, LdapException> result1 = PromiseImpl.create();
+        final PromiseImpl<Result, LdapException> result2 = PromiseImpl.create();
+        final Connection connection1 = mockSharedConnection(asPromise(result1), asPromise(result2));
+        final Connection connection2 = mockSharedConnection(asPromise(PromiseImpl.<Result, LdapException> create()));
+        final ConnectionFactory factory = mockConnectionFactory(connection1, connection2);
+        final ConnectionPool pool = newMultiplexedConnectionPool(factory, 2, 1);
+
+        final Connection pc1 = pool.getConnection();
+        final Connection pc2 = pool.getConnection();
+        verify(factory, times(1)).getConnection();
+
+        final LdapPromise<Result> promise1 = pc1.deleteAsync(delete);
+        verify(connection1).deleteAsync(same(delete), any(IntermediateResponseHandler.class));
+
+        // The first shared connection is busy: a second one is created.
+        pc2.deleteAsync(delete);
+        verify(factory, times(2)).getConnection();
+        verify(connection2).deleteAsync(same(delete), any(IntermediateResponseHandler.class));
+
+        // Both shared connections are busy: the request waits for a slot.
+        final LdapPromise<Result> promise3 = pc1.deleteAsync(delete);
+        verify(factory, times(2)).getConnection();
+        verify(connection1, times(1)).deleteAsync(same(delete), any(IntermediateResponseHandler.class));
+        assertThat(promise3.isDone()).isFalse();
+
+        result1.handleResult(Responses.newResult(ResultCode.SUCCESS));
+        assertThat(promise1.get().getResultCode()).isEqualTo(ResultCode.SUCCESS);
+        verify(connection1, times(2)).deleteAsync(same(delete), any(IntermediateResponseHandler.class));
+        result2.handleResult(Responses.newResult(ResultCode.SUCCESS));
+        assertThat(promise3.get().getResultCode()).isEqualTo(ResultCode.SUCCESS);
+
+        // Releasing pooled connections does not close the shared connections.
+        pc1.close();
+        pc2.close();
+        assertThat(pc1.isClosed()).isTrue();
+        verify(connection1, times(0)).close();
+        verify(connection2, times(0)).close();
+
+        pool.close();
+        verify(connection1).close();
+        verify(connection2).close();
+    }
+
+    /**
+     * Bind requests should never be sent on a shared connection: the bound
+     * pooled connection should use an exclusive connection for all its requests.
+     */
+    @Test
+    public void testBindUsesExclusiveConnection() throws Exception {
+        final Connection shared = mockSharedConnection();
+        final Connection exclusive = mock(Connection.class);
+        when(exclusive.isValid()).thenReturn(true);
+        final BindRequest bind = Requests.newSimpleBindRequest("cn=test", "password".toCharArray());
+        when(exclusive.bindAsync(same(bind), any(IntermediateResponseHandler.class))).thenReturn(
+                newSuccessfulLdapPromise(Responses.newBindResult(ResultCode.SUCCESS)));
+        when(exclusive.deleteAsync(same(delete), any(IntermediateResponseHandler.class))).thenReturn(
+                newSuccessfulLdapPromise(Responses.newResult(ResultCode.SUCCESS)));
+        final ConnectionFactory factory = mockConnectionFactory(shared, exclusive);
+        final ConnectionPool pool = newMultiplexedConnectionPool(factory, 1, 10, 1);
+
+        final Connection pc = pool.getConnection();
+        assertThat(pc.bind(bind).getResultCode()).isEqualTo(ResultCode.SUCCESS);
+        assertThat(pc.delete(delete).getResultCode()).isEqualTo(ResultCode.SUCCESS);
+        verify(exclusive).bindAsync(same(bind), any(IntermediateResponseHandler.class));
+        verify(exclusive).deleteAsync(same(delete), any(IntermediateResponseHandler.class));
+        verify(shared, times(0)).bindAsync(any(BindRequest.class), any(IntermediateResponseHandler.class));
+        verify(shared, times(0)).deleteAsync(any(DeleteRequest.class), any(IntermediateResponseHandler.class));
+
+        // The exclusive connection goes back to its sub-pool.
+        pc.close();
+        verify(exclusive, times(0)).close();
+        pool.close();
+        verify(shared).close();
+        verify(exclusive).close();
+    }
+
+    /**
+     * Requests of a pooled connection sent on different shared connections may
+     * have the same message ID: they should have distinct request IDs, and
+     * abandon requests should be sent with the message ID of the abandoned
+     * request on the shared connection it was sent on.
+     */
+    @Test
+    public void testAbandonIsRoutedToTheSharedConnection() throws Exception {
+        final LdapPromiseImpl<Result> result1 = LdapPromiseImpl.newLdapPromiseImpl(1);
+        final Connection connection1 = mockSharedConnection(result1, LdapPromiseImpl.<Result> newLdapPromiseImpl(2));
+        final Connection connection2 = mockSharedConnection(LdapPromiseImpl.<Result> newLdapPromiseImpl(1));
+        final ConnectionFactory factory = mockConnectionFactory(connection1, connection2);
+        final ConnectionPool pool = newMultiplexedConnectionPool(factory, 2, 1);
+
+        final Connection pc = pool.getConnection();
+        final LdapPromise<Result> promise1 = pc.deleteAsync(delete);
+        final LdapPromise<Result> promise2 = pc.deleteAsync(delete);
+        verify(connection2).deleteAsync(same(delete), any(IntermediateResponseHandler.class));
+        assertThat(promise2.getRequestID()).isNotEqualTo(promise1.getRequestID());
+
+        pc.abandonAsync(Requests.newAbandonRequest(promise2.getRequestID()));
+        final ArgumentCaptor<AbandonRequest> abandon = ArgumentCaptor.forClass(AbandonRequest.class);
+        verify(connection2).abandonAsync(abandon.capture());
+        assertThat(abandon.getValue().getRequestID()).isEqualTo(1);
+        verify(connection1, never()).abandonAsync(any(AbandonRequest.class));
+
+        // A queued request has its own request ID, and is never sent once abandoned.
+        final LdapPromise<Result> promise3 = pc.deleteAsync(delete);
+        assertThat(promise3.getRequestID()).isGreaterThan(0);
+        assertThat(promise3.getRequestID()).isNotEqualTo(promise1.getRequestID());
+        assertThat(promise3.getRequestID()).isNotEqualTo(promise2.getRequestID());
+        pc.abandonAsync(Requests.newAbandonRequest(promise3.getRequestID()));
+        verify(connection1, never()).abandonAsync(any(AbandonRequest.class));
+        try {
+            promise3.getOrThrow();
+            failWasExpected(CancelledResultException.class);
+        } catch (final CancelledResultException e) {
+            assertThat(e.getResult().getResultCode()).isEqualTo(ResultCode.CLIENT_SIDE_USER_CANCELLED);
+        }
+        result1.handleResult(Responses.newResult(ResultCode.SUCCESS));
+        assertThat(promise1.get().getResultCode()).isEqualTo(ResultCode.SUCCESS);
+        verify(connection1, times(1)).deleteAsync(same(delete), any(IntermediateResponseHandler.class));
+        verify(connection2, times(1)).deleteAsync(same(delete), any(IntermediateResponseHandler.class));
+
+        pc.close();
+        pool.close();
+    }
+
+    /**
+     * Cancel extended requests should be sent with the message ID of the
+     * cancelled request on the shared connection it was sent on.
+     */
+    @Test
+    public void testCancelIsRoutedToTheSharedConnection() throws Exception {
+        final Connection connection1 = mockSharedConnection(LdapPromiseImpl.<Result> newLdapPromiseImpl(3));
+        final Connection connection2 = mockSharedConnection(LdapPromiseImpl.<Result> newLdapPromiseImpl(7));
+        when(connection2.extendedRequestAsync(any(CancelExtendedRequest.class), any(IntermediateResponseHandler.class)))
+                .thenReturn(newSuccessfulLdapPromise((ExtendedResult) Responses.newGenericExtendedResult(
+                        ResultCode.SUCCESS)));
+        final ConnectionFactory factory = mockConnectionFactory(connection1, connection2);
+        final ConnectionPool pool = newMultiplexedConnectionPool(factory, 2, 1);
+
+        final Connection pc = pool.getConnection();
+        pc.deleteAsync(delete);
+        final LdapPromise<Result> promise2 = pc.deleteAsync(delete);
+        assertThat(promise2.getRequestID()).isNotEqualTo(7);
+
+        final ExtendedResult result = pc.extendedRequest(Requests.newCancelExtendedRequest(promise2.getRequestID()));
+        assertThat(result.getResultCode()).isEqualTo(ResultCode.SUCCESS);
+        final ArgumentCaptor<CancelExtendedRequest> cancel = ArgumentCaptor.forClass(CancelExtendedRequest.class);
+        verify(connection2).extendedRequestAsync(cancel.capture(), any(IntermediateResponseHandler.class));
+        assertThat(cancel.getValue().getRequestID()).isEqualTo(7);
+        verify(connection1, never()).extendedRequestAsync(any(CancelExtendedRequest.class),
+                any(IntermediateResponseHandler.class));
+
+        // Unknown request IDs are never forwarded.
+        try {
+            pc.extendedRequest(Requests.newCancelExtendedRequest(promise2.getRequestID() + 100));
+            failWasExpected(LdapException.class);
+        } catch (final LdapException e) {
+            assertThat(e.getResult().getResultCode()).isEqualTo(ResultCode.NO_SUCH_OPERATION);
+        }
+        verify(connection2, times(1)).extendedRequestAsync(any(CancelExtendedRequest.class),
+                any(IntermediateResponseHandler.class));
+
+        pc.close();
+        pool.close();
+    }
+
+    /**
+     * Closing a pooled connection should abandon its requests in progress on
+     * the shared connections, and fail its queued requests.
+     */
+    @Test
+    public void testCloseAbandonsOutstandingRequests() throws Exception {
+        final Connection connection = mockSharedConnection(LdapPromiseImpl.<Result> newLdapPromiseImpl(5));
+        final ConnectionFactory factory = mockConnectionFactory(connection);
+        final ConnectionPool pool = newMultiplexedConnectionPool(factory, 1, 1);
+
+        final Connection pc = pool.getConnection();
+        pc.deleteAsync(delete);
+        final LdapPromise<Result> queued = pc.deleteAsync(delete);
+        assertThat(queued.isDone()).isFalse();
+
+        pc.close();
+        final ArgumentCaptor<AbandonRequest> abandon = ArgumentCaptor.forClass(AbandonRequest.class);
+        verify(connection).abandonAsync(abandon.capture());
+        assertThat(abandon.getValue().getRequestID()).isEqualTo(5);
+        try {
+            queued.getOrThrow();
+            failWasExpected(CancelledResultException.class);
+        } catch (final CancelledResultException e) {
+            assertThat(e.getResult().getResultCode()).isEqualTo(ResultCode.CLIENT_SIDE_USER_CANCELLED);
+        }
+        verify(connection, times(1)).deleteAsync(same(delete), any(IntermediateResponseHandler.class));
+        verify(connection, never()).close();
+        pool.close();
+    }
+
+    /**
+     * A failed shared connection should be replaced, and the error reported to
+     * the pooled connections which sent requests on it.
+     */
+    @Test
+    public void testFailedSharedConnectionIsReplaced() throws Exception {
+        final List<ConnectionEventListener> listeners = new LinkedList<>();
+        final Connection connection1 = mockConnection(listeners);
+        when(connection1.deleteAsync(any(DeleteRequest.class), any(IntermediateResponseHandler.class)))
+                .thenReturn(LdapPromiseImpl.<Result> newLdapPromiseImpl(1));
+        final Connection connection2 = mockSharedConnection(
+                newSuccessfulLdapPromise(Responses.newResult(ResultCode.SUCCESS)));
+        final ConnectionFactory factory = mockConnectionFactory(connection1, connection2);
+        final ConnectionPool pool = newMultiplexedConnectionPool(factory, 1, 10);
+
+        final Connection pc = pool.getConnection();
+        final ConnectionEventListener listener = mock(ConnectionEventListener.class);
+        pc.addConnectionEventListener(listener);
+        final Connection idle = pool.getConnection();
+        final ConnectionEventListener idleListener = mock(ConnectionEventListener.class);
+        idle.addConnectionEventListener(idleListener);
+        pc.deleteAsync(delete);
+        assertThat(listeners).hasSize(1);
+        listeners.get(0).handleConnectionError(false, newLdapException(ResultCode.CLIENT_SIDE_SERVER_DOWN));
+        verify(listener).handleConnectionError(eq(false), isA(ConnectionException.class));
+        verify(idleListener, never()).handleConnectionError(anyBoolean(), any(LdapException.class));
+        verify(connection1).close();
+        assertThat(listeners).isEmpty();
+
+        assertThat(pc.delete(delete).getResultCode()).isEqualTo(ResultCode.SUCCESS);
+        verify(factory, times(2)).getConnection();
+        verify(connection2).deleteAsync(same(delete), any(IntermediateResponseHandler.class));
+        pc.close();
+        idle.close();
+        pool.close();
+    }
+
+    @SafeVarargs
+    private static Connection mockSharedConnection(final LdapPromise<Result>... results) {
+        final Connection connection = mock(Connection.class);
+        when(connection.isValid()).thenReturn(true);
+        if (results.length > 0) {
+            when(connection.deleteAsync(any(DeleteRequest.class), any(IntermediateResponseHandler.class)))
+                    .thenReturn(results[0], Arrays.copyOfRange(results, 1, results.length));
+        }
+        return connection;
+    }
+}
@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 import org.forgerock.i18n.LocalizableMessage;
 import org.forgerock.opendj.ldap.Attribute;
@@ -588,4 +589,84 @@ public class EntryGeneratorTestCase extends SdkTestCase {
             assertThat(entry.getAttribute("cn").firstValueAsString()).matches("Foo <[A-Z]>\\{1\\}Bar");
         }
     }
+
+    @Test
+    public void testParallelGenerationDoesNotDependOnTheNumberOfThreads() throws Exception {
+        final String templatePath = getTestFilePath(SUBTEMPLATES_TEMPLATE_PATH);
+        assertThat(generateEntries(templatePath, 4)).isEqualTo(generateEntries(templatePath, 2));
+    }
+
+    private List<Entry> generateEntries(final String templatePath, final int numberOfThreads) throws Exception {
+        final List<Entry> entries = new ArrayList<>();
+        try (EntryGenerator generator = new EntryGenerator(templatePath).setResourcePath(resourcePath)
+                .setRandomSeed(42).setParallelism(numberOfThreads)) {
+            while (generator.hasNext()) {
+                entries.add(generator.readEntry());
+            }
+        }
+        return entries;
+    }
+
+    /** A single thread draws the random values from the seeded generator in entry order, as it always did. */
+    @Test
+    public void testSequentialGenerationKeepsTheOutputOfASeed() throws Exception {
+        final String[] lines = {
+            "branch: dc=test",
+            "subordinateTemplate: person:100",
+            "",
+            "template: person",
+            "rdnAttr: uid",
+            "objectclass: inetOrgPerson",
+            "uid: user.<sequential:0>",
+            "employeeNumber: <random:numeric:0:999>",
+            "description: <presence:50>present",
+            "" };
+        final Random random = new Random(42);
+        try (EntryGenerator generator = new EntryGenerator(lines).setResourcePath(resourcePath).setRandomSeed(42)) {
+            assertThat(generator.readEntry().getName().toString()).isEqualTo("dc=test");
+            for (int i = 0; i < 100; i++) {
+                final Entry entry = generator.readEntry();
+                final long employeeNumber = (random.nextLong() & 0x7FFFFFFFFFFFFFFFL) % 1000;
+                final boolean hasDescription = random.nextInt(100) < 50;
+                assertThat(entry.parseAttribute("employeeNumber").asLong()).isEqualTo(employeeNumber);
+                assertThat(entry.getAttribute("description") != null).isEqualTo(hasDescription);
+            }
+        }
+    }
+
+    @DataProvider
+    public Object[][] numberOfThreads() {
+        return new Object[][] { { 1 }, { 4 } };
+    }
+
+    @Test(dataProvider = "numberOfThreads")
+    public void testSequentialTagsOnlyAdvanceForIncludedLines(final int numberOfThreads) throws Exception {
+        final String[] lines = {
+            "branch: dc=test",
+            "subordinateTemplate: person:1000",
+            "",
+            "template: person",
+            "rdnAttr: uid",
+            "objectclass: inetOrgPerson",
+            "uid: user.<sequential:0>",
+            "description: <presence:50><random:alpha:8> <sequential:0>",
+            "employeeNumber: <sequential:0>",
+            "" };
+        try (EntryGenerator generator =
+                new EntryGenerator(lines).setResourcePath(resourcePath).setParallelism(numberOfThreads)) {
+            assertThat(generator.readEntry().getName().toString()).isEqualTo("dc=test");
+            int nextDescription = 0;
+            for (int i = 0; i < 1000; i++) {
+                final Entry entry = generator.readEntry();
+                assertThat(entry.getName().toString()).isEqualTo("uid=user." + i + ",dc=test");
+                assertThat(entry.parseAttribute("employeeNumber").asInteger()).isEqualTo(i);
+                final String description = entry.parseAttribute("description").asString();
+                if (description != null) {
+                    assertThat(description).matches("[a-z]{8} " + nextDescription++);
+                }
+            }
+            assertThat(nextDescription).isGreaterThan(0).isLessThan(1000);
+            assertThat(generator.hasNext()).isFalse();
+        }
+    }
 }
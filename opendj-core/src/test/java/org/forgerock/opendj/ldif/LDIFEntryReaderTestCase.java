@@ -22,8 +22,12 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 import org.forgerock.i18n.LocalizableMessage;
 import org.forgerock.i18n.LocalizedIllegalArgumentException;
@@ -1614,4 +1618,66 @@ public final class LDIFEntryReaderTestCase extends AbstractLDIFTestCase {
     public void testValueOfLDIFEntryDoesntAllowNull() throws Exception {
         LDIFEntryReader.valueOfLDIFEntry((String[]) null);
     }
+
+    /**
+     * Tests that entries decoded by several threads are returned in order and
+     * that rejected records are reported in order.
+     *
+     * @throws Exception
+     *             if an unexpected error occurred.
+     */
+    @Test
+    public void testParallelReadPreservesOrder() throws Exception {
+        final RejectedLDIFListener listener = mock(RejectedLDIFListener.class);
+        final List<String> lines = new ArrayList<>();
+        final int nbEntries = 1000;
+        for (int i = 0; i < nbEntries; i++) {
+            lines.add(i == 500 ? "dn: baddn" : "dn: uid=user." + i + ",dc=example,dc=com");
+            lines.add("objectClass: top");
+            lines.add("objectClass: person");
+            lines.add("uid: user." + i);
+            lines.add("");
+        }
+
+        try (LDIFEntryReader reader = new LDIFEntryReader(lines).setParallelism(4)) {
+            reader.setRejectedLDIFListener(listener);
+            for (int i = 0; i < nbEntries; i++) {
+                if (i != 500) {
+                    assertThat(reader.readEntry().getName().toString())
+                            .isEqualTo("uid=user." + i + ",dc=example,dc=com");
+                }
+            }
+            assertThat(reader.hasNext()).isFalse();
+        }
+
+        verify(listener).handleMalformedRecord(eq(2501L), anyListOf(String.class), any(LocalizableMessage.class));
+        verifyNoMoreInteractions(listener);
+    }
+
+    /**
+     * Tests that entries decoded by several threads are all returned when
+     * order is not preserved.
+     *
+     * @throws Exception
+     *             if an unexpected error occurred.
+     */
+    @Test
+    public void testParallelReadWithoutOrder() throws Exception {
+        final List<String> lines = new ArrayList<>();
+        final int nbEntries = 1000;
+        for (int i = 0; i < nbEntries; i++) {
+            lines.add("dn: uid=user." + i + ",dc=example,dc=com");
+            lines.add("objectClass: top");
+            lines.add("uid: user." + i);
+            lines.add("");
+        }
+
+        final Set<String> names = new HashSet<>();
+        try (LDIFEntryReader reader = new LDIFEntryReader(lines).setParallelism(4).setPreserveOrder(false)) {
+            while (reader.hasNext()) {
+                names.add(reader.readEntry().getName().toString());
+            }
+        }
+        assertThat(names).hasSize(nbEntries);
+    }
 }
@@ -0,0 +1,161 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.ldif;
+
+import static org.fest.assertions.Assertions.*;
+import static org.forgerock.opendj.ldap.LdapException.*;
+import static org.forgerock.opendj.ldap.spi.LdapPromises.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.forgerock.opendj.ldap.Connection;
+import org.forgerock.opendj.ldap.LdapPromise;
+import org.forgerock.opendj.ldap.LdapException;
+import org.forgerock.opendj.ldap.ResultCode;
+import org.forgerock.opendj.ldap.requests.AddRequest;
+import org.forgerock.opendj.ldap.requests.Requests;
+import org.forgerock.opendj.ldap.responses.Responses;
+import org.forgerock.opendj.ldap.responses.Result;
+import org.forgerock.opendj.ldif.ParallelChangeRecordWriter.ResultListener;
+import org.forgerock.util.promise.PromiseImpl;
+import org.testng.annotations.Test;
+
+/** This class tests the ParallelChangeRecordWriter functionality. */
+@SuppressWarnings("javadoc")
+public class ParallelChangeRecordWriterTestCase extends AbstractLDIFTestCase {
+    private final Result success = Responses.newResult(ResultCode.SUCCESS);
+
+    @Test
+    public void testChildIsAddedAfterParent() throws Exception {
+        final AddRequest parent = Requests.newAddRequest("ou=people,dc=example,dc=com");
+        final AddRequest sibling = Requests.newAddRequest("ou=groups,dc=example,dc=com");
+        final AddRequest child = Requests.newAddRequest("uid=bjensen,ou=people,dc=example,dc=com");
+        final PromiseImpl<Result, LdapException> parentResult = PromiseImpl.create();
+        final Connection connection = mock(Connection.class);
+        when(connection.addAsync(parent)).thenReturn(asPromise(parentResult));
+        when(connection.addAsync(sibling)).thenReturn(newSuccessfulLdapPromise(success));
+        when(connection.addAsync(child)).thenReturn(newSuccessfulLdapPromise(success));
+
+        final ParallelChangeRecordWriter writer =
+                new ParallelChangeRecordWriter(Arrays.asList(connection)).setMaxOutstandingRequests(10);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            writer.writeChangeRecord(parent);
+            writer.writeChangeRecord(sibling);
+            verify(connection).addAsync(sibling);
+
+            final Future<?> childWritten = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    writer.writeChangeRecord(child);
+                    return null;
+                }
+            });
+            try {
+                childWritten.get(100, TimeUnit.MILLISECONDS);
+                fail("The child entry was added before its parent");
+            } catch (final TimeoutException expected) {
+                verify(connection, never()).addAsync(child);
+            }
+
+            parentResult.handleResult(success);
+            childWritten.get(10, TimeUnit.SECONDS);
+            writer.flush();
+            verify(connection).addAsync(child);
+        } finally {
+            executor.shutdown();
+            writer.close();
+        }
+        verify(connection).close();
+    }
+
+    @Test
+    public void testBusyRequestIsRetried() throws Exception {
+        final AddRequest add = Requests.newAddRequest("uid=bjensen,ou=people,dc=example,dc=com");
+        final Connection connection = mock(Connection.class);
+        when(connection.addAsync(add)).thenReturn(
+                failed(ResultCode.BUSY), newSuccessfulLdapPromise(success));
+
+        final ParallelChangeRecordWriter writer = new ParallelChangeRecordWriter(Arrays.asList(connection))
+                .setRetryPolicy(1, 10, TimeUnit.MILLISECONDS);
+        try {
+            writer.writeChangeRecord(add);
+            writer.flush();
+            verify(connection, times(2)).addAsync(add);
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void testRejectedChangesAreWritten() throws Exception {
+        final AddRequest add = Requests.newAddRequest("uid=bjensen,ou=people,dc=example,dc=com");
+        final AddRequest other = Requests.newAddRequest("uid=scarter,ou=people,dc=example,dc=com");
+        final Connection connection = mock(Connection.class);
+        when(connection.addAsync(add)).thenReturn(
+                failed(ResultCode.ENTRY_ALREADY_EXISTS));
+        when(connection.addAsync(other)).thenReturn(newSuccessfulLdapPromise(success));
+        final List<String> rejects = new ArrayList<>();
+        final ResultListener listener = mock(ResultListener.class);
+
+        final ParallelChangeRecordWriter writer = new ParallelChangeRecordWriter(Arrays.asList(connection))
+                .setContinueOnError(true)
+                .setResultListener(listener)
+                .setRejectWriter(new LDIFChangeRecordWriter(rejects));
+        try {
+            writer.writeChangeRecord(add);
+            writer.writeChangeRecord(other);
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+        verify(listener).handleError(same(add), any(LdapException.class));
+        verify(listener).handleResult(other, success);
+        assertThat(rejects).contains("dn: uid=bjensen,ou=people,dc=example,dc=com");
+        assertThat(rejects).excludes("dn: uid=scarter,ou=people,dc=example,dc=com");
+    }
+
+    @Test(expectedExceptions = LdapException.class)
+    public void testFirstErrorIsPropagated() throws Exception {
+        final AddRequest add = Requests.newAddRequest("uid=bjensen,ou=people,dc=example,dc=com");
+        final Connection connection = mock(Connection.class);
+        when(connection.addAsync(add)).thenReturn(
+                failed(ResultCode.INSUFFICIENT_ACCESS_RIGHTS));
+
+        final ParallelChangeRecordWriter writer = new ParallelChangeRecordWriter(Arrays.asList(connection));
+        try {
+            writer.writeChangeRecord(add);
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static LdapPromise<Result> failed(final ResultCode resultCode) {
+        return newFailedLdapPromise(newLdapException(resultCode));
+    }
+}
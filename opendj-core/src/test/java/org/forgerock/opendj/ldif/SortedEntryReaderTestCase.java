@@ -0,0 +1,196 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.forgerock.opendj.ldif;
+
+import static org.fest.assertions.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.forgerock.opendj.ldap.DN;
+import org.forgerock.opendj.ldap.Entry;
+import org.forgerock.opendj.ldap.LinkedHashMapEntry;
+import org.forgerock.opendj.ldap.requests.AddRequest;
+import org.forgerock.opendj.ldap.requests.DeleteRequest;
+import org.forgerock.opendj.ldap.requests.ModifyRequest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** This class tests the SortedEntryReader and LDIF.diffSorted functionality. */
+@SuppressWarnings("javadoc")
+public class SortedEntryReaderTestCase extends AbstractLDIFTestCase {
+    private File tempDirectory;
+
+    @BeforeMethod
+    public void createTempDirectory() throws Exception {
+        tempDirectory = Files.createTempDirectory("sorted-entry-reader").toFile();
+    }
+
+    @AfterMethod
+    public void deleteTempDirectory() {
+        final File[] files = tempDirectory.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+        tempDirectory.delete();
+    }
+
+    @Test
+    public void testSortInMemory() throws Exception {
+        final List<Entry> entries = newEntries(100);
+        try (SortedEntryReader reader = new SortedEntryReader(LDIF.newEntryCollectionReader(entries))
+                .setTempDirectory(tempDirectory)) {
+            assertSorted(reader, entries.size());
+            assertThat(tempDirectory.list()).isEmpty();
+        }
+    }
+
+    @Test
+    public void testSortWithRuns() throws Exception {
+        final List<Entry> entries = newEntries(5000);
+        try (SortedEntryReader reader = new SortedEntryReader(LDIF.newEntryCollectionReader(entries))
+                .setTempDirectory(tempDirectory).setMaxMemorySize(64 * 1024).setParallelism(2)) {
+            assertSorted(reader, entries.size());
+            assertThat(tempDirectory.list().length).isGreaterThan(1);
+        }
+        assertThat(tempDirectory.list()).isEmpty();
+    }
+
+    @Test
+    public void testDiffSortedOrdersChangesSafely() throws Exception {
+        // @formatter:off
+        final EntryReader source = LDIF.newEntryCollectionReader(Arrays.<Entry> asList(
+                new LinkedHashMapEntry("dc=example,dc=com"),
+                new LinkedHashMapEntry("ou=groups,dc=example,dc=com"),
+                new LinkedHashMapEntry("cn=admins,ou=groups,dc=example,dc=com"),
+                new LinkedHashMapEntry("uid=user.0,ou=people,dc=example,dc=com")
+                    .addAttribute("description", "old")));
+        final EntryReader target = LDIF.newEntryCollectionReader(Arrays.<Entry> asList(
+                new LinkedHashMapEntry("dc=example,dc=com"),
+                new LinkedHashMapEntry("ou=people,dc=example,dc=com"),
+                new LinkedHashMapEntry("uid=user.0,ou=people,dc=example,dc=com")
+                    .addAttribute("description", "new"),
+                new LinkedHashMapEntry("uid=user.1,ou=people,dc=example,dc=com")));
+        // @formatter:on
+
+        final List<ChangeRecord> changes = new ArrayList<>();
+        try (ChangeRecordReader reader = LDIF.diffSorted(new SortedEntryReader(source),
+                new SortedEntryReader(target), tempDirectory)) {
+            while (reader.hasNext()) {
+                changes.add(reader.readChangeRecord());
+            }
+        }
+
+        assertThat(changes).hasSize(6);
+        assertThat(changes.get(0)).isInstanceOf(ModifyRequest.class);
+        assertThat(((AddRequest) changes.get(1)).getName().toString()).isEqualTo("ou=people,dc=example,dc=com");
+        assertThat(((ModifyRequest) changes.get(2)).getModifications()).isNotEmpty();
+        assertThat(((AddRequest) changes.get(3)).getName().toString())
+                .isEqualTo("uid=user.1,ou=people,dc=example,dc=com");
+        assertThat(((DeleteRequest) changes.get(4)).getName().toString())
+                .isEqualTo("cn=admins,ou=groups,dc=example,dc=com");
+        assertThat(((DeleteRequest) changes.get(5)).getName().toString()).isEqualTo("ou=groups,dc=example,dc=com");
+    }
+
+    @Test
+    public void testDiffSortedSpoolsDeletes() throws Exception {
+        final List<Entry> entries = newEntries(10000);
+        final List<Entry> target = Collections.<Entry> singletonList(new LinkedHashMapEntry("dc=example,dc=com"));
+
+        DN previous = null;
+        int nbDeletes = 0;
+        try (ChangeRecordReader reader = LDIF.diffSorted(
+                new SortedEntryReader(LDIF.newEntryCollectionReader(entries)).setTempDirectory(tempDirectory),
+                new SortedEntryReader(LDIF.newEntryCollectionReader(target)), tempDirectory)) {
+            while (reader.hasNext()) {
+                final ChangeRecord change = reader.readChangeRecord();
+                if (change instanceof DeleteRequest) {
+                    final DN dn = ((DeleteRequest) change).getName();
+                    if (previous != null) {
+                        assertThat(dn.compareTo(previous)).isLessThan(0);
+                    }
+                    previous = dn;
+                    nbDeletes++;
+                }
+            }
+        }
+        assertThat(nbDeletes).isEqualTo(entries.size() - 1);
+        assertThat(tempDirectory.list()).isEmpty();
+    }
+
+    /** Returns a tree of entries in random order. */
+    @Test
+    public void testReverseDNSpoolSpillsLongDNs() throws Exception {
+        final StringBuilder longValue = new StringBuilder();
+        while (longValue.length() <= 70000) {
+            longValue.append("\u00e9t\u00e9 ");
+        }
+        final List<String> dns = new ArrayList<>();
+        try (ReverseDNSpool spool = new ReverseDNSpool(tempDirectory)) {
+            for (int i = 0; i < 10000; i++) {
+                final String dn = (i % 5000 == 0 ? "cn=" + longValue + i : "uid=user." + i) + ",dc=example,dc=com";
+                dns.add(dn);
+                spool.add(dn);
+            }
+            Collections.reverse(dns);
+            final List<String> readDNs = new ArrayList<>();
+            while (spool.hasNext()) {
+                readDNs.add(spool.next());
+            }
+            assertThat(readDNs).isEqualTo(dns);
+        }
+    }
+
+    private List<Entry> newEntries(final int nbEntries) {
+        final List<Entry> entries = new ArrayList<>(nbEntries);
+        entries.add(new LinkedHashMapEntry("dc=example,dc=com"));
+        for (int i = 0; i < 10; i++) {
+            entries.add(new LinkedHashMapEntry("ou=unit." + i + ",dc=example,dc=com"));
+        }
+        for (int i = 0; entries.size() < nbEntries; i++) {
+            entries.add(new LinkedHashMapEntry("uid=user." + i + ",ou=unit." + (i % 10) + ",dc=example,dc=com")
+                    .addAttribute("uid", "user." + i)
+                    .addAttribute("description", "entry number " + i));
+        }
+        Collections.shuffle(entries, new Random(0));
+        return entries;
+    }
+
+    private void assertSorted(final EntryReader reader, final int nbEntries) throws Exception {
+        final Set<DN> readDNs = new HashSet<>();
+        DN previous = null;
+        while (reader.hasNext()) {
+            final DN dn = reader.readEntry().getName();
+            if (previous != null) {
+                assertThat(dn.compareTo(previous)).isGreaterThan(0);
+                assertThat(readDNs).contains(dn.parent());
+            }
+            readDNs.add(dn);
+            previous = dn;
+        }
+        assertThat(readDNs).hasSize(nbEntries);
+    }
+}
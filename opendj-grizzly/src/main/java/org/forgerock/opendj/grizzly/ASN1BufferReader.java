@@ -137,6 +137,20 @@ final class ASN1BufferReader extends AbstractASN1Reader {
 
     private static final LocalizedLogger logger = LocalizedLogger.getLoggerForThisClass();
 
+    /**
+     * The minimum length of the octet strings which may be returned as slices.
+     * A slice keeps the whole buffer alive for as long as it is referenced, for
+     * example by a DN, entry or group cache: smaller octet strings are copied,
+     * which is cheap and only retains their own bytes.
+     */
+    static final int MIN_SLICED_OCTET_STRING_LENGTH = 8 * 1024;
+    /**
+     * Octet strings are only returned as slices when they represent at least
+     * this fraction of the buffer, so that a slice never retains more than this
+     * many times its own length.
+     */
+    static final int MAX_SLICE_RETENTION_RATIO = 4;
+
     private int markState;
     private SequenceLimiter markReadLimiter;
 
@@ -146,6 +160,8 @@ final class ASN1BufferReader extends AbstractASN1Reader {
     private int lengthBytesNeeded;
     private final int maxElementSize;
     private final Buffer buffer;
+    /** Whether large octet strings are returned as slices of the buffer rather than copies. */
+    private final boolean sliceOctetStrings;
     private SequenceLimiter readLimiter;
 
     /**
@@ -160,9 +176,32 @@ final class ASN1BufferReader extends AbstractASN1Reader {
      *            @{code {@link #close()} this reader will also dispose the buffer.
      */
     ASN1BufferReader(final int maxElementSize, final Buffer buffer) {
+        this(maxElementSize, buffer, false);
+    }
+
+    /**
+     * Creates a new ASN1 reader whose source is the provided buffer and
+     * having a user defined maximum BER element size.
+     *
+     * @param maxElementSize
+     *            The maximum BER element size, or <code>0</code> to indicate
+     *            that there is no limit.
+     * @param buffer
+     *            The buffer where the content will be read from.
+     * @param sliceOctetStrings
+     *            {@code true} if the large octet strings should be returned as
+     *            slices of the buffer rather than copies. The buffer must then
+     *            not be modified nor released while the octet strings are in
+     *            use. Octet strings are copied anyway if the buffer is not
+     *            backed by an accessible array, if they are shorter than
+     *            {@link #MIN_SLICED_OCTET_STRING_LENGTH}, or if the buffer is
+     *            more than {@link #MAX_SLICE_RETENTION_RATIO} times longer.
+     */
+    ASN1BufferReader(final int maxElementSize, final Buffer buffer, final boolean sliceOctetStrings) {
         this.readLimiter = new RootSequenceLimiter();
         this.buffer = buffer;
         this.maxElementSize = maxElementSize;
+        this.sliceOctetStrings = sliceOctetStrings;
     }
 
     /**
@@ -356,14 +395,32 @@ final class ASN1BufferReader extends AbstractASN1Reader {
         }
 
         readLimiter.checkLimit(peekLength);
-        // Copy the value and construct the element to return.
-        final byte[] value = new byte[peekLength];
-        buffer.get(value);
+        final ByteString value;
+        if (mustSlice(peekLength)) {
+            value = ByteString.wrap(buffer.array(), buffer.arrayOffset() + buffer.position(), peekLength);
+            buffer.position(buffer.position() + peekLength);
+        } else {
+            // Copy the value and construct the element to return.
+            final byte[] bytes = new byte[peekLength];
+            buffer.get(bytes);
+            value = ByteString.wrap(bytes);
+        }
 
         logger.trace("READ ASN.1 OCTETSTRING(type=0x%x, length=%d)", peekType, peekLength);
 
         state = ASN1.ELEMENT_READ_STATE_NEED_TYPE;
-        return ByteString.wrap(value);
+        return value;
+    }
+
+    /**
+     * Returns whether an octet string of the provided length is worth keeping
+     * the whole buffer alive rather than being copied.
+     */
+    private boolean mustSlice(final int length) {
+        return sliceOctetStrings
+                && buffer.hasArray()
+                && length >= MIN_SLICED_OCTET_STRING_LENGTH
+                && (long) length * MAX_SLICE_RETENTION_RATIO >= buffer.limit();
     }
 
     @Override
@@ -378,9 +435,14 @@ final class ASN1BufferReader extends AbstractASN1Reader {
 
         readLimiter.checkLimit(peekLength);
         // Copy the value and construct the element to return.
-        // TODO: Is there a more efficient way to do this?
-        for (int i = 0; i < peekLength; i++) {
-            builder.appendByte(buffer.get());
+        if (buffer.isComposite()) {
+            for (int i = 0; i < peekLength; i++) {
+                builder.appendByte(buffer.get());
+            }
+        } else {
+            final int position = buffer.position();
+            builder.appendBytes(buffer.toByteBuffer(), peekLength);
+            buffer.position(position + peekLength);
         }
 
         logger.trace("READ ASN.1 OCTETSTRING(type=0x%x, length=%d)", peekType, peekLength);
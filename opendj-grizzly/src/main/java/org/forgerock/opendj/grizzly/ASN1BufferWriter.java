@@ -19,6 +19,9 @@ package org.forgerock.opendj.grizzly;
 import static com.forgerock.opendj.ldap.CoreMessages.ERR_ASN1_SEQUENCE_WRITE_NOT_STARTED;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.forgerock.i18n.LocalizableMessage;
 import org.forgerock.i18n.slf4j.LocalizedLogger;
@@ -26,9 +29,13 @@ import org.forgerock.opendj.io.ASN1;
 import org.forgerock.opendj.io.ASN1Writer;
 import org.forgerock.opendj.io.AbstractASN1Writer;
 import org.forgerock.opendj.ldap.ByteSequence;
+import org.forgerock.opendj.ldap.ByteString;
 import org.forgerock.opendj.ldap.ByteStringBuilder;
 import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.Cacheable;
+import org.glassfish.grizzly.memory.Buffers;
+import org.glassfish.grizzly.memory.BuffersBuffer;
+import org.glassfish.grizzly.memory.CompositeBuffer;
 import org.glassfish.grizzly.memory.MemoryManager;
 
 import com.forgerock.opendj.util.StaticUtils;
@@ -39,12 +46,24 @@ final class ASN1BufferWriter extends AbstractASN1Writer implements Cacheable {
         private SequenceBuffer parent;
         private ChildSequenceBuffer child;
         private final ByteStringBuilder buffer = new ByteStringBuilder(BUFFER_INIT_SIZE);
+        /** The large values of this sequence, which are referenced rather than copied into the buffer. */
+        private final List<ByteString> largeValues = new ArrayList<>();
+        /** The position in the buffer at which each large value must be inserted. */
+        private int[] largeValuePositions = new int[4];
+        private int largeValuesLength;
 
         @Override
         public SequenceBuffer endSequence() throws IOException {
-            writeLength(parent, buffer.length());
-            parent.writeByteArray(buffer.getBackingArray(), 0, buffer.length());
+            writeLength(parent, buffer.length() + largeValuesLength);
+            int position = 0;
+            for (int i = 0; i < largeValues.size(); i++) {
+                parent.writeByteArray(buffer.getBackingArray(), position, largeValuePositions[i] - position);
+                parent.writeByteSequence(largeValues.get(i));
+                position = largeValuePositions[i];
+            }
+            parent.writeByteArray(buffer.getBackingArray(), position, buffer.length() - position);
             buffer.clearAndTruncate(DEFAULT_MAX_INTERNAL_BUFFER_SIZE, BUFFER_INIT_SIZE);
+            clearLargeValues();
             if (logger.isTraceEnabled()) {
                 logger.trace("WRITE ASN.1 END SEQUENCE(length=%d)", buffer.length());
             }
@@ -59,6 +78,7 @@ final class ASN1BufferWriter extends AbstractASN1Writer implements Cacheable {
             }
             buffer.appendByte(type);
             child.buffer.clear();
+            child.clearLargeValues();
             return child;
         }
 
@@ -69,7 +89,21 @@ final class ASN1BufferWriter extends AbstractASN1Writer implements Cacheable {
 
         @Override
         public void writeByteSequence(ByteSequence bs) {
-            buffer.appendBytes(bs);
+            if (isLargeValue(bs)) {
+                if (largeValues.size() == largeValuePositions.length) {
+                    largeValuePositions = Arrays.copyOf(largeValuePositions, largeValuePositions.length * 2);
+                }
+                largeValuePositions[largeValues.size()] = buffer.length();
+                largeValues.add((ByteString) bs);
+                largeValuesLength += bs.length();
+            } else {
+                buffer.appendBytes(bs);
+            }
+        }
+
+        private void clearLargeValues() {
+            largeValues.clear();
+            largeValuesLength = 0;
         }
 
         @Override
@@ -107,6 +141,10 @@ final class ASN1BufferWriter extends AbstractASN1Writer implements Cacheable {
 
         @Override
         public void writeByteSequence(ByteSequence bs) {
+            if (isLargeValue(bs)) {
+                appendLargeValue((ByteString) bs);
+                return;
+            }
             ensureAdditionalCapacity(bs.length());
             bs.copyTo(outBuffer.toByteBuffer());
             outBuffer.position(outBuffer.position() + bs.length());
@@ -138,10 +176,17 @@ final class ASN1BufferWriter extends AbstractASN1Writer implements Cacheable {
     private static final int BUFFER_INIT_SIZE = 1024;
     /** Default maximum size for cached protocol/entry encoding buffers. */
     private static final int DEFAULT_MAX_INTERNAL_BUFFER_SIZE = 32 * 1024;
+    /**
+     * Minimum length of the octet strings which are referenced by the encoded
+     * buffer rather than copied into it.
+     */
+    private static final int ZERO_COPY_THRESHOLD = 1024;
 
     private MemoryManager<Buffer> memoryManager;
     private SequenceBuffer sequenceBuffer;
     private Buffer outBuffer;
+    /** The encoded message, when it references large values. */
+    private CompositeBuffer compositeBuffer;
     private final RootSequenceBuffer rootBuffer;
 
     /** Creates a new ASN.1 writer that writes to a StreamWriter. */
@@ -154,6 +199,37 @@ final class ASN1BufferWriter extends AbstractASN1Writer implements Cacheable {
         this.memoryManager = memoryManager;
         sequenceBuffer = rootBuffer;
         outBuffer = memoryManager.allocate(BUFFER_INIT_SIZE);
+        compositeBuffer = null;
+    }
+
+    /**
+     * Returns {@code true} if the provided value is large enough to be worth
+     * being referenced rather than copied. Only byte strings are referenced,
+     * since they are immutable.
+     */
+    private static boolean isLargeValue(final ByteSequence bs) {
+        return bs.length() >= ZERO_COPY_THRESHOLD && bs instanceof ByteString;
+    }
+
+    /**
+     * Appends a large value to the encoded message without copying it: the
+     * bytes encoded so far and the value become components of a composite
+     * buffer, and the following bytes are encoded in a new buffer.
+     */
+    private void appendLargeValue(final ByteString value) {
+        if (compositeBuffer == null) {
+            compositeBuffer = BuffersBuffer.create(memoryManager);
+            compositeBuffer.allowInternalBuffersDispose(true);
+        }
+        if (outBuffer.position() > 0) {
+            outBuffer.allowBufferDispose(true);
+            compositeBuffer.append(outBuffer.flip());
+            outBuffer = memoryManager.allocate(BUFFER_INIT_SIZE);
+        }
+        final Buffer valueBuffer = Buffers.wrap(memoryManager, value.asReadOnlyByteBuffer());
+        // The value belongs to the caller: it must not be released to the memory manager
+        valueBuffer.allowBufferDispose(false);
+        compositeBuffer.append(valueBuffer);
     }
 
     void ensureAdditionalCapacity(final int size) {
@@ -192,6 +268,7 @@ final class ASN1BufferWriter extends AbstractASN1Writer implements Cacheable {
         memoryManager = null;
         sequenceBuffer = null;
         outBuffer = null;
+        compositeBuffer = null;
     }
 
     @Override
@@ -429,7 +506,18 @@ final class ASN1BufferWriter extends AbstractASN1Writer implements Cacheable {
 
     public Buffer getBuffer() {
         outBuffer.allowBufferDispose(true);
-        return outBuffer.flip();
+        if (compositeBuffer == null) {
+            return outBuffer.flip();
+        }
+        if (outBuffer.position() > 0) {
+            compositeBuffer.append(outBuffer.flip());
+        } else {
+            outBuffer.tryDispose();
+        }
+        final Buffer buffer = compositeBuffer;
+        buffer.allowBufferDispose(true);
+        compositeBuffer = null;
+        return buffer;
     }
 
     /**
@@ -25,6 +25,7 @@ import org.forgerock.opendj.io.LDAPReader;
 import org.forgerock.opendj.io.LDAPWriter;
 import org.forgerock.opendj.ldap.DecodeOptions;
 import org.forgerock.util.Options;
+import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.Connection;
 import org.glassfish.grizzly.Processor;
 import org.glassfish.grizzly.ThreadCache;
@@ -33,6 +34,7 @@ import org.glassfish.grizzly.filterchain.FilterChain;
 import org.glassfish.grizzly.filterchain.FilterChainBuilder;
 import org.glassfish.grizzly.filterchain.FilterChainEnabledTransport;
 import org.glassfish.grizzly.filterchain.TransportFilter;
+import org.glassfish.grizzly.memory.Buffers;
 import org.glassfish.grizzly.memory.BuffersBuffer;
 import org.glassfish.grizzly.memory.MemoryManager;
 import org.glassfish.grizzly.nio.transport.TCPNIOConnection;
@@ -148,6 +150,36 @@ final class GrizzlyUtils {
         return LDAP.getReader(asn1Reader, decodeOptions);
     }
 
+    /**
+     * Creates a new ASN1 reader for decoding a complete LDAP message.
+     * <p>
+     * The message is copied once into a heap buffer owned by the reader, so
+     * that the provided buffer can be released as soon as this method returns,
+     * even if the message is decoded later. The large octet strings of the
+     * message, such as the values of a big attribute, are returned as slices of
+     * this heap buffer instead of being copied again. Since a slice retains the
+     * whole message, the small octet strings, which may be held for a long time
+     * by DN, entry or group caches, are copied: see
+     * {@link ASN1BufferReader#MIN_SLICED_OCTET_STRING_LENGTH} and
+     * {@link ASN1BufferReader#MAX_SLICE_RETENTION_RATIO}.
+     *
+     * @param maxASN1ElementSize
+     *            The maximum BER element size, or <code>0</code> to indicate
+     *            that there is no limit.
+     * @param message
+     *            The buffer containing the message, whose content is read but
+     *            which remains owned, and released, by the caller.
+     * @param memoryManager
+     *            The memory manager to use for buffering.
+     * @return An ASN1 reader for the message
+     */
+    static ASN1BufferReader createMessageReader(int maxASN1ElementSize, Buffer message,
+            MemoryManager<?> memoryManager) {
+        final byte[] bytes = new byte[message.remaining()];
+        message.get(bytes);
+        return new ASN1BufferReader(maxASN1ElementSize, Buffers.wrap(memoryManager, bytes), true);
+    }
+
     /**
      * Returns a LDAP writer, with a clean ASN1Writer, possibly from
      * the thread local cache.
@@ -432,7 +432,7 @@ final class LDAPClientFilter extends LDAPBaseFilter {
             final Buffer remainder = (buffer.hasRemaining() && buffer.remaining() > length) ? buffer.split(buffer.position() + length) : null;
             buffer.reset();
             try (final ASN1BufferReader packetReader =
-                    new ASN1BufferReader(maxASN1ElementSize, buffer.asReadOnlyBuffer())) {
+                    GrizzlyUtils.createMessageReader(maxASN1ElementSize, buffer, ctx.getMemoryManager())) {
                 final LDAPReader<? extends ASN1Reader> ldapReader = LDAP.getReader(packetReader, decodeOptions);
                 ctx.setMessage(null);
                 ldapReader.readMessage(handler);
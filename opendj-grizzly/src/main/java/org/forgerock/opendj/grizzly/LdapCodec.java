@@ -74,7 +74,8 @@ abstract class LdapCodec extends LDAPBaseFilter {
                         ? buffer.split(buffer.position() + length)
                         : null;
                 buffer.position(mark);
-                ctx.setMessage(decodePacket(new ASN1BufferReader(maxASN1ElementSize, buffer.asReadOnlyBuffer())));
+                ctx.setMessage(decodePacket(
+                        GrizzlyUtils.createMessageReader(maxASN1ElementSize, buffer, ctx.getMemoryManager())));
                 reader.close();
                 return ctx.getInvokeAction(remainder);
         } catch (Exception e) {
@@ -17,12 +17,17 @@
 
 package org.forgerock.opendj.grizzly;
 
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.forgerock.opendj.io.ASN1Reader;
 import org.forgerock.opendj.io.ASN1Writer;
 import org.forgerock.opendj.io.ASN1WriterTestCase;
+import org.forgerock.opendj.ldap.ByteString;
 import org.forgerock.opendj.ldap.DecodeException;
 import org.glassfish.grizzly.Buffer;
 import org.glassfish.grizzly.memory.ByteBufferWrapper;
@@ -56,4 +61,92 @@ public class ASN1BufferWriterTestCase extends ASN1WriterTestCase {
         writer.reset(MemoryManager.DEFAULT_MEMORY_MANAGER);
         return writer;
     }
+
+    /** Large values are referenced by a composite buffer, and can be decoded back. */
+    @Test
+    public void testLargeOctetStringsAreNotCopied() throws Exception {
+        final byte[] bytes = new byte[4096];
+        Arrays.fill(bytes, (byte) 0x42);
+        final ByteString largeValue = ByteString.wrap(bytes);
+
+        final ASN1Writer asn1Writer = getWriter();
+        asn1Writer.writeStartSequence();
+        asn1Writer.writeOctetString("small");
+        asn1Writer.writeStartSequence();
+        asn1Writer.writeOctetString(largeValue);
+        asn1Writer.writeOctetString(largeValue);
+        asn1Writer.writeEndSequence();
+        asn1Writer.writeOctetString(largeValue);
+        asn1Writer.writeInteger(42);
+        asn1Writer.writeEndSequence();
+
+        final Buffer buffer = writer.getBuffer();
+        assertThat(buffer.isComposite()).isTrue();
+
+        final byte[] encodedBytes = new byte[buffer.remaining()];
+        buffer.get(encodedBytes);
+        final ASN1BufferReader reader = GrizzlyUtils.createMessageReader(
+                0, new ByteBufferWrapper(ByteBuffer.wrap(encodedBytes)), MemoryManager.DEFAULT_MEMORY_MANAGER);
+        reader.readStartSequence();
+        assertThat(reader.readOctetStringAsString()).isEqualTo("small");
+        reader.readStartSequence();
+        assertThat(reader.readOctetString()).isEqualTo(largeValue);
+        assertThat(reader.readOctetString()).isEqualTo(largeValue);
+        reader.readEndSequence();
+        assertThat(reader.readOctetString()).isEqualTo(largeValue);
+        assertThat(reader.readInteger()).isEqualTo(42);
+        reader.readEndSequence();
+        assertThat(reader.hasNextElement()).isFalse();
+    }
+
+    /** Slices retain the whole message: only the values making up a large part of it are sliced. */
+    @Test
+    public void testOnlyLargeOctetStringsAreSliced() throws Exception {
+        final int largeLength = ASN1BufferReader.MIN_SLICED_OCTET_STRING_LENGTH;
+        final ByteString small = ByteString.valueOfUtf8("uid=user.0,dc=example,dc=com");
+        final ByteString large = ByteString.wrap(newBytes(largeLength));
+        final ByteString tooSmallForMessage = ByteString.wrap(newBytes(largeLength));
+        final ByteString huge = ByteString.wrap(newBytes(largeLength * ASN1BufferReader.MAX_SLICE_RETENTION_RATIO));
+
+        final byte[] message = encode(small, large);
+        final ASN1BufferReader reader = new ASN1BufferReader(0, new ByteBufferWrapper(ByteBuffer.wrap(message)), true);
+        final ByteString smallRead = reader.readOctetString();
+        final ByteString largeRead = reader.readOctetString();
+        Arrays.fill(message, (byte) 0);
+        assertThat(smallRead).as("small values are copied").isEqualTo(small);
+        assertThat(largeRead).as("large values are sliced").isNotEqualTo(large);
+
+        final byte[] bigMessage = encode(tooSmallForMessage, huge);
+        final ASN1BufferReader bigReader =
+                new ASN1BufferReader(0, new ByteBufferWrapper(ByteBuffer.wrap(bigMessage)), true);
+        final ByteString tooSmallRead = bigReader.readOctetString();
+        bigReader.readOctetString();
+        Arrays.fill(bigMessage, (byte) 0);
+        assertThat(tooSmallRead).as("values retaining a much bigger message are copied").isEqualTo(tooSmallForMessage);
+    }
+
+    private byte[] encode(final ByteString... values) throws Exception {
+        final ASN1Writer asn1Writer = getWriter();
+        for (ByteString value : values) {
+            asn1Writer.writeOctetString(value);
+        }
+        return getEncodedBytes();
+    }
+
+    private static byte[] newBytes(final int length) {
+        final byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) 0x42);
+        return bytes;
+    }
+
+    @Test
+    public void testMessageReaderLeavesBufferDisposalToCaller() throws Exception {
+        final Buffer buffer = spy(new ByteBufferWrapper(ByteBuffer.wrap(new byte[] { 0x04, 0x01, 0x61 })));
+        final ASN1BufferReader reader =
+                GrizzlyUtils.createMessageReader(0, buffer, MemoryManager.DEFAULT_MEMORY_MANAGER);
+        assertThat(reader.readOctetStringAsString()).isEqualTo("a");
+        // the caller, such as the reader of the whole network buffer, still owns and releases it
+        verify(buffer, never()).tryDispose();
+        verify(buffer, never()).dispose();
+    }
 }
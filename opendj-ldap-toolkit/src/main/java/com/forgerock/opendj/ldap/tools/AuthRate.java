@@ -399,6 +399,8 @@ public final class AuthRate extends ConsoleApplication {
             PerformanceRunnerOptions options = new PerformanceRunnerOptions(argParser, this);
             options.setSupportsRebind(false);
             options.setSupportsMultipleThreadsPerConnection(false);
+            // Bind requests cannot be sent while other requests are outstanding on the same connection
+            options.setSupportsPipelining(false);
 
             connectionFactoryProvider = new ConnectionFactoryProvider(argParser, this);
             runner = new BindPerformanceRunner(options);
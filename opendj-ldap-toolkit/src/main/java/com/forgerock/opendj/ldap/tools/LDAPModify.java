@@ -32,6 +32,7 @@ import static com.forgerock.opendj.ldap.tools.Utils.runTool;
 import static com.forgerock.opendj.ldap.tools.Utils.runToolAndExit;
 import static org.forgerock.util.Utils.closeSilently;
 
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.util.ArrayList;
@@ -39,7 +40,9 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
 
+import org.forgerock.i18n.LocalizableMessage;
 import org.forgerock.opendj.ldap.Connection;
 import org.forgerock.opendj.ldap.DecodeException;
 import org.forgerock.opendj.ldap.DecodeOptions;
@@ -59,13 +62,17 @@ import org.forgerock.opendj.ldap.responses.Result;
 import org.forgerock.opendj.ldif.ChangeRecord;
 import org.forgerock.opendj.ldif.ChangeRecordReader;
 import org.forgerock.opendj.ldif.ChangeRecordVisitor;
+import org.forgerock.opendj.ldif.ChangeRecordWriter;
 import org.forgerock.opendj.ldif.EntryWriter;
 import org.forgerock.opendj.ldif.LDIFChangeRecordReader;
+import org.forgerock.opendj.ldif.LDIFChangeRecordWriter;
 import org.forgerock.opendj.ldif.LDIFEntryWriter;
+import org.forgerock.opendj.ldif.ParallelChangeRecordWriter;
 
 import com.forgerock.opendj.cli.ArgumentException;
 import com.forgerock.opendj.cli.BooleanArgument;
 import com.forgerock.opendj.cli.ConnectionFactoryProvider;
+import com.forgerock.opendj.cli.IntegerArgument;
 import com.forgerock.opendj.cli.StringArgument;
 import org.forgerock.util.annotations.VisibleForTesting;
 
@@ -101,11 +108,18 @@ public final class LDAPModify extends ToolConsoleApplication {
         return runTool(new LDAPModify(out, err), args);
     }
 
-    private final class VisitorImpl implements ChangeRecordVisitor<Integer, Void> {
+    private final class VisitorImpl implements ChangeRecordVisitor<Integer, Void>,
+            ParallelChangeRecordWriter.ResultListener {
         private final Connection connection;
+        private final ParallelChangeRecordWriter parallelWriter;
 
         private VisitorImpl(final Connection connection) {
+            this(connection, null);
+        }
+
+        private VisitorImpl(final Connection connection, final ParallelChangeRecordWriter parallelWriter) {
             this.connection = connection;
+            this.parallelWriter = parallelWriter;
         }
 
         @Override
@@ -119,6 +133,10 @@ public final class LDAPModify extends ToolConsoleApplication {
                 return ResultCode.SUCCESS.intValue();
             }
 
+            if (parallelWriter != null) {
+                return writeInParallel(change);
+            }
+
             try {
                 Result r = connection.add(change);
                 printResult(opType, change.getName().toString(), r);
@@ -139,6 +157,10 @@ public final class LDAPModify extends ToolConsoleApplication {
                 return ResultCode.SUCCESS.intValue();
             }
 
+            if (parallelWriter != null) {
+                return writeInParallel(change);
+            }
+
             try {
                 Result r = connection.delete(change);
                 printResult(opType, change.getName().toString(), r);
@@ -159,6 +181,10 @@ public final class LDAPModify extends ToolConsoleApplication {
                 return ResultCode.SUCCESS.intValue();
             }
 
+            if (parallelWriter != null) {
+                return writeInParallel(change);
+            }
+
             try {
                 Result r = connection.modifyDN(change);
                 printResult(opType, change.getName().toString(), r);
@@ -179,6 +205,10 @@ public final class LDAPModify extends ToolConsoleApplication {
                 return ResultCode.SUCCESS.intValue();
             }
 
+            if (parallelWriter != null) {
+                return writeInParallel(change);
+            }
+
             try {
                 Result r = connection.modify(change);
                 printResult(opType, change.getName().toString(), r);
@@ -223,12 +253,58 @@ public final class LDAPModify extends ToolConsoleApplication {
             }
         }
 
+        private int writeInParallel(final ChangeRecord change) {
+            try {
+                parallelWriter.writeChangeRecord(change);
+                return ResultCode.SUCCESS.intValue();
+            } catch (final LdapException e) {
+                // Already reported by handleError()
+                return e.getResult().getResultCode().intValue();
+            } catch (final IOException e) {
+                errPrintln(ERR_LDAPMODIFY_CANNOT_WRITE_REJECTED_CHANGES.get(e.getLocalizedMessage()));
+                return ResultCode.CLIENT_SIDE_LOCAL_ERROR.intValue();
+            }
+        }
+
+        @Override
+        public void handleResult(final ChangeRecord change, final Result result) {
+            printResult(change.accept(OPERATION_TYPE, null), change.getName().toString(), result);
+        }
+
+        @Override
+        public void handleError(final ChangeRecord change, final LdapException error) {
+            printErrorMessage(LDAPModify.this, error, ERR_LDAP_MODIFY_FAILED);
+        }
+
         private boolean dryRun() {
             return connection == null;
         }
         // TODO: CSN control
     }
 
+    /** Returns the operation type displayed for a change record. */
+    private static final ChangeRecordVisitor<String, Void> OPERATION_TYPE = new ChangeRecordVisitor<String, Void>() {
+        @Override
+        public String visitChangeRecord(final Void aVoid, final AddRequest change) {
+            return "ADD";
+        }
+
+        @Override
+        public String visitChangeRecord(final Void aVoid, final DeleteRequest change) {
+            return "DELETE";
+        }
+
+        @Override
+        public String visitChangeRecord(final Void aVoid, final ModifyDNRequest change) {
+            return "MODIFY DN";
+        }
+
+        @Override
+        public String visitChangeRecord(final Void aVoid, final ModifyRequest change) {
+            return "MODIFY";
+        }
+    };
+
     private EntryWriter writer;
     private Collection<Control> controls;
     private BooleanArgument verbose;
@@ -272,6 +348,10 @@ public final class LDAPModify extends ToolConsoleApplication {
         StringArgument proxyAuthzID;
         StringArgument propertiesFileArgument;
         BooleanArgument noPropertiesFileArgument;
+        IntegerArgument numConnections;
+        IntegerArgument maxOutstandingRequests;
+        IntegerArgument maxRetries;
+        StringArgument rejectFile;
 
         try {
             connectionFactoryProvider = new ConnectionFactoryProvider(argParser, this);
@@ -320,6 +400,33 @@ public final class LDAPModify extends ToolConsoleApplication {
             continueOnError = continueOnErrorArgument();
             argParser.addArgument(continueOnError);
 
+            numConnections =
+                    IntegerArgument.builder("numConnections")
+                            .description(INFO_LDAPMODIFY_DESCRIPTION_NUM_CONNECTIONS.get())
+                            .lowerBound(1)
+                            .defaultValue(1)
+                            .valuePlaceholder(LocalizableMessage.raw("{numConnections}"))
+                            .buildAndAddToParser(argParser);
+            maxOutstandingRequests =
+                    IntegerArgument.builder("maxOutstandingRequests")
+                            .description(INFO_LDAPMODIFY_DESCRIPTION_MAX_OUTSTANDING_REQUESTS.get())
+                            .lowerBound(1)
+                            .defaultValue(1)
+                            .valuePlaceholder(LocalizableMessage.raw("{maxOutstandingRequests}"))
+                            .buildAndAddToParser(argParser);
+            maxRetries =
+                    IntegerArgument.builder("maxRetries")
+                            .description(INFO_LDAPMODIFY_DESCRIPTION_MAX_RETRIES.get())
+                            .lowerBound(0)
+                            .defaultValue(0)
+                            .valuePlaceholder(LocalizableMessage.raw("{maxRetries}"))
+                            .buildAndAddToParser(argParser);
+            rejectFile =
+                    StringArgument.builder(OPTION_LONG_REJECT_FILE)
+                            .description(INFO_LDAPMODIFY_DESCRIPTION_REJECT_FILE.get())
+                            .valuePlaceholder(INFO_REJECT_FILE_PLACEHOLDER.get())
+                            .buildAndAddToParser(argParser);
+
             /* Legacy argument in ForgeRock's OpenDJ to avoid failing when running older scripts.
             The current behaviour is the opposite of Forgerock (defaultAdd false),
             as we treat records with no changetype as add operations by default. */
@@ -364,7 +471,16 @@ public final class LDAPModify extends ToolConsoleApplication {
                                                          this)) {
             reader = createLDIFChangeRecordReader(filename, argParser.getTrailingArguments());
             try (final EntryWriter w = writer) {
-                return processModify(connection, reader, continueOnError.isPresent());
+                // Retries and rejects are handled by the parallel writer, which applies
+                // the changes one at a time with a single connection and outstanding request
+                if (connection != null
+                        && (numConnections.getIntValue() > 1 || maxOutstandingRequests.getIntValue() > 1
+                            || maxRetries.getIntValue() > 0 || rejectFile.isPresent())) {
+                    return processModifyInParallel(connection, argParser, noop, reader, continueOnError.isPresent(),
+                            numConnections.getIntValue(), maxOutstandingRequests.getIntValue(),
+                            maxRetries.getIntValue(), rejectFile.getValue());
+                }
+                return processModify(new VisitorImpl(connection), reader, continueOnError.isPresent());
             } catch (final IOException e) {
                 throw newToolException(e, ResultCode.UNDEFINED, ERR_LDAP_MODIFY_WRITTING_ENTRIES.get(e.getMessage()));
             }
@@ -373,10 +489,60 @@ public final class LDAPModify extends ToolConsoleApplication {
         }
     }
 
-    private int processModify(final Connection connection,
+    private int processModifyInParallel(final Connection connection,
+                                        final LDAPToolArgumentParser argParser,
+                                        final BooleanArgument noop,
+                                        final ChangeRecordReader reader,
+                                        final boolean continueOnError,
+                                        final int numConnections,
+                                        final int maxOutstandingRequests,
+                                        final int maxRetries,
+                                        final String rejectFile) throws LDAPToolException {
+        final List<Connection> connections = new ArrayList<>(numConnections);
+        connections.add(connection);
+        ChangeRecordWriter rejectWriter = null;
+        try {
+            while (connections.size() < numConnections) {
+                connections.add(
+                        getConnection(argParser.getConnectionFactory(), argParser.getBindRequest(), noop, this));
+            }
+            if (rejectFile != null) {
+                rejectWriter = new LDIFChangeRecordWriter(new FileOutputStream(rejectFile));
+            }
+        } catch (final IOException e) {
+            closeSilently(connections.subList(1, connections.size()));
+            throw newToolException(e, ResultCode.CLIENT_SIDE_LOCAL_ERROR,
+                    ERR_LDAPMODIFY_CANNOT_WRITE_REJECTED_CHANGES.get(e.getLocalizedMessage()));
+        } catch (final LDAPToolException e) {
+            closeSilently(connections.subList(1, connections.size()));
+            throw e;
+        }
+
+        final ParallelChangeRecordWriter parallelWriter = new ParallelChangeRecordWriter(connections)
+                .setMaxOutstandingRequests(maxOutstandingRequests)
+                .setRetryPolicy(maxRetries, 100, TimeUnit.MILLISECONDS)
+                .setContinueOnError(continueOnError)
+                .setRejectWriter(rejectWriter);
+        final VisitorImpl visitor = new VisitorImpl(connection, parallelWriter);
+        parallelWriter.setResultListener(visitor);
+        try {
+            final int result = processModify(visitor, reader, continueOnError);
+            parallelWriter.flush();
+            return result;
+        } catch (final LdapException e) {
+            // Already reported by the visitor
+            return e.getResult().getResultCode().intValue();
+        } catch (final IOException e) {
+            throw newToolException(e, ResultCode.CLIENT_SIDE_LOCAL_ERROR,
+                    ERR_LDAPMODIFY_CANNOT_WRITE_REJECTED_CHANGES.get(e.getLocalizedMessage()));
+        } finally {
+            closeSilently(parallelWriter, rejectWriter);
+        }
+    }
+
+    private int processModify(final VisitorImpl visitor,
                               final ChangeRecordReader reader,
                               final boolean continueOnError) {
-        final VisitorImpl visitor = new VisitorImpl(connection);
         while (true) {
             try {
                 if (!reader.hasNext()) {
@@ -22,6 +22,8 @@ import static com.forgerock.opendj.ldap.tools.LDAPToolException.newToolParamExce
 import static com.forgerock.opendj.ldap.tools.ToolsMessages.*;
 import static com.forgerock.opendj.cli.CommonArguments.*;
 
+import static com.forgerock.opendj.ldap.tools.Utils.MIN_PARALLEL_LDIF_FILE_SIZE_MB;
+import static com.forgerock.opendj.ldap.tools.Utils.computeNumberOfLDIFThreads;
 import static com.forgerock.opendj.ldap.tools.Utils.computeWrapColumn;
 import static com.forgerock.opendj.ldap.tools.Utils.getLDIFToolInputStream;
 import static com.forgerock.opendj.ldap.tools.Utils.getLDIFToolOutputStream;
@@ -30,6 +32,7 @@ import static com.forgerock.opendj.ldap.tools.Utils.runTool;
 import static com.forgerock.opendj.ldap.tools.Utils.runToolAndExit;
 import static org.forgerock.util.Utils.closeSilently;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -38,11 +41,15 @@ import java.util.List;
 
 import com.forgerock.opendj.cli.IntegerArgument;
 import org.forgerock.i18n.LocalizableException;
+import org.forgerock.i18n.LocalizableMessage;
+import org.forgerock.opendj.ldap.Entry;
 import org.forgerock.opendj.ldap.ResultCode;
 import org.forgerock.opendj.ldif.ChangeRecordReader;
+import org.forgerock.opendj.ldif.EntryReader;
 import org.forgerock.opendj.ldif.LDIF;
 import org.forgerock.opendj.ldif.LDIFChangeRecordWriter;
 import org.forgerock.opendj.ldif.LDIFEntryReader;
+import org.forgerock.opendj.ldif.SortedEntryReader;
 
 import com.forgerock.opendj.cli.ArgumentException;
 import com.forgerock.opendj.cli.ArgumentParser;
@@ -59,6 +66,11 @@ public final class LDIFDiff extends ToolConsoleApplication {
     static final int NO_DIFFERENCES_FOUND = 0;
     static final int DIFFERENCES_FOUND = 1;
 
+    /** The default amount of memory used for sorting each LDIF file, in megabytes. */
+    private static final int DEFAULT_MAX_MEMORY_SIZE_MB = 64;
+    /** The number of entries read between two progress reports. */
+    private static final int PROGRESS_INTERVAL = 100000;
+
     /**
      * The main method for ldifdiff tool.
      *
@@ -107,6 +119,10 @@ public final class LDIFDiff extends ToolConsoleApplication {
         final BooleanArgument showUsage;
         final StringArgument outputFilename;
         final IntegerArgument wrapColumn;
+        final BooleanArgument externalSort;
+        final StringArgument tempDirectory;
+        final IntegerArgument maxMemorySize;
+        final IntegerArgument numThreads;
         try {
             outputFilename =
                     StringArgument.builder(OPTION_LONG_OUTPUT_LDIF_FILENAME)
@@ -118,6 +134,29 @@ public final class LDIFDiff extends ToolConsoleApplication {
                             .buildAndAddToParser(argParser);
             wrapColumn = wrapColumnArgument();
             argParser.addArgument(wrapColumn);
+            externalSort =
+                    BooleanArgument.builder("externalSort")
+                            .description(INFO_LDIFDIFF_DESCRIPTION_EXTERNAL_SORT.get())
+                            .buildAndAddToParser(argParser);
+            tempDirectory =
+                    StringArgument.builder("tempDirectory")
+                            .description(INFO_LDIFDIFF_DESCRIPTION_TEMP_DIRECTORY.get())
+                            .defaultValue(System.getProperty("java.io.tmpdir"))
+                            .valuePlaceholder(INFO_PATH_PLACEHOLDER.get())
+                            .buildAndAddToParser(argParser);
+            maxMemorySize =
+                    IntegerArgument.builder("maxMemorySize")
+                            .description(INFO_LDIFDIFF_DESCRIPTION_MAX_MEMORY_SIZE.get())
+                            .lowerBound(1)
+                            .defaultValue(DEFAULT_MAX_MEMORY_SIZE_MB)
+                            .valuePlaceholder(LocalizableMessage.raw("{megabytes}"))
+                            .buildAndAddToParser(argParser);
+            numThreads =
+                    IntegerArgument.builder("numThreads")
+                            .description(INFO_LDIFDIFF_DESCRIPTION_NUM_THREADS.get(MIN_PARALLEL_LDIF_FILE_SIZE_MB))
+                            .lowerBound(1)
+                            .valuePlaceholder(LocalizableMessage.raw("{numThreads}"))
+                            .buildAndAddToParser(argParser);
 
             showUsage = showUsageArgument();
             argParser.addArgument(showUsage);
@@ -148,9 +187,23 @@ public final class LDIFDiff extends ToolConsoleApplication {
             try (LDIFEntryReader sourceReader = new LDIFEntryReader(sourceInputStream);
                  LDIFEntryReader targetReader = new LDIFEntryReader(targetInputStream);
                  LDIFChangeRecordWriter outputWriter = new LDIFChangeRecordWriter(outputStream)) {
+                final int sourceThreads = computeNumberOfLDIFThreads(numThreads, trailingArguments.get(0));
+                final int targetThreads = computeNumberOfLDIFThreads(numThreads, trailingArguments.get(1));
+                sourceReader.setParallelism(sourceThreads);
+                targetReader.setParallelism(targetThreads);
                 outputWriter.setWrapColumn(computeWrapColumn(wrapColumn));
-                final ChangeRecordReader changes = LDIF.diff(sourceReader, targetReader);
-                LDIF.copyTo(changes, outputWriter);
+                if (externalSort.isPresent()) {
+                    final File tempDir = new File(tempDirectory.getValue());
+                    final long maxMemory = maxMemorySize.getIntValue() * 1024L * 1024L;
+                    try (ChangeRecordReader changes = LDIF.diffSorted(
+                            sort(sourceReader, trailingArguments.get(0), tempDir, maxMemory, sourceThreads),
+                            sort(targetReader, trailingArguments.get(1), tempDir, maxMemory, targetThreads),
+                            tempDir)) {
+                        LDIF.copyTo(changes, outputWriter);
+                    }
+                } else {
+                    LDIF.copyTo(LDIF.diff(sourceReader, targetReader), outputWriter);
+                }
                 if (outputWriter.containsChanges()) {
                     return DIFFERENCES_FOUND;
                 } else {
@@ -171,4 +224,44 @@ public final class LDIFDiff extends ToolConsoleApplication {
             closeSilently(sourceInputStream, targetInputStream, outputStream);
         }
     }
+
+    private EntryReader sort(final EntryReader reader, final String ldifFile, final File tempDir,
+            final long maxMemory, final int numberOfThreads) {
+        final EntryReader progressReader = new EntryReader() {
+            private long entryCount;
+            private boolean isDone;
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+
+            @Override
+            public boolean hasNext() throws IOException {
+                if (reader.hasNext()) {
+                    return true;
+                }
+                if (!isDone) {
+                    isDone = true;
+                    if (entryCount % PROGRESS_INTERVAL != 0) {
+                        errPrintln(INFO_LDIFDIFF_PROGRESS_READ_ENTRIES.get(entryCount, ldifFile));
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public Entry readEntry() throws IOException {
+                final Entry entry = reader.readEntry();
+                if (++entryCount % PROGRESS_INTERVAL == 0) {
+                    errPrintln(INFO_LDIFDIFF_PROGRESS_READ_ENTRIES.get(entryCount, ldifFile));
+                }
+                return entry;
+            }
+        };
+        return new SortedEntryReader(progressReader)
+                .setTempDirectory(tempDir)
+                .setMaxMemorySize(maxMemory)
+                .setParallelism(numberOfThreads);
+    }
 }
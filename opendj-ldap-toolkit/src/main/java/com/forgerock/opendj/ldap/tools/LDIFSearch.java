@@ -22,6 +22,8 @@ import static com.forgerock.opendj.ldap.tools.LDAPToolException.newToolParamExce
 import static com.forgerock.opendj.ldap.tools.ToolsMessages.*;
 import static com.forgerock.opendj.cli.CommonArguments.*;
 
+import static com.forgerock.opendj.ldap.tools.Utils.MIN_PARALLEL_LDIF_FILE_SIZE_MB;
+import static com.forgerock.opendj.ldap.tools.Utils.computeNumberOfLDIFThreads;
 import static com.forgerock.opendj.ldap.tools.Utils.computeWrapColumn;
 import static com.forgerock.opendj.ldap.tools.Utils.getLDIFToolInputStream;
 import static com.forgerock.opendj.ldap.tools.Utils.getLDIFToolOutputStream;
@@ -36,6 +38,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.forgerock.i18n.LocalizableException;
+import org.forgerock.i18n.LocalizableMessage;
 import org.forgerock.i18n.LocalizedIllegalArgumentException;
 import org.forgerock.opendj.ldap.DN;
 import org.forgerock.opendj.ldap.Filter;
@@ -112,6 +115,7 @@ public final class LDIFSearch extends ToolConsoleApplication {
         final MultiChoiceArgument<SearchScope> searchScope;
         final IntegerArgument sizeLimit;
         final IntegerArgument wrapColumn;
+        final IntegerArgument numThreads;
         try {
             outputFilename =
                     StringArgument.builder(OPTION_LONG_OUTPUT_LDIF_FILENAME)
@@ -154,6 +158,12 @@ public final class LDIFSearch extends ToolConsoleApplication {
 
             wrapColumn = wrapColumnArgument();
             argParser.addArgument(wrapColumn);
+            numThreads =
+                    IntegerArgument.builder("numThreads")
+                            .description(INFO_LDIFSEARCH_DESCRIPTION_NUM_THREADS.get(MIN_PARALLEL_LDIF_FILE_SIZE_MB))
+                            .lowerBound(1)
+                            .valuePlaceholder(LocalizableMessage.raw("{numThreads}"))
+                            .buildAndAddToParser(argParser);
 
             showUsage = showUsageArgument();
             argParser.addArgument(showUsage);
@@ -175,6 +185,7 @@ public final class LDIFSearch extends ToolConsoleApplication {
         }
 
         final SearchRequest search;
+        final int numberOfThreads;
         try {
             final SearchScope scope = searchScope.getTypedValue();
             search =
@@ -182,6 +193,7 @@ public final class LDIFSearch extends ToolConsoleApplication {
                             attributes.toArray(new String[attributes.size()])).setTypesOnly(
                             typesOnly.isPresent()).setTimeLimit(timeLimit.getIntValue())
                             .setSizeLimit(sizeLimit.getIntValue());
+            numberOfThreads = computeNumberOfLDIFThreads(numThreads, trailingArguments.get(0));
         } catch (final ArgumentException | LocalizedIllegalArgumentException e) {
             throw newToolParamException(e, e.getMessageObject());
         }
@@ -189,6 +201,7 @@ public final class LDIFSearch extends ToolConsoleApplication {
         try (final LDIFEntryReader sourceReader =
                      new LDIFEntryReader(getLDIFToolInputStream(this, trailingArguments.get(0)));
              final LDIFEntryWriter outputWriter = new LDIFEntryWriter(getLDIFToolOutputStream(this, outputFilename))) {
+            sourceReader.setParallelism(numberOfThreads);
             outputWriter.setWrapColumn(computeWrapColumn(wrapColumn));
             LDIF.copyTo(LDIF.search(sourceReader, search), outputWriter);
         } catch (final LdapException e) {
@@ -118,6 +118,7 @@ public final class MakeLDIF extends ToolConsoleApplication {
         StringArgument resourcePath;
         StringArgument constants;
         IntegerArgument wrapColumn;
+        IntegerArgument numThreads;
         try {
             resourcePath =
                     StringArgument.builder(OPTION_LONG_RESOURCE_PATH)
@@ -146,6 +147,13 @@ public final class MakeLDIF extends ToolConsoleApplication {
                             .multiValued()
                             .valuePlaceholder(INFO_CONSTANT_PLACEHOLDER.get())
                             .buildAndAddToParser(argParser);
+            numThreads =
+                    IntegerArgument.builder("numThreads")
+                            .description(INFO_MAKELDIF_DESCRIPTION_NUM_THREADS.get())
+                            .lowerBound(1)
+                            .defaultValue(1)
+                            .valuePlaceholder(LocalizableMessage.raw("{numThreads}"))
+                            .buildAndAddToParser(argParser);
 
             showUsage = showUsageArgument();
             argParser.addArgument(showUsage);
@@ -164,7 +172,7 @@ public final class MakeLDIF extends ToolConsoleApplication {
             return ResultCode.SUCCESS.intValue();
         }
         final String templatePath = argParser.getTrailingArguments().get(0);
-        return run(templatePath, resourcePath, ldifFile, randomSeed, constants, wrapColumn);
+        return run(templatePath, resourcePath, ldifFile, randomSeed, constants, wrapColumn, numThreads);
     }
 
     /** Run Make LDIF with provided arguments. */
@@ -173,7 +181,8 @@ public final class MakeLDIF extends ToolConsoleApplication {
                     final StringArgument ldifFile,
                     final IntegerArgument randomSeedArg,
                     final StringArgument constants,
-                    final IntegerArgument wrapColumn)  throws LDAPToolException {
+                    final IntegerArgument wrapColumn,
+                    final IntegerArgument numThreads)  throws LDAPToolException {
         LDIFEntryWriter writer = null;
         try (EntryGenerator generator = createGenerator(templatePath, resourcePath, randomSeedArg, constants)) {
             if (generator == null) {
@@ -188,6 +197,7 @@ public final class MakeLDIF extends ToolConsoleApplication {
             }
 
             try {
+                generator.setParallelism(numThreads.getIntValue());
                 writer = createLdifWriter(ldifFile, computeWrapColumn(wrapColumn));
             } catch (final IOException e) {
                 throw newToolParamException(
@@ -0,0 +1,55 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package com.forgerock.opendj.ldap.tools;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Computes the times at which the requests of a worker thread are intended to be sent in open loop mode.
+ * <p>
+ * The intended times only depend on the start time and on the throughput: a request sent late does not delay
+ * the following ones, so that the response times measured from the intended times include the time spent
+ * waiting for a stalled server.
+ * <p>
+ * This class is not thread safe.
+ */
+final class OpenLoopSchedule {
+    private final long startTimeNs;
+    private final double intervalNs;
+    private long scheduledCount;
+
+    /**
+     * Creates a schedule.
+     *
+     * @param startTimeNs
+     *            The time at which the first request is intended to be sent, as returned by {@link System#nanoTime()}
+     * @param throughput
+     *            The number of requests to send per second
+     */
+    OpenLoopSchedule(final long startTimeNs, final double throughput) {
+        this.startTimeNs = startTimeNs;
+        this.intervalNs = SECONDS.toNanos(1) / throughput;
+    }
+
+    /**
+     * Returns the time at which the next request is intended to be sent.
+     *
+     * @return The time at which the next request is intended to be sent, in nanoseconds
+     */
+    long nextIntendedTimeNs() {
+        return startTimeNs + (long) (scheduledCount++ * intervalNs);
+    }
+}
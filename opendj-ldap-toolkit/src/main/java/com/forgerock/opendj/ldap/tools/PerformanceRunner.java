@@ -27,6 +27,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
 
 import org.forgerock.i18n.LocalizableMessage;
 import org.forgerock.opendj.ldap.Connection;
@@ -37,6 +39,7 @@ import org.forgerock.opendj.ldap.LdapResultHandler;
 import org.forgerock.opendj.ldap.requests.BindRequest;
 import org.forgerock.opendj.ldap.responses.ExtendedResult;
 import org.forgerock.opendj.ldap.responses.Result;
+import org.forgerock.util.promise.ExceptionHandler;
 import org.forgerock.util.promise.Promise;
 
 import com.forgerock.opendj.cli.ArgumentException;
@@ -50,6 +53,7 @@ import com.forgerock.opendj.util.StaticUtils;
 /** Benchmark application framework. */
 abstract class PerformanceRunner implements ConnectionEventListener {
     private static final double[] DEFAULT_PERCENTILES = new double[] { 99.9, 99.99, 99.999 };
+    private static final int DEFAULT_MAX_OUTSTANDING_REQUESTS = 1000;
 
     class TimerThread extends Thread {
         private final long timeToWait;
@@ -127,6 +131,18 @@ abstract class PerformanceRunner implements ConnectionEventListener {
 
         @Override
         public void run() {
+            if (openLoop) {
+                runOpenLoop();
+            } else {
+                runClosedLoop();
+            }
+        }
+
+        /**
+         * Sends each request once the response to the previous one has been received, sleeping between requests
+         * to achieve the target throughput.
+         */
+        private void runClosedLoop() {
             Promise<?, LdapException> promise;
             Connection connection;
             final double targetTimeMs = 1000.0 / (targetThroughput / (double) (numThreads * numConnections));
@@ -184,12 +200,76 @@ abstract class PerformanceRunner implements ConnectionEventListener {
             }
         }
 
+        /**
+         * Sends the requests at the times intended to achieve the target throughput, without waiting for the
+         * responses to the previous requests. The response time of each request is measured from the time it was
+         * intended to be sent, so that the time spent waiting for a stalled server is not omitted from the
+         * statistics.
+         */
+        private void runOpenLoop() {
+            final OpenLoopSchedule schedule =
+                    new OpenLoopSchedule(System.nanoTime(), targetThroughput / (double) (numThreads * numConnections));
+
+            while (!stopRequested && !localStopRequested
+                    && (maxIterations <= 0 || count < maxIterations)) {
+                final long intendedTimeNs = schedule.nextIntendedTimeNs();
+                long waitNs;
+                while ((waitNs = intendedTimeNs - System.nanoTime()) > 0 && !stopRequested) {
+                    LockSupport.parkNanos(waitNs);
+                }
+
+                final Connection connection;
+                try {
+                    outstandingRequests.acquire();
+                    connection = getConnectionToUse();
+                } catch (final InterruptedException e) {
+                    // Ignore and check stop requested
+                    continue;
+                } catch (final LdapException e) {
+                    outstandingRequests.release();
+                    handleConnectionError(false, e);
+                    break;
+                }
+
+                final Promise<?, LdapException> promise;
+                try {
+                    promise = performOperation(connection, dataSources.get(), intendedTimeNs);
+                } catch (final RuntimeException e) {
+                    releaseOpenLoopRequest(connection);
+                    throw e;
+                }
+                statsThread.incrementOperationCount();
+                promise.thenOnException(new ExceptionHandler<LdapException>() {
+                    @Override
+                    public void handleException(final LdapException e) {
+                        if (!stopRequested && e.getCause() instanceof IOException) {
+                            e.getCause().printStackTrace(app.getErrorStream());
+                            stopTool(true);
+                        }
+                        // Otherwise ignore. Handled by result handler
+                    }
+                }).thenAlways(new Runnable() {
+                    @Override
+                    public void run() {
+                        releaseOpenLoopRequest(connection);
+                    }
+                });
+            }
+        }
+
+        private void releaseOpenLoopRequest(final Connection connection) {
+            if (this.connection == null) {
+                connection.close();
+            }
+            outstandingRequests.release();
+        }
+
         private Connection getConnectionToUse() throws InterruptedException, LdapException {
             if (this.connection == null) {
                 return connectionFactory.getConnectionAsync().getOrThrow();
             } else {
                 final Connection resultConnection = this.connection;
-                if (!noRebind && bindRequest != null) {
+                if (!noRebind && !openLoop && bindRequest != null) {
                     resultConnection.bindAsync(bindRequest).getOrThrow();
                 }
                 return resultConnection;
@@ -230,6 +310,9 @@ abstract class PerformanceRunner implements ConnectionEventListener {
     /** Max duration time in ms, 0 for unlimited. */
     private long maxDurationTimeMs;
     private boolean noRebind;
+    private boolean openLoop;
+    /** Limits the number of requests sent and not yet answered in open loop mode. */
+    private Semaphore outstandingRequests;
     private BindRequest bindRequest;
     private int statsIntervalMs;
     private final IntegerArgument numThreadsArgument;
@@ -240,6 +323,9 @@ abstract class PerformanceRunner implements ConnectionEventListener {
     private final IntegerArgument percentilesArgument;
     private final BooleanArgument keepConnectionsOpen;
     private final BooleanArgument noRebindArgument;
+    private final BooleanArgument openLoopArgument;
+    private final IntegerArgument maxOutstandingRequestsArgument;
+    private final boolean supportsPipelining;
     private final StringArgument arguments;
     protected final IntegerArgument maxIterationsArgument;
     protected final IntegerArgument warmUpArgument;
@@ -334,6 +420,19 @@ abstract class PerformanceRunner implements ConnectionEventListener {
             argParser.addArgument(noRebindArgument);
         }
 
+        supportsPipelining = options.supportsPipelining();
+        openLoopArgument =
+                BooleanArgument.builder("openLoop")
+                        .description(INFO_PERFORMANCE_RUNNER_DESCRIPTION_OPEN_LOOP.get())
+                        .buildAndAddToParser(argParser);
+        maxOutstandingRequestsArgument =
+                IntegerArgument.builder("maxOutstandingRequests")
+                        .description(INFO_PERFORMANCE_RUNNER_DESCRIPTION_MAX_OUTSTANDING_REQUESTS.get())
+                        .lowerBound(1)
+                        .defaultValue(DEFAULT_MAX_OUTSTANDING_REQUESTS)
+                        .valuePlaceholder(LocalizableMessage.raw("{maxOutstandingRequests}"))
+                        .buildAndAddToParser(argParser);
+
         arguments =
                 StringArgument.builder("argument")
                         .shortIdentifier('g')
@@ -384,6 +483,14 @@ abstract class PerformanceRunner implements ConnectionEventListener {
         targetThroughput = targetThroughputArgument.getIntValue();
 
         noRebind = noRebindArgument.isPresent();
+        openLoop = openLoopArgument.isPresent();
+        outstandingRequests = new Semaphore(maxOutstandingRequestsArgument.getIntValue());
+
+        if (openLoop && targetThroughput <= 0) {
+            throw new ArgumentException(ERR_TOOL_ARG_MUST_BE_USED_WHEN_ARG_CONDITION.get(
+                "--" + targetThroughputArgument.getLongIdentifier(), "--" + openLoopArgument.getLongIdentifier(),
+                "present"));
+        }
 
         if (!noRebindArgument.isPresent() && this.numThreads > 1) {
             throw new ArgumentException(ERR_TOOL_ARG_MUST_BE_USED_WHEN_ARG_CONDITION.get(
@@ -421,7 +528,8 @@ abstract class PerformanceRunner implements ConnectionEventListener {
             validateCanConnectToServer(connectionFactory);
             for (int i = 0; i < numConnections; i++) {
                 Connection connection = null;
-                if (keepConnectionsOpen.isPresent() || noRebindArgument.isPresent()) {
+                if ((keepConnectionsOpen.isPresent() || noRebindArgument.isPresent())
+                        && (!openLoop || supportsPipelining)) {
                     connection = connectionFactory.getConnection();
                     connection.addConnectionEventListener(this);
                     connections.add(connection);
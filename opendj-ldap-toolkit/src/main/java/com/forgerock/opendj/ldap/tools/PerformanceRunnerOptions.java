@@ -29,6 +29,7 @@ class PerformanceRunnerOptions {
     private boolean supportsRebind = true;
     private boolean supportsMultipleThreadsPerConnection = true;
     private boolean supportsGeneratorArgument = true;
+    private boolean supportsPipelining = true;
 
     PerformanceRunnerOptions(ArgumentParser argParser, ConsoleApplication app) {
         this.argParser = argParser;
@@ -59,6 +60,18 @@ class PerformanceRunnerOptions {
         this.supportsGeneratorArgument = supportsGeneratorArgument;
     }
 
+    /**
+     * Returns whether several operations can be outstanding on the same connection. When they cannot, the open
+     * loop mode uses a new connection for each operation.
+     */
+    boolean supportsPipelining() {
+        return supportsPipelining;
+    }
+
+    void setSupportsPipelining(boolean supportsPipelining) {
+        this.supportsPipelining = supportsPipelining;
+    }
+
     ArgumentParser getArgumentParser() {
         return argParser;
     }
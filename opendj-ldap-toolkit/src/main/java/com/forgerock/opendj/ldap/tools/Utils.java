@@ -30,6 +30,7 @@ import static com.forgerock.opendj.ldap.tools.ToolsMessages.*;
 import static com.forgerock.opendj.util.StaticUtils.registerBcProvider;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -74,6 +75,9 @@ import org.forgerock.util.annotations.VisibleForTesting;
  */
 final class Utils {
 
+    /** The minimum size of the LDIF files decoded by several threads, unless specified otherwise. */
+    static final int MIN_PARALLEL_LDIF_FILE_SIZE_MB = 4;
+
     static int printErrorMessage(final ConsoleApplication app, final LdapException ldapException) {
         return printErrorMessage(app, ldapException, null);
     }
@@ -246,6 +250,31 @@ final class Utils {
         }
     }
 
+    /**
+     * Returns the number of threads which should decode an LDIF file read by
+     * an LDIF tool.
+     *
+     * @param numThreads
+     *         {@link IntegerArgument} which could be provided on the command line.
+     * @param filePath
+     *         The path of the LDIF file, or {@code "-"} for the standard input.
+     * @return The number of threads provided on the command line if any,
+     *         otherwise one thread per processor for LDIF files of at least
+     *         {@value #MIN_PARALLEL_LDIF_FILE_SIZE_MB} megabytes, and a single
+     *         thread for smaller files and the standard input.
+     */
+    static int computeNumberOfLDIFThreads(final IntegerArgument numThreads, final String filePath)
+            throws ArgumentException {
+        if (numThreads.isPresent()) {
+            return numThreads.getIntValue();
+        } else if (!USE_SYSTEM_STREAM_TOKEN.equals(filePath)
+                && new File(filePath).length() >= MIN_PARALLEL_LDIF_FILE_SIZE_MB * 1024L * 1024L) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        // Starting a pool of threads would cost more than it would save
+        return 1;
+    }
+
     static OutputStream getLDIFToolOutputStream(final ConsoleApplication app, final StringArgument outputFileArg)
             throws LDAPToolException {
         final String filePath = outputFileArg.getValue();
@@ -0,0 +1,345 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package com.forgerock.opendj.ldap.tools;
+
+import static com.forgerock.opendj.ldap.tools.ToolsMessages.*;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import org.forgerock.opendj.ldap.Connection;
+import org.forgerock.opendj.ldap.ConnectionFactory;
+import org.forgerock.opendj.ldap.LdapException;
+import org.forgerock.opendj.ldap.ModificationType;
+import org.forgerock.opendj.ldap.SearchResultHandler;
+import org.forgerock.opendj.ldap.SearchScope;
+import org.forgerock.opendj.ldap.requests.Requests;
+import org.forgerock.opendj.ldap.requests.SearchRequest;
+import org.forgerock.opendj.ldap.responses.BindResult;
+import org.forgerock.opendj.ldap.responses.Result;
+import org.forgerock.opendj.ldap.responses.SearchResultEntry;
+import org.forgerock.opendj.ldap.responses.SearchResultReference;
+import org.forgerock.util.AsyncFunction;
+import org.forgerock.util.promise.Promise;
+
+import com.forgerock.opendj.cli.ArgumentException;
+
+/**
+ * A mix of search, modify and bind operations read from a workload file.
+ * <p>
+ * The workload file is a properties file where each operation type is enabled
+ * by a relative weight:
+ *
+ * <pre>
+ * search.weight=80
+ * search.baseDN=ou=People,dc=example,dc=com
+ * search.scope=sub
+ * search.filter=(uid=user.%1$d)
+ * search.attributes=cn mail
+ * modify.weight=15
+ * modify.dn=uid=user.%1$d,ou=People,dc=example,dc=com
+ * modify.attribute=description
+ * modify.value=%2$s
+ * bind.weight=5
+ * bind.dn=uid=user.%1$d,ou=People,dc=example,dc=com
+ * bind.password=password
+ * </pre>
+ *
+ * The values are Java format strings evaluated with the generated arguments.
+ */
+final class Workload {
+    /** An operation of the workload. */
+    abstract static class Operation {
+        private final int weight;
+
+        private Operation(final int weight) {
+            this.weight = weight;
+        }
+
+        /**
+         * Sends the request of this operation.
+         *
+         * @param connection
+         *            The connection to use for the requests which do not change the connection state
+         * @param bindConnectionFactory
+         *            The connection factory providing the connections used for binds
+         * @param data
+         *            The generated arguments, or {@code null}
+         * @return The promise of the result
+         */
+        abstract Promise<? extends Result, LdapException> perform(Connection connection,
+                ConnectionFactory bindConnectionFactory, Object[] data);
+
+        /** Throws an exception if the format strings of this operation do not match the provided data. */
+        abstract void checkFormat(Object[] data);
+    }
+
+    private static final class SearchOperation extends Operation {
+        private static final SearchResultHandler IGNORE_RESULTS = new SearchResultHandler() {
+            @Override
+            public boolean handleEntry(final SearchResultEntry entry) {
+                return true;
+            }
+
+            @Override
+            public boolean handleReference(final SearchResultReference reference) {
+                return true;
+            }
+        };
+
+        private final String baseDN;
+        private final SearchScope scope;
+        private final String filter;
+        private final String[] attributes;
+
+        private SearchOperation(final int weight, final String baseDN, final SearchScope scope, final String filter,
+                final String[] attributes) {
+            super(weight);
+            this.baseDN = baseDN;
+            this.scope = scope;
+            this.filter = filter;
+            this.attributes = attributes;
+        }
+
+        @Override
+        Promise<Result, LdapException> perform(final Connection connection,
+                final ConnectionFactory bindConnectionFactory, final Object[] data) {
+            final SearchRequest request =
+                    Requests.newSearchRequest(format(baseDN, data), scope, format(filter, data), attributes);
+            return connection.searchAsync(request, IGNORE_RESULTS);
+        }
+
+        @Override
+        void checkFormat(final Object[] data) {
+            Requests.newSearchRequest(format(baseDN, data), scope, format(filter, data), attributes);
+        }
+    }
+
+    private static final class ModifyOperation extends Operation {
+        private final String dn;
+        private final String attribute;
+        private final String value;
+
+        private ModifyOperation(final int weight, final String dn, final String attribute, final String value) {
+            super(weight);
+            this.dn = dn;
+            this.attribute = attribute;
+            this.value = value;
+        }
+
+        @Override
+        Promise<Result, LdapException> perform(final Connection connection,
+                final ConnectionFactory bindConnectionFactory, final Object[] data) {
+            return connection.modifyAsync(Requests.newModifyRequest(format(dn, data))
+                    .addModification(ModificationType.REPLACE, attribute, format(value, data)));
+        }
+
+        @Override
+        void checkFormat(final Object[] data) {
+            Requests.newModifyRequest(format(dn, data)).addModification(
+                    ModificationType.REPLACE, attribute, format(value, data));
+        }
+    }
+
+    /**
+     * Binds use a new connection because a bind request cannot be sent while
+     * other requests are outstanding on the same connection, and would change
+     * the identity used by the other operations.
+     */
+    private static final class BindOperation extends Operation {
+        private final String dn;
+        private final String password;
+
+        private BindOperation(final int weight, final String dn, final String password) {
+            super(weight);
+            this.dn = dn;
+            this.password = password;
+        }
+
+        @Override
+        Promise<BindResult, LdapException> perform(final Connection connection,
+                final ConnectionFactory bindConnectionFactory, final Object[] data) {
+            final String name = format(dn, data);
+            final char[] credentials = format(password, data).toCharArray();
+            return bindConnectionFactory.getConnectionAsync().thenAsync(
+                    new AsyncFunction<Connection, BindResult, LdapException>() {
+                        @Override
+                        public Promise<BindResult, LdapException> apply(final Connection bindConnection) {
+                            return bindConnection.bindAsync(Requests.newSimpleBindRequest(name, credentials))
+                                    .thenAlways(new Runnable() {
+                                        @Override
+                                        public void run() {
+                                            bindConnection.close();
+                                        }
+                                    });
+                        }
+                    });
+        }
+
+        @Override
+        void checkFormat(final Object[] data) {
+            format(dn, data);
+            format(password, data);
+        }
+    }
+
+    private final List<Operation> operations = new ArrayList<>();
+    private int totalWeight;
+
+    private Workload() {
+        // Use read().
+    }
+
+    /**
+     * Reads a workload file.
+     *
+     * @param path
+     *            The path of the workload file
+     * @return The workload
+     * @throws ArgumentException
+     *             If the workload file cannot be read or is invalid
+     */
+    static Workload read(final String path) throws ArgumentException {
+        final Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(path)) {
+            properties.load(in);
+        } catch (final IOException e) {
+            throw new ArgumentException(ERR_MIXRATE_CANNOT_READ_WORKLOAD.get(path, e.getMessage()), e);
+        }
+        return read(properties);
+    }
+
+    /**
+     * Reads a workload from the properties of a workload file.
+     *
+     * @param properties
+     *            The properties of the workload file
+     * @return The workload
+     * @throws ArgumentException
+     *             If the workload is invalid
+     */
+    static Workload read(final Properties properties) throws ArgumentException {
+        final Workload workload = new Workload();
+        int weight = getWeight(properties, "search");
+        if (weight > 0) {
+            workload.add(new SearchOperation(weight,
+                    getRequiredProperty(properties, "search.baseDN"),
+                    getScope(properties),
+                    properties.getProperty("search.filter", "(objectClass=*)"),
+                    getAttributes(properties)));
+        }
+        weight = getWeight(properties, "modify");
+        if (weight > 0) {
+            workload.add(new ModifyOperation(weight,
+                    getRequiredProperty(properties, "modify.dn"),
+                    getRequiredProperty(properties, "modify.attribute"),
+                    getRequiredProperty(properties, "modify.value")));
+        }
+        weight = getWeight(properties, "bind");
+        if (weight > 0) {
+            workload.add(new BindOperation(weight,
+                    getRequiredProperty(properties, "bind.dn"),
+                    getRequiredProperty(properties, "bind.password")));
+        }
+        if (workload.operations.isEmpty()) {
+            throw new ArgumentException(ERR_MIXRATE_INVALID_WORKLOAD.get("search.weight, modify.weight, bind.weight"));
+        }
+        return workload;
+    }
+
+    private void add(final Operation operation) {
+        operations.add(operation);
+        totalWeight += operation.weight;
+    }
+
+    private static int getWeight(final Properties properties, final String operationType)
+            throws ArgumentException {
+        final String key = operationType + ".weight";
+        final String weight = properties.getProperty(key, "0").trim();
+        try {
+            final int value = Integer.parseInt(weight);
+            if (value >= 0) {
+                return value;
+            }
+        } catch (final NumberFormatException e) {
+            // Reported below
+        }
+        throw new ArgumentException(ERR_MIXRATE_INVALID_WORKLOAD.get(key + "=" + weight));
+    }
+
+    private static String[] getAttributes(final Properties properties) {
+        final String attributes = properties.getProperty("search.attributes", "").trim();
+        return attributes.isEmpty() ? new String[0] : attributes.split("\\s+");
+    }
+
+    private static SearchScope getScope(final Properties properties) throws ArgumentException {
+        final String scope = properties.getProperty("search.scope", SearchScope.WHOLE_SUBTREE.toString()).trim();
+        for (final SearchScope value : SearchScope.values()) {
+            if (value.toString().equalsIgnoreCase(scope)) {
+                return value;
+            }
+        }
+        throw new ArgumentException(ERR_MIXRATE_INVALID_WORKLOAD.get("search.scope=" + scope));
+    }
+
+    private static String getRequiredProperty(final Properties properties, final String key)
+            throws ArgumentException {
+        final String value = properties.getProperty(key);
+        if (value == null) {
+            throw new ArgumentException(ERR_MIXRATE_INVALID_WORKLOAD.get(key));
+        }
+        return value.trim();
+    }
+
+    private static String format(final String format, final Object[] data) {
+        return data != null ? String.format(format, data) : format;
+    }
+
+    /**
+     * Picks the next operation to perform according to the operation weights.
+     *
+     * @param random
+     *            The random number generator of the calling thread
+     * @return The next operation to perform
+     */
+    Operation nextOperation(final Random random) {
+        int value = random.nextInt(totalWeight);
+        for (final Operation operation : operations) {
+            value -= operation.weight;
+            if (value < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Throws an exception if the format strings of the workload do not match the provided data.
+     *
+     * @param data
+     *            The generated arguments, or {@code null}
+     */
+    void checkFormat(final Object[] data) {
+        for (final Operation operation : operations) {
+            operation.checkFormat(data);
+        }
+    }
+}
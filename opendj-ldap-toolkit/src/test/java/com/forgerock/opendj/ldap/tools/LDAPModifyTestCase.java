@@ -32,6 +32,8 @@ import static org.forgerock.opendj.ldap.ModificationType.ADD;
 import static org.forgerock.opendj.ldap.ModificationType.DELETE;
 import static org.forgerock.opendj.ldap.ModificationType.REPLACE;
 
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -251,6 +253,23 @@ public class LDAPModifyTestCase extends LDAPToolsTestCase {
                               tmpFilePath);
     }
 
+    @Test
+    public void testRejectFileWithSequentialChanges() throws Exception {
+        continueOnError = true;
+        final String tmpFilePath = createTempFile("dn: uid=error",
+                                                  "changetype: add",
+                                                  "description: An error will be raised by server",
+                                                  "",
+                                                  "dn: uid=marvin",
+                                                  "changetype: delete");
+        final String rejectFilePath = createTempFile();
+        runToolOnMockedServer("-c",
+                              "--rejectFile", rejectFilePath,
+                              tmpFilePath);
+        final String rejectedChanges = new String(Files.readAllBytes(Paths.get(rejectFilePath)));
+        assertThat(rejectedChanges).contains("dn: uid=error").excludes("uid=marvin");
+    }
+
     @Test
     public void testModifyDN() throws Exception {
         controls.add(ProxiedAuthV2RequestControl.newControl("dn: uid=marvin"));
@@ -31,6 +31,7 @@ import java.util.List;
 
 import org.forgerock.i18n.LocalizableMessage;
 import org.forgerock.opendj.ldap.Attribute;
+import org.forgerock.opendj.ldap.DN;
 import org.forgerock.opendj.ldap.Entry;
 import org.forgerock.opendj.ldap.ResultCode;
 import org.forgerock.opendj.ldap.TestCaseUtils;
@@ -67,7 +68,8 @@ public class LDIFSearchTestCase extends ToolsTestCase {
         reasonList.add(ERR_ARGPARSER_TOO_FEW_TRAILING_ARGUMENTS.get(2));
 
         addValueNeededShortArgs(argLists, reasonList, "b", "l", "s", "z");
-        addValueNeededLongArgs(argLists, reasonList, "baseDN", "timeLimit", "outputLDIF", "searchScope", "sizeLimit");
+        addValueNeededLongArgs(argLists, reasonList,
+                "baseDN", "timeLimit", "outputLDIF", "searchScope", "sizeLimit", "numThreads");
 
         return toDataProviderArray(argLists, reasonList);
     }
@@ -193,6 +195,37 @@ public class LDIFSearchTestCase extends ToolsTestCase {
         assertThat(countLdifSearchOutputFileLines()).isEqualTo(5);
     }
 
+    @Test
+    public void testLDIFSearchSeveralThreads() throws Exception {
+        final int res = runTool("-b", "ou=ldifsearch,o=unit tests,dc=example,dc=com",
+                                "-o", ldifSearchOutputFilePath,
+                                "-s", "subordinates",
+                                "--numThreads", "4",
+                                ldifSearchSourceFilePath,
+                                "(objectclass=*)",
+                                "uid");
+        assertThat(res).isEqualTo(ResultCode.SUCCESS.intValue());
+        final List<String> uids = new ArrayList<>();
+        try (final LDIFEntryReader reader = new LDIFEntryReader(new FileReader(ldifSearchOutputFilePath))) {
+            while (reader.hasNext()) {
+                uids.add(reader.readEntry().parseAttribute("uid").asString());
+            }
+        }
+
+        final List<String> expectedUids = new ArrayList<>();
+        try (final LDIFEntryReader reader = new LDIFEntryReader(new FileReader(ldifSearchSourceFilePath))) {
+            while (reader.hasNext()) {
+                final Entry e = reader.readEntry();
+                if (e.getName().isSubordinateOrEqualTo(DN.valueOf("ou=ldifsearch,o=unit tests,dc=example,dc=com"))
+                        && e.getAttribute("uid") != null) {
+                    expectedUids.add(e.parseAttribute("uid").asString());
+                }
+            }
+        }
+        // The entries are returned in the order of the source file
+        assertThat(uids).isEqualTo(expectedUids);
+    }
+
     private int countLdifSearchOutputFileLines() throws Exception {
         try (final BufferedReader reader = new BufferedReader(new FileReader(ldifSearchOutputFilePath))) {
             int nbLines = 0;
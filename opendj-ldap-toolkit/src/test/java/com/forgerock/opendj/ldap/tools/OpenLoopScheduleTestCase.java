@@ -0,0 +1,58 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package com.forgerock.opendj.ldap.tools;
+
+import static org.fest.assertions.Assertions.*;
+
+import org.forgerock.testng.ForgeRockTestCase;
+import org.testng.annotations.Test;
+
+/** Tests the times at which the requests are intended to be sent in open loop mode. */
+@SuppressWarnings("javadoc")
+@Test
+public class OpenLoopScheduleTestCase extends ForgeRockTestCase {
+    @Test
+    public void testIntendedTimesAreEvenlySpaced() {
+        final OpenLoopSchedule schedule = new OpenLoopSchedule(1000L, 1000);
+        for (int i = 0; i < 10; i++) {
+            assertThat(schedule.nextIntendedTimeNs()).isEqualTo(1000L + i * 1000000L);
+        }
+    }
+
+    @Test
+    public void testIntendedTimesDoNotDrift() {
+        // 3 requests per second: the interval cannot be represented exactly in nanoseconds
+        final OpenLoopSchedule schedule = new OpenLoopSchedule(0, 3);
+        long intendedTimeNs = 0;
+        for (int i = 0; i <= 3000; i++) {
+            intendedTimeNs = schedule.nextIntendedTimeNs();
+        }
+        // Adding a rounded interval 3000 times would be 1000ns early
+        assertThat(intendedTimeNs).isGreaterThanOrEqualTo(1000000000000L - 1).isLessThanOrEqualTo(1000000000000L);
+    }
+
+    @Test
+    public void testLateRequestsDoNotDelayTheFollowingOnes() throws Exception {
+        final long startTimeNs = System.nanoTime();
+        final OpenLoopSchedule schedule = new OpenLoopSchedule(startTimeNs, 10000);
+        schedule.nextIntendedTimeNs();
+        // The server stalls: the requests intended meanwhile keep their times
+        Thread.sleep(50);
+        final long nextIntendedTimeNs = schedule.nextIntendedTimeNs();
+        assertThat(nextIntendedTimeNs).isEqualTo(startTimeNs + 100000L);
+        assertThat(nextIntendedTimeNs).isLessThan(System.nanoTime());
+    }
+}
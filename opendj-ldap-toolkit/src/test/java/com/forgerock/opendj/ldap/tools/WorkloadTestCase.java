@@ -0,0 +1,168 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package com.forgerock.opendj.ldap.tools;
+
+import static org.fest.assertions.Assertions.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Properties;
+import java.util.Random;
+
+import org.forgerock.opendj.ldap.Connection;
+import org.forgerock.opendj.ldap.ConnectionFactory;
+import org.forgerock.opendj.ldap.LdapException;
+import org.forgerock.opendj.ldap.ResultCode;
+import org.forgerock.opendj.ldap.SearchResultHandler;
+import org.forgerock.opendj.ldap.SearchScope;
+import org.forgerock.opendj.ldap.requests.ModifyRequest;
+import org.forgerock.opendj.ldap.requests.SearchRequest;
+import org.forgerock.testng.ForgeRockTestCase;
+import org.forgerock.util.promise.Promises;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.forgerock.opendj.cli.ArgumentException;
+
+/** Tests the workload files of the mixrate tool. */
+@SuppressWarnings("javadoc")
+@Test
+public class WorkloadTestCase extends ForgeRockTestCase {
+    private Connection connection;
+    private ConnectionFactory bindConnectionFactory;
+
+    @BeforeMethod
+    public void createMocks() {
+        connection = mock(Connection.class);
+        bindConnectionFactory = mock(ConnectionFactory.class);
+        when(bindConnectionFactory.getConnectionAsync()).thenReturn(Promises.<Connection, LdapException>
+                newExceptionPromise(LdapException.newLdapException(ResultCode.CLIENT_SIDE_CONNECT_ERROR)));
+    }
+
+    @Test
+    public void testSearchWithoutAttributesRequestsAllAttributes() throws Exception {
+        final Workload workload = Workload.read(properties(
+                "search.weight", "1",
+                "search.baseDN", "ou=people,dc=example,dc=com",
+                "search.attributes", "  "));
+
+        final SearchRequest request = performSearch(workload, null);
+        assertThat(request.getAttributes()).isEmpty();
+        assertThat(request.getScope()).isEqualTo(SearchScope.WHOLE_SUBTREE);
+        assertThat(request.getFilter().toString()).isEqualTo("(objectClass=*)");
+    }
+
+    @Test
+    public void testSearchFormatStrings() throws Exception {
+        final Workload workload = Workload.read(properties(
+                "search.weight", "1",
+                "search.baseDN", "ou=people,dc=example,dc=com",
+                "search.scope", "one",
+                "search.filter", "(uid=user.%1$d)",
+                "search.attributes", " cn   mail "));
+
+        final SearchRequest request = performSearch(workload, new Object[] { 42 });
+        assertThat(request.getAttributes()).containsExactly("cn", "mail");
+        assertThat(request.getScope()).isEqualTo(SearchScope.SINGLE_LEVEL);
+        assertThat(request.getFilter().toString()).isEqualTo("(uid=user.42)");
+    }
+
+    @Test
+    public void testModifyFormatStrings() throws Exception {
+        final Workload workload = Workload.read(properties(
+                "modify.weight", "1",
+                "modify.dn", "uid=user.%1$d,ou=people,dc=example,dc=com",
+                "modify.attribute", "description",
+                "modify.value", "%2$s"));
+
+        workload.nextOperation(new Random(0)).perform(connection, bindConnectionFactory, new Object[] { 7, "abc" });
+        final ArgumentCaptor<ModifyRequest> request = ArgumentCaptor.forClass(ModifyRequest.class);
+        verify(connection).modifyAsync(request.capture());
+        assertThat(request.getValue().getName().toString()).isEqualTo("uid=user.7,ou=people,dc=example,dc=com");
+        assertThat(request.getValue().getModifications()).hasSize(1);
+        assertThat(request.getValue().getModifications().get(0).getAttribute().firstValueAsString())
+                .isEqualTo("abc");
+    }
+
+    @DataProvider
+    public Object[][] invalidWorkloads() {
+        return new Object[][] {
+            { properties() },
+            { properties("search.weight", "0", "modify.weight", "0") },
+            { properties("search.weight", "-1", "search.baseDN", "dc=example,dc=com") },
+            { properties("search.weight", "ten", "search.baseDN", "dc=example,dc=com") },
+            { properties("search.weight", "1") },
+            { properties("search.weight", "1", "search.baseDN", "dc=example,dc=com", "search.scope", "deep") },
+            { properties("modify.weight", "1", "modify.dn", "dc=example,dc=com", "modify.attribute", "cn") },
+            { properties("bind.weight", "1", "bind.dn", "dc=example,dc=com") },
+        };
+    }
+
+    @Test(dataProvider = "invalidWorkloads", expectedExceptions = ArgumentException.class)
+    public void testInvalidWorkload(final Properties properties) throws Exception {
+        Workload.read(properties);
+    }
+
+    @Test
+    public void testOperationsAreSelectedAccordingToTheirWeight() throws Exception {
+        final Workload workload = Workload.read(properties(
+                "search.weight", "80",
+                "search.baseDN", "dc=example,dc=com",
+                "modify.weight", "15",
+                "modify.dn", "dc=example,dc=com",
+                "modify.attribute", "description",
+                "modify.value", "value",
+                "bind.weight", "5",
+                "bind.dn", "cn=user,dc=example,dc=com",
+                "bind.password", "password"));
+
+        final int nbOperations = 20000;
+        final Random random = new Random(0);
+        for (int i = 0; i < nbOperations; i++) {
+            workload.nextOperation(random).perform(connection, bindConnectionFactory, null);
+        }
+
+        final ArgumentCaptor<SearchRequest> searches = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(connection, atLeastOnce()).searchAsync(searches.capture(), any(SearchResultHandler.class));
+        final ArgumentCaptor<ModifyRequest> modifies = ArgumentCaptor.forClass(ModifyRequest.class);
+        verify(connection, atLeastOnce()).modifyAsync(modifies.capture());
+        final int nbSearches = searches.getAllValues().size();
+        final int nbModifies = modifies.getAllValues().size();
+        final int nbBinds = nbOperations - nbSearches - nbModifies;
+        verify(bindConnectionFactory, times(nbBinds)).getConnectionAsync();
+
+        assertThat(nbSearches).isGreaterThan(15600).isLessThan(16400);
+        assertThat(nbModifies).isGreaterThan(2700).isLessThan(3300);
+        assertThat(nbBinds).isGreaterThan(800).isLessThan(1200);
+    }
+
+    private SearchRequest performSearch(final Workload workload, final Object[] data) {
+        workload.nextOperation(new Random(0)).perform(connection, bindConnectionFactory, data);
+        final ArgumentCaptor<SearchRequest> request = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(connection).searchAsync(request.capture(), any(SearchResultHandler.class));
+        return request.getValue();
+    }
+
+    private static Properties properties(final String... keyValues) {
+        final Properties properties = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return properties;
+    }
+}
@@ -645,6 +645,20 @@ public abstract class ClientConnection
    */
   public abstract boolean removeOperationInProgress(int messageID);
 
+  /**
+   * Indicates that a worker thread dequeued the provided operation and
+   * started processing it.  The time the operation spent in the work
+   * queue is available from {@link Operation#getQueueingNanoTime()}.
+   * This implementation does nothing.  Subclasses may override it to
+   * gather work queue statistics.
+   *
+   * @param  operation  The operation dequeued by a worker thread.
+   */
+  public void operationDequeued(Operation operation)
+  {
+    // No implementation is required by default.
+  }
+
 
 
   /**
@@ -271,6 +271,21 @@ public abstract class ConnectionHandler
 
 
 
+  /**
+   * Adds the monitoring information specific to this connection handler to
+   * the data published by its {@link ConnectionHandlerMonitor}. This
+   * implementation does not add anything.
+   *
+   * @param  monitorData  The monitoring data to which the information
+   *                      should be added.
+   */
+  public void addMonitorData(MonitorData monitorData)
+  {
+    // No specific monitoring information by default.
+  }
+
+
+
   /**
    * Sets this connection handler as the admin connection handler.
    */
@@ -200,20 +200,14 @@ public final class DITCacheMap<T> extends AbstractMap<DN,T>
       }
       else
       {
-        if (parentNode.child != null)
+        // Insert as first child: appending would walk all the siblings.
+        final Node<T> firstChild = parentNode.child;
+        if (firstChild != null)
         {
-          Node<T> lastNode = parentNode.child;
-          while (lastNode.next != null)
-          {
-            lastNode = lastNode.next;
-          }
-          node.previous = lastNode;
-          lastNode.next = node;
-        }
-        else
-        {
-          parentNode.child = node;
+          firstChild.previous = node;
+          node.next = firstChild;
         }
+        parentNode.child = node;
         node.parent = parentNode;
         break;
       }
@@ -0,0 +1,46 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.api;
+
+import org.opends.server.types.Entry;
+
+/**
+ * This interface defines a method that may be used to notify Directory Server
+ * components of the entries stored by an LDIF import while it is running, so
+ * that they can derive information from the imported data without reading the
+ * backend again once the import is completed.
+ * <p>
+ * Importers processing entries in parallel invoke this method from several
+ * threads at once, in no particular order.
+ */
+@org.opends.server.types.PublicAPI(
+     stability=org.opends.server.types.StabilityLevel.VOLATILE,
+     mayInstantiate=false,
+     mayExtend=true,
+     mayInvoke=false)
+public interface ImportedEntryListener
+{
+  /**
+   * Performs any processing that might be necessary after an entry was
+   * successfully stored by an LDIF import.
+   *
+   * @param  entryOrdinal  The position of the entry in the order in which
+   *                       the backend exports its entries.
+   * @param  entry         The entry as it was stored in the backend. It
+   *                       must not be modified.
+   */
+  void entryImported(long entryOrdinal, Entry entry);
+}
@@ -41,6 +41,8 @@ public class Aci implements Comparable<Aci>
     private final String aciString;
     /** The DN of the entry containing this ACI. */
     private final DN dn;
+    /** Whether the evaluation of this ACI does not depend on the resource entry. */
+    private final boolean entryIndependent;
 
     /** Regular expression matching a word group. */
     public static final String WORD_GROUP="(\\w+)";
@@ -235,6 +237,8 @@ public class Aci implements Comparable<Aci>
         this.dn=dn;
         this.body=body;
         this.targets=targets;
+        this.entryIndependent =
+            targets.isEntryIndependent() && body.isEntryIndependent();
     }
 
     /**
@@ -281,6 +285,21 @@ public class Aci implements Comparable<Aci>
         return targets;
     }
 
+    /**
+     * Indicates whether the evaluation of this ACI only depends on the client,
+     * the rights and the attribute type being evaluated, for all the entries
+     * in its scope. This is the case when the ACI does not use the target,
+     * targetfilter, targattrfilters or targetscope keywords, nor bind rules
+     * referring to the resource entry (userattr, userdn="ldap:///self" and
+     * userdn="ldap:///parent").
+     *
+     * @return True if the evaluation of this ACI does not depend on the
+     * resource entry.
+     */
+    boolean isEntryIndependent() {
+        return entryIndependent;
+    }
+
     /**
      * Return the DN of the entry containing the ACI.
      * @return The DN of the entry containing the ACI.
@@ -191,6 +191,19 @@ public class AciBody {
          return false;
     }
 
+    /**
+     * Indicates whether the bind rules of this body only depend on the client.
+     * @return True if no bind rule of this body refers to the resource entry.
+     */
+    boolean isEntryIndependent() {
+        for (PermBindRulePair p : getPermBindRulePairs()) {
+            if (!p.getBindRule().isEntryIndependent()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Search through each permission bind rule associated with this body and
      * try and match a single right of the specified rights.
@@ -0,0 +1,129 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.authorization.dseecompat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.opends.server.types.Operation;
+
+/**
+ * Memoizes the access control decisions taken for the entries returned by a
+ * single operation. Entries which are covered by the same ACIs, contain the
+ * same attribute types and are only evaluated against ACIs which do not
+ * depend on the resource entry always lead to the same decision, so the
+ * decision taken for the first of them is replayed for the others.
+ * <p>
+ * A cache is attached to the operation and discarded with it: decisions are
+ * never shared between operations, so ACI and group membership changes are
+ * taken into account by the next operation.
+ */
+final class AciDecisionCache
+{
+  /** The name of the operation attachment holding the decision cache. */
+  private static final String DECISION_CACHE = "aciDecisionCache";
+
+  /**
+   * The maximum number of decisions kept for an operation, so that searches
+   * returning very heterogeneous entries do not accumulate decisions.
+   */
+  private static final int MAX_DECISIONS = 64;
+
+  private final Map<List<Object>, Object> decisions = new ConcurrentHashMap<>();
+
+  private AciDecisionCache()
+  {
+    // Use forOperation().
+  }
+
+  /**
+   * Returns the decision cache attached to the provided operation, creating
+   * it if needed.
+   *
+   * @param operation
+   *          The operation whose decisions are cached.
+   * @return The decision cache attached to the operation.
+   */
+  static AciDecisionCache forOperation(Operation operation)
+  {
+    AciDecisionCache cache = operation.getAttachment(DECISION_CACHE);
+    if (cache == null)
+    {
+      cache = new AciDecisionCache();
+      operation.setAttachment(DECISION_CACHE, cache);
+    }
+    return cache;
+  }
+
+  /**
+   * Builds the key identifying a decision.
+   *
+   * @param decision
+   *          The kind of decision, for example the name of the access control
+   *          handler method taking it.
+   * @param candidates
+   *          The candidate ACIs evaluated for the entry. Since ACIs do not
+   *          override {@code equals()}, two lists of candidates are equal when
+   *          they contain the same ACI instances in the same order.
+   * @param details
+   *          The other values the decision depends on, like the attribute
+   *          types of the entry.
+   * @return The key identifying the decision.
+   */
+  static List<Object> newKey(String decision, List<Aci> candidates, Object... details)
+  {
+    Object[] key = new Object[details.length + 2];
+    key[0] = decision;
+    key[1] = candidates;
+    System.arraycopy(details, 0, key, 2, details.length);
+    return Arrays.asList(key);
+  }
+
+  /**
+   * Returns the decision previously taken for the provided key.
+   *
+   * @param <T>
+   *          The type of the decision.
+   * @param key
+   *          The key identifying the decision.
+   * @return The decision, or {@code null} if no decision was cached for this
+   *         key.
+   */
+  @SuppressWarnings("unchecked")
+  <T> T get(List<Object> key)
+  {
+    return (T) decisions.get(key);
+  }
+
+  /**
+   * Caches the decision taken for the provided key, unless the maximum
+   * number of decisions has been reached.
+   *
+   * @param key
+   *          The key identifying the decision.
+   * @param decision
+   *          The decision taken.
+   */
+  void put(List<Object> key, Object decision)
+  {
+    if (decisions.size() < MAX_DECISIONS)
+    {
+      decisions.put(key, decision);
+    }
+  }
+}
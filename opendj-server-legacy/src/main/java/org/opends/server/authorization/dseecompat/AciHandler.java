@@ -18,6 +18,7 @@
  */
 package org.opends.server.authorization.dseecompat;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.SortedSet;
@@ -94,6 +95,13 @@ public final class AciHandler extends
    */
   static final String ORIG_AUTH_ENTRY = "origAuthorizationEntry";
 
+  /** Cached maySend decision for an entry which may not be sent. */
+  private static final int ENTRY_DENIED = -1;
+  /** Cached maySend flag indicating that all user attributes matched. */
+  private static final int ALL_USER_ATTRS_FLAG = 0x1;
+  /** Cached maySend flag indicating that all operational attributes matched. */
+  private static final int ALL_OP_ATTRS_FLAG = 0x2;
+
   /** Attribute type corresponding to "aci" attribute. */
   static AttributeType aciType;
 
@@ -149,6 +157,12 @@ public final class AciHandler extends
    */
   private AciListenerManager aciListenerMgr;
 
+  /**
+   * The monitor reporting how often access control decisions are reused,
+   * registered by the initializeAccessControlHandler method.
+   */
+  private final AciHandlerMonitor monitor = new AciHandlerMonitor();
+
   /** Creates a new DSEE-compatible access control handler. */
   public AciHandler()
   {
@@ -170,7 +184,31 @@ public final class AciHandler extends
     boolean skipCheck = skipAccessCheck(operation);
     if (!skipCheck)
     {
-      filterEntry(container, filteredEntry);
+      List<AttributeType> attrTypes = getAllAttrs(filteredEntry);
+      List<Object> decisionKey = getDecisionKey("filterEntry", container, attrTypes,
+          container.hasAllUserAttributes(), container.hasAllOpAttributes());
+      if (decisionKey == null)
+      {
+        filterEntry(container, filteredEntry, attrTypes);
+      }
+      else
+      {
+        AciDecisionCache decisions = AciDecisionCache.forOperation(operation);
+        List<AttributeType> removedAttrTypes = decisions.get(decisionKey);
+        if (removedAttrTypes != null)
+        {
+          monitor.decisionCacheHit();
+          for (AttributeType attrType : removedAttrTypes)
+          {
+            filteredEntry.removeAttribute(attrType);
+          }
+        }
+        else
+        {
+          monitor.decisionCacheMiss();
+          decisions.put(decisionKey, filterEntry(container, filteredEntry, attrTypes));
+        }
+      }
     }
 
     if (container.hasGetEffectiveRightsControl())
@@ -184,6 +222,7 @@ public final class AciHandler extends
   @Override
   public void finalizeAccessControlHandler()
   {
+    DirectoryServer.deregisterMonitorProvider(monitor);
     aciListenerMgr.finalizeListenerManager();
     AciEffectiveRights.finalizeOnShutdown();
     DirectoryServer.deregisterSupportedControl(OID_GET_EFFECTIVE_RIGHTS);
@@ -200,6 +239,7 @@ public final class AciHandler extends
     aciListenerMgr = new AciListenerManager(aciList, configurationDN);
     processGlobalAcis(configuration);
     DirectoryServer.registerSupportedControl(OID_GET_EFFECTIVE_RIGHTS);
+    DirectoryServer.registerMonitorProvider(monitor);
   }
 
   @Override
@@ -431,6 +471,50 @@ public final class AciHandler extends
     AciContainer container =
         new AciLDAPOperationContainer(operation, ACI_SEARCH, entry);
 
+    // Entries which only differ by values which no candidate ACI looks at get
+    // the same decision, so it is only evaluated once per operation.
+    List<Object> decisionKey = getDecisionKey("maySend", container, getAllAttrs(entry));
+    if (decisionKey == null)
+    {
+      return maySend(operation, container);
+    }
+    AciDecisionCache decisions = AciDecisionCache.forOperation(operation);
+    Integer decision = decisions.get(decisionKey);
+    if (decision == null)
+    {
+      monitor.decisionCacheMiss();
+      boolean allowed = maySend(operation, container);
+      decisions.put(decisionKey, allowed ? getMatchedAttrsFlags(container) : ENTRY_DENIED);
+      return allowed;
+    }
+
+    monitor.decisionCacheHit();
+    if (decision == ENTRY_DENIED)
+    {
+      return false;
+    }
+    if ((decision & ALL_USER_ATTRS_FLAG) != 0)
+    {
+      operation.setAttachment(ALL_USER_ATTRS_MATCHED, ALL_USER_ATTRS_MATCHED);
+    }
+    if ((decision & ALL_OP_ATTRS_FLAG) != 0)
+    {
+      operation.setAttachment(ALL_OP_ATTRS_MATCHED, ALL_OP_ATTRS_MATCHED);
+    }
+    return true;
+  }
+
+  /**
+   * Performs the access checks of the {@link #maySend(Operation, SearchResultEntry)} method.
+   *
+   * @param operation
+   *          The operation returning the entry.
+   * @param container
+   *          The search container of the entry.
+   * @return True if the entry may be sent to the client.
+   */
+  private boolean maySend(Operation operation, AciContainer container)
+  {
     // Pre/post read controls are associated with other types of operation.
     if (operation instanceof SearchOperation)
     {
@@ -513,8 +597,9 @@ public final class AciHandler extends
       }
     }
 
-    // First get all allowed candidate ACIs.
-    List<Aci> candidates = aciList.getCandidateAcis(dn);
+    // First get all allowed candidate ACIs, leaving out the ACIs which
+    // target other entries or other rights.
+    List<Aci> candidates = aciList.getCandidateAcis(dn, container.getRights());
     /*
      * Create an applicable list of ACIs by target matching each
      * candidate ACI against the container's target match view.
@@ -603,10 +688,15 @@ public final class AciHandler extends
    * @param filteredEntry
    *          The partially filtered search result entry being returned to the
    *          client.
+   * @param attrTypes
+   *          The attribute types of the filtered entry.
+   * @return The attribute types removed from the entry.
    */
-  private void filterEntry(AciContainer container, Entry filteredEntry)
+  private List<AttributeType> filterEntry(AciContainer container,
+      Entry filteredEntry, List<AttributeType> attrTypes)
   {
-    for (AttributeType attrType : getAllAttrs(filteredEntry))
+    List<AttributeType> removedAttrTypes = new ArrayList<>();
+    for (AttributeType attrType : attrTypes)
     {
       if (container.hasAllUserAttributes() && !attrType.isOperational())
       {
@@ -620,8 +710,10 @@ public final class AciHandler extends
       if (!accessAllowed(container))
       {
         filteredEntry.removeAttribute(attrType);
+        removedAttrTypes.add(attrType);
       }
     }
+    return removedAttrTypes;
   }
 
   /**
@@ -897,6 +989,67 @@ public final class AciHandler extends
     targetMatchCtx.setDenyList(denys);
   }
 
+  /**
+   * Returns the key under which the decision taken for the resource entry of
+   * the provided container may be cached for the rest of the operation. The
+   * decision may only be cached when all the candidate ACIs of the entry
+   * evaluate the same way for any entry in their scope, in which case it only
+   * depends on the candidate ACIs and on the attribute types of the entry.
+   *
+   * @param decision
+   *          The kind of decision being taken.
+   * @param container
+   *          The container holding the resource entry.
+   * @param details
+   *          The other values the decision depends on, starting with the
+   *          attribute types of the entry which are evaluated.
+   * @return The key of the decision, or {@code null} if the decision cannot be
+   *         cached.
+   */
+  private List<Object> getDecisionKey(String decision, AciContainer container, Object... details)
+  {
+    DN dn = container.getResourceDN();
+    if (container.hasGetEffectiveRightsControl() || debugSearchIndexDN.equals(dn))
+    {
+      monitor.decisionUncacheable();
+      return null;
+    }
+    // The same candidates as the evaluation, so that ACIs left out by the index
+    // neither prevent caching nor split the cached decisions.
+    List<Aci> candidates = aciList.getCandidateAcis(dn, container.getRights());
+    for (Aci aci : candidates)
+    {
+      if (!aci.isEntryIndependent())
+      {
+        monitor.decisionUncacheable();
+        return null;
+      }
+    }
+    return AciDecisionCache.newKey(decision, candidates, details);
+  }
+
+  /**
+   * Returns the attachments set by a successful maySend access check, encoded
+   * as cached decision flags.
+   *
+   * @param container
+   *          The container used for the access check.
+   * @return The flags of the cached decision.
+   */
+  private static int getMatchedAttrsFlags(AciContainer container)
+  {
+    int flags = 0;
+    if (!container.hasEvalUserAttributes())
+    {
+      flags |= ALL_USER_ATTRS_FLAG;
+    }
+    if (!container.hasEvalOpAttributes())
+    {
+      flags |= ALL_OP_ATTRS_FLAG;
+    }
+    return flags;
+  }
+
   /**
    * Gathers all of the attribute types in an entry along with the
    * "objectclass" attribute type in a List. The "objectclass" attribute
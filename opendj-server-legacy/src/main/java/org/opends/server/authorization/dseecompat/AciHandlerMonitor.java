@@ -0,0 +1,76 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.authorization.dseecompat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.forgerock.opendj.server.config.server.MonitorProviderCfg;
+import org.opends.server.api.MonitorData;
+import org.opends.server.api.MonitorProvider;
+
+/**
+ * This class defines a monitor provider reporting how often the access
+ * control decisions taken for the entries returned by an operation could be
+ * reused for the next entries.
+ */
+final class AciHandlerMonitor extends MonitorProvider<MonitorProviderCfg>
+{
+  /** The number of decisions replayed from the operation decision cache. */
+  private final AtomicLong hits = new AtomicLong();
+  /** The number of decisions evaluated and added to the operation decision cache. */
+  private final AtomicLong misses = new AtomicLong();
+  /** The number of decisions which could not be cached because they depend on the entry. */
+  private final AtomicLong uncacheable = new AtomicLong();
+
+  @Override
+  public String getMonitorInstanceName()
+  {
+    return "Access Control Handler";
+  }
+
+  /** Records that a decision was replayed from the decision cache. */
+  void decisionCacheHit()
+  {
+    hits.incrementAndGet();
+  }
+
+  /** Records that a decision was evaluated and added to the decision cache. */
+  void decisionCacheMiss()
+  {
+    misses.incrementAndGet();
+  }
+
+  /** Records that a decision was evaluated without using the decision cache. */
+  void decisionUncacheable()
+  {
+    uncacheable.incrementAndGet();
+  }
+
+  @Override
+  public MonitorData getMonitorData()
+  {
+    long nbHits = hits.get();
+    long nbMisses = misses.get();
+    long total = nbHits + nbMisses;
+
+    final MonitorData monitorAttrs = new MonitorData(4);
+    monitorAttrs.add("decision-cache-hits", nbHits);
+    monitorAttrs.add("decision-cache-misses", nbMisses);
+    monitorAttrs.add("decision-cache-uncacheable", uncacheable.get());
+    monitorAttrs.add("decision-cache-hit-ratio", total > 0 ? nbHits * 100 / total : 0);
+    return monitorAttrs;
+  }
+}
@@ -0,0 +1,253 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.authorization.dseecompat;
+
+import static org.opends.server.authorization.dseecompat.Aci.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.forgerock.opendj.ldap.DN;
+
+/**
+ * An immutable snapshot of the ACIs held by an {@link AciList}, indexed so
+ * that the candidate ACIs of an access check are found without testing every
+ * ACI held by the ancestors of the resource entry.
+ * <p>
+ * The ACIs held by an entry are partitioned by the DN they are scoped to:
+ * ACIs with a simple "target" DN and an equality operator can only apply to
+ * entries below that DN, so they are only returned for those entries. The
+ * other ACIs are scoped to the entry holding them. Each partition is further
+ * filtered by the rights of the access check the first time these rights are
+ * checked, and the filtered partition is kept in the snapshot.
+ * <p>
+ * The index only discards ACIs which cannot be applicable: the returned ACIs
+ * must still be target matched with {@link Aci#isApplicable}.
+ */
+final class AciIndex
+{
+  /** The rights for which ACIs are not filtered by their rights. */
+  private static final int UNFILTERED_RIGHTS = ACI_EXT_OP | ACI_CONTROL;
+
+  /** An index holding no ACIs. */
+  static final AciIndex EMPTY = new AciIndex(new HashMap<DN, Partition>());
+
+  /** The ACIs held by each entry, keyed by the DN of the entry. */
+  private final Map<DN, Partition> partitions;
+
+  /** The ACIs held by an entry, partitioned by the DN they are scoped to. */
+  private static final class Partition
+  {
+    /** The ACIs scoped to the entry holding them. */
+    private final List<Aci> holderScopedAcis;
+    /** The ACIs scoped to their target DN, keyed by target DN. */
+    private final Map<DN, List<Aci>> targetScopedAcis;
+    /** This partition filtered by the rights of access checks. */
+    private final ConcurrentMap<Integer, Partition> rightsPartitions = new ConcurrentHashMap<>();
+
+    private Partition(Collection<Aci> acis)
+    {
+      List<Aci> holderScoped = new ArrayList<>();
+      Map<DN, List<Aci>> targetScoped = new HashMap<>();
+      for (Aci aci : acis)
+      {
+        DN targetDN = aci.getTargets().getSimpleTargetDN();
+        if (targetDN != null)
+        {
+          List<Aci> targetAcis = targetScoped.get(targetDN);
+          if (targetAcis == null)
+          {
+            targetAcis = new ArrayList<>();
+            targetScoped.put(targetDN, targetAcis);
+          }
+          targetAcis.add(aci);
+        }
+        else
+        {
+          holderScoped.add(aci);
+        }
+      }
+      this.holderScopedAcis = holderScoped;
+      this.targetScopedAcis = targetScoped;
+    }
+
+    /**
+     * Returns this partition filtered by the provided rights, keeping the
+     * ACIs which pass the rights test of {@link Aci#isApplicable}.
+     */
+    private Partition forRights(int rights)
+    {
+      if ((rights & UNFILTERED_RIGHTS) != 0)
+      {
+        return this;
+      }
+      // Read and search access checks consider both rights
+      if ((rights & (ACI_SEARCH | ACI_READ)) != 0)
+      {
+        rights |= ACI_SEARCH | ACI_READ;
+      }
+      Partition partition = rightsPartitions.get(rights);
+      if (partition == null)
+      {
+        List<Aci> acis = new ArrayList<>();
+        addAcis(acis, holderScopedAcis, rights);
+        for (List<Aci> targetAcis : targetScopedAcis.values())
+        {
+          addAcis(acis, targetAcis, rights);
+        }
+        partition = new Partition(acis);
+        Partition existing = rightsPartitions.putIfAbsent(rights, partition);
+        if (existing != null)
+        {
+          partition = existing;
+        }
+      }
+      return partition;
+    }
+
+    private static void addAcis(List<Aci> acis, List<Aci> candidates, int rights)
+    {
+      for (Aci aci : candidates)
+      {
+        AciTargets targets = aci.getTargets();
+        if (targets.getExtOp() == null && targets.getTargetControl() == null && aci.hasRights(rights))
+        {
+          acis.add(aci);
+        }
+      }
+    }
+
+    /** Adds the ACIs of this partition which may apply to the provided entry. */
+    private void addCandidateAcis(List<Aci> candidates, DN entryDN, DN holderDN)
+    {
+      candidates.addAll(holderScopedAcis);
+      if (!targetScopedAcis.isEmpty())
+      {
+        // Target DNs are below the entry holding the ACI
+        for (DN dn = entryDN; dn != null && dn.size() >= holderDN.size(); dn = dn.parent())
+        {
+          List<Aci> targetAcis = targetScopedAcis.get(dn);
+          if (targetAcis != null)
+          {
+            candidates.addAll(targetAcis);
+          }
+        }
+      }
+    }
+  }
+
+  private AciIndex(Map<DN, Partition> partitions)
+  {
+    this.partitions = partitions;
+  }
+
+  /**
+   * Returns a new index where the ACIs held by the provided entries are
+   * replaced by the ACIs they currently hold. The partitions of the other
+   * entries are shared with this index.
+   *
+   * @param aciList
+   *          The ACIs currently held by each entry.
+   * @param changedDNs
+   *          The DNs of the entries whose ACIs have changed.
+   * @return The updated index.
+   */
+  AciIndex update(Map<DN, List<Aci>> aciList, Collection<DN> changedDNs)
+  {
+    Map<DN, Partition> newPartitions = new HashMap<>(partitions);
+    for (DN dn : changedDNs)
+    {
+      List<Aci> acis = aciList.get(dn);
+      if (acis == null || acis.isEmpty())
+      {
+        newPartitions.remove(dn);
+      }
+      else
+      {
+        newPartitions.put(dn, new Partition(acis));
+      }
+    }
+    return new AciIndex(newPartitions);
+  }
+
+  /**
+   * Returns a new index without the ACIs held by the provided entry and its
+   * subordinates.
+   *
+   * @param baseDN
+   *          The DN of the base entry of the removed subtree.
+   * @return The updated index.
+   */
+  AciIndex removeSubtree(DN baseDN)
+  {
+    Map<DN, Partition> newPartitions = new HashMap<>(partitions);
+    for (DN dn : partitions.keySet())
+    {
+      if (dn.isSubordinateOrEqualTo(baseDN))
+      {
+        newPartitions.remove(dn);
+      }
+    }
+    return new AciIndex(newPartitions);
+  }
+
+  /**
+   * Builds the index of all the ACIs currently held by each entry.
+   *
+   * @param aciList
+   *          The ACIs currently held by each entry.
+   * @return The new index.
+   */
+  static AciIndex build(Map<DN, List<Aci>> aciList)
+  {
+    return EMPTY.update(aciList, aciList.keySet());
+  }
+
+  /**
+   * Returns the ACIs which may apply to an access check of the provided
+   * rights on the provided entry. The ACIs are held by the entry or by its
+   * ancestors, or are global ACIs.
+   *
+   * @param entryDN
+   *          The DN of the resource entry.
+   * @param rights
+   *          The rights of the access check.
+   * @return The candidate ACIs, which must still be target matched.
+   */
+  List<Aci> getCandidateAcis(DN entryDN, int rights)
+  {
+    if (entryDN == null || partitions.isEmpty())
+    {
+      return Collections.emptyList();
+    }
+    List<Aci> candidates = new ArrayList<>();
+    for (DN dn = entryDN; dn != null; dn = dn.parent())
+    {
+      Partition partition = partitions.get(dn);
+      if (partition != null)
+      {
+        partition.forRights(rights).addCandidateAcis(candidates, entryDN, dn);
+      }
+    }
+    return candidates;
+  }
+}
@@ -20,6 +20,7 @@ import static org.opends.messages.AccessControlMessages.*;
 import static org.opends.server.authorization.dseecompat.AciHandler.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -52,6 +53,12 @@ public class AciList {
    */
   private volatile DITCacheMap<List<Aci>> aciList = new DITCacheMap<>();
 
+  /**
+   * The index of the ACIs, published as an immutable snapshot after each
+   * change so that access checks read it without locking.
+   */
+  private volatile AciIndex index = AciIndex.EMPTY;
+
   /**
    * Lock to protect internal data structures.
    */
@@ -129,6 +136,20 @@ public class AciList {
     }
   }
 
+  /**
+   * Return the ACIs that might be applicable to an access check of the
+   * specified rights on the specified entry. This returns a subset of the
+   * ACIs returned by {@link #getCandidateAcis(DN)}: ACIs targeting another
+   * part of the DIT and ACIs granting or denying other rights are left out.
+   *
+   * @param baseDN  The DN of the entry to check.
+   * @param rights  The rights of the access check.
+   * @return A list of candidate ACIs that might be applicable.
+   */
+  List<Aci> getCandidateAcis(DN baseDN, int rights) {
+    return index.getCandidateAcis(baseDN, rights);
+  }
+
   /**
    * Add all the ACI from a set of entries to the ACI list. There is no need
    * to check for global ACIs since they are processe by the AciHandler at
@@ -145,13 +166,16 @@ public class AciList {
     try
     {
       int validAcis = 0;
+      List<DN> changedDNs = new ArrayList<>(entries.size());
       for (Entry entry : entries) {
         DN dn=entry.getName();
         List<Attribute> attributeList =
              entry.getOperationalAttribute(AciHandler.aciType);
         validAcis += addAciAttributeList(aciList, dn, configDN,
                                          attributeList, failedACIMsgs);
+        changedDNs.add(dn);
       }
+      index = index.update(aciList, changedDNs);
       return validAcis;
     }
     finally
@@ -174,6 +198,7 @@ public class AciList {
     try
     {
       aciList.put(dn, new LinkedList<>(acis));
+      index = index.update(aciList, Collections.singletonList(dn));
     }
     finally
     {
@@ -199,6 +224,7 @@ public class AciList {
     try
     {
       int validAcis = 0;
+      List<DN> changedDNs = new ArrayList<>(2);
       //Process global "ds-cfg-global-aci" attribute type. The oldentry
       //DN is checked to verify it is equal to the config DN. If not those
       //attributes are skipped.
@@ -206,13 +232,16 @@ public class AciList {
           List<Attribute> attributeList = entry.getAllAttributes(globalAciType);
           validAcis = addAciAttributeList(aciList, DN.rootDN(), configDN,
                                           attributeList, failedACIMsgs);
+          changedDNs.add(DN.rootDN());
       }
 
       if(hasAci) {
           List<Attribute> attributeList = entry.getAllAttributes(aciType);
           validAcis += addAciAttributeList(aciList, entry.getName(), configDN,
                                            attributeList, failedACIMsgs);
+          changedDNs.add(entry.getName());
       }
+      index = index.update(aciList, changedDNs);
       return validAcis;
     }
     finally
@@ -286,9 +315,12 @@ public class AciList {
     try
     {
       List<LocalizableMessage> failedACIMsgs=new LinkedList<>();
+      List<DN> changedDNs = new ArrayList<>(3);
       //Process "aci" attribute types.
       if(hasAci) {
           aciList.remove(oldEntry.getName());
+          changedDNs.add(oldEntry.getName());
+          changedDNs.add(newEntry.getName());
           List<Attribute> attributeList =
                   newEntry.getOperationalAttribute(aciType);
           addAciAttributeList(aciList,newEntry.getName(), configDN,
@@ -302,7 +334,9 @@ public class AciList {
           List<Attribute> attributeList = newEntry.getAllAttributes(globalAciType);
           addAciAttributeList(aciList, DN.rootDN(), configDN,
                               attributeList, failedACIMsgs);
+          changedDNs.add(DN.rootDN());
       }
+      index = index.update(aciList, changedDNs);
     }
     finally
     {
@@ -347,14 +381,19 @@ public class AciList {
     try
     {
       DN entryDN = entry.getName();
-      if (hasGlobalAci && entryDN.equals(configDN) &&
-          aciList.remove(DN.rootDN()) == null)
+      if (hasGlobalAci && entryDN.equals(configDN))
       {
-        return false;
+        if (aciList.remove(DN.rootDN()) == null)
+        {
+          return false;
+        }
+        index = index.update(aciList, Collections.singletonList(DN.rootDN()));
       }
       if (hasAci || !hasGlobalAci)
       {
-        return aciList.removeSubtree(entryDN, null);
+        boolean removed = aciList.removeSubtree(entryDN, null);
+        index = index.removeSubtree(entryDN);
+        return removed;
       }
       return true;
     }
@@ -374,6 +413,7 @@ public class AciList {
     lock.writeLock().lock();
     try
     {
+      List<DN> removedDNs = new ArrayList<>();
       Iterator<Map.Entry<DN,List<Aci>>> iterator =
               aciList.entrySet().iterator();
       while (iterator.hasNext())
@@ -381,9 +421,11 @@ public class AciList {
         Map.Entry<DN,List<Aci>> mapEntry = iterator.next();
         if (backend.handlesEntry(mapEntry.getKey()))
         {
+          removedDNs.add(mapEntry.getKey());
           iterator.remove();
         }
       }
+      index = index.update(aciList, removedDNs);
     }
     finally
     {
@@ -403,6 +445,7 @@ public class AciList {
     try
     {
       Map<DN,List<Aci>> tempAciList = new HashMap<>();
+      List<DN> changedDNs = new ArrayList<>();
       Iterator<Map.Entry<DN,List<Aci>>> iterator =
               aciList.entrySet().iterator();
       while (iterator.hasNext()) {
@@ -424,10 +467,13 @@ public class AciList {
             }
           }
           tempAciList.put(relocateDN, acis);
+          changedDNs.add(keyDn);
           iterator.remove();
         }
       }
       aciList.putAll(tempAciList);
+      changedDNs.addAll(tempAciList.keySet());
+      index = index.update(aciList, changedDNs);
     }
     finally
     {
@@ -134,6 +134,30 @@ public class AciTargets {
         return target;
     }
 
+    /**
+     * Return the DN of the simple target of the ACI, if it uses the equality
+     * operator. Such ACIs are scoped to their target DN instead of the DN of
+     * the entry containing the ACI.
+     * @return The simple target DN, or null if the ACI has no target, a
+     * pattern target or an inequality target.
+     */
+    DN getSimpleTargetDN() {
+        if (target != null && !target.isPattern() && target.getOperator() != NOT_EQUALITY) {
+            return target.getDN();
+        }
+        return null;
+    }
+
+    /**
+     * Indicates whether these targets match all the entries in the scope of
+     * the ACI, whatever their DN and content.
+     * @return True if these targets do not depend on the resource entry.
+     */
+    boolean isEntryIndependent() {
+        return target == null && targetFilter == null && targAttrFilters == null
+            && targetScope == SearchScope.WHOLE_SUBTREE;
+    }
+
     /**
      * Return class representing the ACI targetattr keyword. May be null.
      * The default is to not match any attribute types in an entry.
@@ -548,9 +572,10 @@ public class AciTargets {
          * simple target DN is used as the target DN.
          */
         Target target = targets.getTarget();
-        if(target != null && !target.isPattern() && target.getOperator() != NOT_EQUALITY)
+        DN simpleTargetDN = targets.getSimpleTargetDN();
+        if (simpleTargetDN != null)
         {
-          targetDN=target.getDN();
+          targetDN = simpleTargetDN;
         }
         if (!isInScopeOf(entryDN, targetDN, targets.getTargetScope()))
         {
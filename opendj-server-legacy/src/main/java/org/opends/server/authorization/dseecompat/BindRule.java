@@ -471,6 +471,23 @@ public class BindRule {
         return EnumEvalResult.negateIfNeeded(ret, negate);
     }
 
+    /**
+     * Indicates whether this bind rule only depends on the client. The userattr
+     * keyword and the "self" and "parent" userdn values refer to the resource
+     * entry.
+     * @return True if this bind rule does not refer to the resource entry.
+     */
+    boolean isEntryIndependent() {
+        if (booleanType != null) {
+            return left.isEntryIndependent() && right.isEntryIndependent();
+        }
+        KeywordBindRule rule = keywordRuleMap.get(keyword.toString());
+        if (rule instanceof UserDN) {
+            return ((UserDN) rule).isEntryIndependent();
+        }
+        return keyword != EnumBindRuleKeyword.USERATTR;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
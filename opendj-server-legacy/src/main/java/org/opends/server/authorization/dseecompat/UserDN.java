@@ -149,6 +149,20 @@ public class UserDN implements KeywordBindRule {
         }
     }
 
+    /**
+     * Indicates whether this userdn bind rule only depends on the client.
+     * @return True if none of the URLs is "ldap:///self" or "ldap:///parent".
+     */
+    boolean isEntryIndependent() {
+        for (UserDNTypeURL dnTypeURL : urlList) {
+            EnumUserDNType userDNType = dnTypeURL.getUserDNType();
+            if (userDNType == EnumUserDNType.SELF || userDNType == EnumUserDNType.PARENT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Performs the evaluation of a userdn bind rule based on the
      * evaluation context passed to it. The evaluation stops when there
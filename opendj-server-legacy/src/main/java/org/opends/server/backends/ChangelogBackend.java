@@ -55,7 +55,10 @@ import org.forgerock.opendj.ldap.schema.AttributeType;
 import org.forgerock.opendj.ldap.schema.CoreSchema;
 import org.forgerock.opendj.ldap.schema.ObjectClass;
 import org.forgerock.opendj.server.config.server.LocalBackendCfg;
+import org.forgerock.opendj.server.config.server.MonitorProviderCfg;
 import org.opends.server.api.LocalBackend;
+import org.opends.server.api.MonitorData;
+import org.opends.server.api.MonitorProvider;
 import org.opends.server.controls.EntryChangelogNotificationControl;
 import org.opends.server.controls.ExternalChangelogRequestControl;
 import org.opends.server.core.AddOperation;
@@ -85,6 +88,7 @@ import org.opends.server.replication.server.changelog.api.DBCursor;
 import org.opends.server.replication.server.changelog.api.DBCursor.CursorOptions;
 import org.opends.server.replication.server.changelog.api.ReplicaId;
 import org.opends.server.replication.server.changelog.api.ReplicationDomainDB;
+import org.opends.server.replication.server.changelog.file.ECLCursorCache;
 import org.opends.server.replication.server.changelog.file.ECLEnabledDomainPredicate;
 import org.opends.server.replication.server.changelog.file.ECLMultiDomainDBCursor;
 import org.opends.server.replication.server.changelog.file.MultiDomainDBCursor;
@@ -209,6 +213,10 @@ public class ChangelogBackend extends LocalBackend<LocalBackendCfg>
   /** The set of change number-based persistent searches registered with this backend. */
   private final ConcurrentLinkedQueue<PersistentSearch> changeNumberBasedPersistentSearches =
       new ConcurrentLinkedQueue<>();
+  /** The cursors left by the last cookie-based searches, resumed by the next searches of polling clients. */
+  private final ECLCursorCache cursorCache =
+      new ECLCursorCache(ECLCursorCache.DEFAULT_MAX_CURSORS, ECLCursorCache.DEFAULT_IDLE_TIMEOUT_MILLIS);
+  private final CursorCacheMonitor cursorCacheMonitor = new CursorCacheMonitor();
 
   /**
    * Creates a new backend with the provided replication server.
@@ -264,6 +272,8 @@ public class ChangelogBackend extends LocalBackend<LocalBackendCfg>
       throw new InitializationException(
           ERR_BACKEND_CANNOT_REGISTER_BASEDN.get(DN_EXTERNAL_CHANGELOG_ROOT, getExceptionMessage(e)), e);
     }
+    DirectoryServer.deregisterMonitorProvider(cursorCacheMonitor);
+    DirectoryServer.registerMonitorProvider(cursorCacheMonitor);
   }
 
   private static ServerContext getServerContext()
@@ -274,6 +284,8 @@ public class ChangelogBackend extends LocalBackend<LocalBackendCfg>
   @Override
   public void closeBackend()
   {
+    DirectoryServer.deregisterMonitorProvider(cursorCacheMonitor);
+    cursorCache.close();
     try
     {
       getServerContext().getBackendConfigManager().deregisterBaseDN(CHANGELOG_BASE_DN);
@@ -804,20 +816,38 @@ public class ChangelogBackend extends LocalBackend<LocalBackendCfg>
       return;
     }
 
-    final ReplicationDomainDB replicationDomainDB = getChangelogDB().getReplicationDomainDB();
-    CursorOptions options = new CursorOptions(GREATER_THAN_OR_EQUAL_TO_KEY, AFTER_MATCHING_KEY);
-    try (final MultiDomainDBCursor cursor =
-        replicationDomainDB.getCursorFrom(entrySender.cookie, options, entrySender.excludedBaseDNs);
-        ECLMultiDomainDBCursor replicaUpdatesCursor = new ECLMultiDomainDBCursor(domainPredicate, cursor))
+    // a client polling the changelog resumes the cursor left by its previous search
+    final boolean isPersistentSearch = isPersistentSearch(entrySender.searchOp);
+    ECLMultiDomainDBCursor replicaUpdatesCursor =
+        isPersistentSearch ? null : cursorCache.resume(entrySender.cookie, entrySender.excludedBaseDNs);
+    boolean suspended = false;
+    try
     {
+      if (replicaUpdatesCursor == null)
+      {
+        final ReplicationDomainDB replicationDomainDB = getChangelogDB().getReplicationDomainDB();
+        CursorOptions options = new CursorOptions(GREATER_THAN_OR_EQUAL_TO_KEY, AFTER_MATCHING_KEY);
+        final MultiDomainDBCursor cursor =
+            replicationDomainDB.getCursorFrom(entrySender.cookie, options, entrySender.excludedBaseDNs);
+        replicaUpdatesCursor = new ECLMultiDomainDBCursor(domainPredicate, cursor);
+      }
       if (sendCookieEntriesFromCursor(entrySender, replicaUpdatesCursor))
       {
         entrySender.transitioningToPersistentSearchPhase();
-        sendCookieEntriesFromCursor(entrySender, replicaUpdatesCursor);
+        if (sendCookieEntriesFromCursor(entrySender, replicaUpdatesCursor) && !isPersistentSearch)
+        {
+          // every change was returned: the cursor is positioned at the cookie returned to the client
+          cursorCache.suspend(entrySender.cookie, entrySender.excludedBaseDNs, replicaUpdatesCursor);
+          suspended = true;
+        }
       }
     }
     finally
     {
+      if (!suspended)
+      {
+        close(replicaUpdatesCursor);
+      }
       entrySender.finalizeInitialSearch();
     }
   }
@@ -1725,4 +1755,24 @@ public class ChangelogBackend extends LocalBackend<LocalBackendCfg>
       }
     }
   }
+
+  /** Publishes the usage of the cursors suspended between the searches of cookie based clients. */
+  private class CursorCacheMonitor extends MonitorProvider<MonitorProviderCfg>
+  {
+    @Override
+    public String getMonitorInstanceName()
+    {
+      return "External Changelog Cursor Cache";
+    }
+
+    @Override
+    public MonitorData getMonitorData()
+    {
+      final MonitorData attributes = new MonitorData(3);
+      attributes.add("suspended-cursors", cursorCache.getSize());
+      attributes.add("cursor-cache-hits", cursorCache.getHits());
+      attributes.add("cursor-cache-misses", cursorCache.getMisses());
+      return attributes;
+    }
+  }
 }
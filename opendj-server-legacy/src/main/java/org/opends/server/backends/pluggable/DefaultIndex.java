@@ -29,6 +29,7 @@ import org.forgerock.opendj.ldap.ByteString;
 import org.forgerock.util.promise.NeverThrowsException;
 import org.opends.server.backends.pluggable.CursorTransformer.ValueTransformer;
 import org.opends.server.backends.pluggable.EntryIDSet.EntryIDSetCodec;
+import org.opends.server.backends.pluggable.EntryIDSet.EntryIDSetCodecV3;
 import org.opends.server.backends.pluggable.State.IndexFlag;
 import org.opends.server.backends.pluggable.spi.Cursor;
 import org.opends.server.backends.pluggable.spi.ReadableTransaction;
@@ -168,6 +169,28 @@ class DefaultIndex extends AbstractTree implements Index
   @Override
   public final void update(final WriteableTransaction txn, final ByteString key, final EntryIDSet deletedIDs,
       final EntryIDSet addedIDs) throws StorageRuntimeException
+  {
+    update(txn, key, deletedIDs, addedIDs, codec);
+  }
+
+  @Override
+  public final Updater newUpdater(final WriteableTransaction txn)
+  {
+    // Confidential values written by the batch are encrypted by a single encryptor
+    final EntryIDSetCodec valueCodec =
+        codec instanceof EntryIDSetCodecV3 ? ((EntryIDSetCodecV3) codec).newBatchCodec() : codec;
+    return new Updater()
+    {
+      @Override
+      public void update(ByteString key, EntryIDSet deletedIDs, EntryIDSet addedIDs)
+      {
+        DefaultIndex.this.update(txn, key, deletedIDs, addedIDs, valueCodec);
+      }
+    };
+  }
+
+  private void update(final WriteableTransaction txn, final ByteString key, final EntryIDSet deletedIDs,
+      final EntryIDSet addedIDs, final EntryIDSetCodec valueCodec) throws StorageRuntimeException
   {
     // Handle cases where nothing is changed early to avoid DB access.
     if (isNullOrEmpty(deletedIDs) && isNullOrEmpty(addedIDs))
@@ -179,7 +202,18 @@ class DefaultIndex extends AbstractTree implements Index
      * Avoid taking a write lock on a record which has hit all IDs because it is likely to be a
      * point of contention.
      */
-    if (!get(txn, key).isDefined())
+    final ByteString currentValue;
+    try
+    {
+      currentValue = txn.read(getName(), key);
+    }
+    catch (StorageRuntimeException e)
+    {
+      logger.traceException(e);
+      return;
+    }
+    final EntryIDSet currentIDs = currentValue != null ? decodeValue(key, currentValue) : null;
+    if (currentIDs != null ? !currentIDs.isDefined() : !trusted)
     {
       return;
     }
@@ -187,18 +221,25 @@ class DefaultIndex extends AbstractTree implements Index
     // The record is going to be changed in some way.
     txn.update(getName(), key, new UpdateFunction()
     {
+      /** The IDs decoded from the value just read, unless already used. */
+      private EntryIDSet readIDs = currentIDs;
+
       @Override
       public ByteSequence computeNewValue(final ByteSequence oldValue)
       {
         if (oldValue != null)
         {
-          EntryIDSet entryIDSet = computeEntryIDSet(key, oldValue.toByteString(), deletedIDs, addedIDs);
+          // Avoid decoding, and possibly decrypting, the value again if it has not changed meanwhile
+          final EntryIDSet oldIDs =
+              readIDs != null && currentValue.equals(oldValue) ? readIDs : decodeValue(key, oldValue.toByteString());
+          readIDs = null;
+          EntryIDSet entryIDSet = computeEntryIDSet(key, oldIDs, deletedIDs, addedIDs);
           /*
            * If there are no more IDs then return null indicating that the record should be removed.
            * If index is not trusted then this will cause all subsequent reads for this key to
            * return undefined set.
            */
-          return entryIDSet.size() == 0 ? null : toValue(entryIDSet);
+          return entryIDSet.size() == 0 ? null : valueCodec.encode(entryIDSet);
         }
         else if (trusted)
         {
@@ -208,7 +249,7 @@ class DefaultIndex extends AbstractTree implements Index
           }
           if (isNotEmpty(addedIDs))
           {
-            return toValue(addedIDs);
+            return valueCodec.encode(addedIDs);
           }
         }
         return null; // no change.
@@ -226,9 +267,9 @@ class DefaultIndex extends AbstractTree implements Index
     return entryIDSet != null && entryIDSet.size() > 0;
   }
 
-  private EntryIDSet computeEntryIDSet(ByteString key, ByteString value, EntryIDSet deletedIDs, EntryIDSet addedIDs)
+  private EntryIDSet computeEntryIDSet(ByteString key, EntryIDSet entryIDSet, EntryIDSet deletedIDs,
+      EntryIDSet addedIDs)
   {
-    EntryIDSet entryIDSet = decodeValue(key, value);
     if (addedIDs != null)
     {
       if (entryIDSet.isDefined() && indexEntryLimit > 0)
@@ -73,7 +73,11 @@ public class DnKeyFormat
    */
   static ByteString dnToDNKey(DN dn, int prefixRDNs)
   {
-    return dn.localName(dn.size() - prefixRDNs).toNormalizedByteString();
+    // The normalized DN is the concatenation of the normalized RDNs starting from the suffix:
+    // strip the normalized prefix, which is computed once when the parent DNs are shared.
+    final ByteString normalizedDN = dn.toNormalizedByteString();
+    final int prefixLength = dn.parent(dn.size() - prefixRDNs).toNormalizedByteString().length();
+    return normalizedDN.subSequence(prefixLength, normalizedDN.length());
   }
 
   /**
@@ -32,6 +32,7 @@ import org.forgerock.opendj.ldap.ByteStringBuilder;
 import org.forgerock.util.Reject;
 
 import com.forgerock.opendj.util.Iterators;
+import org.opends.server.types.CryptoManager.BatchEncryptor;
 import org.opends.server.types.CryptoManagerException;
 import org.opends.server.crypto.CryptoSuite;
 
@@ -550,10 +551,30 @@ final class EntryIDSet implements Iterable<EntryID>
     private static final byte CODEC_V3_VERSION = 0x01;
     private final EntryIDSetCodec delegate;
     private final CryptoSuite cryptoSuite;
+    /** Whether this codec encodes the values of a single batch. */
+    private final boolean isBatch;
+    /** The encryptor of the batch, created when the first value is encoded. */
+    private BatchEncryptor batchEncryptor;
+
     EntryIDSetCodecV3(EntryIDSetCodec delegate, CryptoSuite cryptoSuite)
+    {
+      this(delegate, cryptoSuite, false);
+    }
+
+    private EntryIDSetCodecV3(EntryIDSetCodec delegate, CryptoSuite cryptoSuite, boolean isBatch)
     {
       this.delegate = delegate;
       this.cryptoSuite = cryptoSuite;
+      this.isBatch = isBatch;
+    }
+
+    /**
+     * Returns a codec for the values encoded in turn by the calling thread during a batch of updates. The
+     * values are all encrypted with the same key, and their initialization vectors drawn together.
+     */
+    EntryIDSetCodecV3 newBatchCodec()
+    {
+      return new EntryIDSetCodecV3(delegate, cryptoSuite, true);
     }
 
     @Override
@@ -565,7 +586,18 @@ final class EntryIDSet implements Iterable<EntryID>
       builder.appendByte(CODEC_V3_VERSION);
       try
       {
-        builder.appendBytes(cryptoSuite.encrypt(encodedValue.toByteArray()));
+        if (isBatch)
+        {
+          if (batchEncryptor == null)
+          {
+            batchEncryptor = cryptoSuite.newBatchEncryptor();
+          }
+          batchEncryptor.encrypt(encodedValue, builder);
+        }
+        else
+        {
+          cryptoSuite.encrypt(encodedValue, builder);
+        }
         return builder.toByteString();
       }
       catch (GeneralSecurityException | CryptoManagerException e)
@@ -583,8 +615,9 @@ final class EntryIDSet implements Iterable<EntryID>
       {
         try
         {
-          return delegate.decode(key,
-              ByteString.wrap(cryptoSuite.decrypt(value.subSequence(2, value.length()).toByteArray())));
+          ByteStringBuilder clearValue = new ByteStringBuilder(value.length());
+          cryptoSuite.decrypt(value.subSequence(2, value.length()), clearValue);
+          return delegate.decode(key, ByteString.wrap(clearValue.getBackingArray(), 0, clearValue.length()));
         }
         catch (GeneralSecurityException | CryptoManagerException e)
         {
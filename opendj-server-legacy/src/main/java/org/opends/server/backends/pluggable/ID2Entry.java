@@ -26,6 +26,7 @@ import static org.opends.server.core.DirectoryServer.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.security.GeneralSecurityException;
 import java.util.zip.DataFormatException;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
@@ -126,6 +127,7 @@ class ID2Entry extends AbstractTree
     private final ByteStringBuilder encodedBuffer = new ByteStringBuilder();
     private final ByteStringBuilder entryBuffer = new ByteStringBuilder();
     private final ByteStringBuilder compressedEntryBuffer = new ByteStringBuilder();
+    private final ByteStringBuilder decryptedBuffer = new ByteStringBuilder();
     private final int maxBufferSize;
 
     private EntryCodec()
@@ -138,6 +140,7 @@ class ID2Entry extends AbstractTree
       encodedBuffer.clearAndTruncate(maxBufferSize, BUFFER_INIT_SIZE);
       entryBuffer.clearAndTruncate(maxBufferSize, BUFFER_INIT_SIZE);
       compressedEntryBuffer.clearAndTruncate(maxBufferSize, BUFFER_INIT_SIZE);
+      decryptedBuffer.clearAndTruncate(maxBufferSize, BUFFER_INIT_SIZE);
     }
 
     private Entry decode(ByteString bytes, CompressedSchema compressedSchema)
@@ -259,10 +262,20 @@ class ID2Entry extends AbstractTree
         {
           return Entry.decode(reader, compressedSchema);
         }
-        InputStream is = reader.asInputStream();
+        InputStream is;
         if ((format & ENCRYPT_ENTRY) == ENCRYPT_ENTRY)
         {
-          is = getCryptoManager().getCipherInputStream(is);
+          // Decrypt in a single pass with a pooled cipher rather than through a cipher stream
+          getCryptoManager().decrypt(bytes.subSequence(reader.position(), bytes.length()), decryptedBuffer);
+          if ((format & COMPRESS_ENTRY) != COMPRESS_ENTRY)
+          {
+            return Entry.decode(decryptedBuffer.asReader(), compressedSchema);
+          }
+          is = decryptedBuffer.asReader().asInputStream();
+        }
+        else
+        {
+          is = reader.asInputStream();
         }
         if ((format & COMPRESS_ENTRY) == COMPRESS_ENTRY)
         {
@@ -289,6 +302,11 @@ class ID2Entry extends AbstractTree
         logger.traceException(cme);
         throw DecodeException.error(cme.getMessageObject());
       }
+      catch (GeneralSecurityException e)
+      {
+        logger.traceException(e);
+        throw DecodeException.error(ERR_CANNOT_DECODE_ENTRY.get(), e);
+      }
     }
 
     private ByteString encode(Entry entry, DataConfig dataConfig) throws DirectoryException
@@ -307,22 +325,32 @@ class ID2Entry extends AbstractTree
         byte[] formatFlags = { FORMAT_VERSION_V2, 0};
         os.write(formatFlags);
         encodedBuffer.appendCompactUnsigned(entryBuffer.length());
+        if (dataConfig.isEncrypted())
+        {
+          // Encrypt in a single pass with a pooled cipher rather than through a cipher stream
+          ByteStringBuilder clearBuffer = entryBuffer;
+          if (dataConfig.isCompressed())
+          {
+            compress(entryBuffer, compressedEntryBuffer);
+            clearBuffer = compressedEntryBuffer;
+            formatFlags[1] = COMPRESS_ENTRY;
+          }
+          formatFlags[1] |= ENCRYPT_ENTRY;
+          encodedBuffer.setByte(1, formatFlags[1]);
+          dataConfig.getCryptoSuite().encrypt(clearBuffer, encodedBuffer);
+          return;
+        }
         if (dataConfig.isCompressed())
         {
           os = new DeflaterOutputStream(os);
           formatFlags[1] = COMPRESS_ENTRY;
         }
-        if (dataConfig.isEncrypted())
-        {
-          os = dataConfig.getCryptoSuite().getCipherOutputStream(os);
-          formatFlags[1] |= ENCRYPT_ENTRY;
-        }
         encodedBuffer.setByte(1, formatFlags[1]);
 
         entryBuffer.copyTo(os);
         os.flush();
       }
-      catch(CryptoManagerException | IOException e)
+      catch(CryptoManagerException | GeneralSecurityException | IOException e)
       {
         logger.traceException(e);
         throw new DirectoryException(UNWILLING_TO_PERFORM, ERR_CANNOT_ENCODE_ENTRY.get(e.getLocalizedMessage()));
@@ -339,6 +367,14 @@ class ID2Entry extends AbstractTree
         }
       }
     }
+
+    private static void compress(ByteStringBuilder source, ByteStringBuilder destination) throws IOException
+    {
+      try (OutputStream compressor = new DeflaterOutputStream(destination.asOutputStream()))
+      {
+        source.copyTo(compressor);
+      }
+    }
   }
 
   /**
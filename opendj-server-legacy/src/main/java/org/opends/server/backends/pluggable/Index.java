@@ -44,4 +44,15 @@ interface Index extends Tree
   void setTrusted(WriteableTransaction txn, boolean trusted);
 
   void update(WriteableTransaction txn, ByteString key, EntryIDSet deletedIDs, EntryIDSet addedIDs);
+
+  /**
+   * Applies a batch of updates to an index within a transaction, letting the updates share resources such as the
+   * cipher encrypting the values. It must only be used by the thread which created it.
+   */
+  interface Updater
+  {
+    void update(ByteString key, EntryIDSet deletedIDs, EntryIDSet addedIDs);
+  }
+
+  Updater newUpdater(WriteableTransaction txn);
 }
@@ -249,10 +249,11 @@ class IndexBuffer
     private static void flushIndex(Index index, WriteableTransaction txn,
         Map<ByteString, BufferedIndexValues> bufferedValues)
     {
+      final Index.Updater updater = index.newUpdater(txn);
       for (Entry<ByteString, BufferedIndexValues> entry : bufferedValues.entrySet())
       {
         final BufferedIndexValues values = entry.getValue();
-        index.update(txn, entry.getKey(), values.deletedEntryIDs, values.addedEntryIDs);
+        updater.update(entry.getKey(), values.deletedEntryIDs, values.addedEntryIDs);
       }
     }
 
@@ -704,9 +704,11 @@ final class OnDiskMergeImporter
                 {
                   reader.waitIfPending(parentDN);
                 }
+                boolean imported = false;
                 try
                 {
                   entryProcessor.processEntry(entryContainer, entryInfo.getEntryID(), entry);
+                  imported = true;
                 }
                 catch (DirectoryException e)
                 {
@@ -720,6 +722,11 @@ final class OnDiskMergeImporter
                 {
                   reader.removePending(entry.getName());
                 }
+                // Outside of the try: a failing listener must not reject an entry which is already stored
+                if (imported)
+                {
+                  importConfig.entryImported(entryInfo.getEntryID().longValue(), entry);
+                }
                 checkThreadNotInterrupted();
               }
               return null;
@@ -100,6 +100,7 @@ public final class AdministrationConnector implements
   private static final int ADMIN_MAX_REQUEST_SIZE = 5000000;
   private static final int ADMIN_WRITE_BUFFER_SIZE = 4096;
   private static final int ADMIN_NUM_REQUEST_HANDLERS = 4;
+  private static final boolean ADMIN_SELECTOR_PER_CORE = false;
   private static final boolean ADMIN_SEND_REJECTION_NOTICE = true;
   private static final boolean ADMIN_USE_TCP_KEEP_ALIVE = true;
   private static final boolean ADMIN_USE_TCP_NO_DELAY = true;
@@ -300,6 +301,12 @@ public final class AdministrationConnector implements
       return ADMIN_NUM_REQUEST_HANDLERS;
     }
 
+    @Override
+    public boolean isSelectorPerCore()
+    {
+      return ADMIN_SELECTOR_PER_CORE;
+    }
+
     @Override
     public boolean isSendRejectionNotice()
     {
@@ -4421,5 +4421,18 @@ public final class ConfigConstants
 
   /** The name of the attribute in a reset change number task that specifies the basedn where the csn applies. */
   public static final String ATTR_TASK_RESET_CHANGE_NUMBER_BASE_DN = NAME_PREFIX_TASK + "reset-change-number-base-dn";
-}
 
+  /** The name of the objectclass that will be used for a Directory Server verify generation ID task definition. */
+  public static final String OC_VERIFY_GENERATION_ID_TASK = NAME_PREFIX_TASK + "verify-generation-id";
+
+  /** The name of the attribute in a verify generation ID task that specifies the base DN of the replication domain. */
+  public static final String ATTR_TASK_VERIFY_GENERATION_ID_DOMAIN_DN = OC_VERIFY_GENERATION_ID_TASK + "-domain-base-dn";
+
+  /** The name of the objectclass that will be used for a verify dynamic group membership task definition. */
+  public static final String OC_VERIFY_DYNAMIC_GROUP_MEMBERSHIP_TASK =
+      NAME_PREFIX_TASK + "verify-dynamic-group-membership";
+
+  /** The name of the attribute in a verify dynamic group membership task that specifies the groups to verify. */
+  public static final String ATTR_TASK_VERIFY_DYNAMIC_GROUP_MEMBERSHIP_GROUP_DN =
+      OC_VERIFY_DYNAMIC_GROUP_MEMBERSHIP_TASK + "-group-dn";
+}
@@ -13,6 +13,7 @@
  *
  * Copyright 2008-2010 Sun Microsystems, Inc.
  * Portions Copyright 2011-2016 ForgeRock AS.
+ * Portions Copyright 2026 3A Systems, LLC.
  */
 package org.opends.server.core;
 
@@ -48,19 +49,33 @@ import static org.opends.server.api.plugin.PluginType.*;
  * This class also provides a mechanism for detecting changes to authenticated
  * user entries and notifying the corresponding client connections so that they
  * can update their cached versions.
+ * <BR><BR>
+ * The user DNs are spread over several independently locked stripes, so that
+ * binds and unbinds of different users do not contend with each other. Each
+ * stripe keeps its user DNs in a DIT structure, so that the users below a
+ * deleted or renamed entry are found without walking all the users.
  */
 public class AuthenticatedUsers extends InternalDirectoryServerPlugin
 {
   private static final LocalizedLogger logger = LocalizedLogger.getLoggerForThisClass();
 
-  /**
-   * The mapping between authenticated user DNs and the associated client
-   * connection objects.
-   */
-  private final DITCacheMap<CopyOnWriteArraySet<ClientConnection>> userMap;
+  /** The number of stripes, a power of two. */
+  private static final int NB_STRIPES = 16;
+
+  /** A subset of the authenticated user DNs, with the lock protecting it. */
+  private static final class Stripe
+  {
+    /**
+     * The mapping between authenticated user DNs and the associated client
+     * connection objects.
+     */
+    private final DITCacheMap<CopyOnWriteArraySet<ClientConnection>> userMap = new DITCacheMap<>();
+    /** Lock to protect the user map. */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  }
 
-  /** Lock to protect internal data structures. */
-  private final ReentrantReadWriteLock lock;
+  /** The stripes, chosen by the hash code of the user DN. */
+  private final Stripe[] stripes;
 
   /** Dummy configuration DN. */
   private static final String CONFIG_DN = "cn=Authenticated Users,cn=config";
@@ -75,12 +90,21 @@ public class AuthenticatedUsers extends InternalDirectoryServerPlugin
         // can not be authenticated as a user that does not exist yet.
         POST_RESPONSE_MODIFY, POST_RESPONSE_MODIFY_DN, POST_RESPONSE_DELETE),
         true);
-    userMap = new DITCacheMap<>();
-    lock = new ReentrantReadWriteLock();
+    stripes = new Stripe[NB_STRIPES];
+    for (int i = 0; i < NB_STRIPES; i++)
+    {
+      stripes[i] = new Stripe();
+    }
 
     DirectoryServer.registerInternalPlugin(this);
   }
 
+  private Stripe getStripe(DN userDN)
+  {
+    final int hash = userDN.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & (NB_STRIPES - 1)];
+  }
+
   /**
    * Registers the provided user DN and client connection with this object.
    *
@@ -91,15 +115,35 @@ public class AuthenticatedUsers extends InternalDirectoryServerPlugin
    */
   public void put(DN userDN, ClientConnection clientConnection)
   {
-    lock.writeLock().lock();
+    final Stripe stripe = getStripe(userDN);
+
+    // Users are usually already registered through another connection: the
+    // set can then be shared with the other binds, as it is only removed
+    // from the map under the write lock.
+    stripe.lock.readLock().lock();
     try
     {
-      CopyOnWriteArraySet<ClientConnection> connectionSet = userMap.get(userDN);
+      CopyOnWriteArraySet<ClientConnection> connectionSet = stripe.userMap.get(userDN);
+      if (connectionSet != null)
+      {
+        connectionSet.add(clientConnection);
+        return;
+      }
+    }
+    finally
+    {
+      stripe.lock.readLock().unlock();
+    }
+
+    stripe.lock.writeLock().lock();
+    try
+    {
+      CopyOnWriteArraySet<ClientConnection> connectionSet = stripe.userMap.get(userDN);
       if (connectionSet == null)
       {
         connectionSet = new CopyOnWriteArraySet<>();
         connectionSet.add(clientConnection);
-        userMap.put(userDN, connectionSet);
+        stripe.userMap.put(userDN, connectionSet);
       }
       else
       {
@@ -108,7 +152,7 @@ public class AuthenticatedUsers extends InternalDirectoryServerPlugin
     }
     finally
     {
-      lock.writeLock().unlock();
+      stripe.lock.writeLock().unlock();
     }
   }
 
@@ -124,22 +168,23 @@ public class AuthenticatedUsers extends InternalDirectoryServerPlugin
    */
   public void remove(DN userDN, ClientConnection clientConnection)
   {
-    lock.writeLock().lock();
+    final Stripe stripe = getStripe(userDN);
+    stripe.lock.writeLock().lock();
     try
     {
-      CopyOnWriteArraySet<ClientConnection> connectionSet = userMap.get(userDN);
+      CopyOnWriteArraySet<ClientConnection> connectionSet = stripe.userMap.get(userDN);
       if (connectionSet != null)
       {
         connectionSet.remove(clientConnection);
         if (connectionSet.isEmpty())
         {
-          userMap.remove(userDN);
+          stripe.userMap.remove(userDN);
         }
       }
     }
     finally
     {
-      lock.writeLock().unlock();
+      stripe.lock.writeLock().unlock();
     }
   }
 
@@ -158,14 +203,15 @@ public class AuthenticatedUsers extends InternalDirectoryServerPlugin
    */
   public CopyOnWriteArraySet<ClientConnection> get(DN userDN)
   {
-    lock.readLock().lock();
+    final Stripe stripe = getStripe(userDN);
+    stripe.lock.readLock().lock();
     try
     {
-      return userMap.get(userDN);
+      return stripe.userMap.get(userDN);
     }
     finally
     {
-      lock.readLock().unlock();
+      stripe.lock.readLock().unlock();
     }
   }
 
@@ -181,16 +227,21 @@ public class AuthenticatedUsers extends InternalDirectoryServerPlugin
     // Identify any client connections that may be authenticated
     // or authorized as the user whose entry has been deleted and terminate them
     Set<CopyOnWriteArraySet<ClientConnection>> arraySet = new HashSet<>();
-    lock.writeLock().lock();
-    try
+    for (Stripe stripe : stripes)
     {
-      userMap.removeSubtree(entryDN, arraySet);
-    }
-    finally
-    {
-      lock.writeLock().unlock();
+      stripe.lock.writeLock().lock();
+      try
+      {
+        stripe.userMap.removeSubtree(entryDN, arraySet);
+      }
+      finally
+      {
+        stripe.lock.writeLock().unlock();
+      }
     }
 
+    // The connections are disconnected without holding any lock, so that
+    // binds and unbinds can proceed meanwhile.
     for (CopyOnWriteArraySet<ClientConnection> connectionSet : arraySet)
     {
       for (ClientConnection conn : connectionSet)
@@ -204,23 +255,29 @@ public class AuthenticatedUsers extends InternalDirectoryServerPlugin
 
   private boolean operationDoesNotTargetAuthenticatedUser(final DN entryDN)
   {
-    lock.readLock().lock();
-    try
+    for (Stripe stripe : stripes)
     {
-      return !userMap.containsSubtree(entryDN);
-    }
-    finally
-    {
-      lock.readLock().unlock();
+      stripe.lock.readLock().lock();
+      try
+      {
+        if (stripe.userMap.containsSubtree(entryDN))
+        {
+          return false;
+        }
+      }
+      finally
+      {
+        stripe.lock.readLock().unlock();
+      }
     }
+    return true;
   }
 
   @Override
   public PostResponse doPostResponse(PostResponseModifyOperation op)
   {
     final Entry oldEntry = op.getCurrentEntry();
-    if (op.getResultCode() != ResultCode.SUCCESS || oldEntry == null
-            ||  operationDoesNotTargetAuthenticatedUser(oldEntry.getName()))
+    if (op.getResultCode() != ResultCode.SUCCESS || oldEntry == null)
     {
       return PostResponse.continueOperationProcessing();
     }
@@ -229,27 +286,21 @@ public class AuthenticatedUsers extends InternalDirectoryServerPlugin
     // or authorized as the user whose entry has been modified
     // and update them with the latest version of the entry
     // including any virtual attributes.
-    lock.writeLock().lock();
-    try
+    // Only the stripe of the modified entry is looked up, and the connections
+    // are updated from a snapshot of the set, without holding its lock.
+    final CopyOnWriteArraySet<ClientConnection> connectionSet = get(oldEntry.getName());
+    if (connectionSet != null)
     {
-      CopyOnWriteArraySet<ClientConnection> connectionSet = userMap.get(oldEntry.getName());
-      if (connectionSet != null)
+      Entry newEntry = null;
+      for (ClientConnection conn : connectionSet)
       {
-        Entry newEntry = null;
-        for (ClientConnection conn : connectionSet)
+        if (newEntry == null)
         {
-          if (newEntry == null)
-          {
-            newEntry = op.getModifiedEntry().duplicate(true);
-          }
-          conn.updateAuthenticationInfo(oldEntry, newEntry);
+          newEntry = op.getModifiedEntry().duplicate(true);
         }
+        conn.updateAuthenticationInfo(oldEntry, newEntry);
       }
     }
-    finally
-    {
-      lock.writeLock().unlock();
-    }
     return PostResponse.continueOperationProcessing();
   }
 
@@ -270,11 +321,19 @@ public class AuthenticatedUsers extends InternalDirectoryServerPlugin
     // Identify any client connections that may be authenticated
     // or authorized as the user whose entry has been modified
     // and update them with the latest version of the entry.
-    lock.writeLock().lock();
+    // Renamed users move between stripes, so all of them are locked, always
+    // in the same order.
+    for (Stripe stripe : stripes)
+    {
+      stripe.lock.writeLock().lock();
+    }
     try
     {
       final Set<CopyOnWriteArraySet<ClientConnection>> arraySet = new HashSet<>();
-      userMap.removeSubtree(oldEntry.getName(), arraySet);
+      for (Stripe stripe : stripes)
+      {
+        stripe.userMap.removeSubtree(oldDN, arraySet);
+      }
       for (CopyOnWriteArraySet<ClientConnection> connectionSet : arraySet)
       {
         DN authNDN = null;
@@ -332,19 +391,21 @@ public class AuthenticatedUsers extends InternalDirectoryServerPlugin
         }
         if (newAuthNDN != null && newAuthNSet != null)
         {
-          userMap.put(newAuthNDN, newAuthNSet);
+          getStripe(newAuthNDN).userMap.put(newAuthNDN, newAuthNSet);
         }
         if (newAuthZDN != null && newAuthZSet != null)
         {
-          userMap.put(newAuthZDN, newAuthZSet);
+          getStripe(newAuthZDN).userMap.put(newAuthZDN, newAuthZSet);
         }
       }
     }
     finally
     {
-      lock.writeLock().unlock();
+      for (int i = stripes.length - 1; i >= 0; i--)
+      {
+        stripes[i].lock.writeLock().unlock();
+      }
     }
     return PostResponse.continueOperationProcessing();
   }
 }
-
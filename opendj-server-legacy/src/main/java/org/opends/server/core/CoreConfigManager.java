@@ -56,6 +56,11 @@ public class CoreConfigManager implements ConfigurationChangeListener<GlobalCfg>
   /** The core attributes. */
   private volatile CoreAttributes coreAttributes = new CoreAttributes();
 
+  /** Checks the passwords of simple binds on dedicated threads. */
+  private final PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor();
+  private final DeferredPasswordPolicyStateUpdates deferredPasswordPolicyStateUpdates =
+      new DeferredPasswordPolicyStateUpdates();
+
   /**
    * Creates a new instance of this core config manager.
    *
@@ -180,6 +185,17 @@ public class CoreConfigManager implements ConfigurationChangeListener<GlobalCfg>
     applySubordinateDNsChange(globalConfig, coreAttrs);
     coreAttributes = coreAttrs;
     DirectoryServer.resetDefaultPasswordPolicy();
+    applyPasswordHashingConfiguration(globalConfig);
+    DirectoryServer.registerMonitorProvider(passwordHashingExecutor);
+    DirectoryServer.registerShutdownListener(passwordHashingExecutor);
+    DirectoryServer.registerMonitorProvider(deferredPasswordPolicyStateUpdates);
+    DirectoryServer.registerShutdownListener(deferredPasswordPolicyStateUpdates);
+  }
+
+  private void applyPasswordHashingConfiguration(GlobalCfg globalConfig)
+  {
+    passwordHashingExecutor.setConfiguration(globalConfig.getPasswordHashingThreads(),
+        globalConfig.getPasswordHashingQueueSize(), globalConfig.getPasswordHashingMaxQueuedPerClient());
   }
 
   /**
@@ -518,6 +534,7 @@ public class CoreConfigManager implements ConfigurationChangeListener<GlobalCfg>
     {
       coreAttributes = coreAttrs;
       DirectoryServer.resetDefaultPasswordPolicy();
+      applyPasswordHashingConfiguration(configuration);
     }
     return changeResult;
   }
@@ -614,6 +631,26 @@ public class CoreConfigManager implements ConfigurationChangeListener<GlobalCfg>
     return coreAttributes.maxInternalBufferSize;
   }
 
+  /**
+   * Retrieves the executor checking the passwords provided in simple bind requests.
+   *
+   * @return the executor checking the passwords provided in simple bind requests
+   */
+  public PasswordHashingExecutor getPasswordHashingExecutor()
+  {
+    return passwordHashingExecutor;
+  }
+
+  /**
+   * Retrieves the password policy state updates kept in memory before being written to the user entries.
+   *
+   * @return the password policy state updates kept in memory before being written to the user entries
+   */
+  public DeferredPasswordPolicyStateUpdates getDeferredPasswordPolicyStateUpdates()
+  {
+    return deferredPasswordPolicyStateUpdates;
+  }
+
   /**
    * Retrieves the maximum number of concurrent persistent searches that will be allowed.
    *
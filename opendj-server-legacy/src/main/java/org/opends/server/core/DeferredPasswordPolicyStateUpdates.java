@@ -0,0 +1,420 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.core;
+
+import static org.opends.messages.CoreMessages.*;
+import static org.opends.server.protocols.internal.InternalClientConnection.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.forgerock.i18n.LocalizableMessage;
+import org.forgerock.i18n.slf4j.LocalizedLogger;
+import org.forgerock.opendj.ldap.DN;
+import org.forgerock.opendj.ldap.ModificationType;
+import org.forgerock.opendj.ldap.ResultCode;
+import org.forgerock.opendj.ldap.schema.AttributeType;
+import org.forgerock.opendj.server.config.server.MonitorProviderCfg;
+import org.opends.server.api.DirectoryThread;
+import org.opends.server.api.MonitorData;
+import org.opends.server.api.MonitorProvider;
+import org.opends.server.api.ServerShutdownListener;
+import org.opends.server.types.AttributeBuilder;
+import org.opends.server.types.DirectoryException;
+import org.opends.server.types.Entry;
+import org.opends.server.types.Modification;
+
+/**
+ * Keeps in memory the password policy state updates which the password
+ * policies allow to defer, and writes them to the user entries in batches.
+ * <p>
+ * The deferred updates of a user are coalesced: a replaced value replaces the
+ * previously deferred value of the same attribute, and the added values are
+ * merged into a single modification. They are written once the deferral
+ * interval of the password policy of the user has elapsed since the first of
+ * them was deferred, as soon as an update which cannot be deferred is written
+ * for the same user, before any other modification or rename of the user
+ * entry, and when the server shuts down. They are discarded when the user
+ * entry is deleted. Until then, they are
+ * applied to the entries used for building the password policy states, so
+ * that they are taken into account by the binds and by the password policy
+ * state extended operation.
+ * <p>
+ * This class is also the monitor provider reporting the number of users with
+ * deferred updates and the age of the oldest deferred update.
+ */
+public final class DeferredPasswordPolicyStateUpdates
+       extends MonitorProvider<MonitorProviderCfg>
+       implements ServerShutdownListener
+{
+  private static final LocalizedLogger logger = LocalizedLogger.getLoggerForThisClass();
+
+  /** The maximum time, in milliseconds, between two checks for updates to write. */
+  private static final long FLUSH_CHECK_INTERVAL_MILLIS = 1000;
+
+  /** The deferred updates of a user. */
+  private static final class PendingUpdates
+  {
+    private final long creationTime;
+    private final long deadline;
+    private final List<Modification> modifications = new ArrayList<>();
+    /** Whether these updates were removed from the table, in which case no update can be merged anymore. */
+    private boolean removed;
+
+    private PendingUpdates(long creationTime, long deadline)
+    {
+      this.creationTime = creationTime;
+      this.deadline = deadline;
+    }
+
+    /** Merges the provided updates into these updates, returning false if they were already removed. */
+    private synchronized boolean merge(List<Modification> mods)
+    {
+      if (removed)
+      {
+        return false;
+      }
+      for (Modification mod : mods)
+      {
+        merge(mod);
+      }
+      return true;
+    }
+
+    private void merge(Modification mod)
+    {
+      AttributeType type = mod.getAttribute().getAttributeDescription().getAttributeType();
+      for (Iterator<Modification> it = modifications.iterator(); it.hasNext();)
+      {
+        Modification pending = it.next();
+        if (pending.getModificationType() != mod.getModificationType()
+            || !pending.getAttribute().getAttributeDescription().getAttributeType().equals(type))
+        {
+          continue;
+        }
+        if (mod.getModificationType() == ModificationType.ADD)
+        {
+          AttributeBuilder builder = new AttributeBuilder(pending.getAttribute());
+          builder.addAll(mod.getAttribute());
+          mod = new Modification(ModificationType.ADD, builder.toAttribute(), true);
+        }
+        it.remove();
+        break;
+      }
+      modifications.add(mod);
+    }
+
+    /** Marks these updates as removed from the table and returns them. */
+    private synchronized List<Modification> remove()
+    {
+      removed = true;
+      return new ArrayList<>(modifications);
+    }
+
+    private synchronized List<Modification> getModifications()
+    {
+      return new ArrayList<>(modifications);
+    }
+  }
+
+  /** The deferred updates, per user DN. */
+  private final ConcurrentMap<DN, PendingUpdates> pendingUpdates = new ConcurrentHashMap<>();
+  /** Lock protecting the flusher thread. */
+  private final Object lock = new Object();
+  private Thread flusherThread;
+  private boolean isShutdown;
+
+  private final AtomicLong deferredUpdates = new AtomicLong();
+  private final AtomicLong writtenEntries = new AtomicLong();
+  private final AtomicLong failedWrites = new AtomicLong();
+
+  /**
+   * Defers the provided password policy state updates of a user.
+   *
+   * @param userDN
+   *          The DN of the user entry.
+   * @param mods
+   *          The updates to defer.
+   * @param intervalMillis
+   *          The maximum time, in milliseconds, during which the updates may
+   *          be kept in memory.
+   */
+  void defer(DN userDN, List<Modification> mods, long intervalMillis)
+  {
+    startFlusherThread();
+    deferredUpdates.incrementAndGet();
+    while (true)
+    {
+      PendingUpdates pending = pendingUpdates.get(userDN);
+      if (pending == null)
+      {
+        long now = System.currentTimeMillis();
+        pending = new PendingUpdates(now, now + intervalMillis);
+        pending.merge(mods);
+        if (pendingUpdates.putIfAbsent(userDN, pending) == null)
+        {
+          return;
+        }
+      }
+      else if (pending.merge(mods))
+      {
+        return;
+      }
+      // Otherwise the updates were concurrently removed from the table to be written
+    }
+  }
+
+  /**
+   * Removes the deferred updates of a user so that they can be written along
+   * with the provided updates.
+   *
+   * @param userDN
+   *          The DN of the user entry.
+   * @param mods
+   *          The updates to write.
+   * @return The deferred updates of the user followed by the provided
+   *         updates, or the provided updates if there are no deferred
+   *         updates for the user.
+   */
+  public List<Modification> takePendingUpdates(DN userDN, List<Modification> mods)
+  {
+    PendingUpdates pending = pendingUpdates.remove(userDN);
+    if (pending == null)
+    {
+      return mods;
+    }
+    List<Modification> allMods = pending.remove();
+    allMods.addAll(mods);
+    return allMods;
+  }
+
+  /**
+   * Writes the deferred updates of a user, if any, so that they are not
+   * written after other updates of the same attributes.
+   *
+   * @param userDN
+   *          The DN of the user entry.
+   */
+  public void flush(DN userDN)
+  {
+    PendingUpdates pending = pendingUpdates.remove(userDN);
+    if (pending != null)
+    {
+      write(userDN, pending.remove());
+    }
+  }
+
+  /**
+   * Writes the deferred updates of the entries of a subtree, if any, so that
+   * they are not lost when the subtree is renamed.
+   *
+   * @param baseDN
+   *          The DN of the base entry of the subtree.
+   */
+  public void flushSubtree(DN baseDN)
+  {
+    for (Map.Entry<DN, PendingUpdates> entry : pendingUpdates.entrySet())
+    {
+      PendingUpdates pending = entry.getValue();
+      if (entry.getKey().isSubordinateOrEqualTo(baseDN) && pendingUpdates.remove(entry.getKey(), pending))
+      {
+        write(entry.getKey(), pending.remove());
+      }
+    }
+  }
+
+  /**
+   * Discards the deferred updates of the entries of a subtree, if any, once
+   * the subtree has been deleted or renamed.
+   *
+   * @param baseDN
+   *          The DN of the base entry of the subtree.
+   */
+  public void discardSubtree(DN baseDN)
+  {
+    for (Map.Entry<DN, PendingUpdates> entry : pendingUpdates.entrySet())
+    {
+      PendingUpdates pending = entry.getValue();
+      if (entry.getKey().isSubordinateOrEqualTo(baseDN) && pendingUpdates.remove(entry.getKey(), pending))
+      {
+        pending.remove();
+      }
+    }
+  }
+
+  /**
+   * Returns the provided user entry with the deferred updates of the user
+   * applied.
+   *
+   * @param userEntry
+   *          The user entry, as read from its backend.
+   * @return A copy of the user entry with the deferred updates applied, or the
+   *         user entry itself if there are no deferred updates for the user.
+   */
+  Entry applyPendingUpdates(Entry userEntry)
+  {
+    PendingUpdates pending = pendingUpdates.get(userEntry.getName());
+    if (pending == null)
+    {
+      return userEntry;
+    }
+    Entry entry = userEntry.duplicate(false);
+    for (Modification mod : pending.getModifications())
+    {
+      try
+      {
+        entry.applyModification(mod, true);
+      }
+      catch (DirectoryException e)
+      {
+        logger.traceException(e);
+      }
+    }
+    return entry;
+  }
+
+  private void startFlusherThread()
+  {
+    synchronized (lock)
+    {
+      if (flusherThread != null || isShutdown)
+      {
+        return;
+      }
+      flusherThread = new DirectoryThread(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          runFlusher();
+        }
+      }, "Password Policy State Flusher");
+      flusherThread.setDaemon(true);
+      flusherThread.start();
+    }
+  }
+
+  /** Writes the deferred updates whose deadline is reached until the server shuts down. */
+  private void runFlusher()
+  {
+    while (true)
+    {
+      synchronized (lock)
+      {
+        if (isShutdown)
+        {
+          return;
+        }
+        try
+        {
+          lock.wait(FLUSH_CHECK_INTERVAL_MILLIS);
+        }
+        catch (InterruptedException e)
+        {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        if (isShutdown)
+        {
+          return;
+        }
+      }
+      flush(System.currentTimeMillis());
+    }
+  }
+
+  /** Writes the deferred updates whose deadline is before the provided time. */
+  private void flush(long time)
+  {
+    for (Map.Entry<DN, PendingUpdates> entry : pendingUpdates.entrySet())
+    {
+      PendingUpdates pending = entry.getValue();
+      if (pending.deadline <= time && pendingUpdates.remove(entry.getKey(), pending))
+      {
+        write(entry.getKey(), pending.remove());
+      }
+    }
+  }
+
+  private void write(DN userDN, List<Modification> mods)
+  {
+    if (mods.isEmpty())
+    {
+      return;
+    }
+    ModifyOperation internalModify = getRootConnection().processModify(userDN, mods);
+    ResultCode resultCode = internalModify.getResultCode();
+    if (resultCode == ResultCode.SUCCESS)
+    {
+      writtenEntries.incrementAndGet();
+    }
+    else
+    {
+      failedWrites.incrementAndGet();
+      logger.error(ERR_PWPSTATE_CANNOT_UPDATE_USER_ENTRY.get(userDN, internalModify.getErrorMessage()));
+    }
+  }
+
+  @Override
+  public String getMonitorInstanceName()
+  {
+    return "Password Policy Deferred State Updates";
+  }
+
+  @Override
+  public MonitorData getMonitorData()
+  {
+    long oldestCreationTime = Long.MAX_VALUE;
+    int nbPendingUsers = 0;
+    for (PendingUpdates pending : pendingUpdates.values())
+    {
+      oldestCreationTime = Math.min(oldestCreationTime, pending.creationTime);
+      nbPendingUsers++;
+    }
+    long oldestAge = nbPendingUsers > 0 ? Math.max(0, System.currentTimeMillis() - oldestCreationTime) : 0;
+
+    final MonitorData monitorAttrs = new MonitorData(5);
+    monitorAttrs.add("deferred-state-pending-users", nbPendingUsers);
+    monitorAttrs.add("deferred-state-oldest-pending-age-millis", oldestAge);
+    monitorAttrs.add("deferred-state-deferred-updates", deferredUpdates.get());
+    monitorAttrs.add("deferred-state-written-entries", writtenEntries.get());
+    monitorAttrs.add("deferred-state-failed-writes", failedWrites.get());
+    return monitorAttrs;
+  }
+
+  @Override
+  public String getShutdownListenerName()
+  {
+    return getMonitorInstanceName();
+  }
+
+  @Override
+  public void processServerShutdown(LocalizableMessage reason)
+  {
+    DirectoryServer.deregisterMonitorProvider(this);
+    synchronized (lock)
+    {
+      isShutdown = true;
+      lock.notifyAll();
+    }
+    flush(Long.MAX_VALUE);
+  }
+}
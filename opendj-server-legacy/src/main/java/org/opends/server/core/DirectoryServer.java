@@ -67,6 +67,7 @@ import org.forgerock.opendj.config.ConfigurationFramework;
 import org.forgerock.opendj.config.server.ConfigException;
 import org.forgerock.opendj.config.server.ServerManagementContext;
 import org.forgerock.opendj.ldap.DN;
+import org.forgerock.opendj.ldap.DNCache;
 import org.forgerock.opendj.ldap.ResultCode;
 import org.forgerock.opendj.ldap.schema.Schema;
 import org.forgerock.opendj.server.config.server.AlertHandlerCfg;
@@ -214,6 +215,11 @@ public final class DirectoryServer
   private static final int START_AS_DETACH_QUIET = 103;
   /** The server must be started as non-detached process and should not produce any output. */
   private static final int START_AS_NON_DETACH_QUIET = 104;
+  /**
+   * The capacity of the DN cache shared by the worker threads, unless
+   * specified with the {@link DNCache#CAPACITY_PROPERTY} property.
+   */
+  private static final int DEFAULT_DN_CACHE_CAPACITY = 8192;
 
   /** Temporary context object, to provide instance methods instead of static methods. */
   private final DirectoryServerContext serverContext;
@@ -1202,6 +1208,12 @@ public final class DirectoryServer
 
     bootstrapClient();
 
+    // Share the parent DNs decoded by the worker threads.
+    if (System.getProperty(DNCache.CAPACITY_PROPERTY) == null)
+    {
+      DNCache.setCapacity(DEFAULT_DN_CACHE_CAPACITY);
+    }
+
     // Initialize the variables that will be used for connection tracking.
     establishedConnections = new LinkedHashSet<>(1000);
     currentConnections     = 0;
@@ -3643,6 +3655,7 @@ public final class DirectoryServer
       throws DirectoryException
   {
     checkCanEnqueueRequest(operation, false);
+    operation.setQueueingStartTime();
     directoryServer.workQueue.submitOperation(operation);
   }
 
@@ -3661,6 +3674,7 @@ public final class DirectoryServer
       throws DirectoryException
   {
     checkCanEnqueueRequest(operation, false);
+    operation.setQueueingStartTime();
     return directoryServer.workQueue.trySubmitOperation(operation);
   }
 
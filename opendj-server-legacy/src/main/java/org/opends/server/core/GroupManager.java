@@ -24,6 +24,7 @@ import static org.opends.server.util.ServerConstants.*;
 import static org.opends.server.util.StaticUtils.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -57,6 +58,7 @@ import org.opends.server.api.plugin.InternalDirectoryServerPlugin;
 import org.opends.server.api.plugin.PluginResult;
 import org.opends.server.api.plugin.PluginResult.PostOperation;
 import org.opends.server.api.plugin.PluginType;
+import org.opends.server.extensions.DynamicGroup;
 import org.opends.server.protocols.internal.InternalClientConnection;
 import org.opends.server.protocols.internal.InternalSearchOperation;
 import org.opends.server.protocols.internal.SearchRequest;
@@ -111,6 +113,18 @@ public class GroupManager extends InternalDirectoryServerPlugin
   /** Lock to protect internal data structures. */
   private final ReadWriteLock lock;
 
+  /** The dynamic group instances, notified of each change for maintaining their materialized members. */
+  private volatile List<DynamicGroup> dynamicGroups = Collections.emptyList();
+  /** The refresh token for which {@link #dynamicGroups} was computed. */
+  private volatile long dynamicGroupsToken = -1;
+  /** The number of locks serializing the evaluation of the changed entries, a power of two. */
+  private static final int NB_ENTRY_LOCKS = 16;
+  /**
+   * Serialize the evaluation of the changed entries by the dynamic groups,
+   * chosen by the hash code of the entry DN.
+   */
+  private final Object[] entryLocks = new Object[NB_ENTRY_LOCKS];
+
   /** Dummy configuration DN for Group Manager. */
   private static final String CONFIG_DN = "cn=Group Manager,cn=config";
 
@@ -140,6 +154,10 @@ public class GroupManager extends InternalDirectoryServerPlugin
     groupInstances = new DITCacheMap<>();
 
     lock = new ReentrantReadWriteLock();
+    for (int i = 0; i < NB_ENTRY_LOCKS; i++)
+    {
+      entryLocks[i] = new Object();
+    }
 
     DirectoryServer.registerInternalPlugin(this);
     serverContext.getBackendConfigManager().registerLocalBackendInitializationListener(this);
@@ -272,6 +290,7 @@ public class GroupManager extends InternalDirectoryServerPlugin
             iterator.remove();
           }
         }
+        refreshToken++;
       }
       finally
       {
@@ -333,6 +352,7 @@ public class GroupManager extends InternalDirectoryServerPlugin
                 iterator.remove();
               }
             }
+            refreshToken++;
           }
           finally
           {
@@ -618,6 +638,7 @@ public class GroupManager extends InternalDirectoryServerPlugin
           iterator.remove();
         }
       }
+      refreshToken++;
     }
     finally
     {
@@ -642,6 +663,8 @@ public class GroupManager extends InternalDirectoryServerPlugin
    */
   private void doPostAdd(PluginOperation addOperation, Entry entry)
   {
+    updateDynamicGroups(entry.getName());
+
     if (hasGroupMembershipUpdateControl(addOperation))
     {
       return;
@@ -651,13 +674,18 @@ public class GroupManager extends InternalDirectoryServerPlugin
   }
 
   private static boolean hasGroupMembershipUpdateControl(PluginOperation operation)
+  {
+    return hasControl(operation, OID_INTERNAL_GROUP_MEMBERSHIP_UPDATE);
+  }
+
+  private static boolean hasControl(PluginOperation operation, String oid)
   {
     List<Control> requestControls = operation.getRequestControls();
     if (requestControls != null)
     {
       for (Control c : requestControls)
       {
-        if (OID_INTERNAL_GROUP_MEMBERSHIP_UPDATE.equals(c.getOID()))
+        if (oid.equals(c.getOID()))
         {
           return true;
         }
@@ -672,6 +700,18 @@ public class GroupManager extends InternalDirectoryServerPlugin
    */
   private void doPostDelete(PluginOperation deleteOperation, Entry entry)
   {
+    if (hasControl(deleteOperation, OID_SUBTREE_DELETE_CONTROL))
+    {
+      for (DynamicGroup group : getDynamicGroups())
+      {
+        group.subtreeUpdated(entry.getName());
+      }
+    }
+    else
+    {
+      updateDynamicGroups(entry.getName());
+    }
+
     if (hasGroupMembershipUpdateControl(deleteOperation))
     {
       return;
@@ -721,6 +761,8 @@ public class GroupManager extends InternalDirectoryServerPlugin
           Entry oldEntry, Entry newEntry,
           List<Modification> modifications)
   {
+    updateDynamicGroups(newEntry.getName());
+
     if (hasGroupMembershipUpdateControl(modifyOperation))
     {
       return;
@@ -781,6 +823,13 @@ public class GroupManager extends InternalDirectoryServerPlugin
   private void doPostModifyDN(PluginOperation modifyDNOperation,
           Entry oldEntry, Entry newEntry)
   {
+    // The subordinates of the entry are renamed as well
+    for (DynamicGroup group : getDynamicGroups())
+    {
+      group.subtreeUpdated(oldEntry.getName());
+      group.subtreeUpdated(newEntry.getName());
+    }
+
     if (hasGroupMembershipUpdateControl(modifyDNOperation))
     {
       return;
@@ -958,6 +1007,93 @@ public class GroupManager extends InternalDirectoryServerPlugin
     }
   }
 
+  /**
+   * Evaluates the current state of an added, modified or deleted entry against
+   * the member URLs of the dynamic groups whose membership is materialized.
+   * <p>
+   * Post-operation plugins run once the entry is unlocked, so the
+   * notifications of concurrent changes to the same entry may arrive in any
+   * order. The entry is therefore read again, while holding a lock chosen by
+   * its DN: since each change is evaluated after it has been written, the last
+   * evaluation always sees the last change.
+   */
+  private void updateDynamicGroups(DN entryDN)
+  {
+    List<DynamicGroup> groups = null;
+    for (DynamicGroup group : getDynamicGroups())
+    {
+      if (group.mayBeMaterializedMember(entryDN))
+      {
+        if (groups == null)
+        {
+          groups = new ArrayList<>();
+        }
+        groups.add(group);
+      }
+    }
+    if (groups == null)
+    {
+      return;
+    }
+
+    final int hash = entryDN.hashCode();
+    synchronized (entryLocks[(hash ^ (hash >>> 16)) & (NB_ENTRY_LOCKS - 1)])
+    {
+      Entry entry;
+      try
+      {
+        entry = DirectoryServer.getEntry(entryDN);
+      }
+      catch (DirectoryException e)
+      {
+        logger.traceException(e);
+        // Evaluate the entry when the group members are searched for again
+        for (DynamicGroup group : groups)
+        {
+          group.subtreeUpdated(entryDN);
+        }
+        return;
+      }
+      for (DynamicGroup group : groups)
+      {
+        group.entryUpdated(entryDN, entry);
+      }
+    }
+  }
+
+  /**
+   * Returns the dynamic group instances, computing them again if group
+   * instances have been registered or deregistered since last time.
+   */
+  private List<DynamicGroup> getDynamicGroups()
+  {
+    if (dynamicGroupsToken == refreshToken)
+    {
+      return dynamicGroups;
+    }
+
+    lock.readLock().lock();
+    try
+    {
+      List<DynamicGroup> groups = new ArrayList<>();
+      for (Group<?> group : groupInstances.values())
+      {
+        if (group instanceof DynamicGroup)
+        {
+          groups.add((DynamicGroup) group);
+        }
+      }
+      // The token is written last, so that readers seeing it see the groups too
+      dynamicGroups = groups;
+      dynamicGroupsToken = refreshToken;
+      return groups;
+    }
+    finally
+    {
+      lock.readLock().unlock();
+    }
+  }
+
   /**
    * Removes all group instances that might happen to be registered with the
    * group manager.  This method is only intended for testing purposes and
@@ -969,6 +1105,7 @@ public class GroupManager extends InternalDirectoryServerPlugin
     try
     {
       groupInstances.clear();
+      refreshToken++;
     }
     finally
     {
@@ -247,6 +247,18 @@ public class OperationWrapper<W extends Operation> implements Operation
     return operation.getProcessingNanoTime();
   }
 
+  @Override
+  public void setQueueingStartTime()
+  {
+    operation.setQueueingStartTime();
+  }
+
+  @Override
+  public long getQueueingNanoTime()
+  {
+    return operation.getQueueingNanoTime();
+  }
+
   @Override
   public List<String> getReferralURLs()
   {
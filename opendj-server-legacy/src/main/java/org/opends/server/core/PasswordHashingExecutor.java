@@ -0,0 +1,444 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.core;
+
+import static org.opends.messages.CoreMessages.*;
+import static org.opends.server.util.StaticUtils.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.forgerock.i18n.LocalizableMessage;
+import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.ResultCode;
+import org.forgerock.opendj.server.config.server.MonitorProviderCfg;
+import org.opends.server.api.ClientConnection;
+import org.opends.server.api.DirectoryThread;
+import org.opends.server.api.MonitorData;
+import org.opends.server.api.MonitorProvider;
+import org.opends.server.api.ServerShutdownListener;
+import org.opends.server.types.DirectoryException;
+
+/**
+ * Checks the passwords provided in simple bind requests on a bounded set of
+ * dedicated threads, so that a burst of bind requests using expensive password
+ * storage schemes cannot use all the worker threads.
+ * <p>
+ * Password checks waiting for a hashing thread are queued per client
+ * connection, and the client connections are served in turn. Bind requests are
+ * rejected with a busy result when the queue is full, or when their client
+ * connection already has too many password checks in the queue. Each waiting
+ * password check holds the worker thread processing its bind request, so
+ * unless configured, the queue size is a quarter of the number of worker
+ * threads.
+ * <p>
+ * This class is also the monitor provider reporting the queue depth, the
+ * number of rejected bind requests and the time spent checking passwords for
+ * each password storage scheme.
+ */
+public class PasswordHashingExecutor
+       extends MonitorProvider<MonitorProviderCfg>
+       implements ServerShutdownListener
+{
+  /** The upper bounds, in milliseconds, of the password check time histogram buckets. */
+  private static final long[] TIME_BUCKETS_MILLIS = { 1, 10, 100, 1000 };
+
+  /** The password check statistics of a password storage scheme. */
+  private static final class SchemeStatistics
+  {
+    private final AtomicLong nbChecks = new AtomicLong();
+    private final AtomicLong totalTimeMicros = new AtomicLong();
+    /** One counter per bucket, plus one for the checks slower than the last bucket. */
+    private final AtomicLongArray buckets = new AtomicLongArray(TIME_BUCKETS_MILLIS.length + 1);
+
+    private void record(long timeNanos)
+    {
+      nbChecks.incrementAndGet();
+      totalTimeMicros.addAndGet(TimeUnit.NANOSECONDS.toMicros(timeNanos));
+      long timeMillis = TimeUnit.NANOSECONDS.toMillis(timeNanos);
+      int bucket = 0;
+      while (bucket < TIME_BUCKETS_MILLIS.length && timeMillis >= TIME_BUCKETS_MILLIS[bucket])
+      {
+        bucket++;
+      }
+      buckets.incrementAndGet(bucket);
+    }
+  }
+
+  /** A password check waiting for a hashing thread. */
+  private static final class HashingTask extends FutureTask<Boolean>
+  {
+    private final long connectionID;
+
+    private HashingTask(long connectionID, Callable<Boolean> check)
+    {
+      super(check);
+      this.connectionID = connectionID;
+    }
+  }
+
+  /** The percentage of the worker threads which may wait for a password check when the queue size is not set. */
+  private static final int DEFAULT_QUEUE_SIZE_PERCENT = 25;
+
+  /** Lock protecting the queue, the configuration and the list of threads. */
+  private final Object lock = new Object();
+  /** The waiting password checks of each client connection, in the order the connections are served. */
+  private final Map<Long, Deque<HashingTask>> pendingTasks = new LinkedHashMap<>();
+  /** The total number of waiting password checks. */
+  private int queueSize;
+  /** The configured maximum number of waiting password checks, or {@code null} to derive it from the worker threads. */
+  private Integer maxQueueSize;
+  private int maxQueuedPerClient;
+  private int nbThreads;
+  private final List<Thread> threads = new ArrayList<>();
+  /** Counter used to name the hashing threads. */
+  private int threadCounter;
+
+  private final AtomicLong rejectedBinds = new AtomicLong();
+  private final ConcurrentMap<String, SchemeStatistics> schemeStatistics = new ConcurrentHashMap<>();
+
+  /**
+   * Changes the number of hashing threads and the size limits of the queue.
+   *
+   * @param nbThreads
+   *          The number of hashing threads. With no hashing thread,
+   *          passwords are checked by the thread processing the bind.
+   * @param maxQueueSize
+   *          The maximum number of waiting password checks, or {@code null}
+   *          to use a quarter of the number of worker threads.
+   * @param maxQueuedPerClient
+   *          The maximum number of waiting password checks of a client
+   *          connection.
+   */
+  void setConfiguration(int nbThreads, Integer maxQueueSize, int maxQueuedPerClient)
+  {
+    synchronized (lock)
+    {
+      this.nbThreads = nbThreads;
+      this.maxQueueSize = maxQueueSize;
+      this.maxQueuedPerClient = maxQueuedPerClient;
+      while (threads.size() < nbThreads)
+      {
+        Thread thread = new DirectoryThread(new Runnable()
+        {
+          @Override
+          public void run()
+          {
+            runTasks();
+          }
+        }, "Password Hashing Thread " + threadCounter++);
+        thread.setDaemon(true);
+        threads.add(thread);
+        thread.start();
+      }
+      // Let the extra threads terminate
+      lock.notifyAll();
+    }
+  }
+
+  /**
+   * Indicates whether the provided password matches one of the passwords of
+   * the user. When hashing threads are configured, the password is checked by
+   * one of them while the calling thread waits for the result.
+   *
+   * @param clientConnection
+   *          The client connection which sent the bind request.
+   * @param state
+   *          The password policy state of the user.
+   * @param password
+   *          The password provided in the bind request.
+   * @return {@code true} if the password matches one of the passwords of the
+   *         user.
+   * @throws DirectoryException
+   *           If the bind request is rejected because too many password
+   *           checks are waiting, or if the calling thread is interrupted.
+   */
+  public boolean passwordMatches(ClientConnection clientConnection, final PasswordPolicyState state,
+      final ByteString password) throws DirectoryException
+  {
+    return passwordMatches(clientConnection.getConnectionID(), state.getPasswordStorageSchemeName(),
+        new Callable<Boolean>()
+        {
+          @Override
+          public Boolean call()
+          {
+            return state.passwordMatches(password);
+          }
+        });
+  }
+
+  /**
+   * Runs the provided password check, on one of the hashing threads if any.
+   *
+   * @param connectionID
+   *          The identifier of the client connection which sent the bind
+   *          request.
+   * @param schemeName
+   *          The name of the password storage scheme of the user password.
+   * @param check
+   *          The password check.
+   * @return The result of the password check.
+   * @throws DirectoryException
+   *           If the bind request is rejected because too many password
+   *           checks are waiting, or if the calling thread is interrupted.
+   */
+  boolean passwordMatches(long connectionID, String schemeName, Callable<Boolean> check) throws DirectoryException
+  {
+    final HashingTask task = new HashingTask(connectionID, recordCheckTime(schemeName, check));
+    final boolean queued;
+    synchronized (lock)
+    {
+      queued = nbThreads > 0;
+      if (queued)
+      {
+        Deque<HashingTask> clientTasks = pendingTasks.get(connectionID);
+        if (queueSize >= getMaxQueueSize()
+            || (clientTasks != null && clientTasks.size() >= maxQueuedPerClient))
+        {
+          rejectedBinds.incrementAndGet();
+          throw new DirectoryException(ResultCode.BUSY, ERR_BIND_PASSWORD_HASHING_BUSY.get());
+        }
+        if (clientTasks == null)
+        {
+          clientTasks = new ArrayDeque<>();
+          pendingTasks.put(connectionID, clientTasks);
+        }
+        clientTasks.add(task);
+        queueSize++;
+        lock.notify();
+      }
+    }
+    if (!queued)
+    {
+      task.run();
+    }
+
+    try
+    {
+      return task.get();
+    }
+    catch (InterruptedException e)
+    {
+      task.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new DirectoryException(ResultCode.UNAVAILABLE, ERR_BIND_PASSWORD_HASHING_INTERRUPTED.get(), e);
+    }
+    catch (ExecutionException e)
+    {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException)
+      {
+        throw (RuntimeException) cause;
+      }
+      else if (cause instanceof Error)
+      {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+  /** Returns the provided password check, recording its time in the statistics of the password storage scheme. */
+  private Callable<Boolean> recordCheckTime(final String schemeName, final Callable<Boolean> check)
+  {
+    return new Callable<Boolean>()
+    {
+      @Override
+      public Boolean call() throws Exception
+      {
+        long startTime = System.nanoTime();
+        try
+        {
+          return check.call();
+        }
+        finally
+        {
+          String key = schemeName != null ? toLowerCase(schemeName) : "unknown";
+          SchemeStatistics statistics = schemeStatistics.get(key);
+          if (statistics == null)
+          {
+            statistics = new SchemeStatistics();
+            SchemeStatistics existing = schemeStatistics.putIfAbsent(key, statistics);
+            if (existing != null)
+            {
+              statistics = existing;
+            }
+          }
+          statistics.record(System.nanoTime() - startTime);
+        }
+      }
+    };
+  }
+
+  /** Returns the maximum number of waiting password checks, the lock must be held. */
+  private int getMaxQueueSize()
+  {
+    if (maxQueueSize != null)
+    {
+      return maxQueueSize;
+    }
+    return Math.max(1, getNumWorkerThreads() * DEFAULT_QUEUE_SIZE_PERCENT / 100);
+  }
+
+  /**
+   * Returns the number of worker threads processing the operations.
+   *
+   * @return the number of worker threads processing the operations
+   */
+  protected int getNumWorkerThreads()
+  {
+    return DirectoryServer.getWorkQueue().getNumWorkerThreads();
+  }
+
+  /**
+   * Returns the number of password checks waiting for a hashing thread.
+   *
+   * @return the number of password checks waiting for a hashing thread
+   */
+  int getQueueDepth()
+  {
+    synchronized (lock)
+    {
+      return queueSize;
+    }
+  }
+
+  /**
+   * Returns the number of running hashing threads, including the extra
+   * threads which have not terminated yet.
+   *
+   * @return the number of running hashing threads
+   */
+  int getNbRunningThreads()
+  {
+    synchronized (lock)
+    {
+      return threads.size();
+    }
+  }
+
+  /** Runs the waiting password checks until this thread is no longer needed. */
+  private void runTasks()
+  {
+    Thread currentThread = Thread.currentThread();
+    while (true)
+    {
+      HashingTask task;
+      synchronized (lock)
+      {
+        while ((task = pollTask()) == null && threads.size() <= nbThreads)
+        {
+          try
+          {
+            lock.wait();
+          }
+          catch (InterruptedException e)
+          {
+            Thread.currentThread().interrupt();
+            break;
+          }
+        }
+        // Extra threads only terminate once the queue is empty, in case no thread is left
+        if (task == null)
+        {
+          threads.remove(currentThread);
+          return;
+        }
+      }
+      task.run();
+    }
+  }
+
+  /** Returns the next password check, serving the client connections in turn. */
+  private HashingTask pollTask()
+  {
+    Iterator<Deque<HashingTask>> iterator = pendingTasks.values().iterator();
+    if (!iterator.hasNext())
+    {
+      return null;
+    }
+    Deque<HashingTask> clientTasks = iterator.next();
+    HashingTask task = clientTasks.removeFirst();
+    queueSize--;
+    iterator.remove();
+    if (!clientTasks.isEmpty())
+    {
+      // Move the connection to the end of the queue
+      pendingTasks.put(task.connectionID, clientTasks);
+    }
+    return task;
+  }
+
+  @Override
+  public String getMonitorInstanceName()
+  {
+    return "Password Hashing";
+  }
+
+  @Override
+  public MonitorData getMonitorData()
+  {
+    final MonitorData monitorAttrs = new MonitorData(4 + 7 * schemeStatistics.size());
+    synchronized (lock)
+    {
+      monitorAttrs.add("password-hashing-threads", nbThreads);
+      monitorAttrs.add("password-hashing-queue-depth", queueSize);
+      monitorAttrs.add("password-hashing-max-queue-size", getMaxQueueSize());
+    }
+    monitorAttrs.add("password-hashing-rejected-binds", rejectedBinds.get());
+    for (Map.Entry<String, SchemeStatistics> entry : schemeStatistics.entrySet())
+    {
+      String prefix = "password-hashing-" + entry.getKey();
+      SchemeStatistics statistics = entry.getValue();
+      long nbChecks = statistics.nbChecks.get();
+      monitorAttrs.add(prefix + "-checks", nbChecks);
+      monitorAttrs.add(prefix + "-avg-time-micros", nbChecks > 0 ? statistics.totalTimeMicros.get() / nbChecks : 0);
+      for (int i = 0; i < TIME_BUCKETS_MILLIS.length; i++)
+      {
+        monitorAttrs.add(prefix + "-under-" + TIME_BUCKETS_MILLIS[i] + "ms", statistics.buckets.get(i));
+      }
+      monitorAttrs.add(prefix + "-over-" + TIME_BUCKETS_MILLIS[TIME_BUCKETS_MILLIS.length - 1] + "ms",
+          statistics.buckets.get(TIME_BUCKETS_MILLIS.length));
+    }
+    return monitorAttrs;
+  }
+
+  @Override
+  public String getShutdownListenerName()
+  {
+    return getMonitorInstanceName();
+  }
+
+  @Override
+  public void processServerShutdown(LocalizableMessage reason)
+  {
+    DirectoryServer.deregisterMonitorProvider(this);
+    setConfiguration(0, maxQueueSize, maxQueuedPerClient);
+  }
+}
@@ -523,6 +523,17 @@ public abstract class PasswordPolicy extends AuthenticationPolicy
    */
   public abstract StateUpdateFailurePolicy getStateUpdateFailurePolicy();
 
+  /**
+   * Gets the "deferred-state-update-interval" property.
+   * <p>
+   * Specifies the maximum length of time that updates of the last login time
+   * and of the authentication failure times may be kept in memory before they
+   * are written to the user entries.
+   *
+   * @return Returns the value of the "deferred-state-update-interval" property.
+   */
+  public abstract long getDeferredStateUpdateInterval();
+
   @Override
   public boolean isPasswordPolicy()
   {
@@ -533,6 +544,8 @@ public abstract class PasswordPolicy extends AuthenticationPolicy
   public PasswordPolicyState createAuthenticationPolicyState(Entry userEntry,
       long time) throws DirectoryException
   {
-    return new PasswordPolicyState(this, userEntry, time);
+    DeferredPasswordPolicyStateUpdates deferredUpdates =
+        DirectoryServer.getCoreConfigManager().getDeferredPasswordPolicyStateUpdates();
+    return new PasswordPolicyState(this, deferredUpdates.applyPendingUpdates(userEntry), time);
   }
 }
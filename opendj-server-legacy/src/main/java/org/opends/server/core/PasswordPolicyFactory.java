@@ -730,6 +730,11 @@ public final class PasswordPolicyFactory implements
       buffer.append("Update Failure Policy:                 ");
       buffer.append(configuration.getStateUpdateFailurePolicy());
       buffer.append(EOL);
+
+      buffer.append("Deferred State Update Interval:        ");
+      buffer.append(configuration.getDeferredStateUpdateInterval());
+      buffer.append(" seconds");
+      buffer.append(EOL);
     }
 
     @Override
@@ -893,6 +898,12 @@ public final class PasswordPolicyFactory implements
     {
       return configuration.getStateUpdateFailurePolicy();
     }
+
+    @Override
+    public long getDeferredStateUpdateInterval()
+    {
+      return configuration.getDeferredStateUpdateInterval();
+    }
   }
 
   private ServerContext serverContext;
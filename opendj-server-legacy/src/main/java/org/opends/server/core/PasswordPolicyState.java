@@ -2024,6 +2024,30 @@ public final class PasswordPolicyState extends AuthenticationPolicyState
         : UserPasswordSyntax.decodeUserPassword(v.toString());
   }
 
+  /**
+   * Retrieves the name of the storage scheme used to encode the first password value of the user.
+   *
+   * @return  The name of the storage scheme, or {@code null} if the user has no valid password value.
+   */
+  String getPasswordStorageSchemeName()
+  {
+    for (Attribute a : userEntry.getAllAttributes(passwordPolicy.getPasswordAttribute()))
+    {
+      for (ByteString v : a)
+      {
+        try
+        {
+          return getPwComponents(v)[0];
+        }
+        catch (DirectoryException e)
+        {
+          logger.traceException(e);
+        }
+      }
+    }
+    return null;
+  }
+
   /**
    * Indicates whether the provided password value is pre-encoded.
    *
@@ -2748,6 +2772,30 @@ public final class PasswordPolicyState extends AuthenticationPolicyState
     return modifications;
   }
 
+  /**
+   * Indicates whether the modifications only record the last login time or new authentication failures,
+   * which can be deferred. Any other change, like locking the account or clearing the failures,
+   * must be written immediately.
+   */
+  private boolean canBeDeferred()
+  {
+    AttributeType lastLoginTimeType = passwordPolicy.getLastLoginTimeAttribute();
+    AttributeType failureTimeType = getSchema().getAttributeType(OP_ATTR_PWPOLICY_FAILURE_TIME);
+    for (Modification m : modifications)
+    {
+      Attribute a = m.getAttribute();
+      AttributeType type = a.getAttributeDescription().getAttributeType();
+      boolean isLastLoginTime = m.getModificationType() == ModificationType.REPLACE
+          && type.equals(lastLoginTimeType) && !a.isEmpty();
+      boolean isFailureTime = m.getModificationType() == ModificationType.ADD && type.equals(failureTimeType);
+      if (!isLastLoginTime && !isFailureTime)
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
   @Override
   public void finalizeStateAfterBind()
          throws DirectoryException
@@ -2758,9 +2806,19 @@ public final class PasswordPolicyState extends AuthenticationPolicyState
       return;
     }
 
-    // Convert the set of modifications to a set of LDAP modifications.
+    DeferredPasswordPolicyStateUpdates deferredUpdates =
+        DirectoryServer.getCoreConfigManager().getDeferredPasswordPolicyStateUpdates();
+    long deferralInterval = passwordPolicy.getDeferredStateUpdateInterval();
+    if (deferralInterval > 0 && canBeDeferred())
+    {
+      deferredUpdates.defer(userEntry.getName(), modifications, deferralInterval * 1000L);
+      return;
+    }
+
+    // Convert the set of modifications to a set of LDAP modifications,
+    // including the previously deferred ones which must be written first.
     ArrayList<RawModification> modList = new ArrayList<>();
-    for (Modification m : modifications)
+    for (Modification m : deferredUpdates.takePendingUpdates(userEntry.getName(), modifications))
     {
       modList.add(RawModification.create(m.getModificationType(), new LDAPAttribute(m.getAttribute())));
     }
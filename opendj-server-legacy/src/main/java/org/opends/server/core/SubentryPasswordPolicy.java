@@ -566,6 +566,12 @@ public final class SubentryPasswordPolicy extends PasswordPolicy
     return getDefaultPasswordPolicy().getStateUpdateFailurePolicy();
   }
 
+  @Override
+  public long getDeferredStateUpdateInterval()
+  {
+    return getDefaultPasswordPolicy().getDeferredStateUpdateInterval();
+  }
+
   @Override
   public boolean isAuthPasswordSyntax()
   {
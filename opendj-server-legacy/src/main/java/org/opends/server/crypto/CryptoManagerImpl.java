@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
@@ -33,6 +34,7 @@ import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -68,7 +70,10 @@ import org.forgerock.opendj.config.server.ConfigChangeResult;
 import org.forgerock.opendj.config.server.ConfigException;
 import org.forgerock.opendj.config.server.ConfigurationChangeListener;
 import org.forgerock.opendj.ldap.Base64;
+import org.forgerock.opendj.ldap.ByteSequence;
+import org.forgerock.opendj.ldap.ByteSequenceReader;
 import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.ByteStringBuilder;
 import org.forgerock.opendj.ldap.DN;
 import org.forgerock.opendj.ldap.ModificationType;
 import org.forgerock.opendj.ldap.RDN;
@@ -187,6 +192,9 @@ public class CryptoManagerImpl implements ConfigurationChangeListener<CryptoMana
    */
   private static final int CIPHERTEXT_PROLOGUE_VERSION = 1 ;
 
+  /** The initial room left for the prologue and the padding when encrypting a byte array. */
+  private static final int CIPHERTEXT_MAX_OVERHEAD = 64;
+
   private final CipherKeyManager cipherCryptoManager = new CipherKeyManager();
   private final MacKeyManager macCryptoManager = new MacKeyManager();
 
@@ -997,6 +1005,27 @@ public class CryptoManagerImpl implements ConfigurationChangeListener<CryptoMana
   }
 
 
+  /**
+   * Imports a cipher key whose secret key is known, without publishing it to
+   * ADS. The key then becomes the most recent key for its transformation and
+   * key length. This is only meant for running the encryption code without a
+   * server instance, as done by the benchmarks.
+   *
+   * @param keyID  The key identifier, a UUID.
+   * @param transformation  The cipher transformation.
+   * @param secretKey  The secret key.
+   * @param keyLengthBits  The key length in bits.
+   * @param ivLengthBits  The initialization vector length in bits.
+   *
+   * @throws CryptoManagerException
+   *               If the key cannot be used with the transformation.
+   */
+  void importCipherKey(String keyID, String transformation, SecretKey secretKey, int keyLengthBits,
+      int ivLengthBits) throws CryptoManagerException
+  {
+    cipherCryptoManager.importCipherKeyEntry(keyID, transformation, secretKey, keyLengthBits, ivLengthBits, false);
+  }
+
   /**
    * Imports a cipher key entry from an entry in ADS.
    *
@@ -1846,6 +1875,11 @@ public class CryptoManagerImpl implements ConfigurationChangeListener<CryptoMana
     /** State. */
     private final String fType;
     private int fIVLengthBits = -1;
+    /**
+     * The cipher of each thread for this key and transformation, reused for
+     * the operations which do not keep the cipher once they return.
+     */
+    private final ThreadLocal<Cipher> pooledCipher = new ThreadLocal<>();
   }
 
 
@@ -1874,17 +1908,46 @@ public class CryptoManagerImpl implements ConfigurationChangeListener<CryptoMana
                                   final int mode,
                                   final byte[] initializationVector)
           throws CryptoManagerException {
-    Reject.ifFalse(Cipher.ENCRYPT_MODE == mode
-            || Cipher.DECRYPT_MODE == mode);
-    Reject.ifFalse(Cipher.ENCRYPT_MODE != mode
-            || null == initializationVector);
-    Reject.ifFalse(-1 != keyEntry.getIVLengthBits()
-            || Cipher.ENCRYPT_MODE == mode);
-    Reject.ifFalse(null == initializationVector
-            || initializationVector.length * Byte.SIZE
-                                       == keyEntry.getIVLengthBits());
+    return initCipher(newCipher(keyEntry), keyEntry, mode, initializationVector);
+  }
 
-    Cipher cipher;
+  /**
+   * This method produces an initialized Cipher based on the supplied
+   * CipherKeyEntry's state, reusing the cipher previously produced for
+   * the same key entry by the calling thread. The returned cipher must
+   * not be used anymore once the calling thread requests another cipher
+   * for the same key entry.
+   *
+   * @param keyEntry  The secret key entry containing the cipher
+   * transformation and secret key for which to instantiate
+   * the cipher.
+   *
+   * @param mode  Either Cipher.ENCRYPT_MODE or Cipher.DECRYPT_MODE.
+   *
+   * @param initializationVector  For Cipher.DECRYPT_MODE, supply
+   * the initialization vector used in the corresponding encryption
+   * cipher, or {@code null} if none. For Cipher.ENCRYPT_MODE, supply
+   * a random initialization vector, or {@code null} to generate one.
+   *
+   * @return  The initialized cipher object.
+   *
+   * @throws  CryptoManagerException In case of a problem creating
+   * or initializing the requested cipher object.
+   */
+  private static Cipher getPooledCipher(final CipherKeyEntry keyEntry,
+                                        final int mode,
+                                        final byte[] initializationVector)
+          throws CryptoManagerException {
+    Cipher cipher = keyEntry.pooledCipher.get();
+    if (cipher == null) {
+      cipher = newCipher(keyEntry);
+      keyEntry.pooledCipher.set(cipher);
+    }
+    return initCipher(cipher, keyEntry, mode, initializationVector);
+  }
+
+  private static Cipher newCipher(final CipherKeyEntry keyEntry)
+          throws CryptoManagerException {
     try {
       String transformation = keyEntry.getType();
       /* If a client specifies only an algorithm for a transformation, the
@@ -1901,7 +1964,7 @@ public class CryptoManagerImpl implements ConfigurationChangeListener<CryptoMana
         assert "NoPadding".equals(fields[2]);
         transformation = fields[0];
       }
-      cipher = Cipher.getInstance(transformation);
+      return Cipher.getInstance(transformation);
     }
     catch (NoSuchAlgorithmException| NoSuchPaddingException ex) {
       logger.traceException(ex);
@@ -1909,6 +1972,20 @@ public class CryptoManagerImpl implements ConfigurationChangeListener<CryptoMana
            ERR_CRYPTOMGR_GET_CIPHER_INVALID_CIPHER_TRANSFORMATION.get(
                    keyEntry.getType(), getExceptionMessage(ex)), ex);
     }
+  }
+
+  private static Cipher initCipher(final Cipher cipher,
+                                   final CipherKeyEntry keyEntry,
+                                   final int mode,
+                                   final byte[] initializationVector)
+          throws CryptoManagerException {
+    Reject.ifFalse(Cipher.ENCRYPT_MODE == mode
+            || Cipher.DECRYPT_MODE == mode);
+    Reject.ifFalse(-1 != keyEntry.getIVLengthBits()
+            || Cipher.ENCRYPT_MODE == mode);
+    Reject.ifFalse(null == initializationVector
+            || initializationVector.length * Byte.SIZE
+                                       == keyEntry.getIVLengthBits());
 
     try {
       if (0 < keyEntry.getIVLengthBits()) {
@@ -2246,6 +2323,8 @@ public class CryptoManagerImpl implements ConfigurationChangeListener<CryptoMana
 
     /** State. */
     private final String fType;
+    /** An initialized MAC engine which is cloned rather than instantiating and initializing new engines. */
+    private Mac prototypeMac;
   }
 
   private List<Attribute> buildSymmetricKeyAttributes(SecretKey secretKey) throws CryptoManagerException
@@ -2278,6 +2357,24 @@ public class CryptoManagerImpl implements ConfigurationChangeListener<CryptoMana
    */
   private static Mac getMacEngine(MacKeyEntry keyEntry)
           throws CryptoManagerException
+  {
+    synchronized (keyEntry) {
+      if (keyEntry.prototypeMac == null) {
+        keyEntry.prototypeMac = newMacEngine(keyEntry);
+      }
+      try {
+        return (Mac) keyEntry.prototypeMac.clone();
+      }
+      catch (CloneNotSupportedException ex) {
+        // The provider does not support cloning its MAC engines
+        logger.traceException(ex);
+      }
+    }
+    return newMacEngine(keyEntry);
+  }
+
+  private static Mac newMacEngine(MacKeyEntry keyEntry)
+          throws CryptoManagerException
   {
     try {
       Mac mac = Mac.getInstance(keyEntry.getType());
@@ -2403,25 +2500,132 @@ public class CryptoManagerImpl implements ConfigurationChangeListener<CryptoMana
   {
     Reject.ifNull(cipherTransformation, data);
 
+    final ByteStringBuilder cipherText = new ByteStringBuilder(data.length + CIPHERTEXT_MAX_OVERHEAD);
+    encrypt(cipherTransformation, keyLengthBits, ByteString.wrap(data), cipherText);
+    return cipherText.toByteArray();
+  }
+
+  @Override
+  public void encrypt(String cipherTransformation, int keyLengthBits,
+                      ByteSequence data, ByteStringBuilder output)
+         throws GeneralSecurityException, CryptoManagerException
+  {
+    Reject.ifNull(cipherTransformation, data, output);
+
     CipherKeyEntry keyEntry = cipherCryptoManager.getCipherKeyEntry(cipherTransformation, keyLengthBits);
-    final Cipher cipher = getCipher(keyEntry, Cipher.ENCRYPT_MODE, null);
-    final byte[] keyID = keyEntry.getKeyID().getByteValue();
+    final Cipher cipher = getPooledCipher(keyEntry, Cipher.ENCRYPT_MODE, null);
+    output.appendByte(CIPHERTEXT_PROLOGUE_VERSION);
+    output.appendBytes(keyEntry.getKeyID().getByteValue());
     final byte[] iv = cipher.getIV();
-    final int prologueLength = /* version */ 1 + keyID.length + (iv != null ? iv.length : 0);
-    final int dataLength = cipher.getOutputSize(data.length);
-    final byte[] cipherText = new byte[prologueLength + dataLength];
-    int writeIndex = 0;
-
-    cipherText[writeIndex++] = CIPHERTEXT_PROLOGUE_VERSION;
-    System.arraycopy(keyID, 0, cipherText, writeIndex, keyID.length);
-    writeIndex += keyID.length;
     if (null != iv) {
-      System.arraycopy(iv, 0, cipherText, writeIndex, iv.length);
-      writeIndex += iv.length;
+      output.appendBytes(iv);
+    }
+    doFinal(cipher, data, 0, output);
+  }
+
+  @Override
+  public BatchEncryptor newBatchEncryptor(String cipherTransformation, int keyLengthBits)
+         throws CryptoManagerException
+  {
+    Reject.ifNull(cipherTransformation);
+    return new CipherBatchEncryptor(cipherCryptoManager.getCipherKeyEntry(cipherTransformation, keyLengthBits));
+  }
+
+  /**
+   * Encrypts a batch of data with the same key entry. The initialization
+   * vectors are drawn from the random number generator for several data at
+   * a time, in draws growing with the batch.
+   */
+  private static final class CipherBatchEncryptor implements BatchEncryptor
+  {
+    /** The number of initialization vectors of the first draw. */
+    private static final int MIN_IVS_PER_DRAW = 4;
+    /** The maximum number of initialization vectors drawn at once. */
+    private static final int MAX_IVS_PER_DRAW = 64;
+
+    private final CipherKeyEntry keyEntry;
+    private final byte[] keyID;
+    private final int ivLength;
+    /** The initialization vectors drawn, of which those from the offset are unused. */
+    private byte[] ivs;
+    private int ivOffset;
+
+    private CipherBatchEncryptor(CipherKeyEntry keyEntry)
+    {
+      this.keyEntry = keyEntry;
+      this.keyID = keyEntry.getKeyID().getByteValue();
+      this.ivLength = Math.max(keyEntry.getIVLengthBits(), 0) / Byte.SIZE;
+    }
+
+    @Override
+    public void encrypt(ByteSequence data, ByteStringBuilder output)
+           throws GeneralSecurityException, CryptoManagerException
+    {
+      Reject.ifNull(data, output);
+
+      final Cipher cipher = getPooledCipher(keyEntry, Cipher.ENCRYPT_MODE, nextIV());
+      output.appendByte(CIPHERTEXT_PROLOGUE_VERSION);
+      output.appendBytes(keyID);
+      final byte[] iv = cipher.getIV();
+      if (null != iv) {
+        output.appendBytes(iv);
+      }
+      doFinal(cipher, data, 0, output);
+    }
+
+    /** Returns the next unused initialization vector, or {@code null} if the cipher needs none. */
+    private byte[] nextIV()
+    {
+      if (ivLength == 0) {
+        return null;
+      }
+      if (ivs == null || ivOffset == ivs.length) {
+        final int nbIVs = ivs == null ? MIN_IVS_PER_DRAW : Math.min(2 * ivs.length / ivLength, MAX_IVS_PER_DRAW);
+        ivs = new byte[nbIVs * ivLength];
+        secureRandom.nextBytes(ivs);
+        ivOffset = 0;
+      }
+      final byte[] iv = Arrays.copyOfRange(ivs, ivOffset, ivOffset + ivLength);
+      ivOffset += ivLength;
+      return iv;
     }
-    System.arraycopy(cipher.doFinal(data), 0, cipherText,
-                     prologueLength, dataLength);
-    return cipherText;
+  }
+
+  /**
+   * Processes the data from the provided offset with the provided
+   * cipher, appending the result to the output.
+   */
+  private static void doFinal(Cipher cipher, ByteSequence data, int offset, ByteStringBuilder output)
+          throws GeneralSecurityException
+  {
+    final int dataLength = data.length() - offset;
+    final int outputOffset = output.length();
+    final int maxOutputLength = cipher.getOutputSize(dataLength);
+    // Reserve the room for the output, then write it directly in the builder
+    output.setLength(outputOffset + maxOutputLength);
+    final int outputLength;
+    if (dataLength > 0) {
+      outputLength = cipher.doFinal(asByteBuffer(data, offset),
+          ByteBuffer.wrap(output.getBackingArray(), outputOffset, maxOutputLength));
+    }
+    else {
+      // IBM Java 6 throws an IllegalArgumentException when there's no
+      // data to process.
+      outputLength = cipher.doFinal(output.getBackingArray(), outputOffset);
+    }
+    output.setLength(outputOffset + outputLength);
+  }
+
+  /** Returns a byte buffer over the bytes of the provided sequence, from the provided offset. */
+  private static ByteBuffer asByteBuffer(ByteSequence data, int offset)
+  {
+    if (data instanceof ByteStringBuilder) {
+      return ByteBuffer.wrap(((ByteStringBuilder) data).getBackingArray(), offset, data.length() - offset);
+    }
+    else if (data instanceof ByteString) {
+      return ((ByteString) data).subSequence(offset, data.length()).asReadOnlyByteBuffer();
+    }
+    return ByteBuffer.wrap(data.subSequence(offset, data.length()).toByteArray());
   }
 
   @Override
@@ -2488,14 +2692,24 @@ public class CryptoManagerImpl implements ConfigurationChangeListener<CryptoMana
          throws GeneralSecurityException,
                 CryptoManagerException
   {
-    int readIndex = 0;
+    final ByteStringBuilder clearText = new ByteStringBuilder(data.length);
+    decrypt(ByteString.wrap(data), clearText);
+    return clearText.toByteArray();
+  }
+
+  @Override
+  public void decrypt(ByteSequence data, ByteStringBuilder output)
+         throws GeneralSecurityException,
+                CryptoManagerException
+  {
+    final ByteSequenceReader reader = data.asReader();
 
     int version;
     try {
-      version = data[readIndex++];
+      version = reader.readByte();
     }
     catch (Exception ex) {
-      // IndexOutOfBoundsException, ArrayStoreException, ...
+      // IndexOutOfBoundsException, ...
       logger.traceException(ex);
       throw new CryptoManagerException(
               ERR_CRYPTOMGR_DECRYPT_FAILED_TO_READ_PROLOGUE_VERSION.get(
@@ -2515,12 +2729,11 @@ public class CryptoManagerImpl implements ConfigurationChangeListener<CryptoMana
     try {
       final byte[] keyIDBytes
               = new byte[KeyEntryID.getByteValueLength()];
-      System.arraycopy(data, readIndex, keyIDBytes, 0, keyIDBytes.length);
-      readIndex += keyIDBytes.length;
+      reader.readBytes(keyIDBytes);
       keyID = new KeyEntryID(keyIDBytes);
     }
     catch (Exception ex) {
-      // IndexOutOfBoundsException, ArrayStoreException, ...
+      // IndexOutOfBoundsException, ...
       logger.traceException(ex);
       throw new CryptoManagerException(
            ERR_CRYPTOMGR_DECRYPT_FAILED_TO_READ_KEY_IDENTIFIER.get(
@@ -2537,28 +2750,18 @@ public class CryptoManagerImpl implements ConfigurationChangeListener<CryptoMana
     if (0 < keyEntry.getIVLengthBits()) {
       iv = new byte[keyEntry.getIVLengthBits()/Byte.SIZE];
       try {
-        System.arraycopy(data, readIndex, iv, 0, iv.length);
-        readIndex += iv.length;
+        reader.readBytes(iv);
       }
       catch (Exception ex) {
-        // IndexOutOfBoundsException, ArrayStoreException, ...
+        // IndexOutOfBoundsException, ...
         logger.traceException(ex);
         throw new CryptoManagerException(
                ERR_CRYPTOMGR_DECRYPT_FAILED_TO_READ_IV.get(), ex);
       }
     }
 
-    final Cipher cipher = getCipher(keyEntry, Cipher.DECRYPT_MODE, iv);
-    if(data.length - readIndex > 0)
-    {
-      return cipher.doFinal(data, readIndex, data.length - readIndex);
-    }
-    else
-    {
-      // IBM Java 6 throws an IllegalArgumentException when there's no
-      // data to process.
-      return cipher.doFinal();
-    }
+    final Cipher cipher = getPooledCipher(keyEntry, Cipher.DECRYPT_MODE, iv);
+    doFinal(cipher, data, reader.position(), output);
   }
 
   @Override
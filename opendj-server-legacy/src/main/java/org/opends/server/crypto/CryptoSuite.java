@@ -18,6 +18,7 @@ package org.opends.server.crypto;
 import net.jcip.annotations.Immutable;
 import org.forgerock.opendj.ldap.ByteSequence;
 import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.ByteStringBuilder;
 import org.forgerock.opendj.ldap.DecodeException;
 import org.opends.server.types.CryptoManager;
 import org.opends.server.types.CryptoManagerException;
@@ -91,6 +92,20 @@ public class CryptoSuite
     return cryptoManager.decrypt(data);
   }
 
+  /**
+   * Decrypts data using the key specified in the prologue.
+   *
+   * @param data the cipher-text to be decrypted (contains prologue)
+   * @param output the builder to which the clear-text is appended
+   * @throws GeneralSecurityException if a problem occurs while decrypting the data
+   * @throws CryptoManagerException if a problem occurs during cipher initialization
+   */
+  public void decrypt(ByteSequence data, ByteStringBuilder output)
+      throws GeneralSecurityException, CryptoManagerException
+  {
+    cryptoManager.decrypt(data, output);
+  }
+
   /**
    * Encrypts data with the configured cipher transformation and key length.
    *
@@ -105,6 +120,35 @@ public class CryptoSuite
     return cryptoManager.encrypt(currentCipher.cipherTransformation, currentCipher.cipherKeyLength, data);
   }
 
+  /**
+   * Encrypts data with the configured cipher transformation and key length.
+   *
+   * @param data the clear-text data to encrypt
+   * @param output the builder to which the prologue containing the key identifier followed by cipher-text
+   *          is appended
+   * @throws GeneralSecurityException if a problem occurs while encrypting the data
+   * @throws CryptoManagerException if a problem occurs during cipher initialization
+   */
+  public void encrypt(ByteSequence data, ByteStringBuilder output)
+      throws GeneralSecurityException, CryptoManagerException
+  {
+    CipherInfo currentCipher = cipherInfo;
+    cryptoManager.encrypt(currentCipher.cipherTransformation, currentCipher.cipherKeyLength, data, output);
+  }
+
+  /**
+   * Returns an encryptor for a batch of data encrypted in turn by the calling thread with the configured
+   * cipher transformation and key length, such as the values written by a transaction.
+   *
+   * @return an encryptor for a batch of data
+   * @throws CryptoManagerException if a problem occurs managing the encryption key
+   */
+  public CryptoManager.BatchEncryptor newBatchEncryptor() throws CryptoManagerException
+  {
+    CipherInfo currentCipher = cipherInfo;
+    return cryptoManager.newBatchEncryptor(currentCipher.cipherTransformation, currentCipher.cipherKeyLength);
+  }
+
   /**
    * Returns a {@link CipherOutputStream} for encrypting through a sequence of
    * OutputStreams.
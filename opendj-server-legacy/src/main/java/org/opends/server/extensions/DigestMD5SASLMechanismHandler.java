@@ -106,6 +106,8 @@ public class DigestMD5SASLMechanismHandler
          this.configuration = configuration;
          DirectoryServer.registerSASLMechanismHandler(SASL_MECHANISM_DIGEST_MD5,
                   this);
+         DirectoryServer.registerMonitorProvider(
+                  SASLSecurityLayerMonitor.getInstance(SASL_MECHANISM_DIGEST_MD5));
       } catch (UnknownHostException unhe) {
           logger.traceException(unhe);
           LocalizableMessage message = ERR_SASL_CANNOT_GET_SERVER_FQDN.get(configEntryDN, getExceptionMessage(unhe));
@@ -117,6 +119,8 @@ public class DigestMD5SASLMechanismHandler
   public void finalizeSASLMechanismHandler() {
     configuration.removeDigestMD5ChangeListener(this);
     DirectoryServer.deregisterSASLMechanismHandler(SASL_MECHANISM_DIGEST_MD5);
+    DirectoryServer.deregisterMonitorProvider(
+        SASLSecurityLayerMonitor.getInstance(SASL_MECHANISM_DIGEST_MD5));
   }
 
   @Override
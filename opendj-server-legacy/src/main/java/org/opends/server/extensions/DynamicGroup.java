@@ -27,15 +27,19 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.forgerock.i18n.LocalizableMessage;
 import org.forgerock.i18n.LocalizedIllegalArgumentException;
 import org.forgerock.i18n.slf4j.LocalizedLogger;
+import org.forgerock.opendj.config.server.ConfigChangeResult;
 import org.forgerock.opendj.config.server.ConfigException;
+import org.forgerock.opendj.config.server.ConfigurationChangeListener;
 import org.forgerock.opendj.ldap.ByteString;
 import org.forgerock.opendj.ldap.DN;
+import org.forgerock.opendj.ldap.ResultCode;
 import org.forgerock.opendj.ldap.SearchScope;
 import org.forgerock.opendj.ldap.schema.Schema;
 import org.forgerock.opendj.server.config.server.DynamicGroupImplementationCfg;
 import org.opends.server.api.Group;
 import org.opends.server.core.DirectoryServer;
 import org.opends.server.core.ServerContext;
+import org.opends.server.extensions.StaticGroup.CompactDn;
 import org.opends.server.types.Attribute;
 import org.opends.server.types.DirectoryConfig;
 import org.opends.server.types.DirectoryException;
@@ -43,6 +47,7 @@ import org.opends.server.types.Entry;
 import org.opends.server.types.InitializationException;
 import org.opends.server.types.LDAPURL;
 import org.opends.server.types.MemberList;
+import org.opends.server.types.MembershipException;
 import org.opends.server.types.Modification;
 import org.opends.server.types.SearchFilter;
 
@@ -57,9 +62,14 @@ import static org.opends.server.util.ServerConstants.*;
  * in the form of one or more LDAP URLs.  All dynamic groups should
  * contain the groupOfURLs object class, with the memberURL attribute
  * specifying the membership criteria.
+ * <p>
+ * When the membership is materialized, the members are kept in memory and
+ * updated as entries change, so that checking the membership of a DN or
+ * listing the members does not search the backends each time.
  */
 public class DynamicGroup
        extends Group<DynamicGroupImplementationCfg>
+       implements ConfigurationChangeListener<DynamicGroupImplementationCfg>
 {
   private static final LocalizedLogger logger = LocalizedLogger.getLoggerForThisClass();
 
@@ -69,6 +79,18 @@ public class DynamicGroup
   /** The set of the LDAP URLs that define the membership criteria. */
   private LinkedHashSet<LDAPURL> memberURLs;
 
+  /** The current configuration, for the group implementation. */
+  private volatile DynamicGroupImplementationCfg currentConfig;
+
+  /** The group implementation which created this group instance, if any. */
+  private DynamicGroup implementation;
+
+  /** The server context, used for decoding the materialized member DNs. */
+  private ServerContext serverContext;
+
+  /** The materialized members, used when the group implementation materializes the membership. */
+  private volatile MaterializedDynamicGroupMembers materializedMembers;
+
   /** Creates a new, uninitialized dynamic group instance. This is intended for internal use only. */
   public DynamicGroup()
   {
@@ -96,12 +118,56 @@ public class DynamicGroup
     this.memberURLs   = memberURLs;
   }
 
+  private DynamicGroup(ServerContext serverContext, DN groupEntryDN, LinkedHashSet<LDAPURL> memberURLs,
+      DynamicGroup implementation)
+  {
+    this(groupEntryDN, memberURLs);
+    this.serverContext = serverContext;
+    this.implementation = implementation;
+    this.materializedMembers = new MaterializedDynamicGroupMembers(groupEntryDN, memberURLs);
+  }
+
   @Override
   public void initializeGroupImplementation(
                    DynamicGroupImplementationCfg configuration)
          throws ConfigException, InitializationException
   {
-    // No additional initialization is required.
+    currentConfig = configuration;
+    configuration.addDynamicChangeListener(this);
+  }
+
+  @Override
+  public void finalizeGroupImplementation()
+  {
+    if (currentConfig != null)
+    {
+      currentConfig.removeDynamicChangeListener(this);
+    }
+  }
+
+  @Override
+  public boolean isConfigurationChangeAcceptable(
+      DynamicGroupImplementationCfg configuration, List<LocalizableMessage> unacceptableReasons)
+  {
+    return true;
+  }
+
+  @Override
+  public ConfigChangeResult applyConfigurationChange(DynamicGroupImplementationCfg configuration)
+  {
+    currentConfig = configuration;
+    if (!configuration.isMaterializedMembership())
+    {
+      // Release the memory held by the members which are no longer used
+      for (Group<?> group : DirectoryServer.getGroupManager().getGroupInstances())
+      {
+        if (group instanceof DynamicGroup && ((DynamicGroup) group).implementation == this)
+        {
+          ((DynamicGroup) group).materializedMembers.invalidate();
+        }
+      }
+    }
+    return new ConfigChangeResult();
   }
 
   @Override
@@ -129,7 +195,7 @@ public class DynamicGroup
       }
     }
 
-    return new DynamicGroup(groupEntry.getName(), memberURLs);
+    return new DynamicGroup(serverContext, groupEntry.getName(), memberURLs, this);
   }
 
   @Override
@@ -162,6 +228,11 @@ public class DynamicGroup
   public void setGroupDN(DN groupDN)
   {
     groupEntryDN = groupDN;
+    if (materializedMembers != null)
+    {
+      // Member URLs are not renamed along with the group
+      materializedMembers = new MaterializedDynamicGroupMembers(groupDN, memberURLs);
+    }
   }
 
   /**
@@ -217,6 +288,12 @@ public class DynamicGroup
       return false;
     }
 
+    Set<CompactDn> members = getMaterializedMembers();
+    if (members != null)
+    {
+      return members.contains(new CompactDn(userDN));
+    }
+
     Entry entry = DirectoryConfig.getEntry(userDN);
     return entry != null && isMember(entry);
   }
@@ -253,10 +330,112 @@ public class DynamicGroup
     return groups;
   }
 
+  /**
+   * Indicates whether the membership of this dynamic group is materialized.
+   *
+   * @return {@code true} if the members of this dynamic group are kept in
+   *         memory, or {@code false} if they are searched for when needed.
+   */
+  public boolean isMembershipMaterialized()
+  {
+    DynamicGroupImplementationCfg config = implementation != null ? implementation.currentConfig : null;
+    return config != null && config.isMaterializedMembership();
+  }
+
+  /**
+   * Returns the materialized members, searching for them if needed, or
+   * {@code null} if the membership is not materialized or could not be.
+   */
+  private Set<CompactDn> getMaterializedMembers()
+  {
+    if (!isMembershipMaterialized())
+    {
+      return null;
+    }
+    return materializedMembers.getMembers();
+  }
+
+  /**
+   * Indicates whether the provided entry may be one of the materialized
+   * members of this group, that is whether the membership is materialized and
+   * the entry is in the scope of one of the member URLs.
+   *
+   * @param  entryDN  The DN of the entry.
+   *
+   * @return  {@code true} if the changes of the entry must be evaluated by
+   *          {@link #entryUpdated(DN, Entry)}.
+   */
+  public boolean mayBeMaterializedMember(DN entryDN)
+  {
+    return isMembershipMaterialized() && materializedMembers.isInScope(entryDN);
+  }
+
+  /**
+   * Evaluates an added, modified or deleted entry against the member URLs of
+   * this group, and updates the materialized members accordingly. This is
+   * invoked by the group manager after each change.
+   *
+   * @param  entryDN  The DN of the entry.
+   * @param  entry    The entry as it now is, or {@code null} if it has been
+   *                  deleted.
+   */
+  public void entryUpdated(DN entryDN, Entry entry)
+  {
+    if (isMembershipMaterialized())
+    {
+      materializedMembers.entryUpdated(entryDN, entry);
+    }
+  }
+
+  /**
+   * Discards the materialized members after a change which cannot be
+   * evaluated entry by entry, such as a rename or a subtree delete, if the
+   * member URLs may match entries of the changed subtree. The members will be
+   * searched for again when next needed.
+   *
+   * @param  subtreeDN  The DN of the root entry of the renamed or deleted
+   *                    subtree.
+   */
+  public void subtreeUpdated(DN subtreeDN)
+  {
+    if (materializedMembers != null && materializedMembers.intersects(subtreeDN))
+    {
+      materializedMembers.invalidate();
+    }
+  }
+
+  /**
+   * Searches for the members of this group and compares them with the
+   * materialized members, which are replaced with the result of the search.
+   *
+   * @return  The number of entries whose membership differed between the
+   *          materialized members and the search.
+   *
+   * @throws  DirectoryException   If the membership of this group is not
+   *                               materialized, or if the members could not
+   *                               be searched for.
+   * @throws  MembershipException  If the members could not be searched for.
+   */
+  public int verifyMaterializedMembership()
+         throws DirectoryException, MembershipException
+  {
+    if (!isMembershipMaterialized())
+    {
+      throw new DirectoryException(ResultCode.UNWILLING_TO_PERFORM,
+          ERR_DYNAMICGROUP_MEMBERSHIP_NOT_MATERIALIZED.get(groupEntryDN));
+    }
+    return materializedMembers.verify();
+  }
+
   @Override
   public MemberList getMembers()
          throws DirectoryException
   {
+    Set<CompactDn> members = getMaterializedMembers();
+    if (members != null)
+    {
+      return new SimpleStaticGroupMemberList(serverContext, groupEntryDN, members);
+    }
     return new DynamicGroupMemberList(groupEntryDN, memberURLs);
   }
 
@@ -265,6 +444,16 @@ public class DynamicGroup
                                SearchFilter filter)
          throws DirectoryException
   {
+    Set<CompactDn> members = getMaterializedMembers();
+    if (members != null)
+    {
+      if (baseDN == null && filter == null)
+      {
+        return new SimpleStaticGroupMemberList(serverContext, groupEntryDN, members);
+      }
+      return new FilteredStaticGroupMemberList(serverContext, groupEntryDN, members, baseDN, scope, filter);
+    }
+
     if (baseDN == null && filter == null)
     {
       return new DynamicGroupMemberList(groupEntryDN, memberURLs);
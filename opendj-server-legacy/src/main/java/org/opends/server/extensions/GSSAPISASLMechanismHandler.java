@@ -104,6 +104,7 @@ public class GSSAPISASLMechanismHandler extends
     try {
       initialize(configuration);
       DirectoryServer.registerSASLMechanismHandler(SASL_MECHANISM_GSSAPI, this);
+      DirectoryServer.registerMonitorProvider(SASLSecurityLayerMonitor.getInstance(SASL_MECHANISM_GSSAPI));
       configuration.addGSSAPIChangeListener(this);
       this.configuration = configuration;
       logger.error(INFO_GSSAPI_STARTED);
@@ -304,6 +305,7 @@ public class GSSAPISASLMechanismHandler extends
       configuration.removeGSSAPIChangeListener(this);
     }
     DirectoryServer.deregisterSASLMechanismHandler(SASL_MECHANISM_GSSAPI);
+    DirectoryServer.deregisterMonitorProvider(SASLSecurityLayerMonitor.getInstance(SASL_MECHANISM_GSSAPI));
     clearProperties();
     logger.error(INFO_GSSAPI_STOPPED);
   }
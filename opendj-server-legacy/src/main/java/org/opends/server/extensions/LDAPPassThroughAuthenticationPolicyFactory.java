@@ -32,17 +32,27 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.IllegalFormatConversionException;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.MissingFormatArgumentException;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -50,6 +60,7 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
@@ -67,6 +78,7 @@ import org.forgerock.opendj.config.server.ConfigChangeResult;
 import org.forgerock.opendj.config.server.ConfigException;
 import org.forgerock.opendj.config.server.ConfigurationChangeListener;
 import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.ByteStringBuilder;
 import org.forgerock.opendj.ldap.DN;
 import org.forgerock.opendj.ldap.DecodeException;
 import org.forgerock.opendj.ldap.DereferenceAliasesPolicy;
@@ -79,10 +91,13 @@ import org.forgerock.opendj.ldap.schema.AttributeType;
 import org.forgerock.opendj.ldap.schema.Schema;
 import org.forgerock.opendj.server.config.meta.LDAPPassThroughAuthenticationPolicyCfgDefn.MappingPolicy;
 import org.forgerock.opendj.server.config.server.LDAPPassThroughAuthenticationPolicyCfg;
+import org.forgerock.opendj.server.config.server.MonitorProviderCfg;
 import org.opends.server.api.AuthenticationPolicy;
 import org.opends.server.api.AuthenticationPolicyFactory;
 import org.opends.server.api.AuthenticationPolicyState;
 import org.opends.server.api.DirectoryThread;
+import org.opends.server.api.MonitorData;
+import org.opends.server.api.MonitorProvider;
 import org.opends.server.api.PasswordStorageScheme;
 import org.opends.server.api.TrustManagerProvider;
 import org.opends.server.core.DirectoryServer;
@@ -1247,6 +1262,104 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
     }
   }
 
+  /**
+   * A connection factory which records the number, latency and failures of
+   * the operations performed on a remote LDAP server.
+   */
+  private static final class MeasuredConnectionFactory implements ConnectionFactory
+  {
+    /** A connection which records the operations performed on it. */
+    private final class MeasuredConnection implements Connection
+    {
+      private final Connection connection;
+
+      private MeasuredConnection(final Connection connection)
+      {
+        this.connection = connection;
+      }
+
+      @Override
+      public void close()
+      {
+        connection.close();
+      }
+
+      @Override
+      public ByteString search(final DN baseDN, final SearchScope scope,
+          final SearchFilter filter) throws DirectoryException
+      {
+        final long startTime = System.nanoTime();
+        try
+        {
+          final ByteString username = connection.search(baseDN, scope, filter);
+          statistics.operationCompleted(startTime, null);
+          return username;
+        }
+        catch (final DirectoryException e)
+        {
+          statistics.operationCompleted(startTime, e);
+          throw e;
+        }
+      }
+
+      @Override
+      public void simpleBind(final ByteString username,
+          final ByteString password) throws DirectoryException
+      {
+        final long startTime = System.nanoTime();
+        try
+        {
+          connection.simpleBind(username, password);
+          statistics.operationCompleted(startTime, null);
+        }
+        catch (final DirectoryException e)
+        {
+          statistics.operationCompleted(startTime, e);
+          throw e;
+        }
+      }
+    }
+
+    private final ConnectionFactory factory;
+    private final RemoteServerStatistics statistics;
+
+    /**
+     * Creates a new connection factory recording the operations performed on
+     * the connections of the provided factory.
+     *
+     * @param factory
+     *          The underlying connection factory.
+     * @param statistics
+     *          The statistics of the remote LDAP server.
+     */
+    MeasuredConnectionFactory(final ConnectionFactory factory,
+        final RemoteServerStatistics statistics)
+    {
+      this.factory = factory;
+      this.statistics = statistics;
+    }
+
+    @Override
+    public void close()
+    {
+      factory.close();
+    }
+
+    @Override
+    public Connection getConnection() throws DirectoryException
+    {
+      try
+      {
+        return new MeasuredConnection(factory.getConnection());
+      }
+      catch (final DirectoryException e)
+      {
+        statistics.connectFailed();
+        throw e;
+      }
+    }
+  }
+
   /**
    * An interface for obtaining a connection factory for LDAP connections to a
    * named LDAP server and the monitoring scheduler.
@@ -1296,6 +1409,66 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
     long getCurrentTimeMS();
   }
 
+  /**
+   * The number, latency and failures of the operations performed on a remote
+   * LDAP server. Operations failing with a service error are retried on the
+   * other servers, so the service errors count the fail-overs away from this
+   * server.
+   */
+  private static final class RemoteServerStatistics
+  {
+    private final String hostPort;
+    private final AtomicLong operations = new AtomicLong();
+    private final AtomicLong totalTimeMicros = new AtomicLong();
+    private final AtomicLong serviceErrors = new AtomicLong();
+    private final AtomicLong connectFailures = new AtomicLong();
+    private volatile boolean isAvailable = true;
+
+    /**
+     * Creates the statistics of a remote LDAP server.
+     *
+     * @param hostPort
+     *          The host and port of the remote LDAP server.
+     */
+    RemoteServerStatistics(final String hostPort)
+    {
+      this.hostPort = hostPort;
+    }
+
+    private void operationCompleted(final long startTime,
+        final DirectoryException error)
+    {
+      operations.incrementAndGet();
+      totalTimeMicros.addAndGet((System.nanoTime() - startTime) / 1000);
+      if (error != null && isServiceError(error.getResultCode()))
+      {
+        serviceErrors.incrementAndGet();
+        isAvailable = false;
+      }
+      else
+      {
+        isAvailable = true;
+      }
+    }
+
+    private void connectFailed()
+    {
+      connectFailures.incrementAndGet();
+      isAvailable = false;
+    }
+
+    private void addTo(final MonitorData monitorData)
+    {
+      final String prefix = "remote-server-" + hostPort.replaceAll("[^A-Za-z0-9]", "-");
+      final long nbOperations = operations.get();
+      monitorData.add(prefix + "-available", isAvailable);
+      monitorData.add(prefix + "-operations", nbOperations);
+      monitorData.add(prefix + "-avg-time-micros", nbOperations > 0 ? totalTimeMicros.get() / nbOperations : 0);
+      monitorData.add(prefix + "-service-errors", serviceErrors.get());
+      monitorData.add(prefix + "-connect-failures", connectFailures.get());
+    }
+  }
+
   /**
    * A simplistic load-balancer connection factory implementation using
    * approximately round-robin balancing.
@@ -1352,6 +1525,168 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
     }
   }
 
+  /**
+   * Remembers for a short time the passwords successfully verified against the
+   * remote LDAP service, so that repeated binds do not contact it each time.
+   * Passwords are kept as salted SHA-256 hashes which also cover a
+   * fingerprint of the user's entry: a verification no longer matches once
+   * the entry has changed in a way which affects the remote user name or the
+   * account state.
+   */
+  private static final class VerifiedPasswordCache
+  {
+    /** The maximum number of verifications kept, beyond which expired ones are purged. */
+    private static final int MAX_VERIFICATIONS = 65536;
+    private static final int SALT_LENGTH = 16;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /** A successful verification of a user's password. */
+    private static final class Verification
+    {
+      private final byte[] salt;
+      private final byte[] digest;
+      private final long expirationTime;
+
+      private Verification(final byte[] salt, final byte[] digest,
+          final long expirationTime)
+      {
+        this.salt = salt;
+        this.digest = digest;
+        this.expirationTime = expirationTime;
+      }
+    }
+
+    private final ConcurrentMap<DN, Verification> verifications = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final Provider provider;
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Creates a new verified password cache.
+     *
+     * @param ttlMillis
+     *          The length of time during which verifications are remembered.
+     * @param provider
+     *          The provider of the current time.
+     */
+    VerifiedPasswordCache(final long ttlMillis, final Provider provider)
+    {
+      this.ttlMillis = ttlMillis;
+      this.provider = provider;
+    }
+
+    /**
+     * Returns {@code true} if the password has recently been verified for the
+     * user whose entry had the same fingerprint.
+     *
+     * @param userDN
+     *          The DN of the user's entry.
+     * @param fingerprint
+     *          The fingerprint of the user's entry.
+     * @param password
+     *          The password provided by the user.
+     * @return {@code true} if the password has recently been verified.
+     */
+    boolean matches(final DN userDN, final ByteString fingerprint,
+        final ByteString password)
+    {
+      final Verification verification = verifications.get(userDN);
+      if (verification == null)
+      {
+        return false;
+      }
+      if (verification.expirationTime <= provider.getCurrentTimeMS())
+      {
+        verifications.remove(userDN, verification);
+        return false;
+      }
+      if (MessageDigest.isEqual(verification.digest,
+          digest(verification.salt, fingerprint, password)))
+      {
+        hits.incrementAndGet();
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Remembers that the password has been verified for the user.
+     *
+     * @param userDN
+     *          The DN of the user's entry.
+     * @param fingerprint
+     *          The fingerprint of the user's entry.
+     * @param password
+     *          The password verified by the remote LDAP service.
+     */
+    void put(final DN userDN, final ByteString fingerprint,
+        final ByteString password)
+    {
+      if (verifications.size() >= MAX_VERIFICATIONS)
+      {
+        purgeExpiredVerifications();
+      }
+      final byte[] salt = new byte[SALT_LENGTH];
+      RANDOM.nextBytes(salt);
+      verifications.put(userDN, new Verification(salt,
+          digest(salt, fingerprint, password), provider.getCurrentTimeMS() + ttlMillis));
+    }
+
+    /**
+     * Forgets the verification of the user's password, if any.
+     *
+     * @param userDN
+     *          The DN of the user's entry.
+     */
+    void remove(final DN userDN)
+    {
+      verifications.remove(userDN);
+    }
+
+    private void purgeExpiredVerifications()
+    {
+      final long currentTime = provider.getCurrentTimeMS();
+      final Iterator<Verification> iterator = verifications.values().iterator();
+      while (iterator.hasNext())
+      {
+        if (iterator.next().expirationTime <= currentTime)
+        {
+          iterator.remove();
+        }
+      }
+      if (verifications.size() >= MAX_VERIFICATIONS)
+      {
+        // Still full of recent verifications: start again rather than grow
+        verifications.clear();
+      }
+    }
+
+    private void addTo(final MonitorData monitorData)
+    {
+      monitorData.add("verified-password-cache-entries", verifications.size());
+      monitorData.add("verified-password-cache-hits", hits.get());
+    }
+
+    private static byte[] digest(final byte[] salt, final ByteString fingerprint,
+        final ByteString password)
+    {
+      try
+      {
+        final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        messageDigest.update(salt);
+        messageDigest.update(fingerprint.toByteArray());
+        messageDigest.update((byte) 0);
+        messageDigest.update(password.toByteArray());
+        return messageDigest.digest();
+      }
+      catch (final NoSuchAlgorithmException e)
+      {
+        // SHA-256 is required to be supported by every Java platform
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
   /** LDAP PTA policy implementation. */
   private final class PolicyImpl extends AuthenticationPolicy implements
       ConfigurationChangeListener<LDAPPassThroughAuthenticationPolicyCfg>
@@ -1361,6 +1696,8 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
     {
       private final AttributeType cachedPasswordAttribute;
       private final AttributeType cachedPasswordTimeAttribute;
+      private final AttributeType accountDisabledAttribute;
+      private final AttributeType accountExpirationTimeAttribute;
 
       private ByteString newCachedPassword;
 
@@ -1371,6 +1708,8 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
         Schema schema = DirectoryServer.getInstance().getServerContext().getSchema();
         this.cachedPasswordAttribute = schema.getAttributeType(OP_ATTR_PTAPOLICY_CACHED_PASSWORD);
         this.cachedPasswordTimeAttribute = schema.getAttributeType(OP_ATTR_PTAPOLICY_CACHED_PASSWORD_TIME);
+        this.accountDisabledAttribute = schema.getAttributeType(OP_ATTR_ACCOUNT_DISABLED);
+        this.accountExpirationTimeAttribute = schema.getAttributeType(OP_ATTR_ACCOUNT_EXPIRATION_TIME);
       }
 
       @Override
@@ -1440,6 +1779,21 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
             return true;
           }
 
+          // Then check whether the password has just been verified remotely.
+          final ByteString fingerprint;
+          if (verifiedPasswords != null)
+          {
+            fingerprint = getFingerprint();
+            if (verifiedPasswords.matches(userEntry.getName(), fingerprint, password))
+            {
+              return true;
+            }
+          }
+          else
+          {
+            fingerprint = null;
+          }
+
           // The cache lookup failed, so perform full PTA.
           ByteString username = null;
 
@@ -1533,12 +1887,9 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
             // success.
             for (final DN baseDN : cfg.getMappedSearchBaseDN())
             {
-              Connection connection = null;
               try
               {
-                connection = searchFactory.getConnection();
-                username = connection.search(baseDN, SearchScope.WHOLE_SUBTREE,
-                    filter);
+                username = searchMappedUser(baseDN, filter);
               }
               catch (final DirectoryException e)
               {
@@ -1562,10 +1913,6 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
                           userEntry.getName(), cfg.dn(), e.getMessageObject()), e);
                 }
               }
-              finally
-              {
-                StaticUtils.close(connection);
-              }
             }
 
             if (username == null)
@@ -1588,6 +1935,10 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
             // user's entry when the state is finalized and only if caching is
             // enabled.
             newCachedPassword = password;
+            if (verifiedPasswords != null)
+            {
+              verifiedPasswords.put(userEntry.getName(), fingerprint, password);
+            }
             return true;
           }
           catch (final DirectoryException e)
@@ -1596,6 +1947,11 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
             {
             case NO_SUCH_OBJECT:
             case INVALID_CREDENTIALS:
+              if (verifiedPasswords != null)
+              {
+                // The remote password has changed since it was last verified.
+                verifiedPasswords.remove(userEntry.getName());
+              }
               return false;
             default:
               // We don't want to propagate this internal error to the
@@ -1613,6 +1969,36 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
         }
       }
 
+      /**
+       * Returns the values of the user's entry which determine the remote user
+       * name and the account state, so that a password verified remotely is
+       * no longer trusted once any of them changes locally.
+       */
+      private ByteString getFingerprint()
+      {
+        final ByteStringBuilder builder = new ByteStringBuilder();
+        for (final AttributeType at : cfg.getMappedAttribute())
+        {
+          appendValues(builder, at);
+        }
+        appendValues(builder, accountDisabledAttribute);
+        appendValues(builder, accountExpirationTimeAttribute);
+        return builder.toByteString();
+      }
+
+      private void appendValues(final ByteStringBuilder builder,
+          final AttributeType attributeType)
+      {
+        builder.appendUtf8(attributeType.getNameOrOID()).appendByte(0);
+        for (final Attribute attribute : userEntry.getAllAttributes(attributeType))
+        {
+          for (final ByteString value : attribute)
+          {
+            builder.appendBERLength(value.length()).appendBytes(value);
+          }
+        }
+      }
+
       private boolean passwordMatchesCachedPassword(ByteString password)
       {
         if (!cfg.isUsePasswordCaching())
@@ -1700,6 +2086,34 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
       }
     }
 
+    /** Reports the activity of this policy and of its remote LDAP servers. */
+    private final class PolicyMonitor extends MonitorProvider<MonitorProviderCfg>
+    {
+      @Override
+      public String getMonitorInstanceName()
+      {
+        return "LDAP Pass Through Authentication Policy " + cfg.name();
+      }
+
+      @Override
+      public MonitorData getMonitorData()
+      {
+        final Collection<RemoteServerStatistics> servers = serverStatistics.values();
+        final VerifiedPasswordCache cache = verifiedPasswords;
+        final MonitorData monitorData = new MonitorData(3 + 5 * servers.size());
+        monitorData.add("coalesced-searches", coalescedSearches.get());
+        if (cache != null)
+        {
+          cache.addTo(monitorData);
+        }
+        for (final RemoteServerStatistics server : servers)
+        {
+          server.addTo(monitorData);
+        }
+        return monitorData;
+      }
+    }
+
     /** Guards against configuration changes. */
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     private final ReadLock sharedLock = lock.readLock();
@@ -1713,6 +2127,21 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
 
     private PasswordStorageScheme<?> pwdStorageScheme;
 
+    /** The passwords recently verified remotely, or {@code null} if disabled. */
+    private volatile VerifiedPasswordCache verifiedPasswords;
+
+    /** The statistics of the configured remote LDAP servers, keyed by host and port. */
+    private volatile Map<String, RemoteServerStatistics> serverStatistics = Collections.emptyMap();
+
+    /**
+     * The mapped searches in progress, keyed by base DN and filter, which
+     * concurrent binds for the same user wait for instead of repeating them.
+     */
+    private final ConcurrentMap<String, CompletableFuture<ByteString>> pendingSearches = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedSearches = new AtomicLong();
+
+    private final PolicyMonitor monitor = new PolicyMonitor();
+
     private PolicyImpl(
         final LDAPPassThroughAuthenticationPolicyCfg configuration)
     {
@@ -1751,6 +2180,7 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
       try
       {
         cfg.removeLDAPPassThroughChangeListener(this);
+        DirectoryServer.deregisterMonitorProvider(monitor);
         closeConnections();
       }
       finally
@@ -1774,6 +2204,62 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
           .isConfigurationAcceptable(cfg, unacceptableReasons);
     }
 
+    /**
+     * Searches the remote directory for the user name, waiting for an
+     * identical search already in progress rather than performing it again.
+     */
+    private ByteString searchMappedUser(final DN baseDN,
+        final SearchFilter filter) throws DirectoryException
+    {
+      final String key = baseDN + "\0" + filter;
+      final CompletableFuture<ByteString> search = new CompletableFuture<>();
+      final CompletableFuture<ByteString> pendingSearch = pendingSearches.putIfAbsent(key, search);
+      if (pendingSearch == null)
+      {
+        try (Connection connection = searchFactory.getConnection())
+        {
+          final ByteString username = connection.search(baseDN, SearchScope.WHOLE_SUBTREE, filter);
+          search.complete(username);
+          return username;
+        }
+        catch (final DirectoryException | RuntimeException | Error e)
+        {
+          // Waiting binds fail the same way.
+          search.completeExceptionally(e);
+          throw e;
+        }
+        finally
+        {
+          pendingSearches.remove(key, search);
+        }
+      }
+
+      coalescedSearches.incrementAndGet();
+      try
+      {
+        return pendingSearch.get();
+      }
+      catch (final InterruptedException e)
+      {
+        Thread.currentThread().interrupt();
+        throw new DirectoryException(ResultCode.OTHER,
+            ERR_LDAP_PTA_MAPPED_SEARCH_INTERRUPTED.get(baseDN, filter), e);
+      }
+      catch (final ExecutionException e)
+      {
+        final Throwable cause = e.getCause();
+        if (cause instanceof DirectoryException)
+        {
+          throw (DirectoryException) cause;
+        }
+        else if (cause instanceof RuntimeException)
+        {
+          throw (RuntimeException) cause;
+        }
+        throw (Error) cause;
+      }
+    }
+
     private void closeConnections()
     {
       exclusiveLock.lock();
@@ -1829,13 +2315,17 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
       final ScheduledExecutorService scheduler = provider
           .getScheduledExecutorService();
 
+      final Map<String, RemoteServerStatistics> previousStatistics = serverStatistics;
+      final Map<String, RemoteServerStatistics> statistics = new LinkedHashMap<>();
+
       Set<String> servers = cfg.getPrimaryRemoteLDAPServer();
       ConnectionPool[] searchPool = new ConnectionPool[servers.size()];
       ConnectionPool[] bindPool = new ConnectionPool[servers.size()];
       int index = 0;
       for (final String hostPort : servers)
       {
-        final ConnectionFactory factory = newLDAPConnectionFactory(hostPort);
+        final ConnectionFactory factory = newLDAPConnectionFactory(hostPort,
+            previousStatistics, statistics);
         searchPool[index] = new ConnectionPool(
             new AuthenticatedConnectionFactory(factory,
                 cfg.getMappedSearchBindDN(),
@@ -1860,7 +2350,8 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
         index = 0;
         for (final String hostPort : servers)
         {
-          final ConnectionFactory factory = newLDAPConnectionFactory(hostPort);
+          final ConnectionFactory factory = newLDAPConnectionFactory(hostPort,
+              previousStatistics, statistics);
           searchPool[index] = new ConnectionPool(
               new AuthenticatedConnectionFactory(factory,
                   cfg.getMappedSearchBindDN(),
@@ -1877,18 +2368,42 @@ public final class LDAPPassThroughAuthenticationPolicyFactory implements
             secondaryBindLoadBalancer, scheduler);
       }
 
+      serverStatistics = statistics;
+
       if (cfg.isUsePasswordCaching())
       {
         pwdStorageScheme = DirectoryServer.getPasswordStorageScheme(cfg
             .getCachedPasswordStorageSchemeDN());
       }
+
+      // Passwords verified with the previous configuration are not trusted.
+      verifiedPasswords = cfg.getVerifiedPasswordCacheTTL() > 0
+          ? new VerifiedPasswordCache(cfg.getVerifiedPasswordCacheTTL() * 1000, provider)
+          : null;
+
+      // Registering again replaces the monitor if the policy has been renamed.
+      DirectoryServer.registerMonitorProvider(monitor);
     }
 
-    private ConnectionFactory newLDAPConnectionFactory(final String hostPort)
+    private ConnectionFactory newLDAPConnectionFactory(final String hostPort,
+        final Map<String, RemoteServerStatistics> previousStatistics,
+        final Map<String, RemoteServerStatistics> statistics)
     {
+      RemoteServerStatistics remoteServer = statistics.get(hostPort);
+      if (remoteServer == null)
+      {
+        remoteServer = previousStatistics.get(hostPort);
+        if (remoteServer == null)
+        {
+          remoteServer = new RemoteServerStatistics(hostPort);
+        }
+        statistics.put(hostPort, remoteServer);
+      }
+
       // Validation already performed by admin framework.
       final HostPort hp = HostPort.valueOf(hostPort);
-      return provider.getLDAPConnectionFactory(hp.getHost(), hp.getPort(), cfg);
+      return new MeasuredConnectionFactory(
+          provider.getLDAPConnectionFactory(hp.getHost(), hp.getPort(), cfg), remoteServer);
     }
   }
 
@@ -0,0 +1,361 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.extensions;
+
+import static org.opends.messages.ExtensionMessages.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.forgerock.i18n.slf4j.LocalizedLogger;
+import org.forgerock.opendj.ldap.DN;
+import org.forgerock.opendj.ldap.SearchScope;
+import org.opends.server.extensions.StaticGroup.CompactDn;
+import org.opends.server.types.DirectoryConfig;
+import org.opends.server.types.DirectoryException;
+import org.opends.server.types.Entry;
+import org.opends.server.types.LDAPURL;
+import org.opends.server.types.MemberList;
+import org.opends.server.types.MembershipException;
+
+/**
+ * The members of a dynamic group, kept in memory and updated incrementally as
+ * entries are added, modified and deleted.
+ * <p>
+ * The members are found by searching the first time they are needed. Entries
+ * changed while that search is running are recorded and evaluated again once
+ * it has completed, so that the published set reflects every change notified
+ * before it. Renames and subtree deletes cannot be evaluated entry by entry:
+ * when they intersect the member URLs, they discard the set, which is then
+ * searched for again when next needed.
+ */
+final class MaterializedDynamicGroupMembers
+{
+  private static final LocalizedLogger logger = LocalizedLogger.getLoggerForThisClass();
+
+  /** The DN of the dynamic group. */
+  private final DN groupDN;
+  /** The LDAP URLs that define the membership criteria. */
+  private final Set<LDAPURL> memberURLs;
+
+  /** Serializes the searches building the members. */
+  private final Object buildLock = new Object();
+  /** Protects the transitions of the fields below. */
+  private final Object lock = new Object();
+  /** The members, or {@code null} when they have not been built. */
+  private volatile Set<CompactDn> members;
+  /** The DNs of the entries changed while the members are built, or {@code null} when not building. */
+  private Set<DN> changedDuringBuild;
+  /** Whether the members being built have been invalidated by a rename or a subtree delete. */
+  private boolean invalidatedDuringBuild;
+
+  /**
+   * Creates the materialized members of a dynamic group. The members are
+   * searched for when first needed.
+   *
+   * @param groupDN
+   *          The DN of the dynamic group.
+   * @param memberURLs
+   *          The LDAP URLs that define the membership criteria.
+   */
+  MaterializedDynamicGroupMembers(DN groupDN, Set<LDAPURL> memberURLs)
+  {
+    this.groupDN = groupDN;
+    this.memberURLs = memberURLs;
+  }
+
+  /**
+   * Returns the members of the dynamic group, searching for them if needed.
+   *
+   * @return The members of the dynamic group, or {@code null} if they could
+   *         not be searched for.
+   */
+  Set<CompactDn> getMembers()
+  {
+    Set<CompactDn> result = members;
+    if (result != null)
+    {
+      return result;
+    }
+    synchronized (buildLock)
+    {
+      result = members;
+      if (result != null)
+      {
+        return result;
+      }
+      try
+      {
+        return build();
+      }
+      catch (DirectoryException | MembershipException e)
+      {
+        logger.traceException(e);
+        logger.error(ERR_DYNAMICGROUP_CANNOT_MATERIALIZE_MEMBERS, groupDN, e.getMessageObject());
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Searches for the members of the dynamic group again, and replaces the
+   * materialized members with the result.
+   *
+   * @return The number of entries whose membership differed between the
+   *         materialized members and the search, or 0 if the members had not
+   *         been materialized.
+   * @throws DirectoryException
+   *           If the members could not be searched for.
+   * @throws MembershipException
+   *           If the members could not be searched for.
+   */
+  int verify() throws DirectoryException, MembershipException
+  {
+    synchronized (buildLock)
+    {
+      final Set<CompactDn> previous = members;
+      final Set<CompactDn> rebuilt = build();
+      if (previous == null)
+      {
+        return 0;
+      }
+      int differences = 0;
+      for (CompactDn dn : previous)
+      {
+        if (!rebuilt.contains(dn))
+        {
+          differences++;
+        }
+      }
+      for (CompactDn dn : rebuilt)
+      {
+        if (!previous.contains(dn))
+        {
+          differences++;
+        }
+      }
+      return differences;
+    }
+  }
+
+  /**
+   * Evaluates an added, modified or deleted entry against the membership
+   * criteria, and adds it to or removes it from the members accordingly.
+   *
+   * @param entryDN
+   *          The DN of the entry.
+   * @param entry
+   *          The entry as it now is, or {@code null} if it has been deleted.
+   */
+  void entryUpdated(DN entryDN, Entry entry)
+  {
+    if (!isInScope(entryDN))
+    {
+      return;
+    }
+    synchronized (lock)
+    {
+      if (changedDuringBuild != null)
+      {
+        changedDuringBuild.add(entryDN);
+      }
+      if (members != null)
+      {
+        evaluate(members, entryDN, entry);
+      }
+    }
+  }
+
+  /** Discards the members, which will be searched for again when next needed. */
+  void invalidate()
+  {
+    synchronized (lock)
+    {
+      members = null;
+      if (changedDuringBuild != null)
+      {
+        invalidatedDuringBuild = true;
+      }
+    }
+  }
+
+  /**
+   * Searches for the members, evaluates the entries changed in the meantime,
+   * and publishes the result unless it has been invalidated.
+   */
+  private Set<CompactDn> build() throws DirectoryException, MembershipException
+  {
+    // The current members, if any, are still used and updated while searching
+    synchronized (lock)
+    {
+      changedDuringBuild = new HashSet<>();
+      invalidatedDuringBuild = false;
+    }
+    try
+    {
+      final Set<CompactDn> newMembers = searchMembers();
+      while (true)
+      {
+        final Set<DN> changed;
+        synchronized (lock)
+        {
+          changed = changedDuringBuild;
+          if (changed.isEmpty())
+          {
+            if (!invalidatedDuringBuild)
+            {
+              members = newMembers;
+            }
+            return newMembers;
+          }
+          changedDuringBuild = new HashSet<>();
+        }
+        for (DN entryDN : changed)
+        {
+          evaluate(newMembers, entryDN, DirectoryConfig.getEntry(entryDN));
+        }
+      }
+    }
+    finally
+    {
+      synchronized (lock)
+      {
+        changedDuringBuild = null;
+      }
+    }
+  }
+
+  private Set<CompactDn> searchMembers() throws DirectoryException, MembershipException
+  {
+    final Set<CompactDn> newMembers = ConcurrentHashMap.newKeySet();
+    final MemberList memberList = new DynamicGroupMemberList(groupDN, memberURLs);
+    try
+    {
+      while (memberList.hasMoreMembers())
+      {
+        try
+        {
+          final DN memberDN = memberList.nextMemberDN();
+          if (memberDN != null)
+          {
+            newMembers.add(new CompactDn(memberDN));
+          }
+        }
+        catch (MembershipException e)
+        {
+          if (!e.continueIterating())
+          {
+            throw e;
+          }
+          logger.traceException(e);
+        }
+      }
+    }
+    finally
+    {
+      memberList.close();
+    }
+    return newMembers;
+  }
+
+  private void evaluate(Set<CompactDn> memberSet, DN entryDN, Entry entry)
+  {
+    if (entry != null && matches(entry))
+    {
+      memberSet.add(new CompactDn(entryDN));
+    }
+    else
+    {
+      memberSet.remove(new CompactDn(entryDN));
+    }
+  }
+
+  private boolean matches(Entry entry)
+  {
+    for (LDAPURL memberURL : memberURLs)
+    {
+      try
+      {
+        if (memberURL.matchesEntry(entry))
+        {
+          return true;
+        }
+      }
+      catch (DirectoryException e)
+      {
+        logger.traceException(e);
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Indicates whether the entry is in the scope of at least one member URL.
+   *
+   * @param entryDN
+   *          The DN of the entry.
+   * @return {@code true} if the entry is in the scope of at least one member
+   *         URL.
+   */
+  boolean isInScope(DN entryDN)
+  {
+    for (LDAPURL memberURL : memberURLs)
+    {
+      if (entryDN.isInScopeOf(memberURL.getBaseDN(), getScope(memberURL)))
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Indicates whether at least one member URL may match entries of the
+   * provided subtree.
+   *
+   * @param subtreeDN
+   *          The DN of the root entry of the subtree.
+   * @return {@code true} if the scope of at least one member URL includes
+   *         entries of the subtree.
+   */
+  boolean intersects(DN subtreeDN)
+  {
+    for (LDAPURL memberURL : memberURLs)
+    {
+      final DN baseDN = memberURL.getBaseDN();
+      final SearchScope scope = getScope(memberURL);
+      if (baseDN.isSubordinateOrEqualTo(subtreeDN))
+      {
+        // The base entry of the member URL is in the subtree
+        return true;
+      }
+      else if (subtreeDN.isSubordinateOrEqualTo(baseDN)
+          && (SearchScope.WHOLE_SUBTREE.equals(scope)
+              || SearchScope.SUBORDINATES.equals(scope)
+              || (SearchScope.SINGLE_LEVEL.equals(scope) && baseDN.equals(subtreeDN.parent()))))
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static SearchScope getScope(LDAPURL memberURL)
+  {
+    return memberURL.getScope() != null ? memberURL.getScope() : SearchScope.BASE_OBJECT;
+  }
+}
@@ -430,6 +430,8 @@ public class PasswordPolicyStateExtendedOperation
       List<Modification> stateMods = pwpState.getModifications();
       if (stateMods != null && !stateMods.isEmpty())
       {
+        // The deferred updates were taken into account: write them before the new ones
+        DirectoryServer.getCoreConfigManager().getDeferredPasswordPolicyStateUpdates().flush(targetDN);
         ModifyOperation modifyOperation =
             conn.processModify(targetDN, stateMods);
         if (modifyOperation.getResultCode() != ResultCode.SUCCESS)
@@ -20,15 +20,24 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ByteChannel;
 import java.security.cert.Certificate;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.forgerock.opendj.ldap.ByteStringBuilder;
 import org.opends.server.api.ClientConnection;
 
 /**
  * This class implements a SASL byte channel that can be used during
  * confidentiality and integrity.
+ * <p>
+ * Data written while another write is being wrapped is queued, and the
+ * queued writes are then wrapped together in packets of up to the negotiated
+ * buffer size, so that concurrent responses share the cost of wrapping.
  */
 public final class SASLByteChannel implements ConnectionSecurityProvider
 {
+  /** The initial size of the buffer receiving SASL packets, which grows up to the negotiated limit. */
+  private static final int INITIAL_RECV_BUFFER_SIZE = 4096;
+
   /** Private implementation. */
   private final class ByteChannelImpl implements ByteChannel
   {
@@ -37,11 +46,16 @@ public final class SASLByteChannel implements ConnectionSecurityProvider
     {
       synchronized (readLock)
       {
-        synchronized (writeLock)
+        writeLock.lock();
+        try
         {
           saslContext.dispose();
           channel.close();
         }
+        finally
+        {
+          writeLock.unlock();
+        }
       }
     }
 
@@ -67,37 +81,95 @@ public final class SASLByteChannel implements ConnectionSecurityProvider
           }
         }
 
-        // Copy available data.
-        final int startPos = unwrappedData.position();
-        if (recvUnwrappedBuffer.remaining() > unwrappedData.remaining())
+        // Copy as much of the available data as fits in the client buffer.
+        final int length = Math.min(recvUnwrappedBuffer.remaining(), unwrappedData.remaining());
+        final int limit = recvUnwrappedBuffer.limit();
+        recvUnwrappedBuffer.limit(recvUnwrappedBuffer.position() + length);
+        unwrappedData.put(recvUnwrappedBuffer);
+        recvUnwrappedBuffer.limit(limit);
+        return length;
+      }
+    }
+
+    @Override
+    public int write(final ByteBuffer unwrappedData) throws IOException
+    {
+      // This method will block until the entire message is sent.
+      final int bytesWritten = unwrappedData.remaining();
+
+      final long writeNumber;
+      synchronized (pendingLock)
+      {
+        // Wrap the data in place unless other writes are waiting to be sent.
+        if (pendingWrites.length() == 0 && writeLock.tryLock())
+        {
+          writeNumber = -1;
+        }
+        else
+        {
+          pendingWrites.appendBytes(unwrappedData, bytesWritten);
+          writeNumber = ++nbQueuedWrites;
+        }
+      }
+      if (writeNumber < 0)
+      {
+        try
+        {
+          wrapAndSend(unwrappedData);
+        }
+        finally
+        {
+          writeLock.unlock();
+        }
+        return bytesWritten;
+      }
+
+      // Locked in order to prevent interleaving and reordering.
+      writeLock.lock();
+      try
+      {
+        if (sendFailure != null)
+        {
+          throw new IOException(sendFailure.getMessage(), sendFailure);
+        }
+
+        final ByteStringBuilder queuedWrites;
+        final long nbWrites;
+        synchronized (pendingLock)
         {
-          // Unwrapped data does not fit in client buffer so copy one byte at a
-          // time: it's annoying that there is no easy way to do this with
-          // ByteBuffers.
-          while (unwrappedData.hasRemaining())
+          if (nbSentWrites >= writeNumber)
           {
-            unwrappedData.put(recvUnwrappedBuffer.get());
+            // The data has been sent along with the writes queued before it.
+            return bytesWritten;
           }
+          queuedWrites = pendingWrites;
+          pendingWrites = sendingWrites;
+          sendingWrites = queuedWrites;
+          nbWrites = nbQueuedWrites - nbSentWrites;
+          nbSentWrites = nbQueuedWrites;
         }
-        else
+        monitor.writesCoalesced(nbWrites - 1);
+        try
+        {
+          wrapAndSend(ByteBuffer.wrap(queuedWrites.getBackingArray(), 0, queuedWrites.length()));
+        }
+        finally
         {
-          // Unwrapped data fits client buffer so block copy.
-          unwrappedData.put(recvUnwrappedBuffer);
+          queuedWrites.clearAndTruncate(4 * sendUnwrappedBufferSize, sendUnwrappedBufferSize);
         }
-        return unwrappedData.position() - startPos;
       }
+      finally
+      {
+        writeLock.unlock();
+      }
+      return bytesWritten;
     }
 
-    @Override
-    public int write(final ByteBuffer unwrappedData) throws IOException
+    /** Wraps and sends the data in sendBufferSize segments. The write lock must be held. */
+    private void wrapAndSend(final ByteBuffer unwrappedData) throws IOException
     {
-      // This method will block until the entire message is sent.
-      final int bytesWritten = unwrappedData.remaining();
-
-      // Synchronized in order to prevent interleaving and reordering.
-      synchronized (writeLock)
+      try
       {
-        // Write data in sendBufferSize segments.
         while (unwrappedData.hasRemaining())
         {
           final int remaining = unwrappedData.remaining();
@@ -136,10 +208,15 @@ public final class SASLByteChannel implements ConnectionSecurityProvider
           // Write the SASL packet: our IO stack will block until all the data
           // is written.
           channel.write(sendWrappedBuffer);
+          monitor.packetSent(wrapSize, wrappedDataBytes.length + 4);
         }
       }
-
-      return bytesWritten;
+      catch (IOException e)
+      {
+        // Fail the queued writes which have not been sent.
+        sendFailure = e;
+        throw e;
+      }
     }
 
     /** Attempt to read and unwrap the next SASL packet. */
@@ -188,7 +265,12 @@ public final class SASLByteChannel implements ConnectionSecurityProvider
                     + recvWrappedLength);
           }
 
-          // Prepare the recv buffer for reading.
+          // Prepare the recv buffer for reading, growing it if needed.
+          if (recvWrappedBuffer.capacity() < recvWrappedLength)
+          {
+            recvWrappedBuffer = ByteBuffer.allocate(Math.min(
+                Math.max(recvWrappedLength, 2 * recvWrappedBuffer.capacity()), recvWrappedBufferMaximumSize));
+          }
           recvWrappedBuffer.clear();
           recvWrappedBuffer.limit(recvWrappedLength);
         }
@@ -213,6 +295,7 @@ public final class SASLByteChannel implements ConnectionSecurityProvider
         recvWrappedBuffer.flip();
         final byte[] unwrappedDataBytes = saslContext.unwrap(
             recvWrappedBuffer.array(), 0, recvWrappedLength);
+        monitor.packetReceived(recvWrappedLength + 4, unwrappedDataBytes.length);
         recvWrappedLength = -1;
 
         // Only return the unwrapped data if it was non-empty, otherwise try to
@@ -247,9 +330,10 @@ public final class SASLByteChannel implements ConnectionSecurityProvider
   private final ByteChannel channel;
   private final ByteChannelImpl pimpl = new ByteChannelImpl();
   private final SASLContext saslContext;
+  private final SASLSecurityLayerMonitor monitor;
 
   private ByteBuffer recvUnwrappedBuffer;
-  private final ByteBuffer recvWrappedBuffer;
+  private ByteBuffer recvWrappedBuffer;
   private final int recvWrappedBufferMaximumSize;
   private int recvWrappedLength = -1;
   private final ByteBuffer recvWrappedLengthBuffer = ByteBuffer.allocate(4);
@@ -257,9 +341,20 @@ public final class SASLByteChannel implements ConnectionSecurityProvider
   private final int sendUnwrappedBufferSize;
   private final byte[] sendUnwrappedBytes;
   private ByteBuffer sendWrappedBuffer;
+  /** The exception which failed a write, making the writes queued behind it fail as well. */
+  private IOException sendFailure;
 
   private final Object readLock = new Object();
-  private final Object writeLock = new Object();
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  /** Protects the writes waiting for the write lock. */
+  private final Object pendingLock = new Object();
+  /** The data of the writes waiting for the write lock. */
+  private ByteStringBuilder pendingWrites = new ByteStringBuilder();
+  /** The data being sent by the write lock holder, swapped with the pending writes. */
+  private ByteStringBuilder sendingWrites = new ByteStringBuilder();
+  private long nbQueuedWrites;
+  private long nbSentWrites;
 
   /**
    * Create a SASL byte channel with the specified parameters that is capable of
@@ -277,12 +372,13 @@ public final class SASLByteChannel implements ConnectionSecurityProvider
   {
     this.name = name;
     this.saslContext = saslContext;
+    this.monitor = SASLSecurityLayerMonitor.getInstance(name);
 
     channel = connection.getChannel();
     recvWrappedBufferMaximumSize = saslContext.getMaxReceiveBufferSize();
     sendUnwrappedBufferSize = saslContext.getMaxRawSendBufferSize();
 
-    recvWrappedBuffer = ByteBuffer.allocate(recvWrappedBufferMaximumSize);
+    recvWrappedBuffer = ByteBuffer.allocate(Math.min(INITIAL_RECV_BUFFER_SIZE, recvWrappedBufferMaximumSize));
     recvUnwrappedBuffer = ByteBuffer.allocate(0);
     sendUnwrappedBytes = new byte[sendUnwrappedBufferSize];
     sendWrappedBuffer = ByteBuffer.allocate(sendUnwrappedBufferSize + 64);
@@ -0,0 +1,134 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.extensions;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.forgerock.opendj.server.config.server.MonitorProviderCfg;
+import org.opends.server.api.MonitorData;
+import org.opends.server.api.MonitorProvider;
+
+/**
+ * This class defines a monitor provider reporting the packets and bytes
+ * exchanged through the integrity or confidentiality security layer of a SASL
+ * mechanism, by all the connections which negotiated it.
+ */
+final class SASLSecurityLayerMonitor extends MonitorProvider<MonitorProviderCfg>
+{
+  /** The monitors of the SASL mechanisms, keyed by mechanism name. */
+  private static final ConcurrentMap<String, SASLSecurityLayerMonitor> MONITORS = new ConcurrentHashMap<>();
+
+  private final String mechanism;
+
+  private final LongAdder packetsReceived = new LongAdder();
+  private final LongAdder wrappedBytesReceived = new LongAdder();
+  private final LongAdder unwrappedBytesReceived = new LongAdder();
+  private final LongAdder packetsSent = new LongAdder();
+  private final LongAdder wrappedBytesSent = new LongAdder();
+  private final LongAdder unwrappedBytesSent = new LongAdder();
+  /** The number of writes sent in the same packets as the writes preceding them. */
+  private final LongAdder coalescedWrites = new LongAdder();
+
+  private SASLSecurityLayerMonitor(String mechanism)
+  {
+    this.mechanism = mechanism;
+  }
+
+  /**
+   * Returns the monitor of the security layer of the provided SASL mechanism.
+   *
+   * @param mechanism
+   *          The SASL mechanism name.
+   * @return The monitor of the security layer of the SASL mechanism.
+   */
+  static SASLSecurityLayerMonitor getInstance(String mechanism)
+  {
+    SASLSecurityLayerMonitor monitor = MONITORS.get(mechanism);
+    if (monitor == null)
+    {
+      final SASLSecurityLayerMonitor newMonitor = new SASLSecurityLayerMonitor(mechanism);
+      monitor = MONITORS.putIfAbsent(mechanism, newMonitor);
+      if (monitor == null)
+      {
+        monitor = newMonitor;
+      }
+    }
+    return monitor;
+  }
+
+  @Override
+  public String getMonitorInstanceName()
+  {
+    return "SASL " + mechanism + " Security Layer";
+  }
+
+  /**
+   * Records that a SASL packet has been received and unwrapped.
+   *
+   * @param wrappedLength
+   *          The length of the packet, including its length prefix.
+   * @param unwrappedLength
+   *          The length of the unwrapped data.
+   */
+  void packetReceived(int wrappedLength, int unwrappedLength)
+  {
+    packetsReceived.increment();
+    wrappedBytesReceived.add(wrappedLength);
+    unwrappedBytesReceived.add(unwrappedLength);
+  }
+
+  /**
+   * Records that data has been wrapped and sent in a SASL packet.
+   *
+   * @param unwrappedLength
+   *          The length of the unwrapped data.
+   * @param wrappedLength
+   *          The length of the packet, including its length prefix.
+   */
+  void packetSent(int unwrappedLength, int wrappedLength)
+  {
+    packetsSent.increment();
+    unwrappedBytesSent.add(unwrappedLength);
+    wrappedBytesSent.add(wrappedLength);
+  }
+
+  /**
+   * Records that writes have been sent together with the writes preceding them.
+   *
+   * @param nbWrites
+   *          The number of coalesced writes.
+   */
+  void writesCoalesced(long nbWrites)
+  {
+    coalescedWrites.add(nbWrites);
+  }
+
+  @Override
+  public MonitorData getMonitorData()
+  {
+    final MonitorData monitorAttrs = new MonitorData(7);
+    monitorAttrs.add("packets-received", packetsReceived.sum());
+    monitorAttrs.add("wrapped-bytes-received", wrappedBytesReceived.sum());
+    monitorAttrs.add("unwrapped-bytes-received", unwrappedBytesReceived.sum());
+    monitorAttrs.add("packets-sent", packetsSent.sum());
+    monitorAttrs.add("wrapped-bytes-sent", wrappedBytesSent.sum());
+    monitorAttrs.add("unwrapped-bytes-sent", unwrappedBytesSent.sum());
+    monitorAttrs.add("coalesced-writes", coalescedWrites.sum());
+    return monitorAttrs;
+  }
+}
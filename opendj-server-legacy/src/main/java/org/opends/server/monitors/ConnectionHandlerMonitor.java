@@ -121,6 +121,7 @@ public class ConnectionHandlerMonitor
       }
       attrs.add(ATTR_MONITOR_CONNHANDLER_CONNECTION, connectionSummaries);
     }
+    connectionHandler.addMonitorData(attrs);
 
     return attrs;
   }
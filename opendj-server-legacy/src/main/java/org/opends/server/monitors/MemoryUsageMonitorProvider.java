@@ -26,6 +26,7 @@ import java.util.HashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.forgerock.opendj.config.server.ConfigException;
+import org.forgerock.opendj.ldap.DNCache;
 import org.opends.server.api.MonitorData;
 import org.forgerock.opendj.server.config.server.MemoryUsageMonitorProviderCfg;
 import org.opends.server.api.MonitorProvider;
@@ -159,6 +160,14 @@ public class MemoryUsageMonitorProvider
       attrs.add(safeName + "-bytes-used-after-last-collection", collectionBytesUsed);
     }
 
+    long dnCacheHits = DNCache.getHitCount();
+    long dnCacheLookups = dnCacheHits + DNCache.getMissCount();
+    attrs.add("dn-cache-capacity", DNCache.getCapacity());
+    attrs.add("dn-cache-hits", dnCacheHits);
+    attrs.add("dn-cache-lookups", dnCacheLookups);
+    attrs.add("dn-cache-hit-ratio", dnCacheLookups > 0 ? 100 * dnCacheHits / dnCacheLookups : 0);
+    attrs.add("dn-cache-shared-dns", DNCache.getSharedCount());
+
     return attrs;
   }
 
@@ -1226,6 +1226,13 @@ public final class LDAPClientConnection extends ClientConnection implements
     return true;
   }
 
+  /** Records how long the operation waited in the work queue in the connection handler statistics. */
+  @Override
+  public void operationDequeued(Operation operation)
+  {
+    connectionHandler.recordQueueToDispatchTime(operation.getQueueingNanoTime());
+  }
+
   /**
    * Attempts to cancel the specified operation.
    *
@@ -29,6 +29,8 @@ import java.util.*;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.SSLContext;
@@ -129,6 +131,25 @@ public final class LDAPConnectionHandler extends
   /** The number of request handlers that should be used for this connection handler. */
   private int numRequestHandlers;
 
+  /**
+   * Indicates whether there is one request handler per processor, with new
+   * connections assigned to the least loaded one.
+   */
+  private boolean selectorPerCore;
+
+  /** The number of connections accepted during the last wakeup of the acceptor. */
+  private volatile int acceptBacklog;
+
+  /** The maximum number of connections accepted during a single wakeup of the acceptor. */
+  private volatile int maxAcceptBacklog;
+
+  /** The number of requests dequeued from the work queue by the worker threads. */
+  private final LongAdder dispatchedRequests = new LongAdder();
+  /** The total time, in nanoseconds, spent by the dispatched requests in the work queue. */
+  private final LongAdder totalQueueToDispatchTime = new LongAdder();
+  /** The maximum time, in nanoseconds, spent by a dispatched request in the work queue. */
+  private final AtomicLong maxQueueToDispatchTime = new AtomicLong();
+
   /** Indicates whether the Directory Server is in the process of shutting down. */
   private volatile boolean shutdownRequested;
 
@@ -606,8 +627,16 @@ public final class LDAPConnectionHandler extends
     backlog = config.getAcceptBacklog();
     listenAddresses = config.getListenAddress();
     listenPort = config.getListenPort();
-    numRequestHandlers =
-        getNumRequestHandlers(config.getNumRequestHandlers(), friendlyName);
+    selectorPerCore = config.isSelectorPerCore();
+    if (selectorPerCore && config.getNumRequestHandlers() == null)
+    {
+      numRequestHandlers = Runtime.getRuntime().availableProcessors();
+    }
+    else
+    {
+      numRequestHandlers =
+          getNumRequestHandlers(config.getNumRequestHandlers(), friendlyName);
+    }
 
     // Construct a unique name for this connection handler, and put
     // together the set of listeners.
@@ -992,11 +1021,19 @@ public final class LDAPConnectionHandler extends
         // Accept the new client connection.
         ServerSocketChannel serverChannel = (ServerSocketChannel) key
             .channel();
-        SocketChannel clientChannel = serverChannel.accept();
-        if (clientChannel != null)
+        int numAccepted = 0;
+        SocketChannel clientChannel;
+        while ((clientChannel = serverChannel.accept()) != null)
         {
           acceptConnection(clientChannel);
+          numAccepted++;
+          if (!selectorPerCore)
+          {
+            // Accept one connection per wakeup.
+            break;
+          }
         }
+        recordAcceptBacklog(numAccepted);
       }
 
       if (selectorState == 0 && enabled && !shutdownRequested
@@ -1117,13 +1154,7 @@ public final class LDAPConnectionHandler extends
         return;
       }
 
-      LDAPRequestHandler requestHandler =
-          requestHandlers[requestHandlerIndex++];
-      if (requestHandlerIndex >= numRequestHandlers)
-      {
-        requestHandlerIndex = 0;
-      }
-      requestHandler.registerClient(clientConnection);
+      nextRequestHandler().registerClient(clientConnection);
     }
     catch (Exception e)
     {
@@ -1140,6 +1171,82 @@ public final class LDAPConnectionHandler extends
     }
   }
 
+  /**
+   * Returns the request handler with which the next accepted connection
+   * should be registered.
+   */
+  private LDAPRequestHandler nextRequestHandler()
+  {
+    int index = requestHandlerIndex;
+    if (selectorPerCore)
+    {
+      // Pick the least loaded request handler. The search starts after the
+      // last chosen one so that ties are spread across the request handlers.
+      int minNumConnections = Integer.MAX_VALUE;
+      for (int i = 0; i < numRequestHandlers; i++)
+      {
+        int candidate = (requestHandlerIndex + i) % numRequestHandlers;
+        int numConnections = requestHandlers[candidate].getNumConnections();
+        if (numConnections < minNumConnections)
+        {
+          minNumConnections = numConnections;
+          index = candidate;
+        }
+      }
+    }
+    requestHandlerIndex = (index + 1) % numRequestHandlers;
+    return requestHandlers[index];
+  }
+
+  private void recordAcceptBacklog(int numAccepted)
+  {
+    acceptBacklog = numAccepted;
+    if (numAccepted > maxAcceptBacklog)
+    {
+      maxAcceptBacklog = numAccepted;
+    }
+  }
+
+  @Override
+  public void addMonitorData(MonitorData monitorData)
+  {
+    monitorData.add("selector-per-core", selectorPerCore);
+    monitorData.add("accept-backlog", acceptBacklog);
+    monitorData.add("max-accept-backlog", maxAcceptBacklog);
+    if (requestHandlers != null)
+    {
+      List<Integer> selectorConnections = new ArrayList<>(requestHandlers.length);
+      for (LDAPRequestHandler requestHandler : requestHandlers)
+      {
+        selectorConnections.add(requestHandler.getNumConnections());
+      }
+      monitorData.add("selector-connections", selectorConnections);
+    }
+    long nbDispatchedRequests = dispatchedRequests.sum();
+    monitorData.add("dispatched-requests", nbDispatchedRequests);
+    monitorData.add("queue-to-dispatch-avg-time-micros", nbDispatchedRequests > 0
+        ? TimeUnit.NANOSECONDS.toMicros(totalQueueToDispatchTime.sum() / nbDispatchedRequests) : 0);
+    monitorData.add("queue-to-dispatch-max-time-micros", TimeUnit.NANOSECONDS.toMicros(maxQueueToDispatchTime.get()));
+  }
+
+  /**
+   * Records that a worker thread dequeued a request received by this
+   * connection handler.
+   *
+   * @param queueingNanoTime
+   *          The time, in nanoseconds, the request spent in the work queue.
+   */
+  void recordQueueToDispatchTime(long queueingNanoTime)
+  {
+    dispatchedRequests.increment();
+    totalQueueToDispatchTime.add(queueingNanoTime);
+    long max = maxQueueToDispatchTime.get();
+    while (queueingNanoTime > max && !maxQueueToDispatchTime.compareAndSet(max, queueingNanoTime))
+    {
+      max = maxQueueToDispatchTime.get();
+    }
+  }
+
   /**
    * Appends a string representation of this connection handler to the provided
    * buffer.
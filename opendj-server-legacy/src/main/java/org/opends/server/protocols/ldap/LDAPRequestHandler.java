@@ -68,6 +68,8 @@ public class LDAPRequestHandler
 
   /** Lock object for synchronizing access to the pending connections queue. */
   private final Object pendingConnectionsLock = new Object();
+  /** The number of connections waiting to be registered with the selector. */
+  private volatile int numPendingConnections;
   /** The list of connections ready for request processing. */
   private final LinkedList<LDAPClientConnection> readyConnections = new LinkedList<>();
   /** The selector that will be used to monitor the client connections. */
@@ -209,6 +211,7 @@ public class LDAPRequestHandler
         {
           tmp = pendingConnections;
           pendingConnections = new LinkedList<>();
+          numPendingConnections = 0;
         }
       }
 
@@ -422,6 +425,7 @@ public class LDAPRequestHandler
     synchronized (pendingConnectionsLock)
     {
       pendingConnections.add(clientConnection);
+      numPendingConnections++;
     }
 
     selector.wakeup();
@@ -454,6 +458,19 @@ public class LDAPRequestHandler
     return connList;
   }
 
+  /**
+   * Retrieves the approximate number of client connections handled by this
+   * request handler, including the connections which are not registered with
+   * its selector yet.
+   *
+   * @return  The approximate number of client connections handled by this
+   *          request handler.
+   */
+  public int getNumConnections()
+  {
+    return keys.length + numPendingConnections;
+  }
+
   @Override
   public String getShutdownListenerName()
   {
@@ -0,0 +1,280 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.replication.common;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Sizes the receive window of a replication session from the behaviour
+ * observed by the receiver, in the spirit of TCP BBR.
+ * <p>
+ * The receiver grants credits to the sender with window messages and then sees
+ * the updates consuming these credits arrive. The first update which could
+ * only be sent after the sender had received a grant gives an estimate of the
+ * round trip time, the lowest of which is kept over a ten second window. The
+ * number of updates drained by the receiver (applied by a directory server or
+ * processed by a replication server) is sampled every 100 milliseconds, the
+ * highest sample over a ten second window giving the delivery rate. The
+ * adaptive window is twice the product of both, which keeps the pipe full
+ * without queuing more than the receiver can drain.
+ * <p>
+ * The adaptive window never goes below a fourth or above sixteen times the
+ * configured window. When adaptive sizing is disabled, the window remains the
+ * configured window while the estimates are still computed for monitoring.
+ */
+@ThreadSafe
+public final class FlowControlWindow
+{
+  /** Ratio between the adaptive window and the estimated bandwidth-delay product. */
+  private static final double WINDOW_GAIN = 2.0;
+  /** Maximum age of the minimum round trip time sample. */
+  private static final long RTT_FILTER_NANOS = SECONDS.toNanos(10);
+  /** Length of the intervals during which drained updates are counted. */
+  private static final long RATE_INTERVAL_NANOS = MILLISECONDS.toNanos(100);
+  /** Number of intervals covered by the delivery rate filter. */
+  private static final int RATE_INTERVALS = 100;
+  /** Maximum number of grants waiting for a round trip time sample. */
+  private static final int MAX_PENDING_GRANTS = 64;
+
+  private final boolean adaptive;
+  private final int minWindow;
+  private final int maxWindow;
+
+  @GuardedBy("this")
+  private int window;
+
+  /** Total number of credits granted to the sender, including the initial window. */
+  @GuardedBy("this")
+  private long creditsGranted;
+  /** Total number of updates received from the sender. */
+  @GuardedBy("this")
+  private long updatesReceived;
+  /** Grants not yet consumed, as {time of the grant, credits granted before it}. */
+  @GuardedBy("this")
+  private final ArrayDeque<long[]> pendingGrants = new ArrayDeque<>();
+  @GuardedBy("this")
+  private long minRttNanos = -1;
+  @GuardedBy("this")
+  private long minRttTimeNanos;
+
+  @GuardedBy("this")
+  private final int[] drainedPerInterval = new int[RATE_INTERVALS];
+  @GuardedBy("this")
+  private int intervalIndex;
+  @GuardedBy("this")
+  private int drainedInInterval;
+  @GuardedBy("this")
+  private long intervalStartNanos;
+
+  /**
+   * Creates a window for a newly established session.
+   *
+   * @param configuredWindow
+   *          the configured window, which is also the initial window granted
+   *          to the sender when the session is established
+   * @param adaptive
+   *          whether the window must be sized from the observed round trip
+   *          time and delivery rate
+   */
+  public FlowControlWindow(int configuredWindow, boolean adaptive)
+  {
+    this(configuredWindow, adaptive, System.nanoTime());
+  }
+
+  FlowControlWindow(int configuredWindow, boolean adaptive, long nowNanos)
+  {
+    this.adaptive = adaptive;
+    this.minWindow = Math.max(1, configuredWindow / 4);
+    this.maxWindow = (int) Math.min(Integer.MAX_VALUE / 2, 16L * configuredWindow);
+    this.window = configuredWindow;
+    this.creditsGranted = configuredWindow;
+    this.intervalStartNanos = nowNanos;
+  }
+
+  /**
+   * Returns whether the window is sized from the observed round trip time and
+   * delivery rate.
+   *
+   * @return whether the window is adaptive
+   */
+  public boolean isAdaptive()
+  {
+    return adaptive;
+  }
+
+  /**
+   * Records that credits were granted to the sender in a window message.
+   *
+   * @param credits
+   *          the number of credits granted
+   */
+  public void creditsGranted(int credits)
+  {
+    creditsGranted(credits, System.nanoTime());
+  }
+
+  synchronized void creditsGranted(int credits, long nowNanos)
+  {
+    if (credits <= 0)
+    {
+      return;
+    }
+    if (pendingGrants.size() == MAX_PENDING_GRANTS)
+    {
+      pendingGrants.removeFirst();
+    }
+    pendingGrants.addLast(new long[] { nowNanos, creditsGranted });
+    creditsGranted += credits;
+  }
+
+  /** Records that an update was received from the sender. */
+  public void updateReceived()
+  {
+    updateReceived(System.nanoTime());
+  }
+
+  synchronized void updateReceived(long nowNanos)
+  {
+    updatesReceived++;
+    long[] grant;
+    while ((grant = pendingGrants.peekFirst()) != null && grant[1] < updatesReceived)
+    {
+      // the sender could not send this update before it received the grant
+      pendingGrants.removeFirst();
+      addRttSample(nowNanos - grant[0], nowNanos);
+    }
+  }
+
+  private void addRttSample(long rttNanos, long nowNanos)
+  {
+    if (minRttNanos < 0 || rttNanos <= minRttNanos || nowNanos - minRttTimeNanos > RTT_FILTER_NANOS)
+    {
+      minRttNanos = rttNanos;
+      minRttTimeNanos = nowNanos;
+    }
+  }
+
+  /** Records that the receiver finished processing an update. */
+  public void updateDrained()
+  {
+    updateDrained(System.nanoTime());
+  }
+
+  synchronized void updateDrained(long nowNanos)
+  {
+    rollIntervals(nowNanos);
+    drainedInInterval++;
+  }
+
+  private void rollIntervals(long nowNanos)
+  {
+    if (nowNanos - intervalStartNanos >= RATE_INTERVALS * RATE_INTERVAL_NANOS)
+    {
+      // idle for longer than the filter: every sample is stale
+      Arrays.fill(drainedPerInterval, 0);
+      drainedInInterval = 0;
+      intervalStartNanos = nowNanos;
+      return;
+    }
+    while (nowNanos - intervalStartNanos >= RATE_INTERVAL_NANOS)
+    {
+      drainedPerInterval[intervalIndex] = drainedInInterval;
+      intervalIndex = (intervalIndex + 1) % RATE_INTERVALS;
+      drainedInInterval = 0;
+      intervalStartNanos += RATE_INTERVAL_NANOS;
+    }
+  }
+
+  private int maxDrainedPerInterval()
+  {
+    int max = drainedInInterval;
+    for (int drained : drainedPerInterval)
+    {
+      max = Math.max(max, drained);
+    }
+    return max;
+  }
+
+  /**
+   * Returns the number of credits the sender should hold. When the window is
+   * not adaptive, this is the configured window.
+   *
+   * @return the number of credits the sender should hold
+   */
+  public int getWindow()
+  {
+    return getWindow(System.nanoTime());
+  }
+
+  synchronized int getWindow(long nowNanos)
+  {
+    if (adaptive)
+    {
+      rollIntervals(nowNanos);
+      final int maxDrained = maxDrainedPerInterval();
+      if (minRttNanos > 0 && maxDrained > 0)
+      {
+        final double bdp = (double) maxDrained * minRttNanos / RATE_INTERVAL_NANOS;
+        window = (int) Math.max(minWindow, Math.min(maxWindow, Math.ceil(WINDOW_GAIN * bdp)));
+      }
+      // otherwise the session is idle: keep the last window
+    }
+    return window;
+  }
+
+  /**
+   * Returns the estimated round trip time between the receiver and the sender.
+   *
+   * @return the estimated round trip time in microseconds, or -1 if no
+   *         estimate is available yet
+   */
+  public synchronized long getRttEstimateMicros()
+  {
+    return minRttNanos < 0 ? -1 : NANOSECONDS.toMicros(minRttNanos);
+  }
+
+  /**
+   * Returns the estimated rate at which the receiver drains updates.
+   *
+   * @return the estimated number of updates drained per second
+   */
+  public long getDeliveryRate()
+  {
+    return getDeliveryRate(System.nanoTime());
+  }
+
+  synchronized long getDeliveryRate(long nowNanos)
+  {
+    rollIntervals(nowNanos);
+    return maxDrainedPerInterval() * SECONDS.toNanos(1) / RATE_INTERVAL_NANOS;
+  }
+
+  @Override
+  public synchronized String toString()
+  {
+    return getClass().getSimpleName() + "(adaptive=" + adaptive
+        + ", window=" + window
+        + ", minRttNanos=" + minRttNanos
+        + ", creditsGranted=" + creditsGranted
+        + ", updatesReceived=" + updatesReceived + ")";
+  }
+}
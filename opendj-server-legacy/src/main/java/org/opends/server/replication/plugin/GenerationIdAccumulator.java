@@ -0,0 +1,184 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.replication.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.jcip.annotations.GuardedBy;
+
+import org.forgerock.i18n.slf4j.LocalizedLogger;
+import org.forgerock.opendj.ldap.DN;
+import org.forgerock.opendj.ldap.schema.AttributeType;
+import org.forgerock.opendj.ldap.schema.Schema;
+import org.opends.server.api.ImportedEntryListener;
+import org.opends.server.types.Entry;
+import org.opends.server.types.LDIFExportConfig;
+
+/**
+ * Computes the generation ID of a replication domain from the entries stored
+ * by an LDIF import, while they are imported, so that the backend does not need
+ * to be exported again once the import is completed.
+ * <p>
+ * The value is the same as the one computed by exporting the backend: the sum
+ * of the bytes of the number of entries in the domain followed by the LDIF
+ * representation of the first entries exported, restricted to a few stable
+ * attributes. The checksums of the entries with the lowest ordinals are kept
+ * until the import is completed, since a parallel import does not store the
+ * entries in the order in which they will be exported.
+ * <p>
+ * This class is thread safe.
+ */
+final class GenerationIdAccumulator implements ImportedEntryListener
+{
+  private static final LocalizedLogger logger = LocalizedLogger.getLoggerForThisClass();
+
+  /** The attributes included in the generation ID. */
+  static final String[] GENERATION_ID_ATTRIBUTES = { "objectclass", "sn", "cn", "entryuuid" };
+  /**
+   * The maximum number of entries included in the generation ID. The export
+   * stops after the entry following the first thousand entries.
+   */
+  static final int MAX_CHECKSUMMED_ENTRIES = 1001;
+
+  private final DN baseDN;
+  private final Set<AttributeType> includeAttributes = new HashSet<>();
+  private final AtomicLong entryCount = new AtomicLong();
+  /** Maps the ordinals of the first entries to export to the checksum of their LDIF. */
+  @GuardedBy("this")
+  private final TreeMap<Long, Long> entryChecksums = new TreeMap<>();
+  private volatile boolean failed;
+
+  /**
+   * Creates a new accumulator for the entries of a replication domain.
+   *
+   * @param baseDN
+   *          the base DN of the replication domain
+   * @param schema
+   *          the schema defining the attributes included in the generation ID
+   */
+  GenerationIdAccumulator(DN baseDN, Schema schema)
+  {
+    this.baseDN = baseDN;
+    for (String attrName : GENERATION_ID_ATTRIBUTES)
+    {
+      includeAttributes.add(schema.getAttributeType(attrName));
+    }
+  }
+
+  @Override
+  public void entryImported(long entryOrdinal, Entry entry)
+  {
+    if (!entry.getName().isSubordinateOrEqualTo(baseDN))
+    {
+      return;
+    }
+    entryCount.incrementAndGet();
+    synchronized (this)
+    {
+      if (entryChecksums.size() >= MAX_CHECKSUMMED_ENTRIES && entryOrdinal > entryChecksums.lastKey())
+      {
+        return;
+      }
+    }
+
+    final long checksum = checksum(entry);
+    synchronized (this)
+    {
+      entryChecksums.put(entryOrdinal, checksum);
+      if (entryChecksums.size() > MAX_CHECKSUMMED_ENTRIES)
+      {
+        entryChecksums.pollLastEntry();
+      }
+    }
+  }
+
+  private long checksum(Entry entry)
+  {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final LDIFExportConfig exportConfig = new LDIFExportConfig(output);
+    exportConfig.setIncludeAttributes(includeAttributes);
+    try
+    {
+      entry.toLDIF(exportConfig);
+    }
+    catch (Exception e)
+    {
+      logger.traceException(e);
+      failed = true;
+    }
+    finally
+    {
+      exportConfig.close();
+    }
+
+    final byte[] bytes = output.toByteArray();
+    final GenerationIdChecksum checksum = new GenerationIdChecksum();
+    checksum.update(bytes, 0, bytes.length);
+    return checksum.getValue();
+  }
+
+  /**
+   * Returns whether the accumulated generation ID can be used for a domain
+   * containing the provided number of entries, i.e. whether every entry of the
+   * domain was seen during the import.
+   *
+   * @param numberOfEntries
+   *          the number of entries in the domain, as reported by the backend
+   * @return true if the accumulated generation ID can be used
+   */
+  boolean isComplete(long numberOfEntries)
+  {
+    return !failed && entryCount.get() == numberOfEntries;
+  }
+
+  /**
+   * Returns the number of entries of the domain seen so far.
+   *
+   * @return the number of entries of the domain seen so far
+   */
+  long getEntryCount()
+  {
+    return entryCount.get();
+  }
+
+  /**
+   * Returns the generation ID of the entries seen so far.
+   *
+   * @return the generation ID of the entries seen so far
+   */
+  synchronized long getGenerationId()
+  {
+    final GenerationIdChecksum checksum = new GenerationIdChecksum();
+    final byte[] countBytes = Long.toString(entryCount.get()).getBytes();
+    checksum.update(countBytes, 0, countBytes.length);
+    long generationId = checksum.getValue();
+    for (long entryChecksum : entryChecksums.values())
+    {
+      generationId += entryChecksum;
+    }
+    return generationId;
+  }
+
+  @Override
+  public String toString()
+  {
+    return getClass().getSimpleName() + "(baseDN=" + baseDN + ", entryCount=" + entryCount + ", failed=" + failed + ")";
+  }
+}
@@ -312,6 +312,12 @@ public final class LDAPReplicationDomain extends ReplicationDomain
 
   private final PersistentServerState state;
   private volatile boolean generationIdSavedStatus;
+  /**
+   * Computes the generation ID of the data stored by the LDIF import in
+   * progress, if any, so that the backend does not need to be exported again
+   * once the import is completed.
+   */
+  private volatile GenerationIdAccumulator importGenerationId;
 
   /**
    * This object is used to store the list of update currently being done on the local database.
@@ -3197,6 +3203,85 @@ private boolean solveNamingConflict(ModifyDNOperation op, LDAPUpdateMsg msg)
     return genId;
   }
 
+  /**
+   * Compute the data generationId associated with the data present in the
+   * backend for this domain, reusing the value computed while importing the
+   * data when every entry of the domain was seen during the import.
+   * @return The computed generationId.
+   * @throws DirectoryException When an error occurs.
+   */
+  private long computeGenerationIdAfterImport() throws DirectoryException
+  {
+    final GenerationIdAccumulator accumulator = importGenerationId;
+    if (accumulator != null
+        && accumulator.isComplete(getBackend().getNumberOfEntriesInBaseDN(getBaseDN())))
+    {
+      final long genId = accumulator.getGenerationId();
+      if (logger.isTraceEnabled())
+      {
+        logger.trace("Computed generationId during import: generationId=" + genId);
+      }
+      return genId;
+    }
+    return computeGenerationId();
+  }
+
+  /**
+   * Starts computing the generation ID of the entries stored by an LDIF import.
+   * The computed value is used instead of exporting the backend if the
+   * imported data does not provide a generation ID.
+   *
+   * @param importConfig
+   *          The configuration of the LDIF import which is about to start.
+   */
+  void startImportGenerationId(LDIFImportConfig importConfig)
+  {
+    final GenerationIdAccumulator accumulator =
+        new GenerationIdAccumulator(getBaseDN(), getServerContext().getSchema());
+    importConfig.registerImportedEntryListener(accumulator);
+    importGenerationId = accumulator;
+  }
+
+  /**
+   * Stops computing the generation ID of the entries stored by an LDIF import.
+   *
+   * @param importConfig
+   *          The configuration of the LDIF import which has completed.
+   */
+  void stopImportGenerationId(LDIFImportConfig importConfig)
+  {
+    final GenerationIdAccumulator accumulator = importGenerationId;
+    if (accumulator != null)
+    {
+      importConfig.deregisterImportedEntryListener(accumulator);
+      importGenerationId = null;
+    }
+  }
+
+  /**
+   * Computes the generation ID of the data present in the backend by exporting
+   * it, and compares it with the generation ID currently used by this domain.
+   * A warning is logged if they differ: the generation ID is left unchanged,
+   * resetting it is left to the administrator.
+   *
+   * @return The generation ID of the data present in the backend.
+   * @throws DirectoryException When an error occurs.
+   */
+  public long verifyGenerationId() throws DirectoryException
+  {
+    final long currentGenId = getGenerationID();
+    final long computedGenId = computeGenerationId();
+    if (computedGenId != currentGenId)
+    {
+      logger.warn(WARN_GENERATION_ID_MISMATCH, getBaseDN(), currentGenId, computedGenId);
+    }
+    else
+    {
+      logger.info(NOTE_GENERATION_ID_VERIFIED, currentGenId, getBaseDN());
+    }
+    return computedGenId;
+  }
+
   /**
    * Run a modify operation to update the entry whose DN is given as
    * a parameter with the generationID information.
@@ -3322,7 +3407,7 @@ private boolean solveNamingConflict(ModifyDNOperation op, LDAPUpdateMsg msg)
 
     if (!found)
     {
-      aGenerationId = computeGenerationId();
+      aGenerationId = computeGenerationIdAfterImport();
       saveGenerationId(aGenerationId);
 
       if (logger.isTraceEnabled())
@@ -3564,8 +3649,12 @@ private boolean solveNamingConflict(ModifyDNOperation op, LDAPUpdateMsg msg)
       importConfig.setValidateSchema(false);
       // Allow fractional replication ldif import plugin to be called
       importConfig.setInvokeImportPlugins(true);
+      // Let the backend importer use as many threads as configured
+      importConfig.setThreadCount(config.getInitializationImportThreadCount());
       // Reset the follow import flag and message before starting the import
       importErrorMessageId = -1;
+      // Compute the generation ID while importing, in case the import fails
+      startImportGenerationId(importConfig);
 
       // TODO How to deal with rejected entries during the import
       File rejectsFile =
@@ -3601,7 +3690,7 @@ private boolean solveNamingConflict(ModifyDNOperation op, LDAPUpdateMsg msg)
           // When an error occurred during an import, most of times
           // the generationId coming in the root entry of the imported data,
           // is not valid anymore (partial data in the backend).
-          generationId = computeGenerationId();
+          generationId = computeGenerationIdAfterImport();
           saveGenerationId(generationId);
         }
       }
@@ -3616,6 +3705,13 @@ private boolean solveNamingConflict(ModifyDNOperation op, LDAPUpdateMsg msg)
             ResultCode.OTHER,
             ERR_INIT_IMPORT_FAILURE.get(stackTraceToSingleLineString(fe))));
       }
+      finally
+      {
+        if (importConfig != null)
+        {
+          stopImportGenerationId(importConfig);
+        }
+      }
     }
 
     if (ieCtx.getException() != null)
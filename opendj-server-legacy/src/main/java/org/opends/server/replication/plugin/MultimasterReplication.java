@@ -650,6 +650,7 @@ public class MultimasterReplication
       if (domain != null)
       {
         domain.disable();
+        domain.startImportGenerationId(config);
       }
     }
   }
@@ -663,6 +664,7 @@ public class MultimasterReplication
       if (domain != null)
       {
         domain.enable();
+        domain.stopImportGenerationId(config);
       }
     }
   }
@@ -30,6 +30,12 @@ public class InitializeRequestMsg extends RoutableMsg
 {
   private final DN baseDN;
   private int initWindow;
+  /**
+   * Number of entries already received by the requester during a previous
+   * attempt of this initialization, 0 when the initialization must start from
+   * the first entry.
+   */
+  private long resumeOffset;
 
   /**
    * Creates a InitializeRequestMsg message.
@@ -71,6 +77,11 @@ public class InitializeRequestMsg extends RoutableMsg
     {
       initWindow = scanner.nextIntUTF8();
     }
+    // Optional trailing field, ignored by peers that do not support resuming
+    if (!scanner.isEmpty())
+    {
+      resumeOffset = scanner.nextLongUTF8();
+    }
   }
 
   /**
@@ -99,6 +110,10 @@ public class InitializeRequestMsg extends RoutableMsg
     if (version >= ProtocolVersion.REPLICATION_PROTOCOL_V4)
     {
       builder.appendIntUTF8(initWindow);
+      if (resumeOffset > 0)
+      {
+        builder.appendLongUTF8(resumeOffset);
+      }
     }
     return builder.toByteArray();
   }
@@ -111,7 +126,8 @@ public class InitializeRequestMsg extends RoutableMsg
   public String toString()
   {
     return "InitializeRequestMessage: baseDN=" + baseDN + " senderId="
-       + senderID + " destination=" + destination + " initWindow=" + initWindow;
+       + senderID + " destination=" + destination + " initWindow=" + initWindow
+       + " resumeOffset=" + resumeOffset;
   }
 
   /**
@@ -131,4 +147,27 @@ public class InitializeRequestMsg extends RoutableMsg
   {
     this.initWindow = initWindow;
   }
+
+  /**
+   * Returns the number of entries the requester already received during a
+   * previous attempt. The exporter skips all of them but the last one, which
+   * lets the requester check that the export resumes at the same entry.
+   *
+   * @return the number of entries already received, 0 to export all the entries.
+   */
+  public long getResumeOffset()
+  {
+    return resumeOffset;
+  }
+
+  /**
+   * Sets the number of entries the requester already received during a
+   * previous attempt. The exporter skips all of them but the last one.
+   *
+   * @param resumeOffset the number of entries already received, 0 to export all the entries.
+   */
+  public void setResumeOffset(long resumeOffset)
+  {
+    this.resumeOffset = resumeOffset;
+  }
 }
@@ -41,6 +41,14 @@ public class InitializeTargetMsg extends RoutableMsg
 
   private int initWindow;
 
+  /**
+   * Number of leading entries that the target already received during a
+   * previous attempt. All of them but the last one are not sent again: the
+   * target checks the DN of the first entry sent against the last entry it
+   * received.
+   */
+  private long resumeOffset;
+
   /**
    * Creates a InitializeTargetMsg.
    *
@@ -87,6 +95,11 @@ public class InitializeTargetMsg extends RoutableMsg
     {
       initWindow = scanner.nextIntUTF8();
     }
+    // Optional trailing field, ignored by peers that do not support resuming
+    if (!scanner.isEmpty())
+    {
+      resumeOffset = scanner.nextLongUTF8();
+    }
   }
 
   /**
@@ -148,6 +161,10 @@ public class InitializeTargetMsg extends RoutableMsg
     if (version >= ProtocolVersion.REPLICATION_PROTOCOL_V4)
     {
       builder.appendIntUTF8(initWindow);
+      if (resumeOffset > 0)
+      {
+        builder.appendLongUTF8(resumeOffset);
+      }
     }
     return builder.toByteArray();
   }
@@ -160,4 +177,26 @@ public class InitializeTargetMsg extends RoutableMsg
   {
     this.initWindow = initWindow;
   }
+
+  /**
+   * Returns the number of leading entries that the target already received
+   * during a previous attempt. All of them but the last one are not sent again.
+   *
+   * @return the number of entries already received, 0 when all the entries are sent.
+   */
+  public long getResumeOffset()
+  {
+    return resumeOffset;
+  }
+
+  /**
+   * Sets the number of leading entries that the target already received
+   * during a previous attempt. All of them but the last one are not sent again.
+   *
+   * @param resumeOffset the number of entries already received.
+   */
+  public void setResumeOffset(long resumeOffset)
+  {
+    this.resumeOffset = resumeOffset;
+  }
 }
@@ -837,6 +837,40 @@ public class ReplicationServer
     return this.config.getReplicationPurgeDelay() * 1000;
   }
 
+  /**
+   * Returns whether the changes stored in the change-log must be synchronized
+   * with the disk before being acknowledged.
+   *
+   * @return whether the change-log is synchronized with the disk on commit
+   */
+  public boolean isChangelogSyncEnabled()
+  {
+    return config.isChangelogSyncEnabled();
+  }
+
+  /**
+   * Returns whether the window granted to the servers sending updates to this
+   * replication server is sized from the observed round trip time and
+   * delivery rate rather than fixed to the configured window size.
+   *
+   * @return whether the receive window is adaptive
+   */
+  public boolean isAdaptiveWindowEnabled()
+  {
+    return config.isAdaptiveWindowEnabled();
+  }
+
+  /**
+   * Returns the time the change-log waits for concurrent changes to join a
+   * batch before writing it (in milliseconds).
+   *
+   * @return the group commit linger time of the change-log (in milliseconds)
+   */
+  public long getChangelogGroupCommitLinger()
+  {
+    return config.getChangelogGroupCommitLinger();
+  }
+
   /**
    * Check if the provided configuration is acceptable for add.
    *
@@ -901,6 +935,12 @@ public class ReplicationServer
       }
     }
 
+    if (config.isChangelogSyncEnabled() != oldConfig.isChangelogSyncEnabled()
+        || config.getChangelogGroupCommitLinger() != oldConfig.getChangelogGroupCommitLinger())
+    {
+      this.changelogDB.setGroupCommitParameters(isChangelogSyncEnabled(), getChangelogGroupCommitLinger());
+    }
+
     cryptoSuite.newParameters(config.getCipherTransformation(), config.getCipherKeyLength(),
         config.isConfidentialityEnabled());
 
@@ -23,6 +23,7 @@ import java.util.Random;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.forgerock.i18n.LocalizableMessage;
 import org.forgerock.i18n.slf4j.LocalizedLogger;
@@ -33,6 +34,7 @@ import org.forgerock.opendj.server.config.server.MonitorProviderCfg;
 import org.opends.server.core.DirectoryServer;
 import org.opends.server.replication.common.AssuredMode;
 import org.opends.server.replication.common.CSN;
+import org.opends.server.replication.common.FlowControlWindow;
 import org.opends.server.replication.common.RSInfo;
 import org.opends.server.replication.common.ServerStatus;
 import org.opends.server.replication.protocol.AckMsg;
@@ -137,10 +139,14 @@ public abstract class ServerHandler extends MessageHandler
 
   /** The size of the receiving window. */
   protected final int maxRcvWindow;
+  /** Sizes the receiving window from the observed round trip time and delivery rate. */
+  private final FlowControlWindow rcvFlowControl;
   /** Semaphore that the writer uses to control the flow to the remote server. */
   private Semaphore sendWindow;
   /** The initial size of the sending window. */
   private int sendWindowSize;
+  /** Total time the writer waited for the remote server to open the sending window. */
+  private final AtomicLong sendWindowThrottlingNanos = new AtomicLong();
   /** Remote generation id. */
   protected long generationId = -1;
   /** The generation id of the hosting RS. */
@@ -187,6 +193,7 @@ public abstract class ServerHandler extends MessageHandler
     this.rcvWindowSizeHalf = rcvWindowSize / 2;
     this.maxRcvWindow = rcvWindowSize;
     this.rcvWindow = rcvWindowSize;
+    this.rcvFlowControl = new FlowControlWindow(rcvWindowSize, replicationServer.isAdaptiveWindowEnabled());
   }
 
   /**
@@ -246,14 +253,31 @@ public abstract class ServerHandler extends MessageHandler
    */
   public synchronized void checkWindow() throws IOException
   {
-    if (rcvWindow < rcvWindowSizeHalf)
+    if (!rcvFlowControl.isAdaptive())
     {
-      WindowMsg msg = new WindowMsg(rcvWindowSizeHalf);
-      session.publish(msg);
-      rcvWindow += rcvWindowSizeHalf;
+      if (rcvWindow < rcvWindowSizeHalf)
+      {
+        grantCredits(rcvWindowSizeHalf);
+      }
+      return;
+    }
+
+    // Top the remote server credits up to the adaptive window
+    // once they fall below half of it
+    final int window = rcvFlowControl.getWindow();
+    if (rcvWindow < window / 2 || rcvWindow <= 0)
+    {
+      grantCredits(window - rcvWindow);
     }
   }
 
+  private void grantCredits(int credits) throws IOException
+  {
+    session.publish(new WindowMsg(credits));
+    rcvWindow += credits;
+    rcvFlowControl.creditsGranted(credits);
+  }
+
   /**
    * Decrement the protocol window, then check if it is necessary
    * to send a WindowMsg and send it.
@@ -263,6 +287,7 @@ public abstract class ServerHandler extends MessageHandler
   private synchronized void decAndCheckWindow() throws IOException
   {
     rcvWindow--;
+    rcvFlowControl.updateReceived();
     checkWindow();
   }
 
@@ -519,6 +544,11 @@ public abstract class ServerHandler extends MessageHandler
     attributes.add("current-send-window", sendWindow.availablePermits());
     attributes.add("max-rcv-window", maxRcvWindow);
     attributes.add("current-rcv-window", rcvWindow);
+    attributes.add("adaptive-rcv-window", rcvFlowControl.getWindow());
+    attributes.add("rcv-window-rtt-estimate-micros", rcvFlowControl.getRttEstimateMicros());
+    attributes.add("rcv-window-delivery-rate", rcvFlowControl.getDeliveryRate());
+    attributes.add("send-window-throttling-time-millis",
+        TimeUnit.NANOSECONDS.toMillis(sendWindowThrottlingNanos.get()));
 
     // Encryption
     attributes.add("ssl-encryption", session.isEncrypted());
@@ -810,7 +840,7 @@ public abstract class ServerHandler extends MessageHandler
    * @throws IOException
    *           When the session becomes unavailable.
    */
-  public void replyToWindowProbe() throws IOException
+  public synchronized void replyToWindowProbe() throws IOException
   {
     if (rcvWindow > 0)
     {
@@ -820,6 +850,7 @@ public abstract class ServerHandler extends MessageHandler
       // that everything will work better in the future.
       // TODO also log an error message.
       session.publish(new WindowMsg(rcvWindow));
+      rcvFlowControl.creditsGranted(rcvWindow);
     }
     else
     {
@@ -942,6 +973,12 @@ public abstract class ServerHandler extends MessageHandler
 
   private void acquirePermitInSendWindow()
   {
+    if (sendWindow.tryAcquire())
+    {
+      return;
+    }
+
+    final long startNanos = System.nanoTime();
     boolean acquired = false;
     boolean interrupted = true;
     do
@@ -955,6 +992,7 @@ public abstract class ServerHandler extends MessageHandler
         // loop until not interrupted
       }
     } while ((interrupted || !acquired) && !shutdownWriter);
+    sendWindowThrottlingNanos.addAndGet(System.nanoTime() - startNanos);
   }
 
   private void incrementAssuredStats(final UpdateMsg msg)
@@ -1129,6 +1167,7 @@ public abstract class ServerHandler extends MessageHandler
   {
     decAndCheckWindow();
     replicationServerDomain.put(update, this);
+    rcvFlowControl.updateDrained();
   }
 
   /**
@@ -15,6 +15,8 @@
  */
 package org.opends.server.replication.server.changelog.api;
 
+import java.util.List;
+
 import org.opends.server.replication.common.CSN;
 import org.forgerock.opendj.ldap.DN;
 
@@ -75,6 +77,25 @@ public interface ChangeNumberIndexDB
    */
   long addRecord(ChangeNumberIndexRecord record) throws ChangelogException;
 
+  /**
+   * Add the provided updates, in order, to the list of messages that must be
+   * saved to this DB and return the records as they were added, with their
+   * associated change numbers.
+   * <p>
+   * This method is equivalent to calling {@link #addRecord} for each record,
+   * but the records are written to the DB at once.
+   * <p>
+   * Note: this method disregards the changeNumber in the provided records.
+   *
+   * @param records
+   *          The {@link ChangeNumberIndexRecord}s to add to this DB.
+   * @return the records added to this DB, in the same order as the provided
+   *         records
+   * @throws ChangelogException
+   *           if a database problem occurs.
+   */
+  List<ChangeNumberIndexRecord> addRecords(List<ChangeNumberIndexRecord> records) throws ChangelogException;
+
   /**
    * Generate a new {@link DBCursor} that allows to browse the db managed by
    * this object and starting at the position defined by a given changeNumber.
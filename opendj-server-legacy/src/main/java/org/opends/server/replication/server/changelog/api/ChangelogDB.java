@@ -58,6 +58,19 @@ public interface ChangelogDB
   void setComputeChangeNumber(boolean computeChangeNumber)
       throws ChangelogException;
 
+  /**
+   * Sets how the replication database commits the changes it stores. Can be
+   * called while the database is running.
+   *
+   * @param syncEnabled
+   *          whether stored changes must be synchronized with the disk before
+   *          the call storing them returns
+   * @param lingerInMillis
+   *          the time to wait for concurrent changes to join a batch before
+   *          writing it, 0 to write each batch as soon as possible
+   */
+  void setGroupCommitParameters(boolean syncEnabled, long lingerInMillis);
+
   /**
    * Shutdown the replication database.
    *
@@ -21,6 +21,8 @@ import static org.opends.server.replication.server.changelog.file.BlockLogReader
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.SyncFailedException;
+import java.util.Collections;
+import java.util.List;
 
 import org.forgerock.opendj.ldap.ByteString;
 import org.forgerock.opendj.ldap.ByteStringBuilder;
@@ -118,14 +120,39 @@ class BlockLogWriter<K extends Comparable<K>, V> implements Closeable
    */
   public void write(final Record<K, V> record) throws ChangelogException
   {
+    write(Collections.singletonList(record));
+  }
+
+  /**
+   * Writes the provided records to the log file.
+   * <p>
+   * The records are encoded in memory and issued to the log file as a single
+   * write, so that concurrent appends batched by the log only cost one system
+   * call.
+   *
+   * @param records
+   *            The records to write, in key order.
+   * @throws ChangelogException
+   *            If a problem occurs during write.
+   */
+  public void write(final List<Record<K, V>> records) throws ChangelogException
+  {
+    final long startPosition = writer.getBytesWritten();
+    final ByteStringBuilder buffer = new ByteStringBuilder();
+    Record<K, V> current = null;
     try
     {
-      write(parser.encodeRecord(record));
+      for (Record<K, V> record : records)
+      {
+        current = record;
+        append(buffer, startPosition, parser.encodeRecord(record));
+      }
+      buffer.copyTo(writer);
       writer.flush();
     }
     catch (Exception e)
     {
-      throw new ChangelogException(ERR_CHANGELOG_UNABLE_TO_ADD_RECORD.get(record.toString(),
+      throw new ChangelogException(ERR_CHANGELOG_UNABLE_TO_ADD_RECORD.get(String.valueOf(current),
           writer.getFile().getPath()), e);
     }
   }
@@ -159,14 +186,16 @@ class BlockLogWriter<K extends Comparable<K>, V> implements Closeable
   }
 
   /**
-   * Writes the provided byte string to the log file.
+   * Appends the provided record to the buffer, inserting the block offsets.
    *
+   * @param buffer
+   *            The buffer of bytes to write, which may already contain records.
+   * @param startPosition
+   *            The position in the log file of the first byte of the buffer.
    * @param record
-   *            The value to write.
-   * @throws IOException
-   *            If an error occurs while writing
+   *            The encoded record to append.
    */
-  private void write(final ByteString record) throws IOException
+  private void append(final ByteStringBuilder buffer, final long startPosition, final ByteString record)
   {
     // Add length of record before writing
     ByteString data = new ByteStringBuilder(SIZE_OF_RECORD_SIZE + record.length()).
@@ -174,7 +203,8 @@ class BlockLogWriter<K extends Comparable<K>, V> implements Closeable
         appendBytes(record).
         toByteString();
 
-    int distanceToBlockStart = BlockLogReader.getDistanceToNextBlockStart(writer.getBytesWritten(), blockSize);
+    final long position = startPosition + buffer.length();
+    int distanceToBlockStart = BlockLogReader.getDistanceToNextBlockStart(position, blockSize);
     int cumulatedDistanceToBeginning = distanceToBlockStart;
     int dataPosition = 0;
     int dataRemaining = data.length();
@@ -186,19 +216,19 @@ class BlockLogWriter<K extends Comparable<K>, V> implements Closeable
       {
         // append part of record
         final int dataEndPosition = dataPosition + distanceToBlockStart;
-        writer.write(data.subSequence(dataPosition, dataEndPosition));
+        buffer.appendBytes(data.subSequence(dataPosition, dataEndPosition));
         dataPosition = dataEndPosition;
         dataRemaining -= distanceToBlockStart;
       }
       // append the offset to the record
-      writer.write(ByteString.valueOfInt(cumulatedDistanceToBeginning));
+      buffer.appendInt(cumulatedDistanceToBeginning);
 
       // next step
       distanceToBlockStart = dataSizeForOneBlock;
       cumulatedDistanceToBeginning += blockSize;
     }
     // append the remaining bytes to finish the record
-    writer.write(data.subSequence(dataPosition, data.length()));
+    buffer.appendBytes(data.subSequence(dataPosition, data.length()));
   }
 
 }
@@ -15,11 +15,14 @@
  */
 package org.opends.server.replication.server.changelog.file;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
 
 import org.forgerock.i18n.slf4j.LocalizedLogger;
+import org.forgerock.util.Pair;
 import org.opends.server.api.DirectoryThread;
 import org.opends.server.backends.ChangelogBackend;
 import org.opends.server.replication.common.CSN;
@@ -55,6 +58,9 @@ public class ChangeNumberIndexer extends DirectoryThread
   /** The tracer object for the debug logger. */
   private static final LocalizedLogger logger = LocalizedLogger.getLoggerForThisClass();
 
+  /** Maximum number of records persisted at once to the CNIndexDB. */
+  private static final int MAX_BATCH_SIZE = 1000;
+
   /**
    * If it contains nothing, then the run method executes normally.
    * Otherwise, the {@link #run()} method must clear its state
@@ -62,6 +68,8 @@ public class ChangeNumberIndexer extends DirectoryThread
    * {@link DN#rootDN()}, then all domains will be cleared.
    */
   private final ConcurrentSkipListSet<DN> domainsToClear = new ConcurrentSkipListSet<>();
+  /** Notified by the {@link #run()} method each time it has cleared its state for a domain. */
+  private final Object domainsClearedLock = new Object();
   private final ChangelogDB changelogDB;
   private final ChangelogStateProvider changelogStateProvider;
   private final ECLEnabledDomainPredicate predicate;
@@ -98,6 +106,14 @@ public class ChangeNumberIndexer extends DirectoryThread
   private ECLMultiDomainDBCursor nextChangeForInsertDBCursor;
   private MultiDomainServerState cookie = new MultiDomainServerState();
 
+  /**
+   * Changes older than the medium consistency point, waiting to be persisted
+   * to the CNIndexDB. The cookie is only updated once they are persisted.
+   * <p>
+   * Note: it is only accessed from the {@link #run()} method.
+   */
+  private final List<Pair<ChangeNumberIndexRecord, UpdateMsg>> recordsToPersist = new ArrayList<>();
+
   /**
    * Builds a ChangeNumberIndexer object.
    *  @param changelogDB
@@ -384,16 +400,14 @@ public class ChangeNumberIndexer extends DirectoryThread
       {
         try
         {
-          while (!domainsToClear.isEmpty())
+          if (!domainsToClear.isEmpty())
           {
-            final DN baseDNToClear = domainsToClear.first();
-            nextChangeForInsertDBCursor.removeDomain(baseDNToClear);
-            // Only release the waiting thread
-            // once this domain's state has been cleared.
-            domainsToClear.remove(baseDNToClear);
+            persistRecords();
+            clearDomains();
           }
           if (nextChangeForInsertDBCursor.shouldReInitialize())
           {
+            persistRecords();
             nextChangeForInsertDBCursor.close();
             initialize();
           }
@@ -403,9 +417,10 @@ public class ChangeNumberIndexer extends DirectoryThread
           final UpdateMsg msg = nextChangeForInsertDBCursor.getRecord();
           if (msg == null)
           {
+            persistRecords();
             synchronized (this)
             {
-              if (isShutdownInitiated())
+              if (isShutdownInitiated() || !domainsToClear.isEmpty())
               {
                 continue;
               }
@@ -429,6 +444,7 @@ public class ChangeNumberIndexer extends DirectoryThread
           {
             // the oldest record to insert is newer than the medium consistency
             // point. Let's wait for a change that can be published.
+            persistRecords();
             synchronized (this)
             {
               // double check to protect against a missed call to notify()
@@ -438,6 +454,10 @@ public class ChangeNumberIndexer extends DirectoryThread
                 {
                   return;
                 }
+                if (!domainsToClear.isEmpty())
+                {
+                  continue;
+                }
                 wait();
                 // loop to check if changes older than the medium consistency
                 // point have been added to the ReplicaDBs
@@ -447,15 +467,12 @@ public class ChangeNumberIndexer extends DirectoryThread
           }
 
           // OK, the oldest change is older than the medium consistency point
-          // let's publish it to the CNIndexDB.
-          final long changeNumber = changelogDB.getChangeNumberIndexDB()
-              .addRecord(new ChangeNumberIndexRecord(baseDN, csn));
-          if (!cookie.update(baseDN, csn))
+          // let's publish it to the CNIndexDB with the next batch of records.
+          recordsToPersist.add(Pair.of(new ChangeNumberIndexRecord(baseDN, csn), msg));
+          if (recordsToPersist.size() >= MAX_BATCH_SIZE)
           {
-            throw new IllegalStateException("It was expected that change (baseDN=" + baseDN + ", csn=" + csn
-                + ") would have updated the cookie=" + cookie + ", but it did not");
+            persistRecords();
           }
-          notifyEntryAddedToChangelog(baseDN, changeNumber, cookie, msg);
           moveForwardMediumConsistencyPoint(csn, baseDN);
         }
         catch (InterruptedException ignored)
@@ -464,6 +481,7 @@ public class ChangeNumberIndexer extends DirectoryThread
           Thread.currentThread().interrupt();
         }
       }
+      persistRecords();
     }
     catch (RuntimeException e)
     {
@@ -481,9 +499,61 @@ public class ChangeNumberIndexer extends DirectoryThread
     {
       nextChangeForInsertDBCursor.close();
       nextChangeForInsertDBCursor = null;
+      synchronized (domainsClearedLock)
+      {
+        // release threads waiting for this thread to clear a domain
+        domainsClearedLock.notifyAll();
+      }
+    }
+  }
+
+  private void clearDomains()
+  {
+    while (!domainsToClear.isEmpty())
+    {
+      final DN baseDNToClear = domainsToClear.first();
+      nextChangeForInsertDBCursor.removeDomain(baseDNToClear);
+      // Only release the waiting thread
+      // once this domain's state has been cleared.
+      domainsToClear.remove(baseDNToClear);
+      synchronized (domainsClearedLock)
+      {
+        domainsClearedLock.notifyAll();
+      }
     }
   }
 
+  /**
+   * Persists to the CNIndexDB the changes older than the medium consistency
+   * point found since the last call, then notifies the changelog backend.
+   */
+  private void persistRecords() throws ChangelogException
+  {
+    if (recordsToPersist.isEmpty())
+    {
+      return;
+    }
+    final List<ChangeNumberIndexRecord> records = new ArrayList<>(recordsToPersist.size());
+    for (Pair<ChangeNumberIndexRecord, UpdateMsg> pair : recordsToPersist)
+    {
+      records.add(pair.getFirst());
+    }
+    final List<ChangeNumberIndexRecord> addedRecords = changelogDB.getChangeNumberIndexDB().addRecords(records);
+    for (int i = 0; i < addedRecords.size(); i++)
+    {
+      final ChangeNumberIndexRecord record = addedRecords.get(i);
+      final DN baseDN = record.getBaseDN();
+      final CSN csn = record.getCSN();
+      if (!cookie.update(baseDN, csn))
+      {
+        throw new IllegalStateException("It was expected that change (baseDN=" + baseDN + ", csn=" + csn
+            + ") would have updated the cookie=" + cookie + ", but it did not");
+      }
+      notifyEntryAddedToChangelog(baseDN, record.getChangeNumber(), cookie, recordsToPersist.get(i).getSecond());
+    }
+    recordsToPersist.clear();
+  }
+
   private void moveToNextChange() throws ChangelogException
   {
     try
@@ -584,16 +654,28 @@ public class ChangeNumberIndexer extends DirectoryThread
   {
     final DN baseDNToClear = baseDN != null ? baseDN : DN.rootDN();
     domainsToClear.add(baseDNToClear);
-    while (domainsToClear.contains(baseDNToClear)
-        && !State.TERMINATED.equals(getState()))
+    // wake up the thread: it checks domainsToClear before waiting
+    synchronized (this)
     {
-      // wait until clear() has been done by thread, always waking it up
-      synchronized (this)
+      notify();
+    }
+    // wait until clear() has been done by thread
+    synchronized (domainsClearedLock)
+    {
+      while (domainsToClear.contains(baseDNToClear)
+          && !State.TERMINATED.equals(getState()))
       {
-        notify();
+        try
+        {
+          // the timeout covers the thread terminating without clearing the domain
+          domainsClearedLock.wait(100);
+        }
+        catch (InterruptedException e)
+        {
+          Thread.currentThread().interrupt();
+          return;
+        }
       }
-      // ensures thread wait that this thread's state is cleaned up
-      Thread.yield();
     }
   }
 }
@@ -20,10 +20,11 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.TreeMap;
+import java.util.PriorityQueue;
 
 import net.jcip.annotations.NotThreadSafe;
 
+import org.forgerock.util.Pair;
 import org.opends.server.replication.common.CSN;
 import org.opends.server.replication.protocol.UpdateMsg;
 import org.opends.server.replication.server.changelog.api.ChangelogException;
@@ -34,6 +35,10 @@ import org.opends.server.util.StaticUtils;
  * {@link DBCursor} implementation that iterates across a Collection of
  * {@link DBCursor}s, advancing from the oldest to the newest change cross all
  * cursors.
+ * <p>
+ * This is a k-way merge: the cursors are kept in a heap ordered by their
+ * current change, so that advancing the composite cursor only moves the cursor
+ * which provided the last change instead of comparing all the cursors again.
  *
  * @param <T>
  *          The type of data associated with each cursor
@@ -55,30 +60,28 @@ abstract class CompositeDBCursor<T> implements DBCursor<UpdateMsg>
    */
   private final Map<DBCursor<UpdateMsg>, T> exhaustedCursors = new HashMap<>();
   /**
-   * The cursors are sorted based on the current change of each cursor to
-   * consider the next change across all available cursors.
+   * The cursors are kept in a heap based on the current change of each cursor
+   * to consider the next change across all available cursors.
    * <p>
-   * New cursors for this Map must be created from the same thread that will
+   * New cursors for this heap must be created from the same thread that will
    * make use of them. When this rule is not obeyed, a JE exception will be
    * thrown about
    * "Non-transactional Cursors may not be used in multiple threads;".
    */
-  private final TreeMap<DBCursor<UpdateMsg>, T> cursors = new TreeMap<>(
-          new Comparator<DBCursor<UpdateMsg>>()
+  private final PriorityQueue<Pair<DBCursor<UpdateMsg>, T>> cursors = new PriorityQueue<>(11,
+          new Comparator<Pair<DBCursor<UpdateMsg>, T>>()
           {
             @Override
-            public int compare(DBCursor<UpdateMsg> o1, DBCursor<UpdateMsg> o2)
+            public int compare(Pair<DBCursor<UpdateMsg>, T> o1, Pair<DBCursor<UpdateMsg>, T> o2)
             {
-              final CSN csn1 = o1.getRecord().getCSN();
-              final CSN csn2 = o2.getRecord().getCSN();
+              final CSN csn1 = o1.getFirst().getRecord().getCSN();
+              final CSN csn2 = o2.getFirst().getRecord().getCSN();
               int cmpCsn = CSN.compare(csn1, csn2);
-              if (cmpCsn == 0
-                  && o1 instanceof CompositeDBCursor
-                  && o2 instanceof CompositeDBCursor)
+              if (cmpCsn == 0)
               {
                 // Ensures a consistent order when the CSNs are equal (rare in practice)
-                T data1 = ((CompositeDBCursor<T>) o1).getData();
-                T data2 = ((CompositeDBCursor<T>) o1).getData();
+                T data1 = o1.getSecond();
+                T data2 = o2.getSecond();
                 if (data1 instanceof Comparable && data2 instanceof Comparable)
                 {
                   return ((Comparable<T>) data1).compareTo(data2);
@@ -99,15 +102,15 @@ abstract class CompositeDBCursor<T> implements DBCursor<UpdateMsg>
 
     // If previous state was ready, then we must advance the first cursor
     // (which UpdateMsg has been consumed).
-    // To keep consistent the cursors' order in the SortedSet, it is necessary
+    // To keep consistent the cursors' order in the heap, it is necessary
     // to remove the first cursor, then add it again after moving it forward.
-    final Entry<DBCursor<UpdateMsg>, T> cursorToAdvance =
-        state != UNINITIALIZED ? cursors.pollFirstEntry() : null;
+    final Pair<DBCursor<UpdateMsg>, T> cursorToAdvance =
+        state != UNINITIALIZED ? cursors.poll() : null;
     state = READY;
     recycleExhaustedCursors();
     if (cursorToAdvance != null)
     {
-      addCursor(cursorToAdvance.getKey(), cursorToAdvance.getValue());
+      addCursor(cursorToAdvance.getFirst(), cursorToAdvance.getSecond());
     }
 
     incorporateNewCursors();
@@ -116,14 +119,14 @@ abstract class CompositeDBCursor<T> implements DBCursor<UpdateMsg>
 
   private void recycleExhaustedCursors() throws ChangelogException
   {
-    if (!exhaustedCursors.isEmpty())
+    // try to recycle exhausted cursors in case the underlying replica DBs received new changes.
+    for (Iterator<Entry<DBCursor<UpdateMsg>, T>> iter = exhaustedCursors.entrySet().iterator(); iter.hasNext();)
     {
-      // try to recycle exhausted cursors in case the underlying replica DBs received new changes.
-      final Map<DBCursor<UpdateMsg>, T> copy = new HashMap<>(exhaustedCursors);
-      exhaustedCursors.clear();
-      for (Entry<DBCursor<UpdateMsg>, T> entry : copy.entrySet())
+      final Entry<DBCursor<UpdateMsg>, T> entry = iter.next();
+      if (entry.getKey().next())
       {
-        addCursor(entry.getKey(), entry.getValue());
+        iter.remove();
+        cursors.add(Pair.of(entry.getKey(), entry.getValue()));
       }
     }
   }
@@ -136,14 +139,17 @@ abstract class CompositeDBCursor<T> implements DBCursor<UpdateMsg>
    */
   protected void removeCursor(final T dataToFind)
   {
-    removeCursor(this.cursors, dataToFind);
-    removeCursor(this.exhaustedCursors, dataToFind);
-  }
-
-  private void removeCursor(Map<DBCursor<UpdateMsg>, T> cursors, T dataToFind)
-  {
+    for (Iterator<Pair<DBCursor<UpdateMsg>, T>> cursorIter = cursors.iterator(); cursorIter.hasNext();)
+    {
+      final Pair<DBCursor<UpdateMsg>, T> pair = cursorIter.next();
+      if (dataToFind.equals(pair.getSecond()))
+      {
+        pair.getFirst().close();
+        cursorIter.remove();
+      }
+    }
     for (Iterator<Entry<DBCursor<UpdateMsg>, T>> cursorIter =
-        cursors.entrySet().iterator(); cursorIter.hasNext();)
+        exhaustedCursors.entrySet().iterator(); cursorIter.hasNext();)
     {
       final Entry<DBCursor<UpdateMsg>, T> entry = cursorIter.next();
       if (dataToFind.equals(entry.getValue()))
@@ -169,7 +175,7 @@ abstract class CompositeDBCursor<T> implements DBCursor<UpdateMsg>
   {
     if (cursor.next())
     {
-      this.cursors.put(cursor, data);
+      this.cursors.add(Pair.of(cursor, data));
     }
     else
     {
@@ -183,10 +189,10 @@ abstract class CompositeDBCursor<T> implements DBCursor<UpdateMsg>
   {
     // Cannot call incorporateNewCursors() here because
     // somebody might have already called DBCursor.getRecord() and read the record
-    final Entry<DBCursor<UpdateMsg>, T> entry = cursors.firstEntry();
-    if (entry != null)
+    final Pair<DBCursor<UpdateMsg>, T> pair = cursors.peek();
+    if (pair != null)
     {
-      return entry.getKey().getRecord();
+      return pair.getFirst().getRecord();
     }
     return null;
   }
@@ -208,10 +214,10 @@ abstract class CompositeDBCursor<T> implements DBCursor<UpdateMsg>
    */
   public T getData()
   {
-    final Entry<DBCursor<UpdateMsg>, T> entry = cursors.firstEntry();
-    if (entry != null)
+    final Pair<DBCursor<UpdateMsg>, T> pair = cursors.peek();
+    if (pair != null)
     {
-      return entry.getValue();
+      return pair.getSecond();
     }
     return null;
   }
@@ -220,7 +226,10 @@ abstract class CompositeDBCursor<T> implements DBCursor<UpdateMsg>
   public void close()
   {
     state = CLOSED;
-    StaticUtils.close(cursors.keySet());
+    for (Pair<DBCursor<UpdateMsg>, T> pair : cursors)
+    {
+      StaticUtils.close(pair.getFirst());
+    }
     StaticUtils.close(exhaustedCursors.keySet());
     cursors.clear();
     exhaustedCursors.clear();
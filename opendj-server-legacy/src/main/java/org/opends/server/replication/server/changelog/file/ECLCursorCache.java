@@ -0,0 +1,247 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.replication.server.changelog.file;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+import org.forgerock.opendj.ldap.DN;
+import org.opends.server.replication.common.MultiDomainServerState;
+import org.opends.server.util.StaticUtils;
+
+/**
+ * Keeps the external changelog cursors of the last cookie based searches open
+ * after the searches completed, so that a client polling the changelog with
+ * the cookie returned by its previous search resumes reading where this search
+ * stopped, instead of opening and positioning one cursor per replica again.
+ * <p>
+ * A cursor is suspended under the cookie describing its position. It can only
+ * be resumed by one search, which takes it out of the cache. Cursors which were
+ * not resumed in time, or which are evicted because the cache is full, are
+ * closed.
+ */
+@ThreadSafe
+public final class ECLCursorCache implements Closeable
+{
+  /** The default maximum number of suspended cursors. */
+  public static final int DEFAULT_MAX_CURSORS = 32;
+  /** The default time after which a suspended cursor is closed if it was not resumed. */
+  public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  /** A cursor suspended by a search. */
+  private static final class SuspendedCursor
+  {
+    private final ECLMultiDomainDBCursor cursor;
+    private final Set<DN> excludedBaseDNs;
+    private final long suspendTime;
+
+    private SuspendedCursor(ECLMultiDomainDBCursor cursor, Set<DN> excludedBaseDNs, long suspendTime)
+    {
+      this.cursor = cursor;
+      this.excludedBaseDNs = excludedBaseDNs;
+      this.suspendTime = suspendTime;
+    }
+  }
+
+  private final int maxCursors;
+  private final long idleTimeoutMillis;
+  /** Maps the cookie of each suspended cursor to the cursor, oldest first. */
+  @GuardedBy("this")
+  private final LinkedHashMap<String, SuspendedCursor> cursors = new LinkedHashMap<>();
+  @GuardedBy("this")
+  private boolean closed;
+  @GuardedBy("this")
+  private long hits;
+  @GuardedBy("this")
+  private long misses;
+
+  /**
+   * Creates a new cache.
+   *
+   * @param maxCursors
+   *          the maximum number of suspended cursors
+   * @param idleTimeoutMillis
+   *          the time after which a suspended cursor is closed if it was not resumed
+   */
+  public ECLCursorCache(int maxCursors, long idleTimeoutMillis)
+  {
+    this.maxCursors = maxCursors;
+    this.idleTimeoutMillis = idleTimeoutMillis;
+  }
+
+  /**
+   * Returns the cursor suspended at the position described by the provided
+   * cookie, removing it from this cache.
+   *
+   * @param cookie
+   *          the cookie sent by the client
+   * @param excludedBaseDNs
+   *          the base DNs excluded from the search
+   * @return the suspended cursor, or null if there is none for this cookie
+   */
+  public ECLMultiDomainDBCursor resume(MultiDomainServerState cookie, Set<DN> excludedBaseDNs)
+  {
+    final List<ECLMultiDomainDBCursor> toClose = new ArrayList<>();
+    try
+    {
+      synchronized (this)
+      {
+        removeExpiredCursors(toClose);
+        final SuspendedCursor suspended = cursors.remove(cookie.toString());
+        if (suspended != null)
+        {
+          if (suspended.excludedBaseDNs.equals(excludedBaseDNs) && !suspended.cursor.shouldReInitialize())
+          {
+            hits++;
+            return suspended.cursor;
+          }
+          toClose.add(suspended.cursor);
+        }
+        misses++;
+        return null;
+      }
+    }
+    finally
+    {
+      StaticUtils.close(toClose);
+    }
+  }
+
+  /**
+   * Suspends a cursor which returned all the changes up to the position
+   * described by the provided cookie. The cursor is closed if it cannot be
+   * suspended.
+   *
+   * @param cookie
+   *          the cookie describing the position of the cursor
+   * @param excludedBaseDNs
+   *          the base DNs excluded from the search
+   * @param cursor
+   *          the cursor to suspend
+   */
+  public void suspend(MultiDomainServerState cookie, Set<DN> excludedBaseDNs, ECLMultiDomainDBCursor cursor)
+  {
+    final List<ECLMultiDomainDBCursor> toClose = new ArrayList<>();
+    try
+    {
+      synchronized (this)
+      {
+        if (closed || maxCursors <= 0)
+        {
+          toClose.add(cursor);
+          return;
+        }
+        removeExpiredCursors(toClose);
+        // remove first so that the cursors remain ordered by suspend time
+        final String key = cookie.toString();
+        final SuspendedCursor previous = cursors.remove(key);
+        if (previous != null)
+        {
+          toClose.add(previous.cursor);
+        }
+        cursors.put(key, new SuspendedCursor(cursor, excludedBaseDNs, System.currentTimeMillis()));
+        for (Iterator<SuspendedCursor> it = cursors.values().iterator(); cursors.size() > maxCursors;)
+        {
+          toClose.add(it.next().cursor);
+          it.remove();
+        }
+      }
+    }
+    finally
+    {
+      StaticUtils.close(toClose);
+    }
+  }
+
+  @GuardedBy("this")
+  private void removeExpiredCursors(List<ECLMultiDomainDBCursor> toClose)
+  {
+    final long expiryTime = System.currentTimeMillis() - idleTimeoutMillis;
+    for (Iterator<SuspendedCursor> it = cursors.values().iterator(); it.hasNext();)
+    {
+      final SuspendedCursor suspended = it.next();
+      if (suspended.suspendTime > expiryTime)
+      {
+        // cursors are ordered by suspend time
+        break;
+      }
+      toClose.add(suspended.cursor);
+      it.remove();
+    }
+  }
+
+  /**
+   * Returns the number of searches which resumed a suspended cursor.
+   *
+   * @return the number of searches which resumed a suspended cursor
+   */
+  public synchronized long getHits()
+  {
+    return hits;
+  }
+
+  /**
+   * Returns the number of searches which did not find a suspended cursor.
+   *
+   * @return the number of searches which did not find a suspended cursor
+   */
+  public synchronized long getMisses()
+  {
+    return misses;
+  }
+
+  /**
+   * Returns the number of cursors currently suspended in this cache.
+   *
+   * @return the number of cursors currently suspended in this cache
+   */
+  public synchronized int getSize()
+  {
+    return cursors.size();
+  }
+
+  /** Closes all the suspended cursors. Cursors suspended afterwards are closed immediately. */
+  @Override
+  public void close()
+  {
+    final List<ECLMultiDomainDBCursor> toClose = new ArrayList<>();
+    synchronized (this)
+    {
+      closed = true;
+      for (SuspendedCursor suspended : cursors.values())
+      {
+        toClose.add(suspended.cursor);
+      }
+      cursors.clear();
+    }
+    StaticUtils.close(toClose);
+  }
+
+  @Override
+  public synchronized String toString()
+  {
+    return getClass().getSimpleName() + "(cursors=" + cursors.keySet() + ", hits=" + hits + ", misses=" + misses + ")";
+  }
+}
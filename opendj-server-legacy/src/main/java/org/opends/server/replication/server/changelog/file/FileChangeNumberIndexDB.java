@@ -18,6 +18,8 @@ package org.opends.server.replication.server.changelog.file;
 import static org.opends.messages.ReplicationMessages.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -170,6 +172,34 @@ class FileChangeNumberIndexDB implements ChangeNumberIndexDB
     return changeNumber;
   }
 
+  @Override
+  public List<ChangeNumberIndexRecord> addRecords(final List<ChangeNumberIndexRecord> records)
+      throws ChangelogException
+  {
+    final List<ChangeNumberIndexRecord> newRecords = new ArrayList<>(records.size());
+    final List<Record<Long, ChangeNumberIndexRecord>> logRecords = new ArrayList<>(records.size());
+    for (ChangeNumberIndexRecord record : records)
+    {
+      final long changeNumber = nextChangeNumber();
+      final ChangeNumberIndexRecord newRecord =
+          new ChangeNumberIndexRecord(changeNumber, record.getBaseDN(), record.getCSN());
+      newRecords.add(newRecord);
+      logRecords.add(Record.from(changeNumber, newRecord));
+    }
+    if (newRecords.isEmpty())
+    {
+      return newRecords;
+    }
+    log.append(logRecords);
+    newestChangeNumber = newRecords.get(newRecords.size() - 1).getChangeNumber();
+
+    if (logger.isTraceEnabled())
+    {
+      logger.trace("In FileChangeNumberIndexDB.addRecords, added: " + newRecords);
+    }
+    return newRecords;
+  }
+
   /** {@inheritDoc} */
   @Override
   public ChangeNumberIndexRecord getOldestRecord() throws ChangelogException
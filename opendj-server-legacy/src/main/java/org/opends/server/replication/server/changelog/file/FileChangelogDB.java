@@ -290,6 +290,8 @@ public class FileChangelogDB implements ChangelogDB, ReplicationDomainDB
         startIndexer();
       }
       setPurgeDelay(replicationServer.getPurgeDelay());
+      setGroupCommitParameters(replicationServer.isChangelogSyncEnabled(),
+          replicationServer.getChangelogGroupCommitLinger());
     }
     catch (ChangelogException e)
     {
@@ -579,6 +581,12 @@ public class FileChangelogDB implements ChangelogDB, ReplicationDomainDB
     }
   }
 
+  @Override
+  public void setGroupCommitParameters(final boolean syncEnabled, final long lingerInMillis)
+  {
+    replicationEnv.setGroupCommitParameters(syncEnabled, lingerInMillis);
+  }
+
   private void startCNPurger()
   {
     final ChangelogDBPurger newPurger = new ChangelogDBPurger();
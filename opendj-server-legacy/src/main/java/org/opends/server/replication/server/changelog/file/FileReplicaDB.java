@@ -155,16 +155,26 @@ class FileReplicaDB
               .toString(), String.valueOf(baseDN), String.valueOf(serverId)));
     }
 
+    // the log may commit this record together with records added concurrently
     log.append(Record.from(updateMsg.getCSN(), updateMsg));
 
+    updateCSNLimits(updateMsg.getCSN());
+  }
+
+  /**
+   * Updates the CSN limits after a record was added. Threads whose records were
+   * committed in the same batch call this method concurrently, in any order.
+   */
+  private synchronized void updateCSNLimits(final CSN csn)
+  {
     final CSNLimits limits = csnLimits;
-    final boolean updateNew = limits.newestCSN == null || limits.newestCSN.isOlderThan(updateMsg.getCSN());
+    final boolean updateNew = limits.newestCSN == null || limits.newestCSN.isOlderThan(csn);
     final boolean updateOld = limits.oldestCSN == null;
     if (updateOld || updateNew)
     {
       csnLimits = new CSNLimits(
-          updateOld ? updateMsg.getCSN() : limits.oldestCSN,
-          updateNew ? updateMsg.getCSN() : limits.newestCSN);
+          updateOld ? csn : limits.oldestCSN,
+          updateNew ? csn : limits.newestCSN);
     }
   }
 
@@ -209,7 +219,7 @@ class FileReplicaDB
   {
     RepositionableCursor<CSN, UpdateMsg> cursor = log.getCursor(startCSN, matchingStrategy, positionStrategy);
     CSN actualStartCSN = (startCSN != null && startCSN.getServerId() == serverId) ? startCSN : null;
-    return new FileReplicaDBCursor(cursor, actualStartCSN, positionStrategy);
+    return new FileReplicaDBCursor(cursor, this, actualStartCSN, positionStrategy);
   }
 
   /** Shutdown this ReplicaDB. */
@@ -368,7 +378,7 @@ class FileReplicaDB
           ByteStringBuilder builder = new ByteStringBuilder(messageBytes.length + encryptionOverhead);
           builder.appendByte(UpdateMsg.MSG_TYPE_DISK_ENCODING);
           builder.appendByte(RECORD_VERSION);
-          builder.appendBytes(cryptoSuite.encrypt(messageBytes));
+          cryptoSuite.encrypt(ByteString.wrap(messageBytes), builder);
           final int overhead = builder.length() - messageBytes.length;
           if (encryptionOverhead < overhead)
           {
@@ -55,6 +55,9 @@ class FileReplicaDBCursor implements DBCursor<UpdateMsg>
   /** The underlying cursor. */
   private final RepositionableCursor<CSN, UpdateMsg> cursor;
 
+  /** The replica DB read by this cursor, used to avoid repositioning when it has no new records. */
+  private final FileReplicaDB replicaDB;
+
   /** The next record to return. */
   private Record<CSN, UpdateMsg> nextRecord;
 
@@ -79,7 +82,30 @@ class FileReplicaDBCursor implements DBCursor<UpdateMsg>
       final RepositionableCursor<CSN, UpdateMsg> cursor,
       final CSN startCSN,
       final PositionStrategy positionStrategy) {
+    this(cursor, null, startCSN, positionStrategy);
+  }
+
+  /**
+   * Creates the cursor from provided log cursor and start CSN.
+   *
+   * @param cursor
+   *          The underlying log cursor to read log.
+   * @param replicaDB
+   *          The replica DB read by the log cursor, may be null.
+   * @param startCSN
+   *          The CSN to use as a start point (excluded from cursor, the lowest
+   *          CSN higher than this CSN is used as the real start point).
+   * @param positionStrategy
+   *          Cursor position strategy, which allow to choose if cursor must
+   *          start from the provided CSN or just after the provided CSN.
+   */
+  FileReplicaDBCursor(
+      final RepositionableCursor<CSN, UpdateMsg> cursor,
+      final FileReplicaDB replicaDB,
+      final CSN startCSN,
+      final PositionStrategy positionStrategy) {
     this.cursor = cursor;
+    this.replicaDB = replicaDB;
     this.lastNonNullCurrentCSN = startCSN;
     this.positionStrategy = positionStrategy;
   }
@@ -95,6 +121,12 @@ class FileReplicaDBCursor implements DBCursor<UpdateMsg>
   @Override
   public boolean next() throws ChangelogException
   {
+    if (!mayHaveNextRecord())
+    {
+      // cheaply skip reading and repositioning the log when nothing was added
+      nextRecord = null;
+      return false;
+    }
     if (cursor.next())
     {
       nextRecord = cursor.getRecord();
@@ -111,6 +143,26 @@ class FileReplicaDBCursor implements DBCursor<UpdateMsg>
     return nextWhenCursorIsExhaustedOrNotCorrectlyPositionned();
   }
 
+  /**
+   * Returns whether the replica DB may contain a record to return, based on the
+   * newest CSN it contains. Composite cursors call {@link #next()} on exhausted
+   * cursors before returning each change, so this must be cheap.
+   */
+  private boolean mayHaveNextRecord()
+  {
+    if (replicaDB == null || lastNonNullCurrentCSN == null)
+    {
+      return true;
+    }
+    final CSN newestCSN = replicaDB.getNewestCSN();
+    if (newestCSN == null)
+    {
+      return false;
+    }
+    final int compare = newestCSN.compareTo(lastNonNullCurrentCSN);
+    return compare > 0 || (compare == 0 && positionStrategy == ON_MATCHING_KEY);
+  }
+
   /** Re-initialize the cursor after the last non null CSN. */
   private boolean nextWhenCursorIsExhaustedOrNotCorrectlyPositionned() throws ChangelogException
   {
@@ -25,6 +25,8 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -34,6 +36,7 @@ import java.util.TreeMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import net.jcip.annotations.GuardedBy;
@@ -179,6 +182,35 @@ final class Log<K extends Comparable<K>, V> implements Closeable
   /** The shared lock used for write operations and accessing {@link #logFiles} map. */
   private final Lock sharedLock;
 
+  /**
+   * Indicates whether appended records are synchronized with the file system
+   * before {@link #append(Record)} returns.
+   */
+  private volatile boolean syncOnCommit;
+
+  /**
+   * Time the thread committing a batch of appends waits for concurrent appends
+   * to join the batch. No wait happens if equals to zero.
+   */
+  private volatile long groupCommitLingerInMillis;
+
+  /** The appends waiting to be committed when group commit is enabled. */
+  @GuardedBy("pendingAppends")
+  private final List<PendingAppend<K, V>> pendingAppends = new ArrayList<>();
+
+  /** Orders the pending appends by the key of their record. */
+  private final Comparator<PendingAppend<K, V>> pendingAppendKeyOrder = new Comparator<PendingAppend<K, V>>()
+  {
+    @Override
+    public int compare(PendingAppend<K, V> append1, PendingAppend<K, V> append2)
+    {
+      return append1.record.getKey().compareTo(append2.record.getKey());
+    }
+  };
+
+  /** The lock held by the thread committing a batch of appends. */
+  private final Lock commitLock = new ReentrantLock();
+
   /**
    * The replication environment used to create this log. The log is notifying it for any change
    * that must be persisted.
@@ -284,6 +316,26 @@ final class Log<K extends Comparable<K>, V> implements Closeable
     this.rotationIntervalInMillis = rotationIntervalInMillis;
   }
 
+  /**
+   * Set the group commit parameters of this log.
+   * <p>
+   * When group commit is enabled, records appended concurrently are written to
+   * the head log file as a single batch by one of the appending threads, then
+   * synchronized once with the file system if required.
+   *
+   * @param syncOnCommit
+   *           whether appended records must be synchronized with the file
+   *           system before {@link #append(Record)} returns
+   * @param lingerInMillis
+   *           time to wait for concurrent appends before committing a batch,
+   *           zero to commit immediately
+   */
+  void setGroupCommitParameters(boolean syncOnCommit, long lingerInMillis)
+  {
+    this.syncOnCommit = syncOnCommit;
+    this.groupCommitLingerInMillis = lingerInMillis;
+  }
+
   /**
    * Release a reference to the log corresponding to provided path. The log is
    * closed if this is the last reference.
@@ -403,11 +455,13 @@ final class Log<K extends Comparable<K>, V> implements Closeable
    * <p>
    * The record must have a key strictly higher than the key
    * of the last record added. If it is not the case, the record is not
-   * appended.
+   * appended. When group commit is enabled, the concurrent appends are
+   * committed in key order.
    * <p>
    * In order to ensure that record is written out of buffers and persisted
    * to file system, it is necessary to explicitly call the
-   * {@code syncToFileSystem()} method.
+   * {@code syncToFileSystem()} method, unless the log has been configured to
+   * sync on commit with {@link #setGroupCommitParameters(boolean, long)}.
    *
    * @param record
    *          The record to add.
@@ -415,6 +469,118 @@ final class Log<K extends Comparable<K>, V> implements Closeable
    *           If an error occurs while adding the record to the log.
    */
   public void append(final Record<K, V> record) throws ChangelogException
+  {
+    if (syncOnCommit || groupCommitLingerInMillis > 0)
+    {
+      groupCommit(record);
+    }
+    else
+    {
+      append(Collections.singletonList(record), false);
+    }
+  }
+
+  /**
+   * Add the provided records at the end of this log, using a single write.
+   * <p>
+   * The records must be provided in key order. As for {@link #append(Record)},
+   * records that do not have a key strictly higher than the key of the last
+   * record added are not appended.
+   *
+   * @param records
+   *          The records to add.
+   * @throws ChangelogException
+   *           If an error occurs while adding the records to the log.
+   */
+  public void append(final List<Record<K, V>> records) throws ChangelogException
+  {
+    if (!records.isEmpty())
+    {
+      append(records, syncOnCommit);
+    }
+  }
+
+  /**
+   * Commits the provided record together with the records appended concurrently.
+   * <p>
+   * The first appending thread to obtain the commit lock writes all the pending
+   * records at once. The other threads find their record already committed when
+   * they obtain the lock and return immediately.
+   */
+  private void groupCommit(final Record<K, V> record) throws ChangelogException
+  {
+    final PendingAppend<K, V> pending = new PendingAppend<>(record);
+    synchronized (pendingAppends)
+    {
+      pendingAppends.add(pending);
+    }
+
+    commitLock.lock();
+    try
+    {
+      if (!pending.isCommitted)
+      {
+        lingerForConcurrentAppends();
+        final List<PendingAppend<K, V>> batch;
+        synchronized (pendingAppends)
+        {
+          batch = new ArrayList<>(pendingAppends);
+          pendingAppends.clear();
+        }
+        // concurrent appends are queued in arrival order, not key order
+        Collections.sort(batch, pendingAppendKeyOrder);
+        final List<Record<K, V>> records = new ArrayList<>(batch.size());
+        for (PendingAppend<K, V> append : batch)
+        {
+          append.isCommitted = true;
+          records.add(append.record);
+        }
+
+        // records breaking the key ordering are filtered out, as for a single append
+        ChangelogException failure = null;
+        try
+        {
+          append(records, syncOnCommit);
+        }
+        catch (ChangelogException e)
+        {
+          failure = e;
+        }
+        for (PendingAppend<K, V> append : batch)
+        {
+          append.failure = failure;
+        }
+      }
+      if (pending.failure != null)
+      {
+        throw pending.failure;
+      }
+    }
+    finally
+    {
+      commitLock.unlock();
+    }
+  }
+
+  private void lingerForConcurrentAppends()
+  {
+    final long lingerInMillis = groupCommitLingerInMillis;
+    if (lingerInMillis > 0)
+    {
+      try
+      {
+        Thread.sleep(lingerInMillis);
+      }
+      catch (InterruptedException e)
+      {
+        // commit the batch gathered so far
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /** Appends the provided records to the head log file, rotating it first if needed. */
+  private void append(final List<Record<K, V>> records, final boolean sync) throws ChangelogException
   {
     // Fast-path - assume that no rotation is needed and use shared lock.
     sharedLock.lock();
@@ -427,7 +593,7 @@ final class Log<K extends Comparable<K>, V> implements Closeable
       LogFile<K, V> headLogFile = getHeadLogFile();
       if (!mustRotate(headLogFile))
       {
-        headLogFile.append(record);
+        appendToHeadLogFile(headLogFile, records, sync);
         return;
       }
     }
@@ -445,7 +611,7 @@ final class Log<K extends Comparable<K>, V> implements Closeable
         return;
       }
       LogFile<K, V> headLogFile = getHeadLogFile();
-      if (headLogFile.appendWouldBreakKeyOrdering(record))
+      if (allAppendsWouldBreakKeyOrdering(headLogFile, records))
       {
         // abort rotation
         return;
@@ -457,7 +623,7 @@ final class Log<K extends Comparable<K>, V> implements Closeable
         rotateHeadLogFile();
         headLogFile = getHeadLogFile();
       }
-      headLogFile.append(record);
+      appendToHeadLogFile(headLogFile, records, sync);
     }
     finally
     {
@@ -465,6 +631,35 @@ final class Log<K extends Comparable<K>, V> implements Closeable
     }
   }
 
+  private void appendToHeadLogFile(final LogFile<K, V> headLogFile, final List<Record<K, V>> records,
+      final boolean sync) throws ChangelogException
+  {
+    if (records.size() == 1)
+    {
+      headLogFile.append(records.get(0));
+    }
+    else
+    {
+      headLogFile.append(records);
+    }
+    if (sync)
+    {
+      headLogFile.syncToFileSystem();
+    }
+  }
+
+  private boolean allAppendsWouldBreakKeyOrdering(final LogFile<K, V> headLogFile, final List<Record<K, V>> records)
+  {
+    for (Record<K, V> record : records)
+    {
+      if (!headLogFile.appendWouldBreakKeyOrdering(record))
+      {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private boolean mustRotate(LogFile<K, V> headLogFile)
   {
     if (headLogFile.getNewestRecord() == null)
@@ -1182,6 +1377,21 @@ final class Log<K extends Comparable<K>, V> implements Closeable
         throws ChangelogException;
   }
 
+  /** A record waiting to be committed by a group commit. */
+  private static final class PendingAppend<K extends Comparable<K>, V>
+  {
+    private final Record<K, V> record;
+    /** Guarded by the commit lock. */
+    private boolean isCommitted;
+    /** Guarded by the commit lock. */
+    private ChangelogException failure;
+
+    private PendingAppend(final Record<K, V> record)
+    {
+      this.record = record;
+    }
+  }
+
   /**
    * Represents an internal view of a cursor on the log, with extended operations.
    * <p>
@@ -23,6 +23,8 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -264,6 +266,48 @@ final class LogFile<K extends Comparable<K>, V> implements Closeable
     }
   }
 
+  /**
+   * Add the provided records at the end of this log, using a single write.
+   * <p>
+   * Records whose key is not strictly higher than the key of the last record
+   * added are not appended.
+   *
+   * @param records
+   *          The records to add, in key order.
+   * @throws ChangelogException
+   *           If the records can't be added to the log.
+   */
+  void append(final List<Record<K, V>> records) throws ChangelogException
+  {
+    checkLogIsEnabledForWrite();
+    exclusiveLock.lock();
+    try
+    {
+      final List<Record<K, V>> toWrite = new ArrayList<>(records.size());
+      Record<K, V> newest = newestRecord;
+      for (Record<K, V> record : records)
+      {
+        if (newest != null && record.getKey().compareTo(newest.getKey()) <= 0)
+        {
+          logger.debug(
+              INFO_CHANGELOG_FILTER_OUT_RECORD_BREAKING_ORDER.get(logfile.getPath(), record, newest.getKey()));
+          continue;
+        }
+        toWrite.add(record);
+        newest = record;
+      }
+      if (!toWrite.isEmpty())
+      {
+        writer.write(toWrite);
+        newestRecord = newest;
+      }
+    }
+    finally
+    {
+      exclusiveLock.unlock();
+    }
+  }
+
   /** Indicates if the provided record has a key that would break the key ordering if appended in this file log. */
   boolean appendWouldBreakKeyOrdering(final Record<K, V> record)
   {
@@ -244,6 +244,18 @@ class ReplicationEnvironment implements ChangelogStateProvider
    */
   private long cnIndexDBRotationInterval;
 
+  /**
+   * Indicates whether the logs synchronize appended records with the file system before returning.
+   * It can be modified at any time.
+   */
+  private volatile boolean syncOnCommit;
+
+  /**
+   * For Replica DBs, the time to wait for concurrent appends to join a batch before writing it.
+   * It is disabled if equals to zero. It can be modified at any time.
+   */
+  private volatile long groupCommitLingerInMillis;
+
   /**
    * For CN Index DB, the last time a log file was rotated.
    * It is persisted to file each time it changes and read at server start. */
@@ -286,6 +298,32 @@ class ReplicationEnvironment implements ChangelogStateProvider
     }
   }
 
+  /**
+   * Sets the group commit parameters of the logs.
+   * <p>
+   * The linger time only applies to the Replica DBs, which can be written
+   * concurrently. The CN Index DB has a single writer which appends its
+   * records in batches.
+   *
+   * @param syncOnCommit
+   *          whether appended records must be synchronized with the file system before returning
+   * @param lingerInMillis
+   *          time to wait for concurrent appends to join a batch before writing it
+   */
+  void setGroupCommitParameters(boolean syncOnCommit, long lingerInMillis)
+  {
+    this.syncOnCommit = syncOnCommit;
+    this.groupCommitLingerInMillis = lingerInMillis;
+    for (Log<CSN, UpdateMsg> log : logsReplicaDB)
+    {
+      log.setGroupCommitParameters(syncOnCommit, lingerInMillis);
+    }
+    for (Log<Long, ChangeNumberIndexRecord> log : logsCNIndexDB)
+    {
+      log.setGroupCommitParameters(syncOnCommit, 0);
+    }
+  }
+
   /**
    * Returns the state of the replication changelog.
    *
@@ -368,8 +406,10 @@ class ReplicationEnvironment implements ChangelogStateProvider
         ensureGenerationIdFileExists(generationIdPath);
         changelogState.setDomainGenerationId(domainDN, generationId);
 
-        return openLog(serverIdPath, FileReplicaDB.newReplicaDBParser(cryptoSuite),
+        final Log<CSN, UpdateMsg> log = openLog(serverIdPath, FileReplicaDB.newReplicaDBParser(cryptoSuite),
             new LogRotationParameters(REPLICA_DB_MAX_LOG_FILE_SIZE_IN_BYTES, 0, 0), logsReplicaDB);
+        log.setGroupCommitParameters(syncOnCommit, groupCommitLingerInMillis);
+        return log;
       }
     }
     catch (Exception e)
@@ -398,7 +438,10 @@ class ReplicationEnvironment implements ChangelogStateProvider
     {
       final LogRotationParameters rotationParams = new LogRotationParameters(CN_INDEX_DB_MAX_LOG_FILE_SIZE_IN_BYTES,
           cnIndexDBRotationInterval, cnIndexDBLastRotationTime);
-      return openLog(path, FileChangeNumberIndexDB.RECORD_PARSER, rotationParams, logsCNIndexDB);
+      final Log<Long, ChangeNumberIndexRecord> log =
+          openLog(path, FileChangeNumberIndexDB.RECORD_PARSER, rotationParams, logsCNIndexDB);
+      log.setGroupCommitParameters(syncOnCommit, 0);
+      return log;
     }
     catch (Exception e)
     {
@@ -0,0 +1,71 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.replication.service;
+
+/**
+ * Finds the end of the LDIF records contained in a stream of bytes which is
+ * delivered in chunks of arbitrary size.
+ * <p>
+ * A record ends with an empty line. Both the exporter and the importer of a
+ * total update use this class so that they agree on the number of records
+ * contained in the stream, whatever the way it was split into messages.
+ */
+final class LDIFRecordBoundaries
+{
+  /** Whether the last byte scanned (ignoring carriage returns) was a line feed. */
+  private boolean afterLineFeed;
+
+  /**
+   * Returns the position immediately following the end of the first record
+   * found in the provided bytes.
+   *
+   * @param bytes
+   *          the bytes to scan
+   * @param offset
+   *          the position of the first byte to scan
+   * @param end
+   *          the position following the last byte to scan
+   * @return the position immediately following the end of the first record
+   *         found, or -1 if no record ends in the provided bytes
+   */
+  int nextRecordEnd(byte[] bytes, int offset, int end)
+  {
+    for (int i = offset; i < end; i++)
+    {
+      final byte b = bytes[i];
+      if (b == '\n')
+      {
+        if (afterLineFeed)
+        {
+          afterLineFeed = false;
+          return i + 1;
+        }
+        afterLineFeed = true;
+      }
+      else if (b != '\r')
+      {
+        afterLineFeed = false;
+      }
+    }
+    return -1;
+  }
+
+  /** Forgets about the bytes scanned so far. */
+  void reset()
+  {
+    afterLineFeed = false;
+  }
+}
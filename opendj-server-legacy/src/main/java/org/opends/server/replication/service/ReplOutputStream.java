@@ -31,6 +31,10 @@ class ReplOutputStream extends OutputStream
   /** The current number of entries exported. */
   private final long numExportedEntries = 0;
 
+  /** Number of leading entries still to be skipped when resuming an export. */
+  private long entriesToSkip;
+  private final LDIFRecordBoundaries boundaries = new LDIFRecordBoundaries();
+
   /**
    * Creates a new ReplLDIFOutputStream related to a replication
    * domain.
@@ -38,8 +42,22 @@ class ReplOutputStream extends OutputStream
    * @param domain The replication domain
    */
   ReplOutputStream(ReplicationDomain domain)
+  {
+    this(domain, 0);
+  }
+
+  /**
+   * Creates a new ReplLDIFOutputStream related to a replication
+   * domain that does not send the first entries written to it.
+   *
+   * @param domain The replication domain
+   * @param entriesToSkip The number of leading entries that the remote
+   *                      server already received
+   */
+  ReplOutputStream(ReplicationDomain domain, long entriesToSkip)
   {
     this.domain = domain;
+    this.entriesToSkip = entriesToSkip;
   }
 
   /** {@inheritDoc} */
@@ -53,7 +71,23 @@ class ReplOutputStream extends OutputStream
   @Override
   public void write(byte b[], int off, int len) throws IOException
   {
-    domain.exportLDIFEntry(b, off, len);
+    final int end = off + len;
+    int start = off;
+    while (entriesToSkip > 0)
+    {
+      final int recordEnd = boundaries.nextRecordEnd(b, start, end);
+      if (recordEnd < 0)
+      {
+        // the whole chunk belongs to an entry which is skipped
+        return;
+      }
+      entriesToSkip--;
+      start = recordEnd;
+    }
+    if (start < end)
+    {
+      domain.exportLDIFEntry(b, start, end - start);
+    }
   }
 
   /**
@@ -39,6 +39,7 @@ import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import net.jcip.annotations.GuardedBy;
@@ -52,6 +53,7 @@ import org.forgerock.util.Utils;
 import org.opends.server.core.DirectoryServer;
 import org.opends.server.replication.common.CSN;
 import org.opends.server.replication.common.DSInfo;
+import org.opends.server.replication.common.FlowControlWindow;
 import org.opends.server.replication.common.RSInfo;
 import org.opends.server.replication.common.ServerState;
 import org.opends.server.replication.common.ServerStatus;
@@ -174,7 +176,13 @@ public class ReplicationBroker
   private Semaphore sendWindow;
   private int maxSendWindow;
   private int rcvWindow = 100;
-  private int halfRcvWindow = rcvWindow / 2;
+  /** Sizes the receive window from the observed round trip time and replay rate. */
+  private volatile FlowControlWindow rcvFlowControl;
+  /** The window the credits held by the replication server were granted for. */
+  @GuardedBy("this")
+  private int grantedRcvWindow;
+  /** Total time spent waiting for the replication server to open the send window. */
+  private final AtomicLong sendWindowThrottlingNanos = new AtomicLong();
   private int timeout;
   private final ReplSessionSecurity replSessionSecurity;
   /**
@@ -262,8 +270,7 @@ public class ReplicationBroker
     this.state = state;
     this.config = config;
     this.replSessionSecurity = replSessionSecurity;
-    this.rcvWindow = getMaxRcvWindow();
-    this.halfRcvWindow = rcvWindow / 2;
+    resetRcvWindow();
     this.shutdown = true;
 
     /*
@@ -285,7 +292,7 @@ public class ReplicationBroker
         return;
       }
       shutdown = false;
-      this.rcvWindow = getMaxRcvWindow();
+      resetRcvWindow();
       connectAsDataServer();
     }
   }
@@ -952,7 +959,7 @@ public class ReplicationBroker
         }
       }
       sendWindow = new Semaphore(maxSendWindow);
-      rcvWindow = getMaxRcvWindow();
+      resetRcvWindow();
 
       domain.sessionInitiated(initStatus, rsInfo.getServerState());
 
@@ -2296,8 +2303,19 @@ public class ReplicationBroker
           connectPhaseLock because it can be blocking and we don't
           want to hold off reconnection in case the connection dropped.
           */
-          credit =
-            currentWindowSemaphore.tryAcquire(500, TimeUnit.MILLISECONDS);
+          credit = currentWindowSemaphore.tryAcquire();
+          if (!credit)
+          {
+            final long startNanos = System.nanoTime();
+            try
+            {
+              credit = currentWindowSemaphore.tryAcquire(500, TimeUnit.MILLISECONDS);
+            }
+            finally
+            {
+              sendWindowThrottlingNanos.addAndGet(System.nanoTime() - startNanos);
+            }
+          }
         }
         else
         {
@@ -2450,6 +2468,7 @@ public class ReplicationBroker
           {
             rcvWindow--;
           }
+          rcvFlowControl.updateReceived();
         }
         if (msg instanceof WindowMsg)
         {
@@ -2643,11 +2662,23 @@ public class ReplicationBroker
     try
     {
       updateDoneCount++;
+      final FlowControlWindow flowControl = rcvFlowControl;
+      flowControl.updateDrained();
+
+      /*
+      Give back the credits of the replayed updates, adjusted by how much the
+      window changed since the last grant. With a fixed window, this grants
+      the replayed updates once they reach half of the window.
+      */
+      final int window = flowControl.getWindow();
+      final int credits = updateDoneCount + window - grantedRcvWindow;
       final Session session = connectedRS.get().session;
-      if (updateDoneCount >= halfRcvWindow && session != null)
+      if (credits >= Math.max(1, window / 2) && session != null)
       {
-        session.publish(new WindowMsg(updateDoneCount));
-        rcvWindow += updateDoneCount;
+        session.publish(new WindowMsg(credits));
+        rcvWindow += credits;
+        flowControl.creditsGranted(credits);
+        grantedRcvWindow = window;
         updateDoneCount = 0;
       }
     } catch (IOException e)
@@ -2731,6 +2762,50 @@ public class ReplicationBroker
     return rcvWindow;
   }
 
+  /**
+   * Get the receive window the replication server is currently allowed to
+   * fill, which differs from the maximum receive window when the window is
+   * adaptive.
+   *
+   * @return The current target of the receive window.
+   */
+  public int getAdaptiveRcvWindow()
+  {
+    return rcvFlowControl.getWindow();
+  }
+
+  /**
+   * Get the round trip time to the replication server, as estimated from the
+   * receive window exchanges.
+   *
+   * @return The estimated round trip time in microseconds, or -1 if unknown.
+   */
+  public long getRcvWindowRttEstimateMicros()
+  {
+    return rcvFlowControl.getRttEstimateMicros();
+  }
+
+  /**
+   * Get the estimated rate at which the received updates are replayed.
+   *
+   * @return The estimated number of updates replayed per second.
+   */
+  public long getRcvWindowDeliveryRate()
+  {
+    return rcvFlowControl.getDeliveryRate();
+  }
+
+  /**
+   * Get the total time spent waiting for the replication server to open the
+   * send window.
+   *
+   * @return The send window throttling time in milliseconds.
+   */
+  public long getSendWindowThrottlingTime()
+  {
+    return TimeUnit.NANOSECONDS.toMillis(sendWindowThrottlingNanos.get());
+  }
+
   /**
    * Get the maximum send window size.
    *
@@ -2785,12 +2860,20 @@ public class ReplicationBroker
         || newConfig.getGroupId() != config.getGroupId();
 
     this.config = newConfig;
-    this.rcvWindow = newConfig.getWindowSize();
-    this.halfRcvWindow = this.rcvWindow / 2;
+    resetRcvWindow();
 
     return needToRestartSession;
   }
 
+  /** Resets the receive window to the configured window, as announced when connecting. */
+  private synchronized void resetRcvWindow()
+  {
+    final int maxRcvWindow = getMaxRcvWindow();
+    rcvWindow = maxRcvWindow;
+    grantedRcvWindow = maxRcvWindow;
+    rcvFlowControl = new FlowControlWindow(maxRcvWindow, config.isAdaptiveWindowEnabled());
+  }
+
   /**
    * Get the version of the replication protocol.
    * @return The version of the replication protocol.
@@ -21,8 +21,12 @@ import static org.opends.messages.ReplicationMessages.*;
 import static org.opends.server.replication.common.AssuredMode.*;
 import static org.opends.server.replication.common.StatusMachine.*;
 import static org.opends.server.util.CollectionUtils.*;
+import static org.opends.server.util.StaticUtils.*;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -231,6 +235,12 @@ public abstract class ReplicationDomain
   private ServerStatus status = ServerStatus.NOT_CONNECTED_STATUS;
   private static final LocalizedLogger logger = LocalizedLogger.getLoggerForThisClass();
 
+  /**
+   * Minimum delay in milliseconds between two checkpoints of the entries
+   * received during a resumable initialization.
+   */
+  private static final long CHECKPOINT_INTERVAL_MS = 5000;
+
   /** The configuration of the replication domain. */
   protected volatile ReplicationDomainCfg config;
   /**
@@ -878,7 +888,8 @@ public abstract class ReplicationDomain
       {
         // Do this work in a thread to allow replay thread continue working
         ExportThread exportThread = new ExportThread(
-            initReqMsg.getSenderID(), initReqMsg.getInitWindow());
+            initReqMsg.getSenderID(), initReqMsg.getInitWindow(),
+            initReqMsg.getResumeOffset());
         exportThread.start();
       }
     }
@@ -1039,6 +1050,8 @@ public abstract class ReplicationDomain
     /** Id of server that will be initialized. */
     private final int serverIdToInitialize;
     private final int initWindow;
+    /** Number of entries the server to initialize already received. */
+    private final long resumeOffset;
 
     /**
      * Constructor for the ExportThread.
@@ -1048,13 +1061,17 @@ public abstract class ReplicationDomain
      * @param initWindow
      *          The value of the initialization window for flow control between
      *          the importer and the exporter.
+     * @param resumeOffset
+     *          The number of entries the server to initialize already received
+     *          during a previous attempt.
      */
-    public ExportThread(int serverIdToInitialize, int initWindow)
+    public ExportThread(int serverIdToInitialize, int initWindow, long resumeOffset)
     {
       super("Export thread from serverId=" + getServerId() + " to serverId="
           + serverIdToInitialize);
       this.serverIdToInitialize = serverIdToInitialize;
       this.initWindow = initWindow;
+      this.resumeOffset = resumeOffset;
     }
 
     @Override
@@ -1067,7 +1084,7 @@ public abstract class ReplicationDomain
       try
       {
         initializeRemote(serverIdToInitialize, serverIdToInitialize, null,
-            initWindow);
+            initWindow, resumeOffset);
       } catch (DirectoryException de)
       {
         /*
@@ -1147,6 +1164,12 @@ public abstract class ReplicationDomain
     /** Number of attempt already done for this initialization. */
     private short attemptCnt;
 
+    /**
+     * Spool of the entries received when the initialization can be resumed,
+     * null otherwise.
+     */
+    private TotalUpdateCheckpoint checkpoint;
+
     /**
      * Creates a new IEContext.
      *
@@ -1230,7 +1253,7 @@ public abstract class ReplicationDomain
      *
      * @throws DirectoryException if an error occurred.
      */
-    private void updateCounters(int entriesDone) throws DirectoryException
+    private void updateCounters(long entriesDone) throws DirectoryException
     {
       entryLeftCount -= entriesDone;
 
@@ -1427,6 +1450,31 @@ public abstract class ReplicationDomain
   protected void initializeRemote(int serverToInitialize,
       int serverRunningTheTask, Task initTask, int initWindow)
   throws DirectoryException
+  {
+    initializeRemote(serverToInitialize, serverRunningTheTask, initTask, initWindow, 0);
+  }
+
+  /**
+   * Process the initialization of some other server or servers in the topology,
+   * possibly resuming a previous initialization of the target server.
+   *
+   * @param serverToInitialize The target server that should be initialized.
+   * @param serverRunningTheTask The server that initiated the export.
+   * @param initTask The task in this server that triggers this initialization
+   * and that should be updated with its progress. Null when the export is done
+   * following a request coming from a remote server (task is remote).
+   * @param initWindow The value of the initialization window for flow control
+   * between the importer and the exporter.
+   * @param resumeOffset The number of leading entries the target server
+   * already received during a previous attempt. All of them but the last one
+   * are not sent again. Ignored when initializing all the servers.
+   *
+   * @exception DirectoryException When an error occurs. No exception raised
+   * means success.
+   */
+  private void initializeRemote(int serverToInitialize,
+      int serverRunningTheTask, Task initTask, int initWindow, long resumeOffset)
+  throws DirectoryException
   {
     final ImportExportContext ieCtx = acquireIEContext(false);
 
@@ -1475,6 +1523,12 @@ public abstract class ReplicationDomain
       ieCtx.setAckVal(dsi.getDsId(), 0);
     }
 
+    long remoteResumeOffset = serverToInitialize != RoutableMsg.ALL_SERVERS ? resumeOffset : 0;
+    if (remoteResumeOffset > 0)
+    {
+      logger.info(NOTE_FULL_UPDATE_RESUMING_FOR_REMOTE, serverToInitialize, getBaseDN(), remoteResumeOffset);
+    }
+
     DirectoryException exportRootException = null;
 
     // loop for the case where the exporter is the initiator
@@ -1489,7 +1543,14 @@ public abstract class ReplicationDomain
         {
           ieCtx.initializeTask = initTask;
         }
-        ieCtx.initializeCounters(countEntries());
+        final long entryCount = countEntries();
+        ieCtx.initializeCounters(entryCount);
+        /*
+        The last entry already received is sent again: the importer checks
+        its DN to make sure the export resumes at the same entry.
+        */
+        final long entriesToSkip = Math.min(Math.max(remoteResumeOffset - 1, 0), entryCount);
+        ieCtx.updateCounters(entriesToSkip);
         ieCtx.msgCnt = 0;
         ieCtx.initNumLostConnections = broker.getNumLostConnections();
         ieCtx.initWindow = initWindow;
@@ -1497,7 +1558,8 @@ public abstract class ReplicationDomain
         // Send start message to the peer
         InitializeTargetMsg initTargetMsg = new InitializeTargetMsg(
             getBaseDN(), getServerId(), serverToInitialize,
-            serverRunningTheTask, ieCtx.entryCount, initWindow);
+            serverRunningTheTask, entryCount, initWindow);
+        initTargetMsg.setResumeOffset(remoteResumeOffset);
 
         broker.publish(initTargetMsg);
 
@@ -1513,7 +1575,7 @@ public abstract class ReplicationDomain
               ERR_INIT_NO_SUCCESS_START_FROM_SERVERS.get(getBaseDN(), ieCtx.failureList));
         }
 
-        exportBackend(new BufferedOutputStream(new ReplOutputStream(this)));
+        exportBackend(new BufferedOutputStream(new ReplOutputStream(this, entriesToSkip)));
 
         // Notify the peer of the success
         broker.publish(
@@ -1582,6 +1644,8 @@ public abstract class ReplicationDomain
             catch(Exception e){ /* do nothing */ }
 
             logger.info(NOTE_RESENDING_INIT_TARGET, exportRootException.getLocalizedMessage());
+            // The target discarded the partially received entries
+            remoteResumeOffset = 0;
             continue;
           }
 
@@ -2202,6 +2266,12 @@ public abstract class ReplicationDomain
       ieCtx.attemptCnt = 0;
       ieCtx.initReqMsgSent = new InitializeRequestMsg(
           getBaseDN(), getServerId(), source, getInitWindow());
+      if (config.isInitializationResumable())
+      {
+        // Entries spooled by a previously interrupted initialization need not be sent again
+        ieCtx.checkpoint = openCheckpoint();
+        ieCtx.initReqMsgSent.setResumeOffset(ieCtx.checkpoint.getResumeOffset(source));
+      }
       broker.publish(ieCtx.initReqMsgSent);
 
       /*
@@ -2282,7 +2352,14 @@ public abstract class ReplicationDomain
       initFromTask = (InitializeTask) ieCtx.initializeTask;
 
       // Launch the import
-      importBackend(new ReplInputStream(this));
+      if (config.isInitializationResumable())
+      {
+        importThroughCheckpoint(ieCtx, initTargetMsgReceived);
+      }
+      else
+      {
+        importBackend(new ReplInputStream(this));
+      }
     }
     catch (DirectoryException e)
     {
@@ -2311,6 +2388,14 @@ public abstract class ReplicationDomain
       */
       broker.reStart(false);
 
+      if (ieCtx.checkpoint != null
+          && ieCtx.initReqMsgSent != null
+          && ieCtx.checkpoint.getEntryCount() > ieCtx.initReqMsgSent.getResumeOffset())
+      {
+        // Progress was made: keep resuming as long as entries are received
+        ieCtx.attemptCnt = 0;
+      }
+
       if (ieCtx.getException() != null
           && broker.isConnected()
           && initFromTask != null
@@ -2329,6 +2414,10 @@ public abstract class ReplicationDomain
             logger.info(NOTE_RESENDING_INIT_FROM_REMOTE_REQUEST,
                 ieCtx.getException().getLocalizedMessage());
 
+            if (ieCtx.checkpoint != null)
+            {
+              ieCtx.initReqMsgSent.setResumeOffset(ieCtx.checkpoint.getResumeOffset(source));
+            }
             broker.publish(ieCtx.initReqMsgSent);
 
             ieCtx.initializeCounters(0);
@@ -2387,11 +2476,134 @@ public abstract class ReplicationDomain
         String errorMsg = ieCtx.getException() != null ? ieCtx.getException().getLocalizedMessage() : "";
         logger.info(NOTE_FULL_UPDATE_ENGAGED_FROM_REMOTE_END,
             getBaseDN(), initTargetMsgReceived.getSenderID(), getServerId(), errorMsg);
+        closeCheckpoint(ieCtx);
         releaseIEContext();
       } // finally
     } // finally
   }
 
+  /**
+   * Receives the entries sent by the exporter into the on-disk spool of this
+   * domain, then imports the backend from the spooled entries once all of them
+   * have been received.
+   * <p>
+   * The spool is checkpointed regularly. When the transfer is interrupted,
+   * the spool is kept so that the next attempt only asks the exporter for the
+   * entries that were not durably received. When the exporter does not resume
+   * at the last spooled entry, or skips entries which are not spooled, the
+   * spool is discarded and a new attempt asks for all the entries.
+   */
+  private void importThroughCheckpoint(ImportExportContext ieCtx,
+      InitializeTargetMsg initTargetMsgReceived) throws DirectoryException
+  {
+    if (ieCtx.checkpoint == null)
+    {
+      ieCtx.checkpoint = openCheckpoint();
+    }
+    final TotalUpdateCheckpoint checkpoint = ieCtx.checkpoint;
+    try
+    {
+      final int source = initTargetMsgReceived.getSenderID();
+      if (!checkpoint.start(source, initTargetMsgReceived.getEntryCount(), initTargetMsgReceived.getResumeOffset()))
+      {
+        // The exporter skips entries which are not spooled here
+        throw resumePointMismatch(ieCtx, source);
+      }
+      if (checkpoint.getEntryCount() > 0)
+      {
+        logger.info(NOTE_FULL_UPDATE_RESUMING_FROM_REMOTE, getBaseDN(), source,
+            checkpoint.getEntryCount(), initTargetMsgReceived.getEntryCount());
+        // The last spooled entry is sent again and counted when received
+        ieCtx.updateCounters(checkpoint.getEntryCount() - 1);
+      }
+
+      long lastCheckpointTime = System.currentTimeMillis();
+      byte[] entryBytes;
+      while ((entryBytes = receiveEntryBytes()) != null)
+      {
+        if (!checkpoint.append(entryBytes))
+        {
+          throw resumePointMismatch(ieCtx, source);
+        }
+        final long now = System.currentTimeMillis();
+        if (now - lastCheckpointTime >= CHECKPOINT_INTERVAL_MS)
+        {
+          checkpoint.checkpoint();
+          lastCheckpointTime = now;
+        }
+      }
+      if (ieCtx.getException() == null && !checkpoint.isResumePointChecked())
+      {
+        throw resumePointMismatch(ieCtx, source);
+      }
+      checkpoint.checkpoint();
+      checkpoint.close();
+    }
+    catch (IOException e)
+    {
+      throw new DirectoryException(ResultCode.OTHER, ERR_INIT_CHECKPOINT_FAILURE.get(
+          getBaseDN(), checkpoint.getDataFile(), stackTraceToSingleLineString(e)), e);
+    }
+
+    if (ieCtx.getException() != null)
+    {
+      // Transfer interrupted: keep the spooled entries for the next attempt
+      return;
+    }
+
+    try (InputStream input = new BufferedInputStream(new FileInputStream(checkpoint.getDataFile())))
+    {
+      importBackend(input);
+    }
+    catch (IOException e)
+    {
+      throw new DirectoryException(ResultCode.OTHER, ERR_INIT_CHECKPOINT_FAILURE.get(
+          getBaseDN(), checkpoint.getDataFile(), stackTraceToSingleLineString(e)), e);
+    }
+    finally
+    {
+      // The spooled entries have been consumed, whatever the outcome of the import
+      checkpoint.discard();
+    }
+  }
+
+  /**
+   * Discards the spooled entries which the exporter could not complete, and
+   * returns the exception to raise so that a new attempt requests all the
+   * entries.
+   */
+  private DirectoryException resumePointMismatch(ImportExportContext ieCtx, int source)
+  {
+    ieCtx.checkpoint.discard();
+    // A full update is worth a new attempt, whatever the previous attempts
+    ieCtx.attemptCnt = 0;
+    return new DirectoryException(ResultCode.OTHER, ERR_INIT_RESUME_POINT_MISMATCH.get(getBaseDN(), source));
+  }
+
+  /** Opens the spool used to resume initializations of this domain. */
+  private TotalUpdateCheckpoint openCheckpoint() throws DirectoryException
+  {
+    final File directory = getFileForPath(
+        "import-tmp" + File.separator + "replication-" + getBaseDN().toNormalizedUrlSafeString());
+    try
+    {
+      return new TotalUpdateCheckpoint(directory);
+    }
+    catch (IOException e)
+    {
+      throw new DirectoryException(ResultCode.OTHER, ERR_INIT_CHECKPOINT_FAILURE.get(
+          getBaseDN(), directory, stackTraceToSingleLineString(e)), e);
+    }
+  }
+
+  private void closeCheckpoint(ImportExportContext ieCtx)
+  {
+    if (ieCtx != null && ieCtx.checkpoint != null)
+    {
+      ieCtx.checkpoint.close();
+    }
+  }
+
   /**
    * Return the protocol version of the DS related to the provided serverId.
    * Returns -1 when the protocol version is not known.
@@ -2652,6 +2864,62 @@ public abstract class ReplicationDomain
     return 0;
   }
 
+  /**
+   * Get the receive window the replication server is currently allowed to fill.
+   *
+   * @return The current target of the receive window.
+   */
+  int getAdaptiveRcvWindow()
+  {
+    if (broker != null)
+    {
+      return broker.getAdaptiveRcvWindow();
+    }
+    return 0;
+  }
+
+  /**
+   * Get the round trip time to the replication server estimated by the receive window.
+   *
+   * @return The estimated round trip time in microseconds, or -1 if unknown.
+   */
+  long getRcvWindowRttEstimateMicros()
+  {
+    if (broker != null)
+    {
+      return broker.getRcvWindowRttEstimateMicros();
+    }
+    return -1;
+  }
+
+  /**
+   * Get the estimated rate at which the received updates are replayed.
+   *
+   * @return The estimated number of updates replayed per second.
+   */
+  long getRcvWindowDeliveryRate()
+  {
+    if (broker != null)
+    {
+      return broker.getRcvWindowDeliveryRate();
+    }
+    return 0;
+  }
+
+  /**
+   * Get the total time spent waiting for the send window to open.
+   *
+   * @return The send window throttling time in milliseconds.
+   */
+  long getSendWindowThrottlingTime()
+  {
+    if (broker != null)
+    {
+      return broker.getSendWindowThrottlingTime();
+    }
+    return 0;
+  }
+
   /**
    * Get the number of times the replication connection was lost.
    * @return The number of times the replication connection was lost.
@@ -67,7 +67,7 @@ public class ReplicationMonitor extends MonitorProvider<MonitorProviderCfg>
   @Override
   public MonitorData getMonitorData()
   {
-    final MonitorData attributes = new MonitorData(41);
+    final MonitorData attributes = new MonitorData(45);
 
     attributes.add("domain-name", domain.getBaseDN());
     attributes.add("server-id", domain.getServerId());
@@ -83,6 +83,10 @@ public class ReplicationMonitor extends MonitorProvider<MonitorProviderCfg>
     attributes.add("current-rcv-window", domain.getCurrentRcvWindow());
     attributes.add("max-send-window", domain.getMaxSendWindow());
     attributes.add("current-send-window", domain.getCurrentSendWindow());
+    attributes.add("adaptive-rcv-window", domain.getAdaptiveRcvWindow());
+    attributes.add("rcv-window-rtt-estimate-micros", domain.getRcvWindowRttEstimateMicros());
+    attributes.add("rcv-window-delivery-rate", domain.getRcvWindowDeliveryRate());
+    attributes.add("send-window-throttling-time-millis", domain.getSendWindowThrottlingTime());
 
     attributes.add("server-state", domain.getServerState().toStringSet());
     attributes.add("ssl-encryption", domain.isSessionEncrypted());
@@ -0,0 +1,414 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.replication.service;
+
+import static java.nio.file.StandardCopyOption.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.forgerock.i18n.slf4j.LocalizedLogger;
+import org.opends.server.util.StaticUtils;
+
+/**
+ * Spools to disk the entries received during a total update and records how
+ * many of them were durably received, so that an interrupted initialization can
+ * be resumed instead of being restarted from the first entry.
+ * <p>
+ * The spool directory contains the LDIF data received so far and a small
+ * checkpoint file recording the exporter, the number of complete entries and
+ * the length of the LDIF data covering them. Checkpoints always end on an entry
+ * boundary: bytes received after the last complete entry are dropped when the
+ * transfer is resumed.
+ * <p>
+ * When resuming, the exporter sends again the last entry of the checkpoint.
+ * Nothing is appended to the spool until the DN of this entry has been checked
+ * against the DN of the last spooled entry: when they differ, the exporter does
+ * not produce the entries in the same order as during the previous attempt and
+ * the spooled entries cannot be completed.
+ * <p>
+ * This class is not thread safe: it is only used by the thread running the
+ * import.
+ */
+final class TotalUpdateCheckpoint implements Closeable
+{
+  private static final LocalizedLogger logger = LocalizedLogger.getLoggerForThisClass();
+
+  private static final String DATA_FILENAME = "entries.ldif";
+  private static final String CHECKPOINT_FILENAME = "checkpoint";
+  private static final String SOURCE_SERVER_ID = "source-server-id";
+  private static final String TOTAL_ENTRY_COUNT = "total-entry-count";
+  private static final String ENTRY_COUNT = "entry-count";
+  private static final String LENGTH = "length";
+  private static final String LAST_ENTRY_OFFSET = "last-entry-offset";
+
+  private final File directory;
+  private final File dataFile;
+  private final File checkpointFile;
+  private final LDIFRecordBoundaries boundaries = new LDIFRecordBoundaries();
+
+  private int sourceServerId = -1;
+  private long totalEntryCount;
+  /** Number of complete entries covered by the last checkpoint. */
+  private long checkpointedEntryCount;
+  /** Length of the data file covered by the last checkpoint. */
+  private long checkpointedLength;
+  /** Offset in the data file of the last entry covered by the last checkpoint. */
+  private long checkpointedLastEntryOffset;
+
+  /** Number of complete entries appended so far. */
+  private long entryCount;
+  /** Length of the data file up to the end of the last complete entry. */
+  private long lengthAtLastEntry;
+  /** Offset in the data file of the last complete entry. */
+  private long lastEntryOffset;
+  /**
+   * DN line of the last spooled entry, which the exporter sends again first
+   * when resuming. Null when the transfer does not resume or once the entry
+   * sent again has been checked.
+   */
+  private String expectedResumeDN;
+  /** The bytes of the entry sent again, received so far. */
+  private ByteArrayOutputStream resumeEntry;
+  private RandomAccessFile data;
+
+  /**
+   * Opens the spool stored in the provided directory, reading the last
+   * checkpoint if any.
+   *
+   * @param directory
+   *          the spool directory, created if it does not exist
+   * @throws IOException
+   *           if the directory cannot be created or the checkpoint cannot be read
+   */
+  TotalUpdateCheckpoint(File directory) throws IOException
+  {
+    this.directory = directory;
+    this.dataFile = new File(directory, DATA_FILENAME);
+    this.checkpointFile = new File(directory, CHECKPOINT_FILENAME);
+    createDirectory();
+    readCheckpoint();
+  }
+
+  private void createDirectory() throws IOException
+  {
+    if (!directory.isDirectory() && !directory.mkdirs())
+    {
+      throw new IOException("Cannot create directory " + directory);
+    }
+  }
+
+  private void readCheckpoint() throws IOException
+  {
+    if (!checkpointFile.isFile())
+    {
+      return;
+    }
+    final Properties props = new Properties();
+    try (InputStream in = new FileInputStream(checkpointFile))
+    {
+      props.load(in);
+      sourceServerId = Integer.parseInt(props.getProperty(SOURCE_SERVER_ID));
+      totalEntryCount = Long.parseLong(props.getProperty(TOTAL_ENTRY_COUNT));
+      checkpointedEntryCount = Long.parseLong(props.getProperty(ENTRY_COUNT));
+      checkpointedLength = Long.parseLong(props.getProperty(LENGTH));
+      checkpointedLastEntryOffset = Long.parseLong(props.getProperty(LAST_ENTRY_OFFSET));
+    }
+    catch (NumberFormatException | NullPointerException e)
+    {
+      logger.traceException(e);
+      // Unusable checkpoint: the next initialization starts from scratch
+      sourceServerId = -1;
+      resetCheckpoint();
+    }
+    if (dataFile.length() < checkpointedLength || checkpointedLastEntryOffset > checkpointedLength)
+    {
+      // Data was lost: the checkpoint cannot be trusted
+      resetCheckpoint();
+    }
+  }
+
+  private void resetCheckpoint()
+  {
+    checkpointedEntryCount = 0;
+    checkpointedLength = 0;
+    checkpointedLastEntryOffset = 0;
+  }
+
+  /**
+   * Returns the number of entries durably received from the provided exporter.
+   * The exporter skips all of them but the last one, whose DN is checked to
+   * make sure the transfer resumes at the right entry.
+   *
+   * @param sourceServerId
+   *          the server id of the exporter
+   * @return the number of entries durably received from this exporter, 0 if
+   *         the initialization must start from the first entry
+   */
+  long getResumeOffset(int sourceServerId)
+  {
+    return this.sourceServerId == sourceServerId ? checkpointedEntryCount : 0;
+  }
+
+  /**
+   * Starts receiving entries, either appending to the data received during a
+   * previous attempt or discarding it.
+   *
+   * @param sourceServerId
+   *          the server id of the exporter
+   * @param totalEntryCount
+   *          the total number of entries announced by the exporter
+   * @param resumeOffset
+   *          the number of entries already received as acknowledged by the
+   *          exporter, which sends again the last of them first
+   * @return false if the exporter skips entries which are not in the spool,
+   *         because it resumes from another exporter, with another number of
+   *         entries or at another offset than the last checkpoint, in which
+   *         case nothing is received and the spooled entries must be discarded
+   * @throws IOException
+   *           if the data file cannot be opened
+   */
+  boolean start(int sourceServerId, long totalEntryCount, long resumeOffset) throws IOException
+  {
+    closeData();
+    final boolean resume = resumeOffset > 0;
+    if (resume
+        && (resumeOffset != getResumeOffset(sourceServerId) || totalEntryCount != this.totalEntryCount))
+    {
+      return false;
+    }
+    createDirectory();
+    if (!resume)
+    {
+      resetCheckpoint();
+    }
+    this.sourceServerId = sourceServerId;
+    this.totalEntryCount = totalEntryCount;
+    entryCount = checkpointedEntryCount;
+    lengthAtLastEntry = checkpointedLength;
+    lastEntryOffset = checkpointedLastEntryOffset;
+    boundaries.reset();
+
+    data = new RandomAccessFile(dataFile, "rw");
+    data.setLength(checkpointedLength);
+    if (resume)
+    {
+      final byte[] lastEntry = new byte[(int) (checkpointedLength - checkpointedLastEntryOffset)];
+      data.seek(checkpointedLastEntryOffset);
+      data.readFully(lastEntry);
+      expectedResumeDN = readDN(lastEntry);
+      resumeEntry = new ByteArrayOutputStream();
+    }
+    else
+    {
+      expectedResumeDN = null;
+      resumeEntry = null;
+    }
+    data.seek(checkpointedLength);
+    writeCheckpoint();
+    return true;
+  }
+
+  /**
+   * Appends bytes received from the exporter.
+   *
+   * @param bytes
+   *          the bytes received, which may contain several entries or part of an entry
+   * @return false if the exporter resumed the transfer at another entry than
+   *         the last one spooled during the previous attempt, in which case
+   *         the spooled entries must be discarded
+   * @throws IOException
+   *           if the bytes cannot be written
+   */
+  boolean append(byte[] bytes) throws IOException
+  {
+    int offset = 0;
+    if (expectedResumeDN != null)
+    {
+      // Hold the entry sent again until it is complete and its DN can be checked
+      final int recordEnd = boundaries.nextRecordEnd(bytes, 0, bytes.length);
+      resumeEntry.write(bytes, 0, recordEnd >= 0 ? recordEnd : bytes.length);
+      if (recordEnd < 0)
+      {
+        return true;
+      }
+      if (!expectedResumeDN.equals(readDN(resumeEntry.toByteArray())))
+      {
+        return false;
+      }
+      // Same entry as the last spooled one: drop it
+      expectedResumeDN = null;
+      resumeEntry = null;
+      offset = recordEnd;
+    }
+
+    final long startLength = data.getFilePointer() - offset;
+    data.write(bytes, offset, bytes.length - offset);
+
+    int pos = offset;
+    int recordEnd;
+    while ((recordEnd = boundaries.nextRecordEnd(bytes, pos, bytes.length)) >= 0)
+    {
+      entryCount++;
+      lastEntryOffset = lengthAtLastEntry;
+      lengthAtLastEntry = startLength + recordEnd;
+      pos = recordEnd;
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether the transfer resumed at the last entry spooled during the
+   * previous attempt.
+   *
+   * @return true if the transfer does not resume or if the exporter sent again
+   *         the last spooled entry, false if this entry has not been received
+   */
+  boolean isResumePointChecked()
+  {
+    return expectedResumeDN == null;
+  }
+
+  /**
+   * Returns the DN line of the provided entry, unfolded. DN lines are compared
+   * as written by the exporter, which encodes a given DN the same way on every
+   * attempt.
+   */
+  private static String readDN(byte[] entry)
+  {
+    final StringBuilder dn = new StringBuilder();
+    boolean inDN = false;
+    for (String line : new String(entry, StandardCharsets.UTF_8).split("\\r?\\n"))
+    {
+      if (inDN)
+      {
+        if (!line.startsWith(" "))
+        {
+          break;
+        }
+        dn.append(line, 1, line.length());
+      }
+      else if (line.regionMatches(true, 0, "dn:", 0, 3))
+      {
+        dn.append(line);
+        inDN = true;
+      }
+    }
+    return dn.toString();
+  }
+
+  /**
+   * Makes the entries received so far durable and records them in the
+   * checkpoint file.
+   *
+   * @throws IOException
+   *           if the data cannot be synced or the checkpoint cannot be written
+   */
+  void checkpoint() throws IOException
+  {
+    if (data == null || entryCount == checkpointedEntryCount)
+    {
+      return;
+    }
+    data.getFD().sync();
+    checkpointedEntryCount = entryCount;
+    checkpointedLength = lengthAtLastEntry;
+    checkpointedLastEntryOffset = lastEntryOffset;
+    writeCheckpoint();
+  }
+
+  private void writeCheckpoint() throws IOException
+  {
+    final Properties props = new Properties();
+    props.setProperty(SOURCE_SERVER_ID, Integer.toString(sourceServerId));
+    props.setProperty(TOTAL_ENTRY_COUNT, Long.toString(totalEntryCount));
+    props.setProperty(ENTRY_COUNT, Long.toString(checkpointedEntryCount));
+    props.setProperty(LENGTH, Long.toString(checkpointedLength));
+    props.setProperty(LAST_ENTRY_OFFSET, Long.toString(checkpointedLastEntryOffset));
+
+    final File tmpFile = new File(directory, CHECKPOINT_FILENAME + ".tmp");
+    try (FileOutputStream out = new FileOutputStream(tmpFile))
+    {
+      props.store(out, null);
+      out.getFD().sync();
+    }
+    Files.move(tmpFile.toPath(), checkpointFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+  }
+
+  /**
+   * Returns the number of complete entries received so far, including those
+   * received during previous attempts.
+   *
+   * @return the number of complete entries received so far
+   */
+  long getEntryCount()
+  {
+    return entryCount;
+  }
+
+  /**
+   * Returns the file containing the LDIF data received so far.
+   *
+   * @return the file containing the LDIF data received so far
+   */
+  File getDataFile()
+  {
+    return dataFile;
+  }
+
+  /** Deletes the spooled data and the checkpoint. */
+  void discard()
+  {
+    closeData();
+    StaticUtils.recursiveDelete(directory);
+    sourceServerId = -1;
+    resetCheckpoint();
+    entryCount = 0;
+    expectedResumeDN = null;
+    resumeEntry = null;
+  }
+
+  private void closeData()
+  {
+    StaticUtils.close(data);
+    data = null;
+  }
+
+  @Override
+  public void close()
+  {
+    closeData();
+  }
+
+  @Override
+  public String toString()
+  {
+    return getClass().getSimpleName() + "(directory=" + directory
+        + ", sourceServerId=" + sourceServerId
+        + ", totalEntryCount=" + totalEntryCount
+        + ", entryCount=" + entryCount
+        + ", checkpointedEntryCount=" + checkpointedEntryCount + ")";
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.tasks;
+
+import static org.opends.messages.TaskMessages.*;
+import static org.opends.server.config.ConfigConstants.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.forgerock.i18n.LocalizableMessage;
+import org.forgerock.i18n.slf4j.LocalizedLogger;
+import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.DN;
+import org.forgerock.opendj.ldap.ResultCode;
+import org.forgerock.opendj.ldap.schema.AttributeType;
+import org.opends.server.api.Group;
+import org.opends.server.backends.task.Task;
+import org.opends.server.backends.task.TaskState;
+import org.opends.server.core.DirectoryServer;
+import org.opends.server.extensions.DynamicGroup;
+import org.opends.server.types.Attribute;
+import org.opends.server.types.DirectoryException;
+import org.opends.server.types.Entry;
+import org.opends.server.types.MembershipException;
+
+/**
+ * This class provides an implementation of a Directory Server task that can
+ * be used to check that the materialized members of dynamic groups still
+ * match their member URLs. The members of each checked group are searched for
+ * again and replace the materialized members.
+ * <p>
+ * The groups to check may be provided, otherwise all the dynamic groups with a
+ * materialized membership are checked.
+ */
+public class VerifyDynamicGroupMembershipTask extends Task
+{
+  private static final LocalizedLogger logger = LocalizedLogger.getLoggerForThisClass();
+
+  /** The DNs of the groups to check, or empty for all the materialized dynamic groups. */
+  private final List<DN> groupDNs = new ArrayList<>();
+
+  @Override
+  public LocalizableMessage getDisplayName() {
+    return INFO_TASK_VERIFY_DYNAMIC_GROUP_MEMBERSHIP.get();
+  }
+
+  @Override public void initializeTask() throws DirectoryException
+  {
+    if (TaskState.isDone(getTaskState()))
+    {
+      return;
+    }
+
+    final Entry taskEntry = getTaskEntry();
+    final AttributeType attrType = DirectoryServer.getInstance().getServerContext().getSchema()
+        .getAttributeType(ATTR_TASK_VERIFY_DYNAMIC_GROUP_MEMBERSHIP_GROUP_DN);
+    for (Attribute a : taskEntry.getAllAttributes(attrType))
+    {
+      for (ByteString value : a)
+      {
+        final DN groupDN = DN.valueOf(value);
+        if (getMaterializedGroup(groupDN) == null)
+        {
+          throw new DirectoryException(ResultCode.UNWILLING_TO_PERFORM,
+              ERR_TASK_VERIFY_DYNAMIC_GROUP_MEMBERSHIP_NOT_MATERIALIZED.get(groupDN));
+        }
+        groupDNs.add(groupDN);
+      }
+    }
+  }
+
+  private static DynamicGroup getMaterializedGroup(DN groupDN)
+  {
+    final Group<?> group = DirectoryServer.getGroupManager().getGroupInstance(groupDN);
+    if (group instanceof DynamicGroup && ((DynamicGroup) group).isMembershipMaterialized())
+    {
+      return (DynamicGroup) group;
+    }
+    return null;
+  }
+
+  @Override
+  protected TaskState runTask()
+  {
+    final List<DynamicGroup> groups = new ArrayList<>();
+    if (groupDNs.isEmpty())
+    {
+      for (Group<?> group : DirectoryServer.getGroupManager().getGroupInstances())
+      {
+        if (group instanceof DynamicGroup && ((DynamicGroup) group).isMembershipMaterialized())
+        {
+          groups.add((DynamicGroup) group);
+        }
+      }
+    }
+    else
+    {
+      for (DN groupDN : groupDNs)
+      {
+        final DynamicGroup group = getMaterializedGroup(groupDN);
+        if (group == null)
+        {
+          logger.error(ERR_TASK_VERIFY_DYNAMIC_GROUP_MEMBERSHIP_NOT_MATERIALIZED, groupDN);
+          return TaskState.STOPPED_BY_ERROR;
+        }
+        groups.add(group);
+      }
+    }
+
+    TaskState state = TaskState.COMPLETED_SUCCESSFULLY;
+    for (DynamicGroup group : groups)
+    {
+      logger.trace("Verifying the materialized membership of dynamic group %s", group.getGroupDN());
+      try
+      {
+        final int differences = group.verifyMaterializedMembership();
+        if (differences > 0)
+        {
+          logger.warn(WARN_TASK_VERIFY_DYNAMIC_GROUP_MEMBERSHIP_MISMATCH, group.getGroupDN(), differences);
+          state = TaskState.COMPLETED_WITH_ERRORS;
+        }
+      }
+      catch (DirectoryException | MembershipException e)
+      {
+        logger.traceException(e);
+        logger.error(ERR_TASK_VERIFY_DYNAMIC_GROUP_MEMBERSHIP_FAILED, group.getGroupDN(), e.getMessageObject());
+        state = TaskState.STOPPED_BY_ERROR;
+      }
+    }
+    return state;
+  }
+}
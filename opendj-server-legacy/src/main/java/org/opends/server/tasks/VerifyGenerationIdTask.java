@@ -0,0 +1,93 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.tasks;
+
+import static org.opends.messages.TaskMessages.*;
+import static org.opends.server.config.ConfigConstants.*;
+
+import java.util.List;
+
+import org.forgerock.i18n.LocalizableMessage;
+import org.forgerock.i18n.slf4j.LocalizedLogger;
+import org.forgerock.opendj.ldap.DN;
+import org.forgerock.opendj.ldap.schema.Schema;
+import org.opends.server.backends.task.Task;
+import org.opends.server.backends.task.TaskState;
+import org.opends.server.core.DirectoryServer;
+import org.opends.server.replication.plugin.LDAPReplicationDomain;
+import org.opends.server.types.Attribute;
+import org.opends.server.types.DirectoryException;
+import org.opends.server.types.Entry;
+
+/**
+ * This class provides an implementation of a Directory Server task that can
+ * be used to check in the background that the generation ID of a replication
+ * domain still matches the data present in its backend.
+ */
+public class VerifyGenerationIdTask extends Task
+{
+  private static final LocalizedLogger logger = LocalizedLogger.getLoggerForThisClass();
+
+  private DN baseDN;
+  private LDAPReplicationDomain domain;
+
+  @Override
+  public LocalizableMessage getDisplayName() {
+    return INFO_TASK_VERIFY_GENERATION_ID.get();
+  }
+
+  @Override public void initializeTask() throws DirectoryException
+  {
+    if (TaskState.isDone(getTaskState()))
+    {
+      return;
+    }
+
+    final Entry taskEntry = getTaskEntry();
+    baseDN = DN.valueOf(TaskUtils.getSingleValueString(
+        getTaskParameter(taskEntry, ATTR_TASK_VERIFY_GENERATION_ID_DOMAIN_DN)));
+    domain = LDAPReplicationDomain.retrievesReplicationDomain(baseDN);
+  }
+
+  private List<Attribute> getTaskParameter(Entry taskEntry, String attrName)
+  {
+    Schema schema = DirectoryServer.getInstance().getServerContext().getSchema();
+    return taskEntry.getAllAttributes(schema.getAttributeType(attrName));
+  }
+
+  @Override
+  protected TaskState runTask()
+  {
+    logger.trace("Verify generation ID task is starting on domain %s", baseDN);
+
+    try
+    {
+      domain.verifyGenerationId();
+      return returnWithDebug(TaskState.COMPLETED_SUCCESSFULLY);
+    }
+    catch (DirectoryException de)
+    {
+      logger.error(ERR_TASK_VERIFY_GENERATION_ID_FAILED, baseDN, de.getMessageObject());
+      return returnWithDebug(TaskState.STOPPED_BY_ERROR);
+    }
+  }
+
+  private TaskState returnWithDebug(TaskState state)
+  {
+    logger.trace("state: %s", state);
+    return state;
+  }
+}
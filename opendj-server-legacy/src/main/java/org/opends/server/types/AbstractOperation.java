@@ -135,6 +135,12 @@ public abstract class AbstractOperation
   private long processingStartNanoTime;
   /** The time that processing ended on this operation in nanoseconds. */
   private long processingStopNanoTime;
+  /** The time that this operation was placed in the work queue in nanoseconds. */
+  private long queueingStartNanoTime;
+  /** The time that this operation spent in the work queue in nanoseconds, or -1 if unknown. */
+  private long queueingNanoTime = -1;
+  /** Indicates whether this operation is waiting in the work queue. */
+  private boolean isQueued;
 
   /** The callbacks to be invoked once a response has been sent. */
   private List<Runnable> postResponseCallbacks;
@@ -585,6 +591,26 @@ public abstract class AbstractOperation
     {
       processingStartNanoTime = System.nanoTime();
     }
+    if (isQueued)
+    {
+      // The worker thread which dequeued this operation starts processing it
+      isQueued = false;
+      queueingNanoTime = System.nanoTime() - queueingStartNanoTime;
+      clientConnection.operationDequeued(this);
+    }
+  }
+
+  @Override
+  public final void setQueueingStartTime()
+  {
+    queueingStartNanoTime = System.nanoTime();
+    isQueued = true;
+  }
+
+  @Override
+  public final long getQueueingNanoTime()
+  {
+    return queueingNanoTime;
   }
 
   @Override
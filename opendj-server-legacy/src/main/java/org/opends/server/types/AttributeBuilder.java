@@ -143,12 +143,31 @@ public final class AttributeBuilder implements Iterable<ByteString>
         return ConditionResult.UNDEFINED;
       }
 
+      return matchesAssertion(matchingRule, assertion);
+    }
+
+    /**
+     * Indicates whether one of the values of this attribute matches the provided assertion.
+     *
+     * @param matchingRule
+     *          the matching rule which built the assertion
+     * @param assertion
+     *          the assertion to match
+     * @return {@link ConditionResult#TRUE} if at least one value matches the assertion,
+     *         {@link ConditionResult#UNDEFINED} if no value matches and one of them could not be
+     *         normalized, {@link ConditionResult#FALSE} otherwise
+     */
+    private ConditionResult matchesAssertion(MatchingRule matchingRule, Assertion assertion)
+    {
       ConditionResult result = ConditionResult.FALSE;
       for (AttributeValue v : values)
       {
         try
         {
-          result = assertion.matches(matchingRule.normalizeAttributeValue(v.getValue()));
+          if (assertion.matches(v.getNormalizedValue(matchingRule)).toBoolean())
+          {
+            return ConditionResult.TRUE;
+          }
         }
         catch (Exception e)
         {
@@ -218,26 +237,7 @@ public final class AttributeBuilder implements Iterable<ByteString>
         return ConditionResult.UNDEFINED;
       }
 
-      ConditionResult result = ConditionResult.FALSE;
-      for (AttributeValue v : values)
-      {
-        try
-        {
-          if (assertion.matches(matchingRule.normalizeAttributeValue(v.getValue())).toBoolean())
-          {
-            return ConditionResult.TRUE;
-          }
-        }
-        catch (Exception e)
-        {
-          logger.traceException(e);
-          // We could not normalize one of the attribute values.
-          // If we cannot find a definite match, then we should return "undefined".
-          result = ConditionResult.UNDEFINED;
-        }
-      }
-
-      return result;
+      return matchesAssertion(matchingRule, assertion);
     }
 
     @Override
@@ -273,27 +273,7 @@ public final class AttributeBuilder implements Iterable<ByteString>
         return ConditionResult.UNDEFINED;
       }
 
-      ConditionResult result = ConditionResult.FALSE;
-      for (AttributeValue v : values)
-      {
-        try
-        {
-          if (assertion.matches(matchingRule.normalizeAttributeValue(v.getValue())).toBoolean())
-          {
-            return ConditionResult.TRUE;
-          }
-        }
-        catch (Exception e)
-        {
-          logger.traceException(e);
-
-          // We could not normalize one of the attribute values.
-          // If we cannot find a definite match, then we should return "undefined".
-          result = ConditionResult.UNDEFINED;
-        }
-      }
-
-      return result;
+      return matchesAssertion(matchingRule, assertion);
     }
 
 
@@ -319,27 +299,7 @@ public final class AttributeBuilder implements Iterable<ByteString>
         return ConditionResult.UNDEFINED;
       }
 
-      ConditionResult result = ConditionResult.FALSE;
-      for (AttributeValue value : values)
-      {
-        try
-        {
-          if (assertion.matches(matchingRule.normalizeAttributeValue(value.getValue())).toBoolean())
-          {
-            return ConditionResult.TRUE;
-          }
-        }
-        catch (Exception e)
-        {
-          logger.traceException(e);
-
-          // The value could not be normalized.
-          // If we cannot find a definite match, then we should return "undefined".
-          result = ConditionResult.UNDEFINED;
-        }
-      }
-
-      return result;
+      return matchesAssertion(matchingRule, assertion);
     }
 
     @Override
@@ -388,6 +348,11 @@ public final class AttributeBuilder implements Iterable<ByteString>
 
     /** Normalized value, which is {@code null} until computation is required. */
     private ByteString normalizedValue;
+    /**
+     * Values normalized by the last two other matching rules they were requested for, which is
+     * {@code null} until computation is required.
+     */
+    private NormalizedValue otherNormalizedValues;
 
     /**
      * Construct a new attribute value.
@@ -417,6 +382,35 @@ public final class AttributeBuilder implements Iterable<ByteString>
       return normalizedValue;
     }
 
+    /**
+     * Retrieves the form of this attribute value normalized by the provided matching rule.
+     *
+     * @param matchingRule
+     *          The matching rule to use for normalizing the value.
+     * @return The form of this attribute value normalized by the provided matching rule.
+     * @throws DecodeException
+     *           If this attribute value cannot be normalized by the provided matching rule.
+     */
+    ByteString getNormalizedValue(MatchingRule matchingRule) throws DecodeException
+    {
+      if (attributeDescription != null
+          && matchingRule == attributeDescription.getAttributeType().getEqualityMatchingRule())
+      {
+        return getNormalizedValue();
+      }
+
+      final NormalizedValue cached = otherNormalizedValues;
+      final ByteString cachedValue = cached != null ? cached.get(matchingRule) : null;
+      if (cachedValue != null)
+      {
+        return cachedValue;
+      }
+      final ByteString normalized = matchingRule.normalizeAttributeValue(value);
+      otherNormalizedValues = new NormalizedValue(matchingRule, normalized,
+          cached != null ? new NormalizedValue(cached.matchingRule, cached.value, null) : null);
+      return normalized;
+    }
+
     boolean isNormalized()
     {
       return normalizedValue != null;
@@ -493,6 +487,62 @@ public final class AttributeBuilder implements Iterable<ByteString>
     }
   }
 
+  /**
+   * An attribute value normalized by a matching rule other than the equality matching rule of its
+   * attribute type. Instances are immutable so that they can be shared between threads without
+   * synchronization.
+   */
+  private static final class NormalizedValue
+  {
+    private final MatchingRule matchingRule;
+    private final ByteString value;
+    private final NormalizedValue previous;
+
+    private NormalizedValue(MatchingRule matchingRule, ByteString value, NormalizedValue previous)
+    {
+      this.matchingRule = matchingRule;
+      this.value = value;
+      this.previous = previous;
+    }
+
+    private ByteString get(MatchingRule matchingRule)
+    {
+      for (NormalizedValue n = this; n != null; n = n.previous)
+      {
+        if (n.matchingRule == matchingRule)
+        {
+          return n.value;
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Indicates whether the provided attribute has a value matching the provided assertion.
+   * <p>
+   * Real attributes match the assertion against the normalized values they memoize, so that
+   * evaluating the same attribute several times only normalizes each value once.
+   *
+   * @param attribute
+   *          the attribute whose values must be matched
+   * @param matchingRule
+   *          the matching rule which built the assertion
+   * @param assertion
+   *          the assertion to match
+   * @return the result of the match, or {@code null} if the attribute is not a real attribute
+   *         built by this class, in which case the attribute methods taking the assertion value
+   *         must be used instead
+   */
+  static ConditionResult matchesAssertion(Attribute attribute, MatchingRule matchingRule, Assertion assertion)
+  {
+    if (attribute instanceof RealAttribute)
+    {
+      return ((RealAttribute) attribute).matchesAssertion(matchingRule, assertion);
+    }
+    return null;
+  }
+
   /**
    * Creates an attribute that has no options.
    * <p>
@@ -0,0 +1,498 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.types;
+
+import static org.opends.server.util.ServerConstants.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.forgerock.opendj.ldap.Assertion;
+import org.forgerock.opendj.ldap.AttributeDescription;
+import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.ConditionResult;
+import org.forgerock.opendj.ldap.DecodeException;
+import org.forgerock.opendj.ldap.schema.AttributeType;
+import org.forgerock.opendj.ldap.schema.MatchingRule;
+
+/**
+ * A search filter compiled into a tree of matchers, so that matching it
+ * against many entries does not interpret the filter again for each entry.
+ * <p>
+ * Compiling a filter builds the assertions of its components once: matching
+ * an entry only normalizes the attribute values, and real attributes memoize
+ * the values they normalized for each matching rule. The components of AND and
+ * OR filters are periodically reordered so that the components which most
+ * often decide the result are evaluated first.
+ * <p>
+ * Components which cannot be compiled, such as extensible match filters or
+ * filters whose attribute type has no suitable matching rule, are interpreted
+ * by the {@link SearchFilter} they come from.
+ * <p>
+ * Compiled filters may be used concurrently. The statistics used for reordering
+ * components are updated without synchronization: lost updates only delay or
+ * skew the reordering, which never changes the result of a match.
+ */
+final class CompiledSearchFilter
+{
+  /** Number of evaluations of a compound filter between two reorderings of its components. */
+  private static final int REORDER_INTERVAL = 1024;
+
+  private final Matcher root;
+
+  private CompiledSearchFilter(Matcher root)
+  {
+    this.root = root;
+  }
+
+  /**
+   * Compiles the provided filter.
+   *
+   * @param filter
+   *          the filter to compile
+   * @return the compiled filter, which interprets the provided filter if it
+   *         is malformed or nested too deeply
+   */
+  static CompiledSearchFilter compile(SearchFilter filter)
+  {
+    final Matcher root = compile(filter, filter, 0);
+    return new CompiledSearchFilter(root != null ? root : new InterpretedMatcher(filter, filter, 0));
+  }
+
+  /**
+   * Indicates whether the compiled filter matches the provided entry.
+   *
+   * @param entry
+   *          the entry to match
+   * @return {@code TRUE} if the filter matches the entry, {@code FALSE} if it
+   *         does not, {@code UNDEFINED} if the result is undefined
+   * @throws DirectoryException
+   *           if a component which had to be interpreted is malformed
+   */
+  ConditionResult matches(Entry entry) throws DirectoryException
+  {
+    return root.matches(entry);
+  }
+
+  /** Returns {@code null} if the filter is malformed or nested too deeply. */
+  private static Matcher compile(SearchFilter filter, SearchFilter completeFilter, int depth)
+  {
+    switch (filter.getFilterType())
+    {
+    case AND:
+    case OR:
+      return compileCompound(filter, completeFilter, depth);
+    case NOT:
+      if (filter.getNotComponent() == null || depth >= MAX_NESTED_FILTER_DEPTH)
+      {
+        return null;
+      }
+      final Matcher component = compile(filter.getNotComponent(), completeFilter, depth + 1);
+      return component != null ? new NotMatcher(component) : null;
+    case PRESENT:
+      final AttributeDescription attributeDescription = filter.getAttributeDescription();
+      return attributeDescription != null ? new PresenceMatcher(attributeDescription) : null;
+    case EQUALITY:
+    case SUBSTRING:
+    case GREATER_OR_EQUAL:
+    case LESS_OR_EQUAL:
+    case APPROXIMATE_MATCH:
+      return compileAssertion(filter, completeFilter, depth);
+    default:
+      return new InterpretedMatcher(filter, completeFilter, depth);
+    }
+  }
+
+  private static Matcher compileCompound(SearchFilter filter, SearchFilter completeFilter, int depth)
+  {
+    final boolean isAnd = filter.getFilterType() == FilterType.AND;
+    if (filter.getFilterComponents() == null)
+    {
+      return null;
+    }
+    else if (filter.getFilterComponents().isEmpty())
+    {
+      // RFC 4526 absolute true (&) and false (|) filters
+      return new ConstantMatcher(isAnd ? ConditionResult.TRUE : ConditionResult.FALSE);
+    }
+    else if (depth >= MAX_NESTED_FILTER_DEPTH)
+    {
+      return null;
+    }
+
+    final Matcher[] components = new Matcher[filter.getFilterComponents().size()];
+    int i = 0;
+    for (SearchFilter f : filter.getFilterComponents())
+    {
+      final Matcher component = compile(f, completeFilter, depth + 1);
+      if (component == null)
+      {
+        return null;
+      }
+      components[i++] = component;
+    }
+    if (components.length == 1)
+    {
+      return components[0];
+    }
+    return isAnd ? new AndMatcher(components) : new OrMatcher(components);
+  }
+
+  private static Matcher compileAssertion(SearchFilter filter, SearchFilter completeFilter, int depth)
+  {
+    final AttributeDescription attributeDescription = filter.getAttributeDescription();
+    final FilterType filterType = filter.getFilterType();
+    final ByteString assertionValue = filter.getAssertionValue();
+    if (attributeDescription == null
+        || (filterType == FilterType.SUBSTRING ? !hasSubstringElements(filter) : assertionValue == null))
+    {
+      return null;
+    }
+
+    final AttributeType attributeType = attributeDescription.getAttributeType();
+    try
+    {
+      final MatchingRule matchingRule;
+      final Assertion assertion;
+      switch (filterType)
+      {
+      case EQUALITY:
+        matchingRule = attributeType.getEqualityMatchingRule();
+        assertion = matchingRule != null ? matchingRule.getAssertion(assertionValue) : null;
+        break;
+      case SUBSTRING:
+        matchingRule = attributeType.getSubstringMatchingRule();
+        assertion = matchingRule != null ? matchingRule.getSubstringAssertion(
+            filter.getSubInitialElement(), filter.getSubAnyElements(), filter.getSubFinalElement()) : null;
+        break;
+      case GREATER_OR_EQUAL:
+        matchingRule = attributeType.getOrderingMatchingRule();
+        assertion = matchingRule != null ? matchingRule.getGreaterOrEqualAssertion(assertionValue) : null;
+        break;
+      case LESS_OR_EQUAL:
+        matchingRule = attributeType.getOrderingMatchingRule();
+        assertion = matchingRule != null ? matchingRule.getLessOrEqualAssertion(assertionValue) : null;
+        break;
+      default:
+        matchingRule = attributeType.getApproximateMatchingRule();
+        assertion = matchingRule != null ? matchingRule.getAssertion(assertionValue) : null;
+        break;
+      }
+      if (assertion != null)
+      {
+        return new AssertionMatcher(filter, attributeDescription, matchingRule, assertion);
+      }
+    }
+    catch (DecodeException e)
+    {
+      // The attributes decide what an invalid assertion value means
+    }
+    return new InterpretedMatcher(filter, completeFilter, depth);
+  }
+
+  private static boolean hasSubstringElements(SearchFilter filter)
+  {
+    final List<ByteString> subAny = filter.getSubAnyElements();
+    return filter.getSubInitialElement() != null
+        || filter.getSubFinalElement() != null
+        || (subAny != null && !subAny.isEmpty());
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder sb = new StringBuilder();
+    root.toString(sb);
+    return sb.toString();
+  }
+
+  /** A compiled filter component. */
+  private abstract static class Matcher
+  {
+    /** Number of evaluations since the last reordering of the parent component. */
+    private int evaluations;
+    /** Number of evaluations which decided the result of the parent component. */
+    private int decisions;
+
+    abstract ConditionResult matches(Entry entry) throws DirectoryException;
+
+    abstract void toString(StringBuilder sb);
+
+    /** Higher values are evaluated first by the parent component. */
+    private double getDecisionRatio()
+    {
+      return (decisions + 1.0) / (evaluations + 2.0);
+    }
+  }
+
+  /** Orders the components most likely to decide the result of their parent first. */
+  private static final Comparator<Matcher> MOST_DECISIVE_FIRST = new Comparator<Matcher>()
+  {
+    @Override
+    public int compare(Matcher m1, Matcher m2)
+    {
+      return Double.compare(m2.getDecisionRatio(), m1.getDecisionRatio());
+    }
+  };
+
+  /** AND and OR filters, whose result is decided by the first component returning a given result. */
+  private abstract static class CompoundMatcher extends Matcher
+  {
+    private final ConditionResult decidingResult;
+    private volatile Matcher[] components;
+    private int evaluationsBeforeReordering = REORDER_INTERVAL;
+
+    CompoundMatcher(Matcher[] components, ConditionResult decidingResult)
+    {
+      this.components = components;
+      this.decidingResult = decidingResult;
+    }
+
+    @Override
+    final ConditionResult matches(Entry entry) throws DirectoryException
+    {
+      final Matcher[] current = components;
+      if (--evaluationsBeforeReordering <= 0)
+      {
+        reorder(current);
+      }
+
+      boolean undefined = false;
+      for (Matcher component : current)
+      {
+        final ConditionResult result = component.matches(entry);
+        component.evaluations++;
+        if (result == decidingResult)
+        {
+          component.decisions++;
+          return decidingResult;
+        }
+        undefined |= result == ConditionResult.UNDEFINED;
+      }
+      // RFC 4511: no component decided the result,
+      // it is undefined if one of them was undefined
+      return undefined ? ConditionResult.UNDEFINED : ConditionResult.not(decidingResult);
+    }
+
+    private void reorder(Matcher[] current)
+    {
+      evaluationsBeforeReordering = REORDER_INTERVAL;
+      final Matcher[] reordered = current.clone();
+      Arrays.sort(reordered, MOST_DECISIVE_FIRST);
+      for (Matcher component : reordered)
+      {
+        // Decay the statistics so that the order follows changes in the data
+        component.evaluations /= 2;
+        component.decisions /= 2;
+      }
+      components = reordered;
+    }
+
+    @Override
+    final void toString(StringBuilder sb)
+    {
+      sb.append('(').append(decidingResult == ConditionResult.FALSE ? '&' : '|');
+      for (Matcher component : components)
+      {
+        component.toString(sb);
+      }
+      sb.append(')');
+    }
+  }
+
+  /** AND filters. */
+  private static final class AndMatcher extends CompoundMatcher
+  {
+    AndMatcher(Matcher[] components)
+    {
+      super(components, ConditionResult.FALSE);
+    }
+  }
+
+  /** OR filters. */
+  private static final class OrMatcher extends CompoundMatcher
+  {
+    OrMatcher(Matcher[] components)
+    {
+      super(components, ConditionResult.TRUE);
+    }
+  }
+
+  /** NOT filters. */
+  private static final class NotMatcher extends Matcher
+  {
+    private final Matcher component;
+
+    NotMatcher(Matcher component)
+    {
+      this.component = component;
+    }
+
+    @Override
+    ConditionResult matches(Entry entry) throws DirectoryException
+    {
+      return ConditionResult.not(component.matches(entry));
+    }
+
+    @Override
+    void toString(StringBuilder sb)
+    {
+      sb.append("(!");
+      component.toString(sb);
+      sb.append(')');
+    }
+  }
+
+  /** Absolute true and false filters. */
+  private static final class ConstantMatcher extends Matcher
+  {
+    private final ConditionResult result;
+
+    ConstantMatcher(ConditionResult result)
+    {
+      this.result = result;
+    }
+
+    @Override
+    ConditionResult matches(Entry entry)
+    {
+      return result;
+    }
+
+    @Override
+    void toString(StringBuilder sb)
+    {
+      sb.append(result == ConditionResult.TRUE ? "(&)" : "(|)");
+    }
+  }
+
+  /** Presence filters. */
+  private static final class PresenceMatcher extends Matcher
+  {
+    private final AttributeDescription attributeDescription;
+
+    PresenceMatcher(AttributeDescription attributeDescription)
+    {
+      this.attributeDescription = attributeDescription;
+    }
+
+    @Override
+    ConditionResult matches(Entry entry)
+    {
+      return ConditionResult.valueOf(entry.hasAttribute(attributeDescription));
+    }
+
+    @Override
+    void toString(StringBuilder sb)
+    {
+      sb.append('(').append(attributeDescription).append("=*)");
+    }
+  }
+
+  /** Equality, substring, ordering and approximate filters, whose assertion is built once. */
+  private static final class AssertionMatcher extends Matcher
+  {
+    private final SearchFilter filter;
+    private final AttributeDescription attributeDescription;
+    private final MatchingRule matchingRule;
+    private final Assertion assertion;
+
+    AssertionMatcher(SearchFilter filter, AttributeDescription attributeDescription, MatchingRule matchingRule,
+        Assertion assertion)
+    {
+      this.filter = filter;
+      this.attributeDescription = attributeDescription;
+      this.matchingRule = matchingRule;
+      this.assertion = assertion;
+    }
+
+    @Override
+    ConditionResult matches(Entry entry)
+    {
+      ConditionResult result = ConditionResult.FALSE;
+      for (Attribute a : entry.getAllAttributes(attributeDescription))
+      {
+        ConditionResult cr = AttributeBuilder.matchesAssertion(a, matchingRule, assertion);
+        if (cr == null)
+        {
+          // Virtual attributes: let the provider decide
+          cr = matchesAttribute(a);
+        }
+        if (cr == ConditionResult.TRUE)
+        {
+          return ConditionResult.TRUE;
+        }
+        else if (cr == ConditionResult.UNDEFINED)
+        {
+          result = ConditionResult.UNDEFINED;
+        }
+      }
+      return result;
+    }
+
+    private ConditionResult matchesAttribute(Attribute a)
+    {
+      switch (filter.getFilterType())
+      {
+      case EQUALITY:
+        return a.matchesEqualityAssertion(filter.getAssertionValue());
+      case SUBSTRING:
+        return a.matchesSubstring(
+            filter.getSubInitialElement(), filter.getSubAnyElements(), filter.getSubFinalElement());
+      case GREATER_OR_EQUAL:
+        return a.greaterThanOrEqualTo(filter.getAssertionValue());
+      case LESS_OR_EQUAL:
+        return a.lessThanOrEqualTo(filter.getAssertionValue());
+      default:
+        return a.approximatelyEqualTo(filter.getAssertionValue());
+      }
+    }
+
+    @Override
+    void toString(StringBuilder sb)
+    {
+      filter.toString(sb);
+    }
+  }
+
+  /** Components which are interpreted by their search filter. */
+  private static final class InterpretedMatcher extends Matcher
+  {
+    private final SearchFilter filter;
+    private final SearchFilter completeFilter;
+    private final int depth;
+
+    InterpretedMatcher(SearchFilter filter, SearchFilter completeFilter, int depth)
+    {
+      this.filter = filter;
+      this.completeFilter = completeFilter;
+      this.depth = depth;
+    }
+
+    @Override
+    ConditionResult matches(Entry entry) throws DirectoryException
+    {
+      return filter.matchesEntryInternal(completeFilter, entry, depth);
+    }
+
+    @Override
+    void toString(StringBuilder sb)
+    {
+      filter.toString(sb);
+    }
+  }
+}
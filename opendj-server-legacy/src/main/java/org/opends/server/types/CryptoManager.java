@@ -17,6 +17,8 @@
 package org.opends.server.types;
 
 import org.forgerock.opendj.config.server.ConfigException;
+import org.forgerock.opendj.ldap.ByteSequence;
+import org.forgerock.opendj.ldap.ByteStringBuilder;
 import org.opends.server.crypto.CryptoSuite;
 
 import javax.crypto.Mac;
@@ -253,6 +255,84 @@ import java.util.SortedSet;
                         byte[] data)
          throws GeneralSecurityException, CryptoManagerException;
 
+  /**
+   * Encrypts the provided data using the requested cipher algorithm,
+   * appending the encrypted representation of the data to the provided
+   * byte string builder. The encrypted representation is the same as the
+   * one returned by {@link #encrypt(String, int, byte[])}.
+   *
+   * @param  cipherTransformation  The algorithm/mode/padding to use
+   *         for the cipher.
+   *
+   * @param  keyLengthBits  The length in bits of the encryption key
+   *         this method is to use. Note the specified key length and
+   *         transformation must be compatible.
+   *
+   * @param  data  The plain-text data to be encrypted.
+   *
+   * @param  output  The byte string builder to which the encrypted
+   *         representation of the data is appended. It must not be the
+   *         provided data.
+   *
+   * @throws  java.security.GeneralSecurityException  If a problem
+   * occurs while encrypting the data.
+   *
+   * @throws  CryptoManagerException  If a problem occurs managing the
+   *          encryption key or producing the cipher.
+   */
+  void encrypt(String cipherTransformation, int keyLengthBits,
+               ByteSequence data, ByteStringBuilder output)
+         throws GeneralSecurityException, CryptoManagerException;
+
+  /**
+   * Encrypts a batch of data, such as all the values written by a
+   * transaction. It must only be used by the thread which created it.
+   */
+  interface BatchEncryptor
+  {
+    /**
+     * Encrypts the provided data, appending the encrypted
+     * representation of the data to the provided byte string builder.
+     * The encrypted representation is the same as the one returned by
+     * {@link CryptoManager#encrypt(String, int, byte[])}.
+     *
+     * @param  data  The plain-text data to be encrypted.
+     *
+     * @param  output  The byte string builder to which the encrypted
+     *         representation of the data is appended. It must not be the
+     *         provided data.
+     *
+     * @throws  java.security.GeneralSecurityException  If a problem
+     * occurs while encrypting the data.
+     *
+     * @throws  CryptoManagerException  If a problem occurs producing
+     *          the cipher.
+     */
+    void encrypt(ByteSequence data, ByteStringBuilder output)
+           throws GeneralSecurityException, CryptoManagerException;
+  }
+
+  /**
+   * Returns an encryptor for a batch of data encrypted in turn by the
+   * calling thread. The encryption key is looked up once for the whole
+   * batch and the initialization vectors are drawn from the random
+   * number generator several at a time, rather than for each data.
+   *
+   * @param  cipherTransformation  The algorithm/mode/padding to use
+   *         for the cipher.
+   *
+   * @param  keyLengthBits  The length in bits of the encryption key
+   *         this method is to use. Note the specified key length and
+   *         transformation must be compatible.
+   *
+   * @return  The encryptor for the batch.
+   *
+   * @throws  CryptoManagerException  If a problem occurs managing the
+   *          encryption key.
+   */
+  BatchEncryptor newBatchEncryptor(String cipherTransformation, int keyLengthBits)
+         throws CryptoManagerException;
+
   /**
    * Writes encrypted data to the provided output stream using the
    * preferred cipher transformation.
@@ -313,6 +393,28 @@ import java.util.SortedSet;
          throws GeneralSecurityException,
                 CryptoManagerException;
 
+  /**
+   * Decrypts the provided data using cipher specified by the key
+   * identifier prologue to the data, appending the clear-text
+   * representation of the data to the provided byte string builder.
+   *
+   * @param  data  The cipher-text data to be decrypted.
+   *
+   * @param  output  The byte string builder to which the clear-text
+   *         representation of the data is appended. It must not be the
+   *         provided data.
+   *
+   * @throws  java.security.GeneralSecurityException  If a problem
+   * occurs while decrypting the data.
+   *
+   * @throws  CryptoManagerException  If a problem occurs reading the
+   *          key identifier or initialization vector from the data
+   *          prologue, or using these values to initialize a Cipher.
+   */
+  void decrypt(ByteSequence data, ByteStringBuilder output)
+         throws GeneralSecurityException,
+                CryptoManagerException;
+
   /**
    * Returns a CipherInputStream instantiated with a cipher
    * corresponding to the key identifier prologue to the data.
@@ -3395,9 +3395,8 @@ public class Entry
         int dnLength = entryBuffer.readBERLength();
 
 
-        // Next is the DN itself.
-        ByteSequence dnBytes = entryBuffer.readByteSequence(dnLength);
-        dn = DN.valueOf(dnBytes.toByteString());
+        // Next is the DN itself, whose parents are usually found in the DN caches.
+        dn = DN.valueOf(entryBuffer.readStringUtf8(dnLength));
       }
 
 
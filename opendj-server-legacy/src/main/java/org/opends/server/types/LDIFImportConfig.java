@@ -38,6 +38,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.zip.GZIPInputStream;
 
 import org.forgerock.i18n.LocalizableMessage;
@@ -45,6 +46,7 @@ import org.forgerock.i18n.LocalizableMessageDescriptor.Arg1;
 import org.forgerock.opendj.ldap.DN;
 import org.forgerock.opendj.ldap.schema.AttributeType;
 import org.forgerock.util.Pair;
+import org.opends.server.api.ImportedEntryListener;
 import org.opends.server.tools.makeldif.MakeLDIFInputStream;
 import org.opends.server.tools.makeldif.TemplateFile;
 import org.opends.server.util.CollectionUtils;
@@ -126,6 +128,8 @@ public final class LDIFImportConfig extends OperationConfig
 
   private String tmpDirectory;
   private int threadCount;
+  /** The listeners notified of the entries successfully imported. */
+  private final List<ImportedEntryListener> importedEntryListeners = new CopyOnWriteArrayList<>();
 
   /**
    * Creates a new LDIF import configuration that will read from the
@@ -1055,4 +1059,47 @@ public final class LDIFImportConfig extends OperationConfig
   {
     return this.threadCount;
   }
+
+  /**
+   * Registers a listener which will be notified of every entry successfully
+   * imported with this configuration.
+   *
+   * @param listener
+   *          The listener to register.
+   */
+  public void registerImportedEntryListener(ImportedEntryListener listener)
+  {
+    importedEntryListeners.add(listener);
+  }
+
+  /**
+   * Deregisters a listener previously registered with
+   * {@link #registerImportedEntryListener(ImportedEntryListener)}.
+   *
+   * @param listener
+   *          The listener to deregister.
+   */
+  public void deregisterImportedEntryListener(ImportedEntryListener listener)
+  {
+    importedEntryListeners.remove(listener);
+  }
+
+  /**
+   * Notifies the registered listeners that an entry was successfully imported.
+   * Importers which do not call this method simply leave the listeners
+   * without any notification.
+   *
+   * @param entryOrdinal
+   *          The position of the entry in the order in which the backend
+   *          exports its entries.
+   * @param entry
+   *          The entry as it was stored in the backend.
+   */
+  public void entryImported(long entryOrdinal, Entry entry)
+  {
+    for (ImportedEntryListener listener : importedEntryListeners)
+    {
+      listener.entryImported(entryOrdinal, entry);
+    }
+  }
 }
@@ -555,6 +555,25 @@ public interface Operation extends Runnable
    */
   long getProcessingNanoTime();
 
+  /**
+   * Indicates that this operation is about to be placed in the work
+   * queue.  This must be called before the operation is submitted to
+   * the work queue, so that the time it spends waiting for a worker
+   * thread can be measured.
+   */
+  void setQueueingStartTime();
+
+  /**
+   * Retrieves the length of time in nanoseconds that this operation
+   * spent in the work queue before a worker thread started processing
+   * it.
+   *
+   * @return  The length of time in nanoseconds that this operation
+   *          spent in the work queue, or -1 if it was not queued or if
+   *          no worker thread has started processing it yet.
+   */
+  long getQueueingNanoTime();
+
   /**
    * Indicates that processing on this operation has completed
    * successfully and that the client should perform any associated
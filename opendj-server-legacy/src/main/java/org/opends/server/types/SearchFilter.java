@@ -90,6 +90,12 @@ public final class SearchFilter
   /** The matching rule ID for this search filter. */
   private final String matchingRuleID;
 
+  /**
+   * This filter compiled for matching entries, which is {@code null} until
+   * an entry is matched against it.
+   */
+  private volatile CompiledSearchFilter compiledFilter;
+
   private SearchFilter(FilterType filterType,
                       Collection<SearchFilter> filterComponents,
                       SearchFilter notComponent,
@@ -2049,6 +2055,19 @@ public final class SearchFilter
 
 
 
+  /**
+   * Retrieves the attribute description for this filter.
+   *
+   * @return  The attribute description for this filter, or
+   *          <CODE>null</CODE> if there is none.
+   */
+  AttributeDescription getAttributeDescription()
+  {
+    return attributeDescription;
+  }
+
+
+
   /**
    * Retrieves the assertion value for this filter.
    *
@@ -2128,6 +2147,10 @@ public final class SearchFilter
 
   /**
    * Indicates whether this search filter matches the provided entry.
+   * <p>
+   * The filter is compiled the first time an entry is matched against
+   * it, so that matching the candidate entries of a search operation
+   * builds the assertions of the filter only once.
    *
    * @param  entry  The entry for which to make the determination.
    *
@@ -2140,7 +2163,14 @@ public final class SearchFilter
   public boolean matchesEntry(Entry entry)
          throws DirectoryException
   {
-    ConditionResult result = matchesEntryInternal(this, entry, 0);
+    CompiledSearchFilter compiled = compiledFilter;
+    if (compiled == null)
+    {
+      // Concurrent compilations are harmless: they produce equivalent results
+      compiled = CompiledSearchFilter.compile(this);
+      compiledFilter = compiled;
+    }
+    ConditionResult result = compiled.matches(entry);
     switch (result)
     {
       case TRUE:
@@ -2176,7 +2206,7 @@ public final class SearchFilter
    * @throws  DirectoryException  If a problem is encountered during
    *                              processing.
    */
-  private ConditionResult matchesEntryInternal(
+  ConditionResult matchesEntryInternal(
                                SearchFilter completeFilter,
                                Entry entry, int depth)
           throws DirectoryException
@@ -2280,6 +2310,9 @@ public final class SearchFilter
         throw new DirectoryException(DirectoryServer.getCoreConfigManager().getServerErrorResultCode(), message);
       }
 
+      // RFC 4511: the AND filter is FALSE if any component is FALSE,
+      // whatever the order of the components
+      ConditionResult andResult = ConditionResult.TRUE;
       for (SearchFilter f : filterComponents)
       {
         ConditionResult result =
@@ -2304,7 +2337,8 @@ public final class SearchFilter
              "Undefined result for AND component %s in filter " +
              "%s for entry %s", f, completeFilter, entry.getName());
             }
-            return result;
+            andResult = ConditionResult.UNDEFINED;
+            break;
           default:
             LocalizableMessage message =
                 ERR_SEARCH_FILTER_INVALID_RESULT_TYPE.
@@ -2313,15 +2347,14 @@ public final class SearchFilter
         }
       }
 
-      // If we have gotten here, then all the components must have
-      // matched.
+      // If we have gotten here, then no component was FALSE.
       if (logger.isTraceEnabled())
       {
         logger.trace(
-            "Returning TRUE for AND component %s in filter %s " +
-            "for entry %s", this, completeFilter, entry.getName());
+            "Returning %s for AND component %s in filter %s " +
+            "for entry %s", andResult, this, completeFilter, entry.getName());
       }
-      return ConditionResult.TRUE;
+      return andResult;
     }
   }
 
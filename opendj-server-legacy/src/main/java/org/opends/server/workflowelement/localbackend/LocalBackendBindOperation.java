@@ -423,8 +423,10 @@ public class LocalBackendBindOperation
       }
 
       // Determine whether the provided password matches any of the stored
-      // passwords for the user.
-      if (pwPolicyState.passwordMatches(simplePassword))
+      // passwords for the user. Expensive storage schemes may be checked on
+      // dedicated threads.
+      PasswordHashingExecutor hashingExecutor = DirectoryServer.getCoreConfigManager().getPasswordHashingExecutor();
+      if (hashingExecutor.passwordMatches(getClientConnection(), pwPolicyState, simplePassword))
       {
         setResultCode(ResultCode.SUCCESS);
 
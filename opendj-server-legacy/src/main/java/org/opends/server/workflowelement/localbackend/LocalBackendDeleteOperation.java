@@ -299,6 +299,7 @@ public class LocalBackendDeleteOperation
           return;
         }
         backend.deleteEntry(entryDN, this);
+        DirectoryServer.getCoreConfigManager().getDeferredPasswordPolicyStateUpdates().discardSubtree(entryDN);
       }
 
       LocalBackendWorkflowElement.addPreReadResponse(this, preReadRequest, entry);
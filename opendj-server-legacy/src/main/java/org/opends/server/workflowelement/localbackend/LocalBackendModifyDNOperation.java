@@ -291,6 +291,9 @@ public class LocalBackendModifyDNOperation
     // Check for a request to cancel this operation.
     checkIfCanceled(false);
 
+    // Write the deferred password policy state updates of the renamed entries while they can still be found.
+    DirectoryServer.getCoreConfigManager().getDeferredPasswordPolicyStateUpdates().flushSubtree(entryDN);
+
     /*
      * Acquire subtree write locks for the current and new DN. Be careful to avoid deadlocks by
      * taking the locks in a well defined order.
@@ -439,6 +442,7 @@ public class LocalBackendModifyDNOperation
           return;
         }
         currentBackend.renameEntry(entryDN, newEntry, this);
+        DirectoryServer.getCoreConfigManager().getDeferredPasswordPolicyStateUpdates().discardSubtree(entryDN);
       }
 
       // Attach the pre-read and/or post-read controls to the response if
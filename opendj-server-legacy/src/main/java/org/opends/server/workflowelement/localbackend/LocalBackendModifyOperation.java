@@ -382,6 +382,10 @@ public class LocalBackendModifyOperation
 
     checkIfCanceled(false);
 
+    // Write the deferred password policy state updates of the entry first, so that this modification,
+    // for example a password reset clearing the authentication failures, is applied after them.
+    DirectoryServer.getCoreConfigManager().getDeferredPasswordPolicyStateUpdates().flush(entryDN);
+
     // Acquire a write lock on the target entry.
     final DNLock entryLock = DirectoryServer.getLockManager().tryWriteLockEntry(entryDN);
     try
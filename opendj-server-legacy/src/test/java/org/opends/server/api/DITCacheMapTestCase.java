@@ -555,4 +555,38 @@ public class DITCacheMapTestCase extends APITestCase
     assertTrue(ditMap.containsKey(dn8));
     assertTrue(ditMap.containsKey(dn9));
   }
+
+  @Test
+  public void testDITCacheMapManySiblings()
+         throws Exception
+  {
+    clearTestMap();
+
+    final DN parentDN = DN.valueOf("ou=Siblings,dc=example,dc=com");
+    for (int i = 0; i < 1000; i++)
+    {
+      ditMap.put(parentDN.child("cn", "Sibling" + i), "Sibling" + i);
+    }
+    assertEquals(ditMap.size(), 1000);
+
+    // Remove the first, last and every other sibling.
+    for (int i = 0; i < 1000; i += 2)
+    {
+      assertEquals(ditMap.remove(parentDN.child("cn", "Sibling" + i)), "Sibling" + i);
+    }
+    assertEquals(ditMap.remove(parentDN.child("cn", "Sibling999")), "Sibling999");
+    assertEquals(ditMap.size(), 499);
+
+    Collection<String> subtreeSet = ditMap.getSubtree(parentDN);
+    assertEquals(subtreeSet.size(), 499);
+    for (int i = 1; i < 999; i += 2)
+    {
+      assertTrue(subtreeSet.contains("Sibling" + i));
+    }
+
+    Set<String> removeSet = new HashSet<>();
+    assertTrue(ditMap.removeSubtree(parentDN, removeSet));
+    assertEquals(removeSet.size(), 499);
+    assertTrue(ditMap.isEmpty());
+  }
 }
@@ -15,6 +15,8 @@
  */
 package org.opends.server.authorization.dseecompat;
 
+import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.DN;
 import org.opends.server.DirectoryServerTestCase;
 import org.opends.server.TestCaseUtils;
 import org.opends.server.types.DirectoryException;
@@ -61,4 +63,29 @@ public class AciBodyTest extends DirectoryServerTestCase
     assertThat(aciBody.toString()).isEqualTo(aci);
     assertThat(aciBody.getPermBindRulePairs()).hasSize(1);
   }
+
+  @DataProvider(name = "entryIndependentAcis")
+  public Object[][] getEntryIndependentAcis()
+  {
+    return new Object[][] {
+      { "(targetattr=\"*\")(version 3.0; acl \"Anonymous read\"; allow(read) userdn=\"ldap:///anyone\";)", true },
+      { "(targetattr=\"cn\")(version 3.0; acl \"Group read\"; "
+          + "allow(read) groupdn=\"ldap:///cn=readers,dc=example,dc=com\" and authmethod=\"simple\";)", true },
+      { "(target=\"ldap:///ou=people,dc=example,dc=com\")(targetattr=\"*\")"
+          + "(version 3.0; acl \"Target\"; allow(read) userdn=\"ldap:///all\";)", false },
+      { "(targetfilter=\"(objectClass=person)\")(targetattr=\"*\")"
+          + "(version 3.0; acl \"Target filter\"; allow(read) userdn=\"ldap:///all\";)", false },
+      { "(targetscope=\"onelevel\")(targetattr=\"*\")"
+          + "(version 3.0; acl \"Target scope\"; allow(read) userdn=\"ldap:///all\";)", false },
+      { "(targetattr=\"*\")(version 3.0; acl \"Self read\"; allow(read) userdn=\"ldap:///self\";)", false },
+      { "(targetattr=\"*\")(version 3.0; acl \"Manager read\"; "
+          + "allow(read) userdn=\"ldap:///anyone\" or userattr=\"manager#USERDN\";)", false }, };
+  }
+
+  @Test(dataProvider = "entryIndependentAcis")
+  public void isEntryIndependent(String aci, boolean isEntryIndependent) throws Exception
+  {
+    DN dn = DN.valueOf("dc=example,dc=com");
+    assertThat(Aci.decode(ByteString.valueOfUtf8(aci), dn).isEntryIndependent()).isEqualTo(isEntryIndependent);
+  }
 }
@@ -0,0 +1,115 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.authorization.dseecompat;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.opends.server.authorization.dseecompat.Aci.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.DN;
+import org.opends.server.DirectoryServerTestCase;
+import org.opends.server.TestCaseUtils;
+import org.opends.server.types.DirectoryException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@SuppressWarnings("javadoc")
+public class AciIndexTest extends DirectoryServerTestCase
+{
+  private static final DN SUFFIX = DN.valueOf("dc=example,dc=com");
+  private static final DN TENANT1 = DN.valueOf("ou=tenant1,dc=example,dc=com");
+  private static final DN TENANT2 = DN.valueOf("ou=tenant2,dc=example,dc=com");
+
+  @BeforeClass
+  public void setUp() throws Exception
+  {
+    TestCaseUtils.startFakeServer();
+  }
+
+  @AfterClass
+  public void tearDown() throws DirectoryException
+  {
+    TestCaseUtils.shutdownFakeServer();
+  }
+
+  @Test
+  public void testCandidatesAreFilteredByTargetDN() throws Exception
+  {
+    Aci untargeted = aci(SUFFIX, "(targetattr=\"*\")(version 3.0; acl \"all\"; allow(read) userdn=\"ldap:///all\";)");
+    Aci tenant1 = aci(SUFFIX, "(target=\"ldap:///ou=tenant1,dc=example,dc=com\")(targetattr=\"*\")"
+        + "(version 3.0; acl \"tenant1\"; allow(read) groupdn=\"ldap:///cn=admins,ou=tenant1,dc=example,dc=com\";)");
+    Aci tenant2 = aci(SUFFIX, "(target=\"ldap:///ou=tenant2,dc=example,dc=com\")(targetattr=\"*\")"
+        + "(version 3.0; acl \"tenant2\"; allow(read) groupdn=\"ldap:///cn=admins,ou=tenant2,dc=example,dc=com\";)");
+    Aci notTenant2 = aci(SUFFIX, "(target!=\"ldap:///ou=tenant2,dc=example,dc=com\")(targetattr=\"*\")"
+        + "(version 3.0; acl \"not tenant2\"; allow(read) userdn=\"ldap:///anyone\";)");
+    AciIndex index = index(SUFFIX, untargeted, tenant1, tenant2, notTenant2);
+
+    assertThat(index.getCandidateAcis(DN.valueOf("uid=user,ou=tenant1,dc=example,dc=com"), ACI_READ))
+        .containsOnly(untargeted, tenant1, notTenant2);
+    assertThat(index.getCandidateAcis(TENANT2, ACI_READ)).containsOnly(untargeted, tenant2, notTenant2);
+    assertThat(index.getCandidateAcis(SUFFIX, ACI_READ)).containsOnly(untargeted, notTenant2);
+    assertThat(index.getCandidateAcis(DN.valueOf("dc=other"), ACI_READ)).isEmpty();
+  }
+
+  @Test
+  public void testCandidatesAreFilteredByRights() throws Exception
+  {
+    Aci read = aci(SUFFIX, "(targetattr=\"*\")(version 3.0; acl \"read\"; allow(read) userdn=\"ldap:///all\";)");
+    Aci write = aci(SUFFIX, "(targetattr=\"*\")(version 3.0; acl \"write\"; allow(write) userdn=\"ldap:///self\";)");
+    Aci control = aci(SUFFIX, "(targetcontrol=\"1.3.6.1.4.1.42.2.27.9.5.2\")"
+        + "(version 3.0; acl \"control\"; allow(read) userdn=\"ldap:///anyone\";)");
+    AciIndex index = index(SUFFIX, read, write, control);
+
+    assertThat(index.getCandidateAcis(TENANT1, ACI_READ)).containsOnly(read);
+    assertThat(index.getCandidateAcis(TENANT1, ACI_SEARCH)).containsOnly(read);
+    assertThat(index.getCandidateAcis(TENANT1, ACI_WRITE)).containsOnly(write);
+    assertThat(index.getCandidateAcis(TENANT1, ACI_READ | ACI_CONTROL)).containsOnly(read, write, control);
+  }
+
+  @Test
+  public void testUpdateReplacesChangedEntries() throws Exception
+  {
+    Aci suffixAci = aci(SUFFIX, "(targetattr=\"*\")(version 3.0; acl \"suffix\"; allow(read) userdn=\"ldap:///all\";)");
+    Aci tenantAci = aci(TENANT1, "(targetattr=\"*\")"
+        + "(version 3.0; acl \"tenant\"; allow(read) userdn=\"ldap:///all\";)");
+    Map<DN, List<Aci>> acis = new HashMap<>();
+    acis.put(SUFFIX, Arrays.asList(suffixAci));
+    AciIndex index = AciIndex.build(acis);
+
+    acis.put(TENANT1, Arrays.asList(tenantAci));
+    AciIndex updated = index.update(acis, Collections.singletonList(TENANT1));
+    assertThat(index.getCandidateAcis(TENANT1, ACI_READ)).containsOnly(suffixAci);
+    assertThat(updated.getCandidateAcis(TENANT1, ACI_READ)).containsOnly(suffixAci, tenantAci);
+    assertThat(updated.removeSubtree(TENANT1).getCandidateAcis(TENANT1, ACI_READ)).containsOnly(suffixAci);
+  }
+
+  private Aci aci(DN dn, String aci) throws Exception
+  {
+    return Aci.decode(ByteString.valueOfUtf8(aci), dn);
+  }
+
+  private AciIndex index(DN dn, Aci... acis)
+  {
+    return AciIndex.build(Collections.singletonMap(dn, Arrays.asList(acis)));
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.forgerock.opendj.ldap.DN;
+import org.forgerock.opendj.ldap.ModificationType;
+import org.opends.server.TestCaseUtils;
+import org.opends.server.types.Attributes;
+import org.opends.server.types.Entry;
+import org.opends.server.types.Modification;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@SuppressWarnings("javadoc")
+public class DeferredPasswordPolicyStateUpdatesTestCase extends CoreTestCase
+{
+  private static final String LAST_LOGIN_TIME = "ds-pwp-last-login-time";
+  private static final String FAILURE_TIME = "pwdFailureTime";
+
+  private DN userDN;
+
+  @BeforeClass
+  public void setUp() throws Exception
+  {
+    TestCaseUtils.startServer();
+    TestCaseUtils.initializeTestBackend(true);
+    Entry userEntry = TestCaseUtils.addEntry(
+        "dn: uid=deferred.user,o=test",
+        "objectClass: top",
+        "objectClass: person",
+        "objectClass: organizationalPerson",
+        "objectClass: inetOrgPerson",
+        "uid: deferred.user",
+        "givenName: Deferred",
+        "sn: User",
+        "cn: Deferred User",
+        "userPassword: password");
+    userDN = userEntry.getName();
+  }
+
+  @Test
+  public void testPendingUpdatesAreCoalescedAndApplied() throws Exception
+  {
+    DeferredPasswordPolicyStateUpdates updates = new DeferredPasswordPolicyStateUpdates();
+    updates.defer(userDN, Arrays.asList(
+        new Modification(ModificationType.REPLACE, Attributes.create(LAST_LOGIN_TIME, "20260101000000Z"), true),
+        new Modification(ModificationType.ADD, Attributes.create(FAILURE_TIME, "20260101000001.000Z"), true)),
+        3600 * 1000L);
+    updates.defer(userDN, Arrays.asList(
+        new Modification(ModificationType.REPLACE, Attributes.create(LAST_LOGIN_TIME, "20260102000000Z"), true),
+        new Modification(ModificationType.ADD, Attributes.create(FAILURE_TIME, "20260101000002.000Z"), true)),
+        3600 * 1000L);
+
+    Entry storedEntry = DirectoryServer.getEntry(userDN);
+    assertThat(storedEntry.getAllAttributes(LAST_LOGIN_TIME)).isEmpty();
+    assertThat(storedEntry.getAllAttributes(FAILURE_TIME)).isEmpty();
+
+    Entry view = updates.applyPendingUpdates(storedEntry);
+    assertThat(view.parseAttribute(LAST_LOGIN_TIME).asString()).isEqualTo("20260102000000Z");
+    assertThat(view.parseAttribute(FAILURE_TIME).asSetOfString())
+        .containsOnly("20260101000001.000Z", "20260101000002.000Z");
+  }
+
+  @Test
+  public void testFlushWritesPendingUpdates() throws Exception
+  {
+    DeferredPasswordPolicyStateUpdates updates = new DeferredPasswordPolicyStateUpdates();
+    updates.defer(userDN, Arrays.asList(
+        new Modification(ModificationType.REPLACE, Attributes.create(LAST_LOGIN_TIME, "20260103000000Z"), true)),
+        3600 * 1000L);
+    updates.flush(userDN);
+
+    Entry storedEntry = DirectoryServer.getEntry(userDN);
+    assertThat(storedEntry.parseAttribute(LAST_LOGIN_TIME).asString()).isEqualTo("20260103000000Z");
+    assertThat(updates.applyPendingUpdates(storedEntry)).isSameAs(storedEntry);
+  }
+
+  @Test
+  public void testFailedBindsAreDeferredUntilLockout() throws Exception
+  {
+    DN dn = addUser("deferred.bind");
+    setDefaultPolicyProps("deferred-state-update-interval:1 h", "lockout-failure-count:3");
+    try
+    {
+      assertThat(TestCaseUtils.canBind(dn.toString(), "wrong")).isFalse();
+      assertThat(TestCaseUtils.canBind(dn.toString(), "wrong")).isFalse();
+
+      // the failures are only kept in memory, but taken into account by the binds
+      Entry storedEntry = DirectoryServer.getEntry(dn);
+      assertThat(storedEntry.getAllAttributes(FAILURE_TIME)).isEmpty();
+      assertThat(getServerUpdates().applyPendingUpdates(storedEntry).parseAttribute(FAILURE_TIME).asSetOfString())
+          .hasSize(2);
+
+      // locking the account cannot be deferred: it is written along with the deferred failures
+      assertThat(TestCaseUtils.canBind(dn.toString(), "wrong")).isFalse();
+      storedEntry = DirectoryServer.getEntry(dn);
+      assertThat(storedEntry.parseAttribute(FAILURE_TIME).asSetOfString()).hasSize(3);
+      assertThat(getServerUpdates().applyPendingUpdates(storedEntry)).isSameAs(storedEntry);
+      assertThat(TestCaseUtils.canBind(dn.toString(), "password")).isFalse();
+    }
+    finally
+    {
+      setDefaultPolicyProps("deferred-state-update-interval:0 s", "lockout-failure-count:0");
+    }
+  }
+
+  @Test
+  public void testPasswordResetClearsDeferredFailures() throws Exception
+  {
+    DN dn = addUser("deferred.reset");
+    setDefaultPolicyProps("deferred-state-update-interval:1 h", "lockout-failure-count:3");
+    try
+    {
+      assertThat(TestCaseUtils.canBind(dn.toString(), "wrong")).isFalse();
+      assertThat(TestCaseUtils.canBind(dn.toString(), "wrong")).isFalse();
+
+      assertThat(TestCaseUtils.applyModifications(false,
+          "dn: " + dn,
+          "changetype: modify",
+          "replace: userPassword",
+          "userPassword: newpassword")).isEqualTo(0);
+
+      // the deferred failures were written before the reset, which cleared them
+      Entry storedEntry = DirectoryServer.getEntry(dn);
+      assertThat(storedEntry.getAllAttributes(FAILURE_TIME)).isEmpty();
+      assertThat(getServerUpdates().applyPendingUpdates(storedEntry)).isSameAs(storedEntry);
+
+      // a single failure must not lock the account with the failures preceding the reset
+      assertThat(TestCaseUtils.canBind(dn.toString(), "wrong")).isFalse();
+      assertThat(TestCaseUtils.canBind(dn.toString(), "newpassword")).isTrue();
+    }
+    finally
+    {
+      setDefaultPolicyProps("deferred-state-update-interval:0 s", "lockout-failure-count:0");
+    }
+  }
+
+  @Test
+  public void testDeleteDiscardsPendingUpdates() throws Exception
+  {
+    DN dn = addUser("deferred.delete");
+    DeferredPasswordPolicyStateUpdates updates = getServerUpdates();
+    updates.defer(dn, Arrays.asList(
+        new Modification(ModificationType.REPLACE, Attributes.create(LAST_LOGIN_TIME, "20260104000000Z"), true)),
+        3600 * 1000L);
+    Entry storedEntry = DirectoryServer.getEntry(dn);
+    assertThat(updates.applyPendingUpdates(storedEntry)).isNotSameAs(storedEntry);
+
+    TestCaseUtils.deleteEntry(dn);
+
+    // a user added again with the same DN does not inherit the updates
+    addUser("deferred.delete");
+    storedEntry = DirectoryServer.getEntry(dn);
+    assertThat(updates.applyPendingUpdates(storedEntry)).isSameAs(storedEntry);
+  }
+
+  private DeferredPasswordPolicyStateUpdates getServerUpdates()
+  {
+    return DirectoryServer.getCoreConfigManager().getDeferredPasswordPolicyStateUpdates();
+  }
+
+  private DN addUser(String uid) throws Exception
+  {
+    return TestCaseUtils.addEntry(
+        "dn: uid=" + uid + ",o=test",
+        "objectClass: top",
+        "objectClass: person",
+        "objectClass: organizationalPerson",
+        "objectClass: inetOrgPerson",
+        "uid: " + uid,
+        "givenName: Deferred",
+        "sn: User",
+        "cn: Deferred User",
+        "userPassword: password").getName();
+  }
+
+  private void setDefaultPolicyProps(String... props)
+  {
+    for (String prop : props)
+    {
+      TestCaseUtils.dsconfig("set-password-policy-prop", "--policy-name", "Default Password Policy", "--set", prop);
+    }
+  }
+}
@@ -2164,6 +2164,137 @@ public class GroupManagerTestCase
     assertNull(groupManager.getGroupInstance(groupDN));
   }
 
+  /**
+   * Tests that the materialized members of a dynamic group follow the changes
+   * made to the entries, and that verifying them finds no difference.
+   *
+   * @throws  Exception  If an unexpected problem occurs.
+   */
+  @Test
+  public void testMaterializedDynamicGroupMembership()
+         throws Exception
+  {
+    TestCaseUtils.initializeTestBackend(true);
+
+    GroupManager groupManager = DirectoryServer.getGroupManager();
+    groupManager.deregisterAllGroups();
+
+    TestCaseUtils.dsconfig(
+        "set-group-implementation-prop",
+        "--implementation-name", "Dynamic",
+        "--set", "materialized-membership:true");
+    try
+    {
+      TestCaseUtils.addEntries(
+        "dn: ou=People,o=test",
+        "objectClass: top",
+        "objectClass: organizationalUnit",
+        "ou: People",
+        "",
+        "dn: ou=Groups,o=test",
+        "objectClass: top",
+        "objectClass: organizationalUnit",
+        "ou: Groups",
+        "",
+        "dn: uid=user.1,ou=People,o=test",
+        "objectClass: top",
+        "objectClass: person",
+        "objectClass: organizationalPerson",
+        "objectClass: inetOrgPerson",
+        "uid: user.1",
+        "givenName: User",
+        "sn: 1",
+        "cn: User 1",
+        "",
+        "dn: uid=user.2,ou=People,o=test",
+        "objectClass: top",
+        "objectClass: person",
+        "objectClass: organizationalPerson",
+        "objectClass: inetOrgPerson",
+        "uid: user.2",
+        "givenName: User",
+        "sn: 2",
+        "cn: User 2",
+        "",
+        "dn: uid=user.3,ou=People,o=test",
+        "objectClass: top",
+        "objectClass: person",
+        "objectClass: organizationalPerson",
+        "objectClass: inetOrgPerson",
+        "uid: user.3",
+        "givenName: User",
+        "sn: 3",
+        "cn: User 3",
+        "",
+        "dn: cn=Test Group of URLs,ou=Groups,o=test",
+        "objectClass: top",
+        "objectClass: groupOfURLs",
+        "cn: Test Group of URLs",
+        "memberURL: ldap:///o=test??sub?(sn<=2)");
+
+      DN groupDN = DN.valueOf("cn=Test Group of URLs,ou=Groups,o=test");
+      DN user1DN = DN.valueOf("uid=user.1,ou=People,o=test");
+      DN user2DN = DN.valueOf("uid=user.2,ou=People,o=test");
+      DN user3DN = DN.valueOf("uid=user.3,ou=People,o=test");
+      DN user4DN = DN.valueOf("uid=user.4,ou=People,o=test");
+
+      DynamicGroup group = (DynamicGroup) groupManager.getGroupInstance(groupDN);
+      assertNotNull(group);
+      assertTrue(group.isMembershipMaterialized());
+      assertTrue(group.isMember(user1DN));
+      assertTrue(group.isMember(user2DN));
+      assertFalse(group.isMember(user3DN));
+
+      ModifyOperation modifyOperation = getRootConnection().processModify(
+          newModifyRequest(user3DN).addModification(REPLACE, "sn", "0"));
+      assertEquals(modifyOperation.getResultCode(), ResultCode.SUCCESS);
+      modifyOperation = getRootConnection().processModify(
+          newModifyRequest(user1DN).addModification(REPLACE, "sn", "5"));
+      assertEquals(modifyOperation.getResultCode(), ResultCode.SUCCESS);
+      DeleteOperation deleteOperation = getRootConnection().processDelete(user2DN);
+      assertEquals(deleteOperation.getResultCode(), ResultCode.SUCCESS);
+      TestCaseUtils.addEntry(
+        "dn: uid=user.4,ou=People,o=test",
+        "objectClass: top",
+        "objectClass: person",
+        "objectClass: organizationalPerson",
+        "objectClass: inetOrgPerson",
+        "uid: user.4",
+        "givenName: User",
+        "sn: 1",
+        "cn: User 4");
+
+      assertFalse(group.isMember(user1DN));
+      assertFalse(group.isMember(user2DN));
+      assertTrue(group.isMember(user3DN));
+      assertTrue(group.isMember(user4DN));
+
+      Set<DN> memberSet = new LinkedHashSet<>();
+      memberSet.add(user3DN);
+      memberSet.add(user4DN);
+      MemberList memberList = group.getMembers();
+      while (memberList.hasMoreMembers())
+      {
+        DN memberDN = memberList.nextMemberDN();
+        assertTrue(memberSet.remove(memberDN), "Returned unexpected member " + memberDN);
+      }
+      memberList.close();
+      assertTrue(memberSet.isEmpty(), "Expected member set to be empty but it was not:  " + memberSet);
+
+      assertEquals(group.verifyMaterializedMembership(), 0);
+
+      deleteOperation = getRootConnection().processDelete(groupDN);
+      assertEquals(deleteOperation.getResultCode(), ResultCode.SUCCESS);
+    }
+    finally
+    {
+      TestCaseUtils.dsconfig(
+          "set-group-implementation-prop",
+          "--implementation-name", "Dynamic",
+          "--set", "materialized-membership:false");
+    }
+  }
+
   /**
    * Tests subtree delete operation on groups tree.
    *
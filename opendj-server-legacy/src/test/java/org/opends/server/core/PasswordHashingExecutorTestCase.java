@@ -0,0 +1,284 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.core;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.forgerock.opendj.ldap.ResultCode;
+import org.opends.server.TestCaseUtils;
+import org.opends.server.types.DirectoryException;
+import org.opends.server.util.TestTimer;
+import org.opends.server.util.TestTimer.CallableVoid;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@SuppressWarnings("javadoc")
+public class PasswordHashingExecutorTestCase extends CoreTestCase
+{
+  private static final String SCHEME = "TEST";
+
+  /** A password check blocking until released, which records the order in which the checks start. */
+  private final class BlockingCheck implements Callable<Boolean>
+  {
+    private final String name;
+    private final CountDownLatch release;
+    private final CountDownLatch started = new CountDownLatch(1);
+    private volatile Thread thread;
+
+    private BlockingCheck(String name, CountDownLatch release)
+    {
+      this.name = name;
+      this.release = release;
+    }
+
+    @Override
+    public Boolean call() throws Exception
+    {
+      thread = Thread.currentThread();
+      synchronized (startOrder)
+      {
+        startOrder.add(name);
+      }
+      started.countDown();
+      return release.await(10, SECONDS);
+    }
+  }
+
+  /** Overrides the number of worker threads of the server. */
+  private static final class PasswordHashingExecutorForTest extends PasswordHashingExecutor
+  {
+    private final int nbWorkerThreads;
+
+    private PasswordHashingExecutorForTest(int nbWorkerThreads)
+    {
+      this.nbWorkerThreads = nbWorkerThreads;
+    }
+
+    @Override
+    protected int getNumWorkerThreads()
+    {
+      return nbWorkerThreads;
+    }
+  }
+
+  private final List<String> startOrder = new ArrayList<>();
+  /** Releases the blocking password checks. */
+  private CountDownLatch release;
+  private ExecutorService workers;
+  private PasswordHashingExecutor executor;
+
+  @BeforeClass
+  public void startServer() throws Exception
+  {
+    TestCaseUtils.startServer();
+  }
+
+  @BeforeMethod
+  public void setUp()
+  {
+    startOrder.clear();
+    release = new CountDownLatch(1);
+    workers = Executors.newCachedThreadPool();
+  }
+
+  @AfterMethod
+  public void tearDown()
+  {
+    release.countDown();
+    executor.setConfiguration(0, null, 1);
+    workers.shutdownNow();
+  }
+
+  /** Checks the password from a worker thread, which waits for the result of the check. */
+  private Future<Boolean> submit(final long connectionID, final Callable<Boolean> check)
+  {
+    return workers.submit(new Callable<Boolean>()
+    {
+      @Override
+      public Boolean call() throws Exception
+      {
+        return executor.passwordMatches(connectionID, SCHEME, check);
+      }
+    });
+  }
+
+  /** Runs a password check blocking the hashing thread, and waits for it to start. */
+  private Future<Boolean> blockHashingThread(long connectionID) throws Exception
+  {
+    final BlockingCheck check = new BlockingCheck("blocking" + connectionID, release);
+    final Future<Boolean> result = submit(connectionID, check);
+    assertThat(check.started.await(10, SECONDS)).isTrue();
+    return result;
+  }
+
+  private Future<Boolean> submitQueued(long connectionID, String name) throws Exception
+  {
+    final int queueDepth = executor.getQueueDepth();
+    final Future<Boolean> result = submit(connectionID, new BlockingCheck(name, release));
+    waitForQueueDepth(queueDepth + 1);
+    return result;
+  }
+
+  private void waitForQueueDepth(final int expectedQueueDepth) throws Exception
+  {
+    newTimer().repeatUntilSuccess(new CallableVoid()
+    {
+      @Override
+      public void call() throws Exception
+      {
+        assertThat(executor.getQueueDepth()).isEqualTo(expectedQueueDepth);
+      }
+    });
+  }
+
+  private void assertRejected(long connectionID) throws Exception
+  {
+    try
+    {
+      executor.passwordMatches(connectionID, SCHEME, new BlockingCheck("rejected" + connectionID, release));
+      fail("The password check should have been rejected");
+    }
+    catch (DirectoryException e)
+    {
+      assertThat(e.getResultCode()).isEqualTo(ResultCode.BUSY);
+    }
+  }
+
+  private static TestTimer newTimer()
+  {
+    return new TestTimer.Builder()
+        .maxSleep(10, SECONDS)
+        .sleepTimes(10, MILLISECONDS)
+        .toTimer();
+  }
+
+  @Test
+  public void testFullQueueRejectsBinds() throws Exception
+  {
+    executor = new PasswordHashingExecutorForTest(100);
+    executor.setConfiguration(1, 3, 1);
+    final Future<Boolean> blocking = blockHashingThread(0);
+    final Future<Boolean> queued1 = submitQueued(1, "queued1");
+    final Future<Boolean> queued2 = submitQueued(2, "queued2");
+
+    // A client connection cannot queue more than its own share
+    assertRejected(1);
+    final Future<Boolean> queued3 = submitQueued(3, "queued3");
+    // The queue is full
+    assertRejected(4);
+
+    release.countDown();
+    assertThat(blocking.get(10, SECONDS)).isTrue();
+    assertThat(queued1.get(10, SECONDS)).isTrue();
+    assertThat(queued2.get(10, SECONDS)).isTrue();
+    assertThat(queued3.get(10, SECONDS)).isTrue();
+    assertThat(executor.getQueueDepth()).isEqualTo(0);
+  }
+
+  @Test
+  public void testDefaultQueueSizeIsAQuarterOfTheWorkerThreads() throws Exception
+  {
+    executor = new PasswordHashingExecutorForTest(8);
+    executor.setConfiguration(1, null, 100);
+    blockHashingThread(0);
+    submitQueued(1, "queued1");
+    submitQueued(2, "queued2");
+
+    assertRejected(3);
+  }
+
+  @Test
+  public void testClientConnectionsAreServedInTurn() throws Exception
+  {
+    executor = new PasswordHashingExecutorForTest(100);
+    executor.setConfiguration(1, 10, 10);
+    final CountDownLatch releaseBlocking = new CountDownLatch(1);
+    final BlockingCheck blocking = new BlockingCheck("blocking", releaseBlocking);
+    submit(0, blocking);
+    assertThat(blocking.started.await(10, SECONDS)).isTrue();
+
+    final List<Future<Boolean>> results = new ArrayList<>();
+    results.add(submitQueued(1, "a1"));
+    results.add(submitQueued(1, "a2"));
+    results.add(submitQueued(1, "a3"));
+    results.add(submitQueued(2, "b1"));
+
+    // The checks of the other client connection do not wait for all the checks of the first one
+    release.countDown();
+    releaseBlocking.countDown();
+    for (Future<Boolean> result : results)
+    {
+      assertThat(result.get(10, SECONDS)).isTrue();
+    }
+    assertThat(startOrder).containsExactly("blocking", "a1", "b1", "a2", "a3");
+  }
+
+  @Test
+  public void testHashingThreadsAreResized() throws Exception
+  {
+    executor = new PasswordHashingExecutorForTest(100);
+    executor.setConfiguration(1, 10, 10);
+    blockHashingThread(0);
+    final BlockingCheck waiting = new BlockingCheck("waiting", release);
+    submit(1, waiting);
+    waitForQueueDepth(1);
+
+    // The new hashing thread runs the waiting check
+    executor.setConfiguration(2, 10, 10);
+    assertThat(waiting.started.await(10, SECONDS)).isTrue();
+    assertThat(executor.getQueueDepth()).isEqualTo(0);
+    assertThat(executor.getNbRunningThreads()).isEqualTo(2);
+
+    // The extra hashing thread terminates once its check completes
+    executor.setConfiguration(1, 10, 10);
+    assertThat(executor.getNbRunningThreads()).isEqualTo(2);
+    release.countDown();
+    newTimer().repeatUntilSuccess(new CallableVoid()
+    {
+      @Override
+      public void call() throws Exception
+      {
+        assertThat(executor.getNbRunningThreads()).isEqualTo(1);
+      }
+    });
+
+    // Without hashing threads, the password is checked by the calling thread
+    executor.setConfiguration(0, 10, 10);
+    final BlockingCheck direct = new BlockingCheck("direct", release);
+    assertThat(executor.passwordMatches(2, SCHEME, direct)).isTrue();
+    assertThat(direct.thread).isSameAs(Thread.currentThread());
+    newTimer().repeatUntilSuccess(new CallableVoid()
+    {
+      @Override
+      public void call() throws Exception
+      {
+        assertThat(executor.getNbRunningThreads()).isEqualTo(0);
+      }
+    });
+  }
+}
@@ -40,7 +40,9 @@ import javax.crypto.Mac;
 
 import org.forgerock.i18n.LocalizableMessage;
 import org.forgerock.opendj.ldap.Attribute;
+import org.forgerock.opendj.ldap.ByteSequence;
 import org.forgerock.opendj.ldap.ByteString;
+import org.forgerock.opendj.ldap.ByteStringBuilder;
 import org.forgerock.opendj.ldap.Connection;
 import org.forgerock.opendj.ldap.DN;
 import org.forgerock.opendj.ldap.LDAPConnectionFactory;
@@ -256,6 +258,65 @@ public class CryptoManagerTestCase extends CryptoTestCase {
   }
 
 
+  /**
+   Tests a byte string builder encryption-decryption cycle using the supplied
+   cipher parameters, and that the ciphertext is compatible with the byte
+   array methods. Each cycle is run twice to reuse the ciphers of the thread.
+
+   @param cp  Cipher parameters to use for this test iteration.
+
+   @throws Exception If an exceptional condition arises.
+   */
+  @Test(dataProvider="cipherParametersData")
+  public void testBufferEncryptDecryptSuccess(CipherParameters cp)
+          throws Exception {
+    final CryptoManager cm = getServerContext().getCryptoManager();
+    final ByteString secretMessage = ByteString.valueOfUtf8("secret message");
+
+    for (int i = 0; i < 2; i++) {
+      final ByteStringBuilder cipherText = new ByteStringBuilder();
+      cipherText.appendByte(42);
+      if (null == cp.getTransformation()) {
+        cipherText.appendBytes(cm.encrypt(secretMessage.toByteArray()));
+      } else {
+        cm.encrypt(cp.getTransformation(), cp.getKeyLength(), secretMessage, cipherText);
+      }
+      final ByteSequence encrypted = cipherText.subSequence(1, cipherText.length());
+      assertEquals(cm.decrypt(encrypted.toByteArray()), secretMessage.toByteArray());
+
+      final ByteStringBuilder plainText = new ByteStringBuilder();
+      plainText.appendByte(42);
+      cm.decrypt(encrypted, plainText);
+      assertEquals(plainText.subSequence(1, plainText.length()).toByteString(), secretMessage);
+    }
+  }
+
+  /**
+   Tests that the data encrypted by a batch encryptor, which draws several
+   initialization vectors at a time, is decrypted by the regular methods.
+
+   @param cp  Cipher parameters to use for this test iteration.
+
+   @throws Exception If an exceptional condition arises.
+   */
+  @Test(dataProvider="cipherParametersData")
+  public void testBatchEncryptDecryptSuccess(CipherParameters cp)
+          throws Exception {
+    if (null == cp.getTransformation()) {
+      return;
+    }
+    final CryptoManager cm = getServerContext().getCryptoManager();
+    final CryptoManager.BatchEncryptor encryptor =
+        cm.newBatchEncryptor(cp.getTransformation(), cp.getKeyLength());
+
+    for (int i = 0; i < 20; i++) {
+      final ByteString secretMessage = ByteString.valueOfUtf8("secret message " + i);
+      final ByteStringBuilder cipherText = new ByteStringBuilder();
+      encryptor.encrypt(secretMessage, cipherText);
+      assertEquals(cm.decrypt(cipherText.toByteArray()), secretMessage.toByteArray());
+    }
+  }
+
   /**
    Tests a simple cipher stream encryption-decryption cycle using the supplied
    cipher parameters.
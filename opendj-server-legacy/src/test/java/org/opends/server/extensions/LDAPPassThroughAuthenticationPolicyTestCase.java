@@ -337,6 +337,7 @@ public class LDAPPassThroughAuthenticationPolicyTestCase extends
     private String mappedSearchBindPasswordFile;
     private String mappedSearchBindPasswordProperty;
     private boolean usePasswordCaching;
+    private long verifiedPasswordCacheTTL;
 
     @Override
     public void addChangeListener(
@@ -561,6 +562,12 @@ public class LDAPPassThroughAuthenticationPolicyTestCase extends
       return this;
     }
 
+    MockPolicyCfg withVerifiedPasswordCacheTTL(final long ttl)
+    {
+      this.verifiedPasswordCacheTTL = ttl;
+      return this;
+    }
+
     @Override
     public String getMappedSearchBindPasswordEnvironmentVariable()
     {
@@ -608,6 +615,12 @@ public class LDAPPassThroughAuthenticationPolicyTestCase extends
     {
       return usePasswordCaching;
     }
+
+    @Override
+    public long getVerifiedPasswordCacheTTL()
+    {
+      return verifiedPasswordCacheTTL;
+    }
   }
 
   static final class MockProvider implements
@@ -3998,6 +4011,102 @@ public class LDAPPassThroughAuthenticationPolicyTestCase extends
     provider.assertAllExpectedEventsReceived();
   }
 
+  /**
+   * Tests that passwords verified remotely are not verified again until they
+   * expire, the user's entry changes, or a different password is presented.
+   *
+   * @throws Exception
+   *           If an unexpected exception occurred.
+   */
+  @Test
+  public void testVerifiedPasswordCache() throws Exception
+  {
+    // Mock configuration.
+    final LDAPPassThroughAuthenticationPolicyCfg cfg = mockCfg()
+        .withPrimaryServer(phost1)
+        .withMappingPolicy(MappingPolicy.MAPPED_BIND)
+        .withMappedAttribute("aduser")
+        .withVerifiedPasswordCacheTTL(60);
+
+    // Create the provider and its list of expected events.
+    final GetLDAPConnectionFactoryEvent fe = new GetLDAPConnectionFactoryEvent(
+        phost1, cfg);
+    final MockProvider provider = new MockProvider().withCurrentTime(
+        "20100621120000Z").expectEvent(fe);
+
+    // Only the first bind is performed remotely.
+    final GetConnectionEvent ceBind = new GetConnectionEvent(fe);
+    provider.expectEvent(ceBind).expectEvent(
+        new SimpleBindEvent(ceBind, adDNString, userPassword,
+            ResultCode.SUCCESS));
+
+    final Entry testUser = TestCaseUtils.makeEntry(
+        /* @formatter:off */
+        "dn: " + opendjDNString,
+        "objectClass: top",
+        "objectClass: person",
+        "sn: user",
+        "cn: test user",
+        "aduser: " + adDNString
+        /* @formatter:on */
+    );
+
+    final LDAPPassThroughAuthenticationPolicyFactory factory = new LDAPPassThroughAuthenticationPolicyFactory(
+        provider);
+    assertTrue(factory.isConfigurationAcceptable(cfg, null));
+    final AuthenticationPolicy policy = factory.createAuthenticationPolicy(cfg);
+    assertTrue(policy.createAuthenticationPolicyState(testUser)
+        .passwordMatches(ByteString.valueOfUtf8(userPassword)));
+    assertTrue(policy.createAuthenticationPolicyState(testUser)
+        .passwordMatches(ByteString.valueOfUtf8(userPassword)));
+    provider.assertAllExpectedEventsReceived();
+
+    // A different password is verified remotely.
+    provider.expectEvent(new SimpleBindEvent(ceBind, adDNString, "wrong",
+        ResultCode.INVALID_CREDENTIALS));
+    assertFalse(policy.createAuthenticationPolicyState(testUser)
+        .passwordMatches(ByteString.valueOfUtf8("wrong")));
+    provider.assertAllExpectedEventsReceived();
+
+    // The remote password has changed: the verification is forgotten.
+    provider.expectEvent(new SimpleBindEvent(ceBind, adDNString, userPassword,
+        ResultCode.SUCCESS));
+    assertTrue(policy.createAuthenticationPolicyState(testUser)
+        .passwordMatches(ByteString.valueOfUtf8(userPassword)));
+    provider.assertAllExpectedEventsReceived();
+
+    // A change of the account state is verified remotely.
+    final Entry disabledUser = TestCaseUtils.makeEntry(
+        /* @formatter:off */
+        "dn: " + opendjDNString,
+        "objectClass: top",
+        "objectClass: person",
+        "sn: user",
+        "cn: test user",
+        "aduser: " + adDNString,
+        "ds-pwp-account-disabled: false"
+        /* @formatter:on */
+    );
+    provider.expectEvent(new SimpleBindEvent(ceBind, adDNString, userPassword,
+        ResultCode.SUCCESS));
+    assertTrue(policy.createAuthenticationPolicyState(disabledUser)
+        .passwordMatches(ByteString.valueOfUtf8(userPassword)));
+    provider.assertAllExpectedEventsReceived();
+
+    // An expired verification is verified remotely.
+    provider.withCurrentTime("20100621120200Z");
+    provider.expectEvent(new SimpleBindEvent(ceBind, adDNString, userPassword,
+        ResultCode.SUCCESS));
+    assertTrue(policy.createAuthenticationPolicyState(testUser)
+        .passwordMatches(ByteString.valueOfUtf8(userPassword)));
+    provider.assertAllExpectedEventsReceived();
+
+    // Tear down and check final state.
+    provider.expectEvent(new CloseEvent(ceBind));
+    policy.finalizeAuthenticationPolicy();
+    provider.assertAllExpectedEventsReceived();
+  }
+
   MockPolicyCfg mockCfg()
   {
     return new MockPolicyCfg();
@@ -0,0 +1,66 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.extensions;
+
+import static org.testng.Assert.*;
+
+import java.util.Collections;
+
+import org.forgerock.opendj.ldap.DN;
+import org.opends.server.TestCaseUtils;
+import org.opends.server.types.LDAPURL;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/** Tests which renamed or deleted subtrees invalidate the materialized members of a dynamic group. */
+@SuppressWarnings("javadoc")
+public class MaterializedDynamicGroupMembersTestCase extends ExtensionsTestCase
+{
+  @BeforeClass
+  public void startServer() throws Exception
+  {
+    TestCaseUtils.startServer();
+  }
+
+  @DataProvider
+  public Object[][] subtrees()
+  {
+    return new Object[][] {
+      // The base entry of the member URL is in the subtree
+      { "ldap:///ou=People,o=test??sub?(sn=*)", "o=test", true },
+      { "ldap:///ou=People,o=test??base?(sn=*)", "ou=People,o=test", true },
+      // The subtree is within the scope of the member URL
+      { "ldap:///ou=People,o=test??sub?(sn=*)", "ou=Sales,ou=People,o=test", true },
+      { "ldap:///ou=People,o=test??subordinate?(sn=*)", "uid=user.1,ou=Sales,ou=People,o=test", true },
+      { "ldap:///ou=People,o=test??one?(sn=*)", "uid=user.1,ou=People,o=test", true },
+      // The subtree is outside the scope of the member URL
+      { "ldap:///ou=People,o=test??one?(sn=*)", "uid=user.1,ou=Sales,ou=People,o=test", false },
+      { "ldap:///ou=People,o=test??base?(sn=*)", "uid=user.1,ou=People,o=test", false },
+      { "ldap:///ou=People,o=test??sub?(sn=*)", "ou=Groups,o=test", false },
+      { "ldap:///ou=People,o=test??sub?(sn=*)", "dc=example,dc=com", false },
+    };
+  }
+
+  @Test(dataProvider = "subtrees")
+  public void testIntersects(String memberURL, String subtreeDN, boolean expected) throws Exception
+  {
+    final MaterializedDynamicGroupMembers members = new MaterializedDynamicGroupMembers(
+        DN.valueOf("cn=Group,ou=Groups,o=test"), Collections.singleton(LDAPURL.decode(memberURL, true)));
+
+    assertEquals(members.intersects(DN.valueOf(subtreeDN)), expected);
+  }
+}
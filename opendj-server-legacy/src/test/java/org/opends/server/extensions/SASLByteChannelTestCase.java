@@ -0,0 +1,268 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.extensions;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.forgerock.opendj.ldap.ByteStringBuilder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.opends.server.api.ClientConnection;
+import org.opends.server.types.Attribute;
+import org.testng.annotations.Test;
+
+/** Tests the SASL byte channel wrapping and unwrapping data through a SASL context. */
+@SuppressWarnings("javadoc")
+public class SASLByteChannelTestCase extends ExtensionsTestCase
+{
+  private static final String MECHANISM = "TEST-SECURITY-LAYER";
+  private static final int MAX_SEND_SIZE = 16;
+
+  /** A channel recording the data written, and returning the data provided for reading. */
+  private static final class RecordingChannel implements ByteChannel
+  {
+    private final ByteStringBuilder written = new ByteStringBuilder();
+    private ByteBuffer toRead = ByteBuffer.allocate(0);
+
+    @Override
+    public synchronized int write(ByteBuffer src)
+    {
+      final int length = src.remaining();
+      written.appendBytes(src, length);
+      return length;
+    }
+
+    @Override
+    public int read(ByteBuffer dst)
+    {
+      if (!toRead.hasRemaining())
+      {
+        return 0;
+      }
+      final int length = Math.min(toRead.remaining(), dst.remaining());
+      for (int i = 0; i < length; i++)
+      {
+        dst.put(toRead.get());
+      }
+      return length;
+    }
+
+    @Override
+    public boolean isOpen()
+    {
+      return true;
+    }
+
+    @Override
+    public void close()
+    {
+      // Nothing to do.
+    }
+  }
+
+  /** Wraps data by reversing it, so that wrapped and unwrapped data differ. */
+  private static final Answer<byte[]> REVERSE = new Answer<byte[]>()
+  {
+    @Override
+    public byte[] answer(InvocationOnMock invocation)
+    {
+      final byte[] bytes = (byte[]) invocation.getArguments()[0];
+      final int offset = (Integer) invocation.getArguments()[1];
+      final int length = (Integer) invocation.getArguments()[2];
+      final byte[] reversed = new byte[length];
+      for (int i = 0; i < length; i++)
+      {
+        reversed[i] = bytes[offset + length - 1 - i];
+      }
+      return reversed;
+    }
+  };
+
+  private RecordingChannel channel;
+
+  private ByteChannel newSASLChannel() throws Exception
+  {
+    channel = new RecordingChannel();
+    final ClientConnection connection = mock(ClientConnection.class);
+    when(connection.getChannel()).thenReturn(channel);
+    final SASLContext saslContext = mock(SASLContext.class);
+    when(saslContext.getMaxReceiveBufferSize()).thenReturn(1024);
+    when(saslContext.getMaxRawSendBufferSize()).thenReturn(MAX_SEND_SIZE);
+    when(saslContext.wrap(any(byte[].class), anyInt(), anyInt())).thenAnswer(REVERSE);
+    when(saslContext.unwrap(any(byte[].class), anyInt(), anyInt())).thenAnswer(REVERSE);
+    return SASLByteChannel.getSASLByteChannel(connection, MECHANISM, saslContext).getChannel();
+  }
+
+  /** Returns the unwrapped data of the packets written to the underlying channel. */
+  private List<byte[]> getSentPackets()
+  {
+    final List<byte[]> packets = new ArrayList<>();
+    final ByteBuffer written = ByteBuffer.wrap(channel.written.toByteArray());
+    while (written.hasRemaining())
+    {
+      final byte[] packet = new byte[written.getInt()];
+      written.get(packet);
+      packets.add(reverse(packet));
+    }
+    return packets;
+  }
+
+  private static byte[] reverse(byte[] bytes)
+  {
+    final byte[] reversed = new byte[bytes.length];
+    for (int i = 0; i < bytes.length; i++)
+    {
+      reversed[i] = bytes[bytes.length - 1 - i];
+    }
+    return reversed;
+  }
+
+  private static byte[] newData(int length, int seed)
+  {
+    final byte[] data = new byte[length];
+    for (int i = 0; i < length; i++)
+    {
+      data[i] = (byte) (seed + i);
+    }
+    return data;
+  }
+
+  @Test
+  public void testWriteSplitsDataInPackets() throws Exception
+  {
+    final ByteChannel saslChannel = newSASLChannel();
+    final byte[] data = newData(40, 0);
+    final long packetsSent = getMonitorLong("packets-sent");
+
+    assertEquals(saslChannel.write(ByteBuffer.wrap(data)), data.length);
+
+    final List<byte[]> packets = getSentPackets();
+    assertEquals(packets.size(), 3);
+    assertEquals(packets.get(0), Arrays.copyOfRange(data, 0, 16));
+    assertEquals(packets.get(1), Arrays.copyOfRange(data, 16, 32));
+    assertEquals(packets.get(2), Arrays.copyOfRange(data, 32, 40));
+    assertEquals(getMonitorLong("packets-sent"), packetsSent + 3);
+  }
+
+  @Test
+  public void testConcurrentWritesAreNotInterleaved() throws Exception
+  {
+    final ByteChannel saslChannel = newSASLChannel();
+    final int nbThreads = 4;
+    final int nbWrites = 50;
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> threads = new ArrayList<>();
+    final List<Throwable> failures = new ArrayList<>();
+    for (int t = 0; t < nbThreads; t++)
+    {
+      final int seed = t * 64;
+      final Thread thread = new Thread()
+      {
+        @Override
+        public void run()
+        {
+          try
+          {
+            start.await();
+            for (int i = 0; i < nbWrites; i++)
+            {
+              saslChannel.write(ByteBuffer.wrap(newData(8, seed)));
+            }
+          }
+          catch (InterruptedException | IOException e)
+          {
+            synchronized (failures)
+            {
+              failures.add(e);
+            }
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for (Thread thread : threads)
+    {
+      thread.join();
+    }
+    assertTrue(failures.isEmpty(), failures.toString());
+
+    // Each write must have been sent whole, possibly along with other writes
+    final ByteStringBuilder unwrapped = new ByteStringBuilder();
+    for (byte[] packet : getSentPackets())
+    {
+      assertTrue(packet.length <= MAX_SEND_SIZE);
+      unwrapped.appendBytes(packet);
+    }
+    final byte[] sent = unwrapped.toByteArray();
+    assertEquals(sent.length, nbThreads * nbWrites * 8);
+    for (int i = 0; i < sent.length; i += 8)
+    {
+      assertEquals(Arrays.copyOfRange(sent, i, i + 8), newData(8, sent[i]));
+    }
+  }
+
+  @Test
+  public void testReadIntoSmallBuffer() throws Exception
+  {
+    final ByteChannel saslChannel = newSASLChannel();
+    final byte[] data1 = newData(10, 0);
+    final byte[] data2 = newData(7, 100);
+    final ByteBuffer packets = ByteBuffer.allocate(8 + data1.length + data2.length);
+    packets.putInt(data1.length).put(reverse(data1));
+    packets.putInt(data2.length).put(reverse(data2));
+    packets.flip();
+    channel.toRead = packets;
+    final long packetsReceived = getMonitorLong("packets-received");
+
+    final ByteStringBuilder read = new ByteStringBuilder();
+    final ByteBuffer buffer = ByteBuffer.allocate(3);
+    int n;
+    while ((n = saslChannel.read(buffer)) > 0)
+    {
+      buffer.flip();
+      read.appendBytes(buffer, n);
+      buffer.clear();
+    }
+
+    final ByteStringBuilder expected = new ByteStringBuilder().appendBytes(data1).appendBytes(data2);
+    assertEquals(read.toByteString(), expected.toByteString());
+    assertEquals(getMonitorLong("packets-received"), packetsReceived + 2);
+  }
+
+  private long getMonitorLong(String attributeName)
+  {
+    for (Attribute attribute : SASLSecurityLayerMonitor.getInstance(MECHANISM).getMonitorData())
+    {
+      if (attribute.getAttributeDescription().getNameOrOID().equals(attributeName))
+      {
+        return Long.parseLong(attribute.iterator().next().toString());
+      }
+    }
+    fail("Missing monitor attribute " + attributeName);
+    return -1;
+  }
+}
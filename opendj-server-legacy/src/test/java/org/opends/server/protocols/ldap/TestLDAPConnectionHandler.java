@@ -16,6 +16,7 @@
  */
 package org.opends.server.protocols.ldap;
 
+import static org.mockito.Mockito.*;
 import static org.opends.server.config.ConfigConstants.*;
 import static org.testng.Assert.*;
 
@@ -23,20 +24,25 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.forgerock.i18n.LocalizableMessage;
 import org.opends.server.TestCaseUtils;
 import org.forgerock.opendj.server.config.server.LDAPConnectionHandlerCfg;
 import org.opends.server.api.ClientConnection;
+import org.opends.server.api.MonitorData;
 import org.forgerock.opendj.config.server.ConfigException;
+import org.opends.server.core.DeleteOperationBasis;
 import org.opends.server.core.DirectoryServer;
 import org.opends.server.types.Attribute;
 import org.forgerock.opendj.ldap.schema.AttributeType;
 import org.forgerock.opendj.ldap.schema.Schema;
 import org.forgerock.opendj.reactive.LDAPConnectionHandler2;
 import org.opends.server.types.Attributes;
+import org.opends.server.types.AuthenticationInfo;
 import org.forgerock.opendj.ldap.DN;
 import org.opends.server.types.Entry;
+import org.opends.server.types.Operation;
 import org.opends.server.types.SSLClientAuthPolicy;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -313,4 +319,67 @@ public class TestLDAPConnectionHandler extends LdapTestCase {
     LDAPConnHandler.applyConfigurationChange(config);
     LDAPConnHandler.finalizeConnectionHandler(reasonMsg);
   }
+
+  /**
+   * Checks that the time an operation spends in the work queue is measured
+   * when a worker thread starts processing it, and reported to its client
+   * connection.
+   */
+  @Test
+  public void testQueueingTimeIsMeasuredAtDequeue() throws Exception
+  {
+    ClientConnection connection = mock(ClientConnection.class);
+    when(connection.getAuthenticationInfo()).thenReturn(new AuthenticationInfo());
+    DeleteOperationBasis operation =
+        new DeleteOperationBasis(connection, 1, 1, null, DN.valueOf("dc=example,dc=com"));
+
+    // Not queued: there is no queueing time
+    operation.setProcessingStartTime();
+    assertEquals(operation.getQueueingNanoTime(), -1);
+    verify(connection, never()).operationDequeued(any(Operation.class));
+
+    operation.setQueueingStartTime();
+    assertEquals(operation.getQueueingNanoTime(), -1);
+    Thread.sleep(10);
+    operation.setProcessingStartTime();
+    assertTrue(operation.getQueueingNanoTime() >= TimeUnit.MILLISECONDS.toNanos(10));
+    verify(connection).operationDequeued(operation);
+
+    // The operation is only dequeued once
+    operation.setProcessingStartTime();
+    verify(connection).operationDequeued(operation);
+  }
+
+  /** Checks the queue-to-dispatch statistics reported by the LDAP connection handler. */
+  @Test
+  public void testQueueToDispatchMonitorData() throws Exception
+  {
+    LDAPConnectionHandler handler = new LDAPConnectionHandler();
+    assertEquals(getMonitorLong(handler, "dispatched-requests"), 0);
+    assertEquals(getMonitorLong(handler, "queue-to-dispatch-avg-time-micros"), 0);
+    assertEquals(getMonitorLong(handler, "queue-to-dispatch-max-time-micros"), 0);
+
+    handler.recordQueueToDispatchTime(TimeUnit.MICROSECONDS.toNanos(6));
+    handler.recordQueueToDispatchTime(TimeUnit.MICROSECONDS.toNanos(30));
+    handler.recordQueueToDispatchTime(TimeUnit.MICROSECONDS.toNanos(12));
+
+    assertEquals(getMonitorLong(handler, "dispatched-requests"), 3);
+    assertEquals(getMonitorLong(handler, "queue-to-dispatch-avg-time-micros"), 16);
+    assertEquals(getMonitorLong(handler, "queue-to-dispatch-max-time-micros"), 30);
+  }
+
+  private long getMonitorLong(LDAPConnectionHandler handler, String attributeName)
+  {
+    MonitorData monitorData = new MonitorData();
+    handler.addMonitorData(monitorData);
+    for (Attribute attribute : monitorData)
+    {
+      if (attribute.getAttributeDescription().getNameOrOID().equals(attributeName))
+      {
+        return Long.parseLong(attribute.iterator().next().toString());
+      }
+    }
+    fail("Missing monitor attribute " + attributeName);
+    return -1;
+  }
 }
@@ -0,0 +1,142 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.replication.common;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.opends.server.replication.ReplicationTestCase;
+import org.testng.annotations.Test;
+
+@SuppressWarnings("javadoc")
+public class FlowControlWindowTest extends ReplicationTestCase
+{
+  private static final int WINDOW = 100;
+
+  /** Grants half of the window at time 0 and receives the first update using it after the provided delay. */
+  private static FlowControlWindow newWindowWithRtt(boolean adaptive, long rttMillis)
+  {
+    final FlowControlWindow window = new FlowControlWindow(WINDOW, adaptive, 0);
+    window.creditsGranted(WINDOW / 2, 0);
+    for (int i = 0; i < WINDOW; i++)
+    {
+      // these updates consume the initial window: no round trip time sample
+      window.updateReceived(MILLISECONDS.toNanos(1));
+    }
+    window.updateReceived(MILLISECONDS.toNanos(rttMillis));
+    return window;
+  }
+
+  private static void drain(FlowControlWindow window, int count, long nowNanos)
+  {
+    for (int i = 0; i < count; i++)
+    {
+      window.updateDrained(nowNanos);
+    }
+  }
+
+  @Test
+  public void noEstimateBeforeFirstGrantIsUsed()
+  {
+    final FlowControlWindow window = new FlowControlWindow(WINDOW, true, 0);
+    window.creditsGranted(WINDOW / 2, 0);
+    window.updateReceived(MILLISECONDS.toNanos(5));
+    drain(window, 10, MILLISECONDS.toNanos(5));
+
+    assertThat(window.getRttEstimateMicros()).isEqualTo(-1);
+    assertThat(window.getWindow(MILLISECONDS.toNanos(10))).isEqualTo(WINDOW);
+  }
+
+  @Test
+  public void estimatesRoundTripTime()
+  {
+    final FlowControlWindow window = newWindowWithRtt(true, 20);
+    assertThat(window.getRttEstimateMicros()).isEqualTo(MILLISECONDS.toMicros(20));
+  }
+
+  @Test
+  public void keepsLowestRoundTripTime()
+  {
+    final FlowControlWindow window = newWindowWithRtt(true, 20);
+    window.creditsGranted(WINDOW / 2, MILLISECONDS.toNanos(100));
+    for (int i = 0; i < WINDOW / 2 - 1; i++)
+    {
+      // these updates consume the credits granted before
+      window.updateReceived(MILLISECONDS.toNanos(100));
+    }
+    window.updateReceived(MILLISECONDS.toNanos(150));
+
+    assertThat(window.getRttEstimateMicros()).isEqualTo(MILLISECONDS.toMicros(20));
+  }
+
+  @Test
+  public void fixedWindowIgnoresEstimates()
+  {
+    final FlowControlWindow window = newWindowWithRtt(false, 20);
+    drain(window, 1000, MILLISECONDS.toNanos(50));
+
+    assertThat(window.isAdaptive()).isFalse();
+    assertThat(window.getWindow(MILLISECONDS.toNanos(60))).isEqualTo(WINDOW);
+    assertThat(window.getRttEstimateMicros()).isEqualTo(MILLISECONDS.toMicros(20));
+  }
+
+  @Test
+  public void adaptiveWindowIsTwiceTheBandwidthDelayProduct()
+  {
+    final FlowControlWindow window = newWindowWithRtt(true, 20);
+    // 1000 updates per 100 ms with a 20 ms round trip time: 200 updates in flight
+    drain(window, 1000, MILLISECONDS.toNanos(50));
+
+    assertThat(window.getDeliveryRate(MILLISECONDS.toNanos(60))).isEqualTo(10000);
+    assertThat(window.getWindow(MILLISECONDS.toNanos(60))).isEqualTo(400);
+  }
+
+  @Test
+  public void adaptiveWindowIsBounded()
+  {
+    final FlowControlWindow fast = newWindowWithRtt(true, 20);
+    drain(fast, 100000, MILLISECONDS.toNanos(50));
+    assertThat(fast.getWindow(MILLISECONDS.toNanos(60))).isEqualTo(16 * WINDOW);
+
+    final FlowControlWindow slow = newWindowWithRtt(true, 20);
+    drain(slow, 1, MILLISECONDS.toNanos(50));
+    assertThat(slow.getWindow(MILLISECONDS.toNanos(60))).isEqualTo(WINDOW / 4);
+  }
+
+  @Test
+  public void idleSessionKeepsLastWindow()
+  {
+    final FlowControlWindow window = newWindowWithRtt(true, 20);
+    drain(window, 1000, MILLISECONDS.toNanos(50));
+    assertThat(window.getWindow(MILLISECONDS.toNanos(60))).isEqualTo(400);
+
+    final long muchLater = SECONDS.toNanos(60);
+    assertThat(window.getDeliveryRate(muchLater)).isEqualTo(0);
+    assertThat(window.getWindow(muchLater)).isEqualTo(400);
+  }
+
+  @Test
+  public void deliveryRateIsTheHighestRecentSample()
+  {
+    final FlowControlWindow window = new FlowControlWindow(WINDOW, true, 0);
+    drain(window, 10, MILLISECONDS.toNanos(50));
+    drain(window, 30, MILLISECONDS.toNanos(150));
+    drain(window, 20, MILLISECONDS.toNanos(250));
+
+    assertThat(window.getDeliveryRate(MILLISECONDS.toNanos(350))).isEqualTo(300);
+  }
+}
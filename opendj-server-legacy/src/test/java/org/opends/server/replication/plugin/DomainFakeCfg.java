@@ -281,6 +281,24 @@ public class DomainFakeCfg implements ReplicationDomainCfg
     return 100;
   }
 
+  @Override
+  public boolean isAdaptiveWindowEnabled()
+  {
+    return false;
+  }
+
+  @Override
+  public boolean isInitializationResumable()
+  {
+    return false;
+  }
+
+  @Override
+  public int getInitializationImportThreadCount()
+  {
+    return 0;
+  }
+
   /**
    * Gets the ECL Domain if it is present.
    *
@@ -0,0 +1,151 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.replication.plugin;
+
+import static org.opends.server.TestCaseUtils.*;
+import static org.testng.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.forgerock.opendj.ldap.DN;
+import org.forgerock.opendj.ldap.schema.AttributeType;
+import org.opends.server.replication.ReplicationTestCase;
+import org.opends.server.types.Entry;
+import org.opends.server.types.LDIFExportConfig;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test that the GenerationIdAccumulator computes the same generation ID as an
+ * export of the backend.
+ */
+@SuppressWarnings("javadoc")
+public class GenerationIdAccumulatorTest extends ReplicationTestCase
+{
+  private static final DN BASE_DN = DN.valueOf("dc=example,dc=com");
+
+  @DataProvider
+  public Object[][] numberOfEntries()
+  {
+    return new Object[][] { { 0 }, { 1 }, { 10 }, { 1000 }, { 1001 }, { 1500 } };
+  }
+
+  @Test(dataProvider = "numberOfEntries")
+  public void testSameGenerationIdAsExport(int numberOfEntries) throws Exception
+  {
+    final List<Entry> entries = newEntries(numberOfEntries);
+    final GenerationIdAccumulator accumulator = new GenerationIdAccumulator(BASE_DN, getServerContext().getSchema());
+
+    // parallel importers do not notify the entries in the order of the export
+    final List<Integer> ordinals = new ArrayList<>();
+    for (int i = 0; i < numberOfEntries; i++)
+    {
+      ordinals.add(i);
+    }
+    Collections.shuffle(ordinals, new Random(numberOfEntries));
+    for (int ordinal : ordinals)
+    {
+      accumulator.entryImported(ordinal + 1, entries.get(ordinal));
+    }
+
+    assertTrue(accumulator.isComplete(numberOfEntries));
+    assertFalse(accumulator.isComplete(numberOfEntries + 1));
+    assertEquals(accumulator.getGenerationId(), exportGenerationId(entries));
+  }
+
+  @Test
+  public void testEmptyBackend() throws Exception
+  {
+    final GenerationIdAccumulator accumulator = new GenerationIdAccumulator(BASE_DN, getServerContext().getSchema());
+
+    assertEquals(accumulator.getGenerationId(), GenerationIdChecksum.EMPTY_BACKEND_GENERATION_ID);
+  }
+
+  @Test
+  public void testEntriesOutsideDomainAreIgnored() throws Exception
+  {
+    final List<Entry> entries = newEntries(3);
+    final GenerationIdAccumulator accumulator = new GenerationIdAccumulator(BASE_DN, getServerContext().getSchema());
+
+    accumulator.entryImported(1, entries.get(0));
+    accumulator.entryImported(2, makeEntry(
+        "dn: o=other",
+        "objectClass: top",
+        "objectClass: organization",
+        "o: other"));
+    accumulator.entryImported(3, entries.get(1));
+    accumulator.entryImported(4, entries.get(2));
+
+    assertEquals(accumulator.getEntryCount(), 3);
+    assertEquals(accumulator.getGenerationId(), exportGenerationId(entries));
+  }
+
+  private List<Entry> newEntries(int numberOfEntries) throws Exception
+  {
+    final List<Entry> entries = new ArrayList<>(numberOfEntries);
+    if (numberOfEntries > 0)
+    {
+      entries.add(makeEntry(
+          "dn: " + BASE_DN,
+          "objectClass: top",
+          "objectClass: domain",
+          "dc: example",
+          "entryUUID: 21111111-1111-1111-1111-111111111111"));
+    }
+    for (int i = 1; i < numberOfEntries; i++)
+    {
+      entries.add(makeEntry(
+          "dn: uid=user." + i + "," + BASE_DN,
+          "objectClass: top",
+          "objectClass: person",
+          "objectClass: organizationalPerson",
+          "objectClass: inetOrgPerson",
+          "uid: user." + i,
+          "cn: \u00dcser " + i,
+          "sn: " + i,
+          "description: not part of the generation ID " + i));
+    }
+    return entries;
+  }
+
+  /** Computes the generation ID the same way as LDAPReplicationDomain exporting the backend. */
+  private long exportGenerationId(List<Entry> entries) throws Exception
+  {
+    final long entryCount = Math.min(entries.size(), 1000);
+    final ReplLDIFOutputStream ros = new ReplLDIFOutputStream(entryCount);
+    ros.write(Long.toString(entries.size()).getBytes());
+
+    final LDIFExportConfig exportConfig = new LDIFExportConfig(ros);
+    exportConfig.setIncludeBranches(Collections.singletonList(BASE_DN));
+    final Set<AttributeType> includeAttributes = new HashSet<>();
+    for (String attrName : GenerationIdAccumulator.GENERATION_ID_ATTRIBUTES)
+    {
+      includeAttributes.add(getServerContext().getSchema().getAttributeType(attrName));
+    }
+    exportConfig.setIncludeAttributes(includeAttributes);
+    for (Entry entry : entries.subList(0, Math.min(entries.size(), GenerationIdAccumulator.MAX_CHECKSUMMED_ENTRIES)))
+    {
+      entry.toLDIF(exportConfig);
+    }
+    exportConfig.close();
+    return ros.getChecksumValue();
+  }
+}
@@ -1103,6 +1103,12 @@ public class SynchronizationMsgTest extends ReplicationTestCase
     assertEquals(msg.getSenderID(), newMsg.getSenderID());
     assertEquals(msg.getDestination(), newMsg.getDestination());
     assertEquals(msg.getBaseDN(), newMsg.getBaseDN());
+    assertEquals(newMsg.getResumeOffset(), 0);
+
+    msg.setResumeOffset(123456789012L);
+    newMsg = new InitializeRequestMsg(msg.getBytes(getCurrentVersion()), getCurrentVersion());
+    assertEquals(newMsg.getInitWindow(), 100);
+    assertEquals(newMsg.getResumeOffset(), 123456789012L);
   }
 
   /**
@@ -1131,6 +1137,12 @@ public class SynchronizationMsgTest extends ReplicationTestCase
     assertEquals(requestorID, newMsg.getInitiatorID());
     assertEquals(entryCount, newMsg.getEntryCount());
     assertEquals(TEST_ROOT_DN, newMsg.getBaseDN());
+    assertEquals(newMsg.getResumeOffset(), 0);
+
+    msg.setResumeOffset(3);
+    newMsg = new InitializeTargetMsg(msg.getBytes(getCurrentVersion()), getCurrentVersion());
+    assertEquals(newMsg.getInitWindow(), initWindow);
+    assertEquals(newMsg.getResumeOffset(), 3);
   }
 
   /**
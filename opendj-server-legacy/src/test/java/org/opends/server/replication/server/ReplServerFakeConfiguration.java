@@ -267,6 +267,24 @@ public class ReplServerFakeConfiguration implements ReplicationServerCfg
     return computeChangenumber;
   }
 
+  @Override
+  public boolean isAdaptiveWindowEnabled()
+  {
+    return false;
+  }
+
+  @Override
+  public boolean isChangelogSyncEnabled()
+  {
+    return false;
+  }
+
+  @Override
+  public long getChangelogGroupCommitLinger()
+  {
+    return 0;
+  }
+
   public void setComputeChangeNumber(boolean computeChangenumber)
   {
     this.computeChangenumber = computeChangenumber;
@@ -114,6 +114,30 @@ public class BlockLogReaderWriterTest extends DirectoryServerTestCase
     }
   }
 
+  /**
+   * Tests that records written in a single batch are laid out exactly as records written one by one.
+   */
+  @Test(dataProvider="recordsData")
+  public void testWriteBatchThenRead(int blockSize, int expectedSizeOfFile, List<Record<Integer, Integer>> records)
+      throws Exception
+  {
+    try (BlockLogWriter<Integer, Integer> writer = newWriter(blockSize))
+    {
+      writer.write(records);
+    }
+
+    try (BlockLogReader<Integer, Integer> reader = newReader(blockSize))
+    {
+      for (int i = 0; i < records.size(); i++)
+      {
+         Record<Integer, Integer> record = reader.readRecord();
+         assertThat(record).isEqualTo(records.get(i));
+      }
+      assertThat(reader.readRecord()).isNull();
+      assertThat(reader.getFilePosition()).isEqualTo(expectedSizeOfFile);
+    }
+  }
+
   @DataProvider(name = "recordsForSeek")
   Object[][] recordsForSeek()
   {
@@ -16,6 +16,7 @@
 package org.opends.server.replication.server.changelog.file;
 
 import java.lang.Thread.State;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -47,6 +48,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.*;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 import static org.opends.server.replication.server.changelog.api.DBCursor.KeyMatchingStrategy.*;
@@ -155,6 +157,7 @@ public class ChangeNumberIndexerTest extends DirectoryServerTestCase
     domainNewestCSNs = new HashMap<>();
 
     when(changelogDB.getChangeNumberIndexDB()).thenReturn(cnIndexDB);
+    when(cnIndexDB.addRecords(anyListOf(ChangeNumberIndexRecord.class))).thenAnswer(returnsFirstArg());
     when(changelogDB.getReplicationDomainDB()).thenReturn(domainDB);
     when(domainDB.getCursorFrom(any(MultiDomainServerState.class), eq(options))).thenReturn(multiDomainCursor);
   }
@@ -685,10 +688,14 @@ public class ChangeNumberIndexerTest extends DirectoryServerTestCase
   private void assertExternalChangelogContent(ReplicatedUpdateMsg... expectedMsgs)
       throws Exception
   {
-    final ArgumentCaptor<ChangeNumberIndexRecord> arg =
-        ArgumentCaptor.forClass(ChangeNumberIndexRecord.class);
-    verify(cnIndexDB, atLeast(0)).addRecord(arg.capture());
-    final List<ChangeNumberIndexRecord> allValues = arg.getAllValues();
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    final ArgumentCaptor<List<ChangeNumberIndexRecord>> arg = (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+    verify(cnIndexDB, atLeast(0)).addRecords(arg.capture());
+    final List<ChangeNumberIndexRecord> allValues = new ArrayList<>();
+    for (List<ChangeNumberIndexRecord> records : arg.getAllValues())
+    {
+      allValues.addAll(records);
+    }
 
     // check it was not called more than expected
     String desc1 = "actual was:<" + allValues + ">, but expected was:<" + Arrays.toString(expectedMsgs) + ">";
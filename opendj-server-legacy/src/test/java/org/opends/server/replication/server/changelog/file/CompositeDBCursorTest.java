@@ -208,6 +208,20 @@ public class CompositeDBCursorTest extends DirectoryServerTestCase
         of(msg6, baseDN1));
   }
 
+  @Test
+  public void twoCursorsWithSameCSN() throws Exception
+  {
+    final UpdateMsg msg2bis = new FakeUpdateMsg(2);
+    final CompositeDBCursor<String> compCursor = newCompositeDBCursor(
+        of(new SequentialDBCursor(msg2, msg3), baseDN1),
+        of(new SequentialDBCursor(msg1, msg2bis), baseDN2));
+    assertInOrder(compCursor,
+        of(msg1, baseDN2),
+        of(msg2bis, baseDN2),
+        of(msg2, baseDN1),
+        of(msg3, baseDN1));
+  }
+
   private CompositeDBCursor<String> newCompositeDBCursor(
       Pair<? extends DBCursor<UpdateMsg>, String>... pairs) throws Exception
   {
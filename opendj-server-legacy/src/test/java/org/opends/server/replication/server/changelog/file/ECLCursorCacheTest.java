@@ -0,0 +1,117 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.replication.server.changelog.file;
+
+import static java.util.Collections.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Set;
+
+import org.forgerock.opendj.ldap.DN;
+import org.opends.server.DirectoryServerTestCase;
+import org.opends.server.replication.common.CSN;
+import org.opends.server.replication.common.MultiDomainServerState;
+import org.testng.annotations.Test;
+
+@SuppressWarnings("javadoc")
+public class ECLCursorCacheTest extends DirectoryServerTestCase
+{
+  private static final DN BASE_DN = DN.valueOf("dc=example,dc=com");
+  private static final Set<DN> NO_EXCLUDED_BASE_DNS = emptySet();
+
+  @Test
+  public void testResumeSuspendedCursor() throws Exception
+  {
+    final ECLCursorCache cache = new ECLCursorCache(2, 60000);
+    final ECLMultiDomainDBCursor cursor = newCursor();
+    final MultiDomainServerState cookie = newCookie(1);
+
+    assertThat(cache.resume(cookie, NO_EXCLUDED_BASE_DNS)).isNull();
+    cache.suspend(cookie, NO_EXCLUDED_BASE_DNS, cursor);
+    assertThat(cache.getSize()).isEqualTo(1);
+    assertThat(cache.resume(newCookie(2), NO_EXCLUDED_BASE_DNS)).isNull();
+    assertThat(cache.resume(newCookie(1), NO_EXCLUDED_BASE_DNS)).isSameAs(cursor);
+    assertThat(cache.getSize()).isEqualTo(0);
+    // a cursor can only be resumed once
+    assertThat(cache.resume(cookie, NO_EXCLUDED_BASE_DNS)).isNull();
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(3);
+    cursor.close();
+  }
+
+  @Test
+  public void testDifferentExcludedBaseDNsAreNotResumed() throws Exception
+  {
+    final ECLCursorCache cache = new ECLCursorCache(2, 60000);
+    final MultiDomainDBCursor multiDomainCursor = mock(MultiDomainDBCursor.class);
+    final MultiDomainServerState cookie = newCookie(1);
+
+    cache.suspend(cookie, NO_EXCLUDED_BASE_DNS, new ECLMultiDomainDBCursor(null, multiDomainCursor));
+
+    assertThat(cache.resume(cookie, singleton(BASE_DN))).isNull();
+    verify(multiDomainCursor).close();
+  }
+
+  @Test
+  public void testOldestCursorsAreEvicted() throws Exception
+  {
+    final ECLCursorCache cache = new ECLCursorCache(2, 60000);
+    final MultiDomainDBCursor multiDomainCursor1 = mock(MultiDomainDBCursor.class);
+    final MultiDomainDBCursor multiDomainCursor2 = mock(MultiDomainDBCursor.class);
+    final MultiDomainDBCursor multiDomainCursor3 = mock(MultiDomainDBCursor.class);
+
+    cache.suspend(newCookie(1), NO_EXCLUDED_BASE_DNS, new ECLMultiDomainDBCursor(null, multiDomainCursor1));
+    cache.suspend(newCookie(2), NO_EXCLUDED_BASE_DNS, new ECLMultiDomainDBCursor(null, multiDomainCursor2));
+    cache.suspend(newCookie(3), NO_EXCLUDED_BASE_DNS, new ECLMultiDomainDBCursor(null, multiDomainCursor3));
+
+    verify(multiDomainCursor1).close();
+    verify(multiDomainCursor2, never()).close();
+    assertThat(cache.getSize()).isEqualTo(2);
+    assertThat(cache.resume(newCookie(1), NO_EXCLUDED_BASE_DNS)).isNull();
+
+    cache.close();
+    verify(multiDomainCursor2).close();
+    verify(multiDomainCursor3).close();
+  }
+
+  @Test
+  public void testIdleCursorsAreClosed() throws Exception
+  {
+    final ECLCursorCache cache = new ECLCursorCache(2, 0);
+    final MultiDomainDBCursor multiDomainCursor = mock(MultiDomainDBCursor.class);
+    final MultiDomainServerState cookie = newCookie(1);
+
+    cache.suspend(cookie, NO_EXCLUDED_BASE_DNS, new ECLMultiDomainDBCursor(null, multiDomainCursor));
+    Thread.sleep(5);
+
+    assertThat(cache.resume(cookie, NO_EXCLUDED_BASE_DNS)).isNull();
+    verify(multiDomainCursor).close();
+  }
+
+  private ECLMultiDomainDBCursor newCursor()
+  {
+    return new ECLMultiDomainDBCursor(null, mock(MultiDomainDBCursor.class));
+  }
+
+  private MultiDomainServerState newCookie(int t)
+  {
+    final MultiDomainServerState cookie = new MultiDomainServerState();
+    cookie.update(BASE_DN, new CSN(t, t, 1));
+    return cookie;
+  }
+}
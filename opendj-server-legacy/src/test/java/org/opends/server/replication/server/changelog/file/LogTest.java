@@ -22,6 +22,14 @@ import static org.opends.server.replication.server.changelog.api.DBCursor.Positi
 import static org.opends.server.replication.server.changelog.file.LogFileTest.*;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.opends.server.DirectoryServerTestCase;
 import org.opends.server.TestCaseUtils;
@@ -499,6 +507,110 @@ public class LogTest extends DirectoryServerTestCase
     }
   }
 
+  @Test
+  public void testAppendRecordsInBatch() throws Exception
+  {
+    try (Log<String, String> log = openLog(LogFileTest.RECORD_PARSER))
+    {
+      final List<Record<String, String>> records = new ArrayList<>();
+      for (int i = 11; i <= 15; i++)
+      {
+        records.add(Record.from(String.format("key%03d", i), "value" + i));
+      }
+      // key010 breaks key ordering and must be filtered out
+      records.add(0, Record.from("key010", "value10"));
+      log.append(records);
+
+      try (DBCursor<Record<String, String>> cursor = log.getCursor())
+      {
+        assertThatCursorCanBeFullyReadFromStart(cursor, 1, 15);
+      }
+    }
+  }
+
+  @Test
+  public void testGroupCommitWithConcurrentAppends() throws Exception
+  {
+    final int nbThreads = 8;
+    try (final Log<String, String> log = openLog(LogFileTest.RECORD_PARSER))
+    {
+      // linger long enough for all the appends to join the first batch
+      log.setGroupCommitParameters(true, 500);
+      final CountDownLatch startLatch = new CountDownLatch(1);
+      final List<Future<?>> futures = new ArrayList<>();
+      final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+      try
+      {
+        for (int i = 0; i < nbThreads; i++)
+        {
+          final int index = 11 + i;
+          futures.add(executor.submit(new Callable<Void>()
+          {
+            @Override
+            public Void call() throws Exception
+            {
+              startLatch.await();
+              log.append(Record.from(String.format("key%03d", index), "value" + index));
+              return null;
+            }
+          }));
+        }
+        startLatch.countDown();
+        for (Future<?> future : futures)
+        {
+          // rethrows any failure of the appending thread
+          future.get(10, TimeUnit.SECONDS);
+        }
+      }
+      finally
+      {
+        executor.shutdownNow();
+      }
+
+      // records appended concurrently are committed in key order
+      try (DBCursor<Record<String, String>> cursor = log.getCursor("key010"))
+      {
+        String previousKey = "key010";
+        int nbRecords = 0;
+        while (cursor.next())
+        {
+          final String key = cursor.getRecord().getKey();
+          assertThat(key.compareTo(previousKey)).isPositive();
+          previousKey = key;
+          nbRecords++;
+        }
+        assertThat(nbRecords).isEqualTo(nbThreads);
+      }
+
+      // sequential appends are all committed
+      final String lastKey = log.getNewestRecord().getKey();
+      for (int i = 1; i <= 3; i++)
+      {
+        log.append(Record.from(lastKey + i, "value"));
+      }
+      assertThat(log.getNewestRecord().getKey()).isEqualTo(lastKey + 3);
+    }
+  }
+
+  @Test
+  public void testGroupCommitSkipsRecordBreakingKeyOrdering() throws Exception
+  {
+    try (final Log<String, String> log = openLog(LogFileTest.RECORD_PARSER))
+    {
+      log.setGroupCommitParameters(true, 0);
+      // the log already contains key001 to key010: duplicates are filtered out
+      log.append(Record.from("key010", "duplicate"));
+      log.append(Record.from("key005", "value5"));
+      assertThat(log.getNewestRecord()).isEqualTo(Record.from("key010", "value10"));
+
+      log.append(Record.from("key011", "value11"));
+      try (DBCursor<Record<String, String>> cursor = log.getCursor())
+      {
+        assertThatCursorCanBeFullyReadFromStart(cursor, 1, 11);
+      }
+    }
+  }
+
   private void advanceCursorUpTo(DBCursor<Record<String, String>> cursor, int fromIndex, int endIndex)
       throws Exception
   {
@@ -0,0 +1,223 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.replication.service;
+
+import static org.testng.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.opends.server.DirectoryServerTestCase;
+import org.opends.server.TestCaseUtils;
+import org.opends.server.util.StaticUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests the spool used to resume an initialization from a remote server. */
+@SuppressWarnings("javadoc")
+public class TotalUpdateCheckpointTest extends DirectoryServerTestCase
+{
+  private static final String ENTRY1 = "dn: dc=example,dc=com\ndc: example\n\n";
+  private static final String ENTRY2 = "dn: ou=people,dc=example,dc=com\nou: people\n\n";
+  private static final String ENTRY3 = "dn: ou=groups,dc=example,dc=com\nou: groups\n\n";
+
+  private File directory;
+
+  @BeforeMethod
+  public void createDirectory() throws Exception
+  {
+    directory = TestCaseUtils.createTemporaryDirectory("totalUpdateCheckpoint-");
+  }
+
+  @AfterMethod
+  public void deleteDirectory()
+  {
+    StaticUtils.recursiveDelete(directory);
+  }
+
+  @Test
+  public void resumeAfterLastCheckpointedEntry() throws Exception
+  {
+    try (TotalUpdateCheckpoint checkpoint = new TotalUpdateCheckpoint(directory))
+    {
+      assertEquals(checkpoint.getResumeOffset(1), 0);
+      checkpoint.start(1, 3, 0);
+      // entries split at arbitrary positions, as sent by the exporter
+      final String data = ENTRY1 + ENTRY2 + ENTRY3;
+      checkpoint.append(bytes(data.substring(0, 10)));
+      checkpoint.append(bytes(data.substring(10, ENTRY1.length() + 1)));
+      checkpoint.append(bytes(data.substring(ENTRY1.length() + 1, ENTRY1.length() + ENTRY2.length() + 5)));
+      assertEquals(checkpoint.getEntryCount(), 2);
+      checkpoint.checkpoint();
+    }
+
+    try (TotalUpdateCheckpoint checkpoint = new TotalUpdateCheckpoint(directory))
+    {
+      assertEquals(checkpoint.getResumeOffset(1), 2);
+      assertEquals(checkpoint.getResumeOffset(2), 0, "Only the same exporter can resume");
+
+      assertTrue(checkpoint.start(1, 3, 2));
+      // the last spooled entry is sent again first, then dropped once checked
+      assertTrue(checkpoint.append(bytes(ENTRY2.substring(0, 8))));
+      assertFalse(checkpoint.isResumePointChecked());
+      assertTrue(checkpoint.append(bytes(ENTRY2.substring(8) + ENTRY3)));
+      assertTrue(checkpoint.isResumePointChecked());
+      checkpoint.checkpoint();
+      assertEquals(checkpoint.getEntryCount(), 3);
+      checkpoint.close();
+      assertEquals(read(checkpoint.getDataFile()), ENTRY1 + ENTRY2 + ENTRY3);
+    }
+  }
+
+  @Test
+  public void resumeTwiceFromLastCheckpointedEntry() throws Exception
+  {
+    try (TotalUpdateCheckpoint checkpoint = new TotalUpdateCheckpoint(directory))
+    {
+      checkpoint.start(1, 3, 0);
+      checkpoint.append(bytes(ENTRY1));
+      checkpoint.checkpoint();
+
+      checkpoint.start(1, 3, checkpoint.getResumeOffset(1));
+      assertTrue(checkpoint.append(bytes(ENTRY1 + ENTRY2)));
+      checkpoint.checkpoint();
+
+      checkpoint.start(1, 3, checkpoint.getResumeOffset(1));
+      assertEquals(checkpoint.getEntryCount(), 2);
+      assertTrue(checkpoint.append(bytes(ENTRY2 + ENTRY3)));
+      checkpoint.checkpoint();
+      checkpoint.close();
+      assertEquals(read(checkpoint.getDataFile()), ENTRY1 + ENTRY2 + ENTRY3);
+    }
+  }
+
+  @Test
+  public void rejectResumeAtAnotherEntry() throws Exception
+  {
+    try (TotalUpdateCheckpoint checkpoint = new TotalUpdateCheckpoint(directory))
+    {
+      checkpoint.start(1, 3, 0);
+      checkpoint.append(bytes(ENTRY1 + ENTRY2));
+      checkpoint.checkpoint();
+
+      // the exporter entries are no longer in the same order
+      checkpoint.start(1, 3, 2);
+      assertFalse(checkpoint.append(bytes(ENTRY3)));
+      checkpoint.close();
+      assertEquals(read(checkpoint.getDataFile()), ENTRY1 + ENTRY2, "Nothing is spooled before the check");
+
+      checkpoint.discard();
+      assertEquals(checkpoint.getResumeOffset(1), 0);
+      checkpoint.start(1, 3, 0);
+      assertTrue(checkpoint.append(bytes(ENTRY1)));
+      checkpoint.checkpoint();
+      assertEquals(checkpoint.getEntryCount(), 1);
+    }
+  }
+
+  @Test
+  public void rejectResumeSkippingEntriesNotSpooled() throws Exception
+  {
+    try (TotalUpdateCheckpoint checkpoint = new TotalUpdateCheckpoint(directory))
+    {
+      checkpoint.start(1, 3, 0);
+      checkpoint.append(bytes(ENTRY1 + ENTRY2));
+      checkpoint.checkpoint();
+
+      // the exporter would skip entries which the spool does not contain
+      assertFalse(checkpoint.start(2, 3, 2), "Another exporter cannot resume");
+      assertFalse(checkpoint.start(1, 4, 2), "The exporter entries changed");
+      assertFalse(checkpoint.start(1, 3, 3), "The exporter resumes after the spooled entries");
+      assertEquals(checkpoint.getResumeOffset(1), 2);
+      assertEquals(read(checkpoint.getDataFile()), ENTRY1 + ENTRY2, "The spool is left untouched");
+
+      // an exporter which does not skip any entry can always restart
+      assertTrue(checkpoint.start(2, 3, 0));
+      assertTrue(checkpoint.append(bytes(ENTRY1 + ENTRY2 + ENTRY3)));
+      checkpoint.checkpoint();
+      checkpoint.close();
+      assertEquals(read(checkpoint.getDataFile()), ENTRY1 + ENTRY2 + ENTRY3);
+    }
+  }
+
+  @Test
+  public void resumePointNotCheckedWhenNoEntryIsSent() throws Exception
+  {
+    try (TotalUpdateCheckpoint checkpoint = new TotalUpdateCheckpoint(directory))
+    {
+      checkpoint.start(1, 2, 0);
+      checkpoint.append(bytes(ENTRY1 + ENTRY2));
+      checkpoint.checkpoint();
+
+      checkpoint.start(1, 2, 2);
+      assertFalse(checkpoint.isResumePointChecked());
+    }
+  }
+
+  @Test
+  public void restartFromScratchWhenExporterDoesNotResume() throws Exception
+  {
+    try (TotalUpdateCheckpoint checkpoint = new TotalUpdateCheckpoint(directory))
+    {
+      checkpoint.start(1, 3, 0);
+      checkpoint.append(bytes(ENTRY1 + ENTRY2));
+      checkpoint.checkpoint();
+
+      checkpoint.start(1, 3, 0);
+      assertEquals(checkpoint.getEntryCount(), 0);
+      checkpoint.append(bytes(ENTRY3));
+      checkpoint.checkpoint();
+      checkpoint.close();
+      assertEquals(read(checkpoint.getDataFile()), ENTRY3);
+    }
+  }
+
+  @Test
+  public void discardDeletesSpool() throws Exception
+  {
+    try (TotalUpdateCheckpoint checkpoint = new TotalUpdateCheckpoint(directory))
+    {
+      checkpoint.start(1, 1, 0);
+      checkpoint.append(bytes(ENTRY1));
+      checkpoint.checkpoint();
+      checkpoint.discard();
+      assertFalse(directory.exists());
+    }
+  }
+
+  @Test
+  public void recordBoundariesAcrossChunks()
+  {
+    final LDIFRecordBoundaries boundaries = new LDIFRecordBoundaries();
+    final byte[] crlf = bytes("dn: dc=a\r\n\r");
+    assertEquals(boundaries.nextRecordEnd(crlf, 0, crlf.length), -1);
+    final byte[] end = bytes("\ndn: dc=b\n\n");
+    assertEquals(boundaries.nextRecordEnd(end, 0, end.length), 1);
+    assertEquals(boundaries.nextRecordEnd(end, 1, end.length), end.length);
+  }
+
+  private static byte[] bytes(String s)
+  {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String read(File file) throws Exception
+  {
+    return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+  }
+}
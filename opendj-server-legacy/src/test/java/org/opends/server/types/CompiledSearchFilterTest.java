@@ -0,0 +1,144 @@
+/*
+ * The contents of this file are subject to the terms of the Common Development and
+ * Distribution License (the License). You may not use this file except in compliance with the
+ * License.
+ *
+ * You can obtain a copy of the License at legal/CDDLv1.0.txt. See the License for the
+ * specific language governing permission and limitations under the License.
+ *
+ * When distributing Covered Software, include this CDDL Header Notice in each file and include
+ * the License file at legal/CDDLv1.0.txt. If applicable, add the following below the CDDL
+ * Header, with the fields enclosed by brackets [] replaced by your own identifying
+ * information: "Portions Copyright [year] [name of copyright owner]".
+ *
+ * Copyright 2026 3A Systems, LLC.
+ */
+package org.opends.server.types;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.forgerock.opendj.ldap.ConditionResult;
+import org.opends.server.DirectoryServerTestCase;
+import org.opends.server.TestCaseUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+@SuppressWarnings("javadoc")
+public class CompiledSearchFilterTest extends DirectoryServerTestCase
+{
+  private Entry entry;
+
+  @BeforeClass
+  public void setUp() throws Exception
+  {
+    TestCaseUtils.startServer();
+    entry = TestCaseUtils.makeEntry(
+        "dn: cn=test,o=test",
+        "objectClass: top",
+        "objectClass: person",
+        "objectClass: extensibleObject",
+        "cn: test",
+        "sn: test",
+        "uidNumber: 10");
+  }
+
+  @DataProvider
+  public Object[][] filters()
+  {
+    return new Object[][] {
+      { "(&)", ConditionResult.TRUE },
+      { "(|)", ConditionResult.FALSE },
+      { "(sn=test)", ConditionResult.TRUE },
+      { "(sn=*es*)", ConditionResult.TRUE },
+      { "(uidNumber>=9)", ConditionResult.TRUE },
+      { "(uidNumber<=9)", ConditionResult.FALSE },
+      { "(description=*)", ConditionResult.FALSE },
+      { "(sn:caseExactMatch:=test)", ConditionResult.TRUE },
+      // invalid assertion value: undefined
+      { "(uidNumber>=abc)", ConditionResult.UNDEFINED },
+      { "(!(uidNumber>=abc))", ConditionResult.UNDEFINED },
+      // RFC 4511: an AND filter is false as soon as one of its components is false
+      { "(&(uidNumber>=abc)(sn=other))", ConditionResult.FALSE },
+      { "(&(sn=other)(uidNumber>=abc))", ConditionResult.FALSE },
+      { "(!(&(uidNumber>=abc)(sn=other)))", ConditionResult.TRUE },
+      { "(&(uidNumber>=abc)(sn=test))", ConditionResult.UNDEFINED },
+      // ... and an OR filter is true as soon as one of its components is true
+      { "(|(uidNumber>=abc)(sn=test))", ConditionResult.TRUE },
+      { "(|(uidNumber>=abc)(sn=other))", ConditionResult.UNDEFINED },
+    };
+  }
+
+  @Test(dataProvider = "filters")
+  public void matchesEntry(String filter, ConditionResult expected) throws Exception
+  {
+    final CompiledSearchFilter compiled = CompiledSearchFilter.compile(SearchFilter.createFilterFromString(filter));
+    assertThat(compiled.matches(entry)).isEqualTo(expected);
+    // values normalized by the first match are memoized by the entry
+    assertThat(compiled.matches(entry)).isEqualTo(expected);
+  }
+
+  /** Filters with undefined components, because of unknown attribute types or invalid assertion values. */
+  @DataProvider
+  public Object[][] undefinedFilters()
+  {
+    return new Object[][] {
+      { "(unknownAttr=test)" },
+      { "(!(unknownAttr=test))" },
+      { "(&(uidNumber>=abc)(sn=other))" },
+      { "(&(sn=other)(uidNumber>=abc))" },
+      { "(&(uidNumber>=abc)(sn=test))" },
+      { "(&(sn=test)(uidNumber>=abc))" },
+      { "(&(unknownAttr=test)(uidNumber>=abc)(sn=test))" },
+      { "(|(uidNumber>=abc)(sn=test))" },
+      { "(|(sn=test)(uidNumber>=abc))" },
+      { "(|(uidNumber>=abc)(sn=other))" },
+      { "(|(sn=other)(uidNumber>=abc))" },
+      { "(|(unknownAttr=test)(uidNumber<=abc)(sn=other))" },
+      { "(!(|(uidNumber>=abc)(sn=other)))" },
+      { "(!(&(sn=other)(uidNumber>=abc)))" },
+      { "(&(!(uidNumber>=abc))(|(sn=other)(uidNumber<=abc)))" },
+    };
+  }
+
+  @Test(dataProvider = "undefinedFilters")
+  public void matchesEntryLikeInterpretedFilter(String filter) throws Exception
+  {
+    final SearchFilter searchFilter = SearchFilter.createFilterFromString(filter);
+    final CompiledSearchFilter compiled = CompiledSearchFilter.compile(searchFilter);
+    assertThat(compiled.matches(entry)).isEqualTo(searchFilter.matchesEntryInternal(searchFilter, entry, 0));
+  }
+
+  @Test
+  public void decisiveComponentsAreEvaluatedFirst() throws Exception
+  {
+    final CompiledSearchFilter or =
+        CompiledSearchFilter.compile(SearchFilter.createFilterFromString("(|(cn=other)(sn=other)(sn=test))"));
+    final CompiledSearchFilter and =
+        CompiledSearchFilter.compile(SearchFilter.createFilterFromString("(&(cn=test)(sn=test)(sn=other))"));
+    for (int i = 0; i < 5000; i++)
+    {
+      assertThat(or.matches(entry)).isEqualTo(ConditionResult.TRUE);
+      assertThat(and.matches(entry)).isEqualTo(ConditionResult.FALSE);
+    }
+    assertThat(or.toString()).startsWith("(|(sn=test)");
+    assertThat(and.toString()).startsWith("(&(sn=other)");
+  }
+
+  @Test
+  public void malformedFilterIsInterpreted() throws Exception
+  {
+    final SearchFilter filter = new SearchFilter(FilterType.EQUALITY, null, null, null, null, null, null, null, null,
+        false);
+    final CompiledSearchFilter compiled = CompiledSearchFilter.compile(filter);
+    try
+    {
+      compiled.matches(entry);
+      failBecauseExceptionWasNotThrown(DirectoryException.class);
+    }
+    catch (DirectoryException expected)
+    {
+      // same as the interpreted filter
+    }
+  }
+}